@@ -2,16 +2,31 @@ package calendar;
 
 import controller.CalendarHandler;
 import controller.GUICalendarHandler;
+import controller.PipelinedCalendarHandler;
 import model.CalendarManager;
+import model.ConcurrentCalendarManager;
+import model.EventStore;
 import model.ICalendarManager;
+import server.CalendarHttpServer;
+import server.CalendarServer;
+import server.IServer;
+import server.ThreadMode;
 import view.CalendarGUIView;
 import view.ConsoleWriter;
 
-import java.io.FileReader;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * The CalendarApp class serves as the entry point for the calendar application.
+ * In every mode, {@code --store <name>} selects how calendars store their events
+ * (see {@link EventStore}).
  */
 public class CalendarApp {
   /**
@@ -20,12 +35,33 @@ public class CalendarApp {
    * @param args Command-line arguments passed to the application.
    */
   public static void main(String[] args) {
-    ICalendarManager calendarManager = new CalendarManager();
+    EventStore store = EventStore.LIST;
+    int storeOption = Arrays.asList(args).indexOf("--store");
+    if (storeOption >= 0) {
+      if (storeOption + 1 >= args.length) {
+        ConsoleWriter.getInstance().writeLine("Missing value for --store. Use "
+                + EventStore.names() + ".");
+        return;
+      }
+      try {
+        store = EventStore.parse(args[storeOption + 1]);
+      } catch (IllegalArgumentException e) {
+        ConsoleWriter.getInstance().writeLine("Invalid value for --store: '"
+                + args[storeOption + 1] + "'. Use " + EventStore.names() + ".");
+        return;
+      }
+      List<String> rest = new ArrayList<>(Arrays.asList(args));
+      rest.subList(storeOption, storeOption + 2).clear();
+      args = rest.toArray(new String[0]);
+    }
+    ICalendarManager calendarManager = new CalendarManager(store);
 
     // If no arguments provided, default to GUI mode
     if (args.length == 0) {
-      GUICalendarHandler controller = new GUICalendarHandler(calendarManager, null);
-      CalendarGUIView view = new CalendarGUIView(calendarManager, controller);
+      // The GUI queries calendars on worker threads, so their events are locked
+      ICalendarManager guiCalendars = new ConcurrentCalendarManager(store);
+      GUICalendarHandler controller = new GUICalendarHandler(guiCalendars, null);
+      CalendarGUIView view = new CalendarGUIView(guiCalendars, controller);
       controller.setView(view);
       controller.processInput(null, "gui");
       return;
@@ -34,26 +70,134 @@ public class CalendarApp {
     // Handle command-line arguments with --mode
     if (args.length < 2 || !args[0].equalsIgnoreCase("--mode")) {
       ConsoleWriter.getInstance().writeLine(
-              "Try: java calendar.CalendarApp --mode interactive or"
-                      + " --mode headless <commandFile.txt>");
+              "Try: java calendar.CalendarApp --mode interactive,"
+                      + " --mode headless <commandFile.txt>, --mode server --port <port> or"
+                      + " --mode http --port <port> [--store <store>]");
       return;
     }
 
     String mode = args[1].toLowerCase();
-    CalendarHandler controller = new CalendarHandler(calendarManager);
 
     if (mode.equals("interactive")) {
-      controller.processInput(new InputStreamReader(System.in), "interactive");
-    } else if (mode.equals("headless") && args.length == 3) {
-      try {
-        controller.processInput(new FileReader(args[2]), "headless");
-      } catch (java.io.FileNotFoundException e) {
-        ConsoleWriter.getInstance().writeLine("Error: File not found: " + args[2]);
-        System.exit(1);
-      }
+      CalendarHandler controller = new CalendarHandler(calendarManager);
+      controller.processInput(Channels.newChannel(System.in), "interactive");
+    } else if (mode.equals("headless") && args.length >= 3) {
+      runHeadless(calendarManager, args);
+    } else if (mode.equals("server") || mode.equals("http")) {
+      runServer(mode, args, store);
     } else {
       ConsoleWriter.getInstance().writeLine(
-              "Use '--mode interactive' or '--mode headless <file>' only.");
+              "Use '--mode interactive', '--mode headless <file>',"
+                      + " '--mode server --port <port>' or '--mode http --port <port>' only.");
+    }
+  }
+
+  private static void runHeadless(ICalendarManager calendarManager, String[] args) {
+    boolean pipelined = false;
+    boolean bufferedOutput = false;
+    boolean asyncOutput = false;
+    boolean quietEcho = false;
+    for (int i = 3; i < args.length; i++) {
+      switch (args[i].toLowerCase()) {
+        case "--pipelined":
+          pipelined = true;
+          break;
+        case "--buffered-output":
+          bufferedOutput = true;
+          break;
+        case "--async-output":
+          asyncOutput = true;
+          break;
+        case "--quiet-echo":
+          quietEcho = true;
+          break;
+        default:
+          ConsoleWriter.getInstance().writeLine("Unknown headless option: " + args[i]
+                  + ". Supported options: --pipelined, --buffered-output, --async-output,"
+                  + " --quiet-echo");
+          return;
+      }
+    }
+
+    CalendarHandler controller = pipelined ? new PipelinedCalendarHandler(calendarManager)
+            : new CalendarHandler(calendarManager);
+    controller.setEchoEnabled(!quietEcho);
+    if (bufferedOutput || asyncOutput) {
+      ConsoleWriter.getInstance().enableBuffering(ConsoleWriter.DEFAULT_BUFFER_SIZE,
+              asyncOutput);
+    }
+    try {
+      controller.processInput(FileChannel.open(Paths.get(args[2])), "headless");
+    } catch (NoSuchFileException e) {
+      ConsoleWriter.getInstance().writeLine("Error: File not found: " + args[2]);
+      ConsoleWriter.getInstance().flush();
+      System.exit(1);
+    } catch (IOException e) {
+      ConsoleWriter.getInstance().writeLine("Error: Cannot read " + args[2] + ": "
+              + e.getMessage());
+      ConsoleWriter.getInstance().flush();
+      System.exit(1);
+    } finally {
+      ConsoleWriter.getInstance().disableBuffering();
+    }
+  }
+
+  private static void runServer(String mode, String[] args, EventStore store) {
+    boolean http = mode.equals("http");
+    String countOption = http ? "--threads" : "--max-sessions";
+    String usage = "Use '--mode " + mode + " --port <port> [" + countOption + " <count>]"
+            + " [--thread-mode platform|virtual]'.";
+    int port = -1;
+    int count = http ? CalendarHttpServer.DEFAULT_THREADS : CalendarServer.DEFAULT_MAX_SESSIONS;
+    ThreadMode threadMode = ThreadMode.PLATFORM;
+    for (int i = 2; i < args.length; i += 2) {
+      if (i + 1 >= args.length) {
+        ConsoleWriter.getInstance().writeLine("Missing value for " + args[i] + ". " + usage);
+        return;
+      }
+      String option = args[i].toLowerCase();
+      try {
+        if (option.equals("--port")) {
+          port = Integer.parseInt(args[i + 1]);
+        } else if (option.equals(countOption)) {
+          count = Integer.parseInt(args[i + 1]);
+        } else if (option.equals("--thread-mode")) {
+          threadMode = ThreadMode.parse(args[i + 1]);
+        } else {
+          ConsoleWriter.getInstance().writeLine("Unknown " + mode + " option: " + args[i] + ". "
+                  + usage);
+          return;
+        }
+      } catch (IllegalArgumentException e) {
+        ConsoleWriter.getInstance().writeLine("Invalid value for " + args[i] + ": '"
+                + args[i + 1] + "'. " + usage);
+        return;
+      }
+    }
+    if (port < 0) {
+      ConsoleWriter.getInstance().writeLine(usage);
+      return;
+    }
+    if (!threadMode.isSupported()) {
+      ConsoleWriter.getInstance().writeLine("Virtual threads require Java 21 or later;"
+              + " using platform threads.");
+      threadMode = ThreadMode.PLATFORM;
+    }
+
+    IServer server;
+    try {
+      ConcurrentCalendarManager calendars = new ConcurrentCalendarManager(store);
+      server = http ? new CalendarHttpServer(calendars, port, count, threadMode)
+              : new CalendarServer(calendars, port, count, threadMode);
+      server.start();
+    } catch (IllegalArgumentException | IOException e) {
+      ConsoleWriter.getInstance().writeLine("Error: Cannot start server: " + e.getMessage());
+      System.exit(1);
+      return;
     }
+    Runtime.getRuntime().addShutdownHook(new Thread(server::close, "calendar-server-stop"));
+    ConsoleWriter.getInstance().writeLine(http
+            ? "Calendar HTTP API listening on http://localhost:" + server.getPort() + "/calendars"
+            : "Calendar server listening on port " + server.getPort());
   }
 }
@@ -11,6 +11,9 @@ import view.ConsoleWriter;
  */
 public abstract class ACommand implements ICommand {
   protected final ICalendarManager calendarManager;
+  private String preparedCommand;
+  private Object preparedArguments;
+  private Exception preparedError;
 
   public ACommand(ICalendarManager calendarManager) {
     this.calendarManager = calendarManager;
@@ -20,6 +23,46 @@ public abstract class ACommand implements ICommand {
   public abstract void execute(String command, ICalendarManager calendarManager, String mode)
           throws Exception;
 
+  @Override
+  public void prepare(String command) {
+    preparedCommand = command;
+    try {
+      preparedArguments = parseArguments(command);
+    } catch (Exception e) {
+      preparedError = e;
+    }
+  }
+
+  /**
+   * Parses the arguments of a command line without reading the calendars. Commands
+   * that parse their arguments while they execute keep this default.
+   *
+   * @param command The command line.
+   * @return The parsed arguments, or null if the command has none to parse ahead.
+   * @throws Exception If the command line is malformed.
+   */
+  protected Object parseArguments(String command) throws Exception {
+    return null;
+  }
+
+  /**
+   * Returns the parsed arguments of a command line, from {@link #prepare} if it was
+   * given this line and parsed now otherwise.
+   *
+   * @param command The command line being executed.
+   * @return The parsed arguments.
+   * @throws Exception If the command line is malformed.
+   */
+  protected Object arguments(String command) throws Exception {
+    if (!command.equals(preparedCommand)) {
+      return parseArguments(command);
+    }
+    if (preparedError != null) {
+      throw preparedError;
+    }
+    return preparedArguments;
+  }
+
   protected Calendar getCurrentCalendar() throws Exception {
     Calendar calendar = calendarManager.getCurrentCalendar();
     if (calendar == null) {
@@ -23,11 +23,51 @@ public abstract class AEditEventCommand extends ACommand {
     super(calendarManager);
   }
 
-  protected void handleEditCommand(String command, String mode, boolean multiple)
-          throws Exception {
+  protected void handleEditCommand(String command, String mode) throws Exception {
     Calendar calendar = getCurrentCalendar();
     IEventManager scheduler = calendar.getEventScheduler();
     ZoneId timezone = calendar.getTimezone();
+    EditArguments args = (EditArguments) arguments(command);
+    int[] counts = new int[2];
+    // The series must be counted in the same step as the edit that reports them
+    calendar.update(() -> {
+      // A single edit takes its instance out of a series, so only bulk edits change series
+      counts[1] = args.end == null ? scheduler.countUnboundedSeries(args.eventName) : 0;
+      counts[0] = args.start == null
+              ? scheduler.updateEventsByName(args.property, args.eventName, args.newValue)
+              : processTimeRange(scheduler, args, timezone, mode);
+    });
+    if (counts[0] == 0) {
+      throw new Exception("Event not found");
+    }
+    writeLine(describeCount(counts[0], counts[1]) + " property \"" + args.property
+            + "\" updated with \"" + args.newValue + "\"");
+  }
+
+  /**
+   * Describes the result of an edit, naming the series that repeat forever apart from
+   * the events, since each of them stands for any number of instances.
+   *
+   * @param count The number of events changed, with each such series counted as one.
+   * @param series The number of series that repeat forever among them.
+   * @return The description.
+   */
+  static String describeCount(int count, int series) {
+    String events = (count - series) + " event(s)";
+    return series == 0 ? events : events + " and " + series + " series repeating forever";
+  }
+
+  /**
+   * Parses the arguments of an edit command.
+   *
+   * @param command The command line.
+   * @param multiple Whether the command edits the events from a start time onwards
+   *                 rather than a single event.
+   * @return The parsed arguments.
+   * @throws Exception If the command line is malformed.
+   */
+  protected EditArguments parseEditArguments(String command, boolean multiple)
+          throws Exception {
     String prefix = multiple ? "edit events" : "edit event";
     String details = command.substring(prefix.length()).trim();
 
@@ -47,49 +87,39 @@ public abstract class AEditEventCommand extends ACommand {
       newValue = parts[2];
     }
 
-    if (criteria.contains(" from ")) {
-      String[] partsAfterFrom = criteria.split(" from ", 2);
-      String[] propAndName = partsAfterFrom[0].trim().split(" ", 2);
-      String property = propAndName[0].trim();
-      String eventName = propAndName.length > 1 ? propAndName[1].trim() : "";
-      String timeRange = partsAfterFrom[1].trim();
-
-      if (!multiple && !timeRange.contains(" to ")) {
-        throw new Exception("Single edit requires 'to' in '" + command + "'");
-      }
-
-      try {
-        int count = processTimeRange(scheduler, timeRange, property,
-                eventName, newValue, timezone, mode, multiple);
-        if (count == 0) {
-          throw new Exception("Event not found");
-        }
-        writeLine(count + " event(s) property \"" + property + "\" updated with \""
-                + newValue + "\"");
-      } catch (DateTimeParseException e) {
-        throw new Exception("Invalid date/time format: " + e.getParsedString());
-      }
-    } else {
+    if (!criteria.contains(" from ")) {
       String[] propAndName = criteria.split(" ", 2);
-      String property = propAndName[0].trim();
-      String eventName = propAndName.length > 1 ? propAndName[1].trim() : "";
-      int count = scheduler.updateEventsByName(property, eventName, newValue);
-      if (count == 0) {
-        throw new Exception("Event not found");
+      return new EditArguments(propAndName[0].trim(),
+              propAndName.length > 1 ? propAndName[1].trim() : "", newValue, null, null,
+              null, null);
+    }
+    String[] partsAfterFrom = criteria.split(" from ", 2);
+    String[] propAndName = partsAfterFrom[0].trim().split(" ", 2);
+    String property = propAndName[0].trim();
+    String eventName = propAndName.length > 1 ? propAndName[1].trim() : "";
+    String timeRange = partsAfterFrom[1].trim();
+
+    if (!multiple && !timeRange.contains(" to ")) {
+      throw new Exception("Single edit requires 'to' in '" + command + "'");
+    }
+    try {
+      if (multiple) {
+        return new EditArguments(property, eventName, newValue, parseTime(timeRange), null,
+                timeRange, null);
       }
-      writeLine(count + " event(s) property \"" + property + "\" updated with \""
-              + newValue + "\"");
+      String[] partsAfterTo = timeRange.split(" to ", 2);
+      return new EditArguments(property, eventName, newValue, parseTime(partsAfterTo[0]),
+              parseTime(partsAfterTo[1]), partsAfterTo[0].trim(), partsAfterTo[1].trim());
+    } catch (DateTimeParseException e) {
+      throw new Exception("Invalid date/time format: " + e.getParsedString());
     }
   }
 
-  protected abstract int processTimeRange(IEventManager scheduler, String timeRange,
-                                          String property, String eventName,
-                                          String newValue, ZoneId timezone,
-                                          String mode, boolean multiple) throws Exception;
+  protected abstract int processTimeRange(IEventManager scheduler, EditArguments args,
+                                          ZoneId timezone, String mode) throws Exception;
 
-  protected ZonedDateTime parseTime(String timeStr, ZoneId timezone)
-          throws DateTimeParseException {
-    return LocalDateTime.parse(timeStr.trim(), TIME_FORMAT).atZone(timezone);
+  protected LocalDateTime parseTime(String timeStr) throws DateTimeParseException {
+    return LocalDateTime.parse(timeStr.trim(), TIME_FORMAT);
   }
 
   protected void validateTimeRange(ZonedDateTime start, ZonedDateTime end,
@@ -99,4 +129,30 @@ public abstract class AEditEventCommand extends ACommand {
               + startStr.trim() + "'");
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * The arguments of an edit command, with the times of the calendar's zone not yet
+   * applied. The start is null for an edit of every event of a name, and the end is
+   * null unless a single event is edited.
+   */
+  protected static final class EditArguments {
+    final String property;
+    final String eventName;
+    final String newValue;
+    final LocalDateTime start;
+    final LocalDateTime end;
+    final String startText;
+    final String endText;
+
+    EditArguments(String property, String eventName, String newValue, LocalDateTime start,
+                  LocalDateTime end, String startText, String endText) {
+      this.property = property;
+      this.eventName = eventName;
+      this.newValue = newValue;
+      this.start = start;
+      this.end = end;
+      this.startText = startText;
+      this.endText = endText;
+    }
+  }
+}
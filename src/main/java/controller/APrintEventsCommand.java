@@ -0,0 +1,100 @@
+package controller;
+
+import model.EventFormatter;
+import model.EventPage;
+import model.ICalendarManager;
+import model.IEvent;
+
+/**
+ * The APrintEventsCommand abstract class serves as a base class for commands
+ * that list events. It writes each event to the console as its own line instead
+ * of building the whole listing in memory, and supports the paging options
+ * {@code --limit <n>} and {@code --offset <n>} for very large result sets. The page
+ * is passed to the event manager, which returns only the events in it.
+ */
+public abstract class APrintEventsCommand extends ACommand {
+  private int limit = Integer.MAX_VALUE;
+  private int offset = 0;
+
+  public APrintEventsCommand(ICalendarManager calendarManager) {
+    super(calendarManager);
+  }
+
+  /**
+   * Reads trailing paging options from the command and returns the command
+   * without them.
+   *
+   * @param command The full command string.
+   * @return The command with any paging options removed.
+   * @throws Exception If an option is unknown or has an invalid value.
+   */
+  protected String parsePagingOptions(String command) throws Exception {
+    limit = Integer.MAX_VALUE;
+    offset = 0;
+    int optionsStart = command.indexOf(" --");
+    if (optionsStart < 0) {
+      return command;
+    }
+    String[] tokens = command.substring(optionsStart).trim().split("\\s+");
+    for (int i = 0; i < tokens.length; i += 2) {
+      if (i + 1 >= tokens.length) {
+        throw new Exception("Missing value for " + tokens[i] + " in '" + command + "'");
+      }
+      switch (tokens[i].toLowerCase()) {
+        case "--limit":
+          limit = parseCount(tokens[i], tokens[i + 1], 1);
+          break;
+        case "--offset":
+          offset = parseCount(tokens[i], tokens[i + 1], 0);
+          break;
+        default:
+          throw new Exception("Unknown option '" + tokens[i] + "' in '" + command + "'");
+      }
+    }
+    return command.substring(0, optionsStart);
+  }
+
+  private int parseCount(String option, String value, int minimum) throws Exception {
+    try {
+      int count = Integer.parseInt(value);
+      if (count >= minimum) {
+        return count;
+      }
+    } catch (NumberFormatException e) {
+      // Reported below
+    }
+    throw new Exception("Invalid value for " + option + ": '" + value + "' (must be an integer >= "
+            + minimum + ")");
+  }
+
+  protected int getOffset() {
+    return offset;
+  }
+
+  protected int getLimit() {
+    return limit;
+  }
+
+  /**
+   * Writes the header followed by one line per event in the requested page.
+   *
+   * @param header The line written before the events.
+   * @param page The page fetched with {@link #getOffset()} and {@link #getLimit()}.
+   */
+  protected void writeEvents(String header, EventPage page) {
+    writeLine(header);
+    StringBuilder line = new StringBuilder(128);
+    for (IEvent event : page.getEvents()) {
+      line.setLength(0);
+      EventFormatter.appendEvent(line.append(" - "), event);
+      writeLine(line.toString());
+    }
+    int end = offset + page.getEvents().size();
+    if (offset >= end && offset > 0) {
+      writeLine("No events at offset " + offset + " of " + page.getTotal());
+    } else if (offset > 0 || limit < page.getTotal()) {
+      writeLine("Showing events " + (offset + 1) + "-" + end + " of " + page.getTotal());
+    }
+    writeLine("");
+  }
+}
@@ -2,8 +2,10 @@ package controller;
 
 import model.ICalendarManager;
 import view.ConsoleWriter;
+import java.io.IOException;
 import java.io.Reader;
-import java.util.Scanner;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
 
 /**
  * This class handles various calendar-related operations.
@@ -12,47 +14,102 @@ import java.util.Scanner;
  */
 
 public class CalendarHandler implements ICalendarHandler {
-  private final ICalendarManager calendarManager;
+  protected final ICalendarManager calendarManager;
+  private boolean echoEnabled = true;
 
   public CalendarHandler(ICalendarManager calendarManager) {
     this.calendarManager = calendarManager;
   }
 
+  /**
+   * Controls whether each input line is echoed back as "&gt; input" before it
+   * is executed. Echo is enabled by default.
+   *
+   * @param echoEnabled false to suppress the command echo.
+   */
+  public void setEchoEnabled(boolean echoEnabled) {
+    this.echoEnabled = echoEnabled;
+  }
+
   @Override
   public void processInput(Reader inputSource, String mode) {
+    processLines(new LineReader(inputSource), mode);
+  }
+
+  /**
+   * Processes commands read from a byte channel, decoded with the platform
+   * charset. This is the preferred entry point for files and standard input,
+   * since lines are read straight from the channel without a Reader in between.
+   *
+   * @param inputSource The channel to read commands from.
+   * @param mode The mode in which the input is being processed.
+   */
+  public void processInput(ReadableByteChannel inputSource, String mode) {
+    processLines(new LineReader(inputSource, Charset.defaultCharset()), mode);
+  }
+
+  protected void processLines(LineReader lines, String mode) {
     String initialMessage = getInitialMessage(mode);
     ConsoleWriter.getInstance().writeLine(initialMessage);
 
-    try (Scanner scanner = new Scanner(inputSource)) {
-      while (scanner.hasNextLine()) {
-        String input = scanner.nextLine().trim();
-        ConsoleWriter.getInstance().writeLine("> " + input);
-        if (input.isEmpty()) {
-          ConsoleWriter.getInstance().writeLine("Error: Empty Line, ignored");
-          continue;
-        }
-        if (input.equalsIgnoreCase("exit")) {
-          ConsoleWriter.getInstance().writeLine("Exiting.");
+    try (LineReader reader = lines) {
+      CharSequence line;
+      while ((line = reader.readLine()) != null) {
+        if (!dispatch(ParsedCommand.parse(line, calendarManager), mode)) {
           return;
         }
-        try {
-          CommandParser.executeCommand(input, calendarManager, mode);
-        } catch (Exception e) {
-          ConsoleWriter.getInstance().writeLine("Error: " + e.getMessage());
-          if (mode.equals("headless")) {
-            System.exit(1);
-          }
-        }
       }
+    } catch (IOException e) {
+      reportError(e.getMessage(), mode);
+    } finally {
+      ConsoleWriter.getInstance().flush();
+    }
+  }
+
+  /**
+   * Echoes and executes a single parsed input line. Errors are reported on the
+   * console; in headless mode the first error terminates the application.
+   *
+   * @param parsed The parsed input line.
+   * @param mode The mode in which the input is being processed.
+   * @return false if the line requested the handler to stop, true otherwise.
+   */
+  boolean dispatch(ParsedCommand parsed, String mode) {
+    if (echoEnabled) {
+      ConsoleWriter.getInstance().writeLine("> " + parsed.getInput());
+    }
+    if (parsed.isEmpty()) {
+      ConsoleWriter.getInstance().writeLine("Error: Empty Line, ignored");
+      return true;
+    }
+    if (parsed.isExit()) {
+      ConsoleWriter.getInstance().writeLine("Exiting.");
+      return false;
+    }
+    try {
+      parsed.execute(calendarManager, mode);
+    } catch (Exception e) {
+      reportError(e.getMessage(), mode);
+    }
+    return true;
+  }
+
+  protected void reportError(String message, String mode) {
+    ConsoleWriter.getInstance().writeLine("Error: " + message);
+    if (mode.equals("headless")) {
+      ConsoleWriter.getInstance().flush();
+      System.exit(1);
     }
   }
 
-  private String getInitialMessage(String mode) {
+  protected String getInitialMessage(String mode) {
     switch (mode.toLowerCase()) {
       case "interactive":
         return "Processing interactive input. Type 'exit' to stop.";
       case "headless":
         return "Processing headless input.";
+      case "server":
+        return "Connected to calendar server. Type 'exit' to close the session.";
       default:
         return "Processing " + mode + " input.";
     }
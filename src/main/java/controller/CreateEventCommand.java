@@ -4,12 +4,16 @@ import model.Calendar;
 import model.ICalendarManager;
 import model.IEvent;
 import model.IEventManager;
+import model.RecurrenceRule;
+import model.RecurringSeries;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -31,7 +35,30 @@ public class CreateEventCommand extends ACommand {
           throws Exception {
     Calendar calendar = getCurrentCalendar();
     IEventManager scheduler = calendar.getEventScheduler();
-    ZoneId timezone = calendar.getTimezone();
+    Arguments args = (Arguments) arguments(command);
+    // The conflict checks and the scheduling must not interleave with other clients
+    calendar.update(() -> create(scheduler, args, calendar.getTimezone()));
+  }
+
+  private void create(IEventManager scheduler, Arguments args, ZoneId timezone)
+          throws Exception {
+    if (args.repeatRule == null) {
+      createAndScheduleEvent(scheduler, args.eventName, args.start, args.end, args.isFullDay,
+              timezone);
+    } else if (!scheduleIfOpenEnded(scheduler, args.eventName, args.start.atZone(timezone),
+            args.end.atZone(timezone), args.repeatRule, args.isFullDay)) {
+      List<IEvent> instances = scheduler.createRecurringEvents(args.eventName,
+              args.start.atZone(timezone), args.end.atZone(timezone), args.repeatRule,
+              args.isFullDay);
+      verifyNoRecurringConflicts(instances, scheduler, args.eventName);
+      scheduler.scheduleAll(instances);
+      writeLine((args.isFullDay ? "Recurring all-day event created: "
+              : "Recurring event created: ") + instances.size() + " instances");
+    }
+  }
+
+  @Override
+  protected Object parseArguments(String command) throws Exception {
     String cleanedCommand = command.replace("--autoDecline", "").trim();
 
     if (cleanedCommand.contains(" from ")) {
@@ -48,7 +75,6 @@ public class CreateEventCommand extends ACommand {
           if (endDetails.toLowerCase().contains(" repeats ")) {
             String[] repeatParts = endDetails.split(" repeats ", 2);
             String endStr = repeatParts[0].trim();
-            String repeatRule = repeatParts[1].trim();
             LocalDateTime start = LocalDateTime.parse(startStr, TIME_FORMAT);
             LocalDateTime end = LocalDateTime.parse(endStr, TIME_FORMAT);
             if (end.isBefore(start)) {
@@ -58,23 +84,14 @@ public class CreateEventCommand extends ACommand {
               throw new Exception("Recurring event template must span a single day; start '"
                       + startStr + "' and end '" + endStr + "' are on different days");
             }
-            List<IEvent> instances = scheduler.createRecurringEvents(eventName,
-                    start.atZone(timezone), end.atZone(timezone), repeatRule, false);
-            verifyNoRecurringConflicts(instances, scheduler, eventName);
-            for (IEvent instance : instances) {
-              scheduler.scheduleEvent(instance);
-            }
-            writeLine("Recurring event created: " + instances.size() + " instances");
-          } else {
-            LocalDateTime start = LocalDateTime.parse(startStr, TIME_FORMAT);
-            LocalDateTime end = LocalDateTime.parse(endDetails, TIME_FORMAT);
-            createAndScheduleEvent(scheduler, eventName, start, end, false, timezone);
+            return new Arguments(eventName, start, end, false, repeatParts[1].trim());
           }
-        } else {
-          LocalDateTime start = LocalDateTime.parse(timeDetails, TIME_FORMAT);
-          LocalDateTime end = start.toLocalDate().plusDays(1).atStartOfDay();
-          createAndScheduleEvent(scheduler, eventName, start, end, true, timezone);
+          return new Arguments(eventName, LocalDateTime.parse(startStr, TIME_FORMAT),
+                  LocalDateTime.parse(endDetails, TIME_FORMAT), false, null);
         }
+        LocalDateTime start = LocalDateTime.parse(timeDetails, TIME_FORMAT);
+        LocalDateTime end = start.toLocalDate().plusDays(1).atStartOfDay();
+        return new Arguments(eventName, start, end, true, null);
       } catch (DateTimeParseException e) {
         throw new Exception("Invalid date/time format: " + e.getParsedString());
       }
@@ -84,35 +101,20 @@ public class CreateEventCommand extends ACommand {
       String dateDetails = partsAfterOn[1].trim();
 
       try {
+        String repeatRule = null;
         if (dateDetails.toLowerCase().contains(" repeats ")) {
           String[] repeatParts = dateDetails.split(" repeats ", 2);
-          String dateStr = repeatParts[0].trim();
-          String repeatRule = repeatParts[1].trim();
-
-          LocalDate date = LocalDate.parse(dateStr, DATE_FORMAT);
-          LocalDateTime start = date.atStartOfDay();
-          LocalDateTime end = date.plusDays(1).atStartOfDay();
-
-          List<IEvent> instances = scheduler.createRecurringEvents(eventName,
-                  start.atZone(timezone), end.atZone(timezone), repeatRule, true);
-          verifyNoRecurringConflicts(instances, scheduler, eventName);
-
-          for (IEvent instance : instances) {
-            scheduler.scheduleEvent(instance);
-          }
-          writeLine("Recurring all-day event created: " + instances.size() + " instances");
-        } else {
-          LocalDate date = LocalDate.parse(dateDetails, DATE_FORMAT);
-          LocalDateTime start = date.atStartOfDay();
-          LocalDateTime end = date.plusDays(1).atStartOfDay();
-          createAndScheduleEvent(scheduler, eventName, start, end, true, timezone);
+          dateDetails = repeatParts[0].trim();
+          repeatRule = repeatParts[1].trim();
         }
+        LocalDate date = LocalDate.parse(dateDetails, DATE_FORMAT);
+        return new Arguments(eventName, date.atStartOfDay(), date.plusDays(1).atStartOfDay(),
+                true, repeatRule);
       } catch (DateTimeParseException e) {
         throw new Exception("Invalid date format: " + e.getParsedString());
       }
-    } else {
-      throw new Exception("Must include 'from' or 'on' in '" + command + "'");
     }
+    throw new Exception("Must include 'from' or 'on' in '" + command + "'");
   }
 
   private void createAndScheduleEvent(IEventManager scheduler, String eventName,
@@ -128,11 +130,38 @@ public class CreateEventCommand extends ACommand {
     writeLine("Event created: " + event);
   }
 
+  // A series that repeats forever is stored as its rule; returns false for other rules
+  private boolean scheduleIfOpenEnded(IEventManager scheduler, String eventName,
+                                      ZonedDateTime start, ZonedDateTime end, String repeatRule,
+                                      boolean isFullDay) throws Exception {
+    RecurrenceRule rule = RecurrenceRule.parse(repeatRule, start, end, isFullDay);
+    if (!rule.isUnbounded()) {
+      return false;
+    }
+    scheduler.scheduleSeries(RecurringSeries.of(eventName, start, end, repeatRule, rule,
+            isFullDay));
+    writeLine("Recurring event created: repeats forever");
+    return true;
+  }
+
+  // Both lists are in order of start, and the stored events do not overlap one another,
+  // so their ends are in order too and one pass over each finds any conflict
   private void verifyNoRecurringConflicts(List<IEvent> instances, IEventManager scheduler,
                                           String eventName) throws Exception {
-    List<IEvent> existingEvents = scheduler.retrieveAllEvents();
+    if (instances.isEmpty()) {
+      return;
+    }
+    List<IEvent> existingEvents = new ArrayList<>(scheduler.fetchEventsInRange(
+            instances.get(0).getStart(), instances.get(instances.size() - 1).getEnd()));
+    existingEvents.sort(Comparator.comparing(IEvent::getStart));
+    int next = 0;
     for (IEvent instance : instances) {
-      for (IEvent existing : existingEvents) {
+      while (next < existingEvents.size() && endsBefore(existingEvents.get(next), instance)) {
+        next++;
+      }
+      for (int i = next; i < existingEvents.size()
+              && !existingEvents.get(i).getStart().isAfter(instance.getEnd()); i++) {
+        IEvent existing = existingEvents.get(i);
         if (instance.overlapsWith(existing)) {
           throw new Exception("Recurring event '" + eventName + "' conflicts with '"
                   + existing.getEventName() + "' at " + existing.getStart());
@@ -140,4 +169,31 @@ public class CreateEventCommand extends ACommand {
       }
     }
   }
-}
\ No newline at end of file
+
+  // Whether the event is over before the instance, or any later instance, starts
+  private static boolean endsBefore(IEvent existing, IEvent instance) {
+    return !existing.getEnd().isAfter(instance.getStart())
+            && existing.getStart().isBefore(instance.getStart());
+  }
+
+  /**
+   * The arguments of a create command, with the times of the calendar's zone not yet
+   * applied. A repeat rule is null for a single event.
+   */
+  private static final class Arguments {
+    final String eventName;
+    final LocalDateTime start;
+    final LocalDateTime end;
+    final boolean isFullDay;
+    final String repeatRule;
+
+    Arguments(String eventName, LocalDateTime start, LocalDateTime end, boolean isFullDay,
+              String repeatRule) {
+      this.eventName = eventName;
+      this.start = start;
+      this.end = end;
+      this.isFullDay = isFullDay;
+      this.repeatRule = repeatRule;
+    }
+  }
+}
@@ -3,7 +3,6 @@ package controller;
 import model.ICalendarManager;
 import model.IEventManager;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
 
 /**
  * The EditMultipleEventsCommand class represents a command that allows
@@ -19,14 +18,18 @@ public class EditMultipleEventsCommand extends AEditEventCommand {
   @Override
   public void execute(String command, ICalendarManager calendarManager, String mode)
           throws Exception {
-    handleEditCommand(command, mode, true);
+    handleEditCommand(command, mode);
   }
 
   @Override
-  protected int processTimeRange(IEventManager scheduler, String timeRange,
-                                 String property, String eventName,
-                                 String newValue, ZoneId timezone, String mode, boolean multiple) {
-    ZonedDateTime start = parseTime(timeRange, timezone);
-    return scheduler.updateEventsFromStart(property, eventName, start, newValue);
+  protected Object parseArguments(String command) throws Exception {
+    return parseEditArguments(command, true);
   }
-}
\ No newline at end of file
+
+  @Override
+  protected int processTimeRange(IEventManager scheduler, EditArguments args, ZoneId timezone,
+                                 String mode) throws Exception {
+    return scheduler.updateEventsFromStart(args.property, args.eventName,
+            args.start.atZone(timezone), args.newValue);
+  }
+}
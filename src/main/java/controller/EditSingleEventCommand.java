@@ -21,20 +21,23 @@ public class EditSingleEventCommand extends AEditEventCommand {
   @Override
   public void execute(String command, ICalendarManager calendarManager, String mode)
           throws Exception {
-    handleEditCommand(command, mode, false);
+    handleEditCommand(command, mode);
   }
 
   @Override
-  protected int processTimeRange(IEventManager scheduler, String timeRange, String property,
-                                 String eventName,
-                                 String newValue, ZoneId timezone, String mode, boolean multiple)
-          throws Exception {
-    String[] partsAfterTo = timeRange.split(" to ", 2);
-    ZonedDateTime start = parseTime(partsAfterTo[0], timezone);
-    ZonedDateTime end = parseTime(partsAfterTo[1], timezone);
-    validateTimeRange(start, end, partsAfterTo[0], partsAfterTo[1]);
+  protected Object parseArguments(String command) throws Exception {
+    return parseEditArguments(command, false);
+  }
+
+  @Override
+  protected int processTimeRange(IEventManager scheduler, EditArguments args, ZoneId timezone,
+                                 String mode) throws Exception {
+    ZonedDateTime start = args.start.atZone(timezone);
+    ZonedDateTime end = args.end.atZone(timezone);
+    validateTimeRange(start, end, args.startText, args.endText);
     try {
-      return scheduler.updateSingleEvent(property, eventName, start, end, newValue) ? 1 : 0;
+      return scheduler.updateSingleEvent(args.property, args.eventName, start, end,
+              args.newValue) ? 1 : 0;
     } catch (Exception e) {
       writeLine(e.getMessage());
       if (mode.equals("headless")) {
@@ -43,4 +46,4 @@ public class EditSingleEventCommand extends AEditEventCommand {
       return 0;
     }
   }
-}
\ No newline at end of file
+}
@@ -4,6 +4,9 @@ import exporter.CalendarExporter;
 import model.Calendar;
 import model.ICalendarManager;
 import model.IEventManager;
+import model.RecurringSeries;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -33,6 +36,17 @@ public class ExportCalendarCommand extends ACommand {
       throw new Exception("Filename must end with '.csv'");
     }
     List<model.IEvent> events = scheduler.retrieveAllEvents();
+    List<RecurringSeries> series = scheduler.retrieveAllSeries();
+    if (!series.isEmpty()) {
+      // Series without an end are written up to the default horizon from today
+      ZonedDateTime now = ZonedDateTime.now(calendar.getTimezone());
+      for (RecurringSeries recurring : series) {
+        ZonedDateTime from = recurring.getStart();
+        ZonedDateTime to = (from.isAfter(now) ? from : now).plus(RecurringSeries.DEFAULT_HORIZON);
+        recurring.occurrencesBetween(from, to).forEachRemaining(events::add);
+      }
+      events.sort(Comparator.comparing(model.IEvent::getStart));
+    }
     CalendarExporter.exportToCSV(events, fileName);
   }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package controller;
 
 import model.Calendar;
+import model.EventFormatter;
 import model.ICalendarManager;
 import model.IEvent;
 import view.IView;
@@ -130,8 +131,8 @@ public class GUICalendarHandler implements ICalendarHandler {
   @Override
   public void importCalendar(String fileName) throws Exception {
     Calendar cal = calendarManager.getCurrentCalendar();
-    DateTimeFormatter csvDateFormat = DateTimeFormatter.ofPattern("MM/dd/yyyy");
-    DateTimeFormatter csvTimeFormat = DateTimeFormatter.ofPattern("hh:mm a");
+    DateTimeFormatter csvDateFormat = EventFormatter.CSV_DATE_FORMAT;
+    DateTimeFormatter csvTimeFormat = EventFormatter.CSV_TIME_FORMAT;
 
     try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
       String line;
@@ -11,4 +11,14 @@ import model.ICalendarManager;
  */
 public interface ICommand {
   void execute(String command, ICalendarManager calendarManager, String mode) throws Exception;
+
+  /**
+   * Parses the arguments of a command line ahead of its execution, so that a pipelined
+   * handler can parse upcoming lines while earlier ones execute. Parsing does not read
+   * the calendars, which the earlier lines may still change; errors are kept and
+   * raised by {@link #execute} at the point where it would have found them.
+   *
+   * @param command The command line that will be executed.
+   */
+  void prepare(String command);
 }
\ No newline at end of file
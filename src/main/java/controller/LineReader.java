@@ -0,0 +1,182 @@
+package controller;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+/**
+ * The LineReader class reads lines of text from a byte channel or a character
+ * reader using a single reusable character buffer. Line terminators ("\n", "\r"
+ * and "\r\n") are found with a plain character scan, so no per-line regex work
+ * or intermediate objects are needed.
+ * The {@link CharSequence} returned by {@link #readLine()} is a view over the
+ * internal buffer and is only valid until the next call; callers that keep a
+ * line must copy it with {@code toString()}.
+ */
+public class LineReader implements Closeable {
+  private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+  private static final int INITIAL_LINE_CAPACITY = 256;
+
+  private final ReadableByteChannel channel;
+  private final Reader reader;
+  private final CharsetDecoder decoder;
+  private final ByteBuffer bytes;
+  private final CharBuffer chars;
+  private final Line line = new Line();
+  private char[] overflow = new char[INITIAL_LINE_CAPACITY];
+  private boolean endOfInput;
+  private boolean skipLineFeed;
+
+  public LineReader(ReadableByteChannel channel, Charset charset) {
+    this(channel, null, charset, DEFAULT_BUFFER_SIZE);
+  }
+
+  public LineReader(Reader reader) {
+    this(null, reader, null, DEFAULT_BUFFER_SIZE);
+  }
+
+  private LineReader(ReadableByteChannel channel, Reader reader, Charset charset,
+                     int bufferSize) {
+    this.channel = channel;
+    this.reader = reader;
+    this.decoder = charset == null ? null : charset.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    this.bytes = channel == null ? null : ByteBuffer.allocate(bufferSize);
+    this.chars = CharBuffer.allocate(bufferSize);
+    this.chars.flip();
+  }
+
+  /**
+   * Reads the next line, without its terminator.
+   *
+   * @return A view of the line that stays valid until the next call, or null
+   *     when the end of the input has been reached.
+   * @throws IOException If the underlying channel or reader fails.
+   */
+  public CharSequence readLine() throws IOException {
+    int overflowLength = 0;
+    while (true) {
+      if (!chars.hasRemaining() && !fill()) {
+        return overflowLength == 0 ? null : line.set(overflow, 0, overflowLength);
+      }
+      char[] buffer = chars.array();
+      int start = chars.position();
+      int limit = chars.limit();
+      if (skipLineFeed) {
+        skipLineFeed = false;
+        if (buffer[start] == '\n') {
+          chars.position(++start);
+          continue;
+        }
+      }
+      int end = start;
+      while (end < limit && buffer[end] != '\n' && buffer[end] != '\r') {
+        end++;
+      }
+      if (end == limit) {
+        overflowLength = appendOverflow(overflowLength, buffer, start, end - start);
+        chars.position(limit);
+        continue;
+      }
+      skipLineFeed = buffer[end] == '\r';
+      chars.position(end + 1);
+      if (overflowLength == 0) {
+        return line.set(buffer, start, end - start);
+      }
+      overflowLength = appendOverflow(overflowLength, buffer, start, end - start);
+      return line.set(overflow, 0, overflowLength);
+    }
+  }
+
+  private int appendOverflow(int length, char[] source, int offset, int count) {
+    if (length + count > overflow.length) {
+      overflow = Arrays.copyOf(overflow, Math.max(overflow.length * 2, length + count));
+    }
+    System.arraycopy(source, offset, overflow, length, count);
+    return length + count;
+  }
+
+  private boolean fill() throws IOException {
+    chars.clear();
+    try {
+      while (!endOfInput && chars.position() == 0) {
+        if (reader != null) {
+          int read = reader.read(chars.array(), 0, chars.capacity());
+          if (read < 0) {
+            endOfInput = true;
+          } else {
+            chars.position(read);
+          }
+        } else {
+          endOfInput = channel.read(bytes) < 0;
+          bytes.flip();
+          decoder.decode(bytes, chars, endOfInput);
+          bytes.compact();
+          if (endOfInput) {
+            decoder.flush(chars);
+          }
+        }
+      }
+    } finally {
+      chars.flip();
+    }
+    return chars.hasRemaining();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (reader != null) {
+      reader.close();
+    } else {
+      channel.close();
+    }
+  }
+
+  /**
+   * A reusable view over a range of characters.
+   */
+  private static final class Line implements CharSequence {
+    private char[] buffer;
+    private int offset;
+    private int length;
+
+    Line set(char[] buffer, int offset, int length) {
+      this.buffer = buffer;
+      this.offset = offset;
+      this.length = length;
+      return this;
+    }
+
+    @Override
+    public int length() {
+      return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index < 0 || index >= length) {
+        throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length "
+                + length);
+      }
+      return buffer[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+      return new String(buffer, offset, length);
+    }
+  }
+}
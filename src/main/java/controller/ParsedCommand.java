@@ -0,0 +1,82 @@
+package controller;
+
+import model.ICalendarManager;
+
+/**
+ * The ParsedCommand class holds a single input line after it has been
+ * trimmed, resolved to a command object and had its arguments parsed (see
+ * {@link ICommand#prepare}), but before it is executed.
+ * Separating parsing from execution lets input handlers resolve commands
+ * ahead of time (for example on a different thread) while still reporting
+ * parse failures in the same position as the original line.
+ */
+final class ParsedCommand {
+  private final String input;
+  private final ICommand command;
+  private final Exception parseError;
+
+  private ParsedCommand(String input, ICommand command, Exception parseError) {
+    this.input = input;
+    this.command = command;
+    this.parseError = parseError;
+  }
+
+  /**
+   * Trims the given line, resolves it to a command and parses its arguments. Empty
+   * lines and the exit keyword are kept without a command, and factory and argument
+   * failures are stored so that they are raised when the command is executed.
+   * The line may be a view of a reused read buffer; only its trimmed text is
+   * copied, once, since commands parse their arguments from a String.
+   *
+   * @param line The raw input line.
+   * @param calendarManager The CalendarManager instance the command will operate on.
+   * @return The parsed representation of the line.
+   */
+  static ParsedCommand parse(CharSequence line, ICalendarManager calendarManager) {
+    String input = trim(line);
+    if (input.isEmpty() || input.equalsIgnoreCase("exit")) {
+      return new ParsedCommand(input, null, null);
+    }
+    try {
+      ICommand command = CommandFactory.createCommand(input, calendarManager);
+      if (command == null) {
+        throw new Exception("Command creation failed for: " + input);
+      }
+      command.prepare(input);
+      return new ParsedCommand(input, command, null);
+    } catch (Exception e) {
+      return new ParsedCommand(input, null, e);
+    }
+  }
+
+  private static String trim(CharSequence line) {
+    int start = 0;
+    int end = line.length();
+    while (start < end && line.charAt(start) <= ' ') {
+      start++;
+    }
+    while (end > start && line.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    return start == end ? "" : line.subSequence(start, end).toString();
+  }
+
+  String getInput() {
+    return input;
+  }
+
+  boolean isEmpty() {
+    return input.isEmpty();
+  }
+
+  boolean isExit() {
+    return input.equalsIgnoreCase("exit");
+  }
+
+  void execute(ICalendarManager calendarManager, String mode) throws Exception {
+    if (parseError != null) {
+      throw parseError;
+    }
+    command.execute(input, calendarManager, mode);
+  }
+}
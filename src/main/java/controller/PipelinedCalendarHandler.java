@@ -0,0 +1,155 @@
+package controller;
+
+import model.ICalendarManager;
+import view.ConsoleWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The PipelinedCalendarHandler class processes command scripts as a three stage
+ * pipeline. A reader thread reads raw lines, a parser thread resolves them to
+ * commands and parses their arguments, and the calling thread executes them. The stages are connected by
+ * bounded queues of line batches, so parsing of upcoming lines overlaps with
+ * execution of earlier ones while memory use stays bounded.
+ * Every stage is a single thread consuming its queue in FIFO order, so commands
+ * are executed, and their output is written, in exactly the order of the input.
+ */
+public class PipelinedCalendarHandler extends CalendarHandler {
+  private static final int DEFAULT_QUEUE_CAPACITY = 64;
+  private static final int BATCH_SIZE = 256;
+
+  private final int queueCapacity;
+
+  public PipelinedCalendarHandler(ICalendarManager calendarManager) {
+    this(calendarManager, DEFAULT_QUEUE_CAPACITY);
+  }
+
+  /**
+   * Constructs a pipelined handler whose stage queues hold at most the given
+   * number of line batches.
+   *
+   * @param calendarManager The CalendarManager instance commands operate on.
+   * @param queueCapacity The capacity of each inter-stage queue, in batches.
+   */
+  public PipelinedCalendarHandler(ICalendarManager calendarManager, int queueCapacity) {
+    super(calendarManager);
+    if (queueCapacity <= 0) {
+      throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+    }
+    this.queueCapacity = queueCapacity;
+  }
+
+  @Override
+  protected void processLines(LineReader inputSource, String mode) {
+    ConsoleWriter.getInstance().writeLine(getInitialMessage(mode));
+
+    BlockingQueue<List<String>> lines = new ArrayBlockingQueue<>(queueCapacity);
+    BlockingQueue<List<ParsedCommand>> commands = new ArrayBlockingQueue<>(queueCapacity);
+    AtomicReference<IOException> readFailure = new AtomicReference<>();
+
+    Thread reader = startStage("calendar-reader",
+            () -> readLines(inputSource, lines, readFailure));
+    Thread parser = startStage("calendar-parser", () -> parseLines(lines, commands));
+    try {
+      if (executeCommands(commands, mode) && readFailure.get() != null) {
+        reportError(readFailure.get().getMessage(), mode);
+      }
+    } finally {
+      reader.interrupt();
+      parser.interrupt();
+      ConsoleWriter.getInstance().flush();
+    }
+  }
+
+  private Thread startStage(String name, Runnable stage) {
+    Thread thread = new Thread(stage, name);
+    thread.setDaemon(true);
+    thread.start();
+    return thread;
+  }
+
+  private void readLines(LineReader inputSource, BlockingQueue<List<String>> lines,
+                         AtomicReference<IOException> readFailure) {
+    try (LineReader reader = inputSource) {
+      List<String> batch = new ArrayList<>(BATCH_SIZE);
+      CharSequence line;
+      while ((line = reader.readLine()) != null) {
+        // The reader reuses its buffer, so a line must be copied before it is queued
+        batch.add(line.toString());
+        if (batch.size() == BATCH_SIZE) {
+          lines.put(batch);
+          batch = new ArrayList<>(BATCH_SIZE);
+        }
+      }
+      if (!batch.isEmpty()) {
+        lines.put(batch);
+      }
+    } catch (IOException e) {
+      readFailure.set(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    endOfInput(lines);
+  }
+
+  private void parseLines(BlockingQueue<List<String>> lines,
+                          BlockingQueue<List<ParsedCommand>> commands) {
+    try {
+      while (true) {
+        List<String> batch = lines.take();
+        if (batch.isEmpty()) {
+          break;
+        }
+        List<ParsedCommand> parsed = new ArrayList<>(batch.size());
+        for (String line : batch) {
+          parsed.add(ParsedCommand.parse(line, calendarManager));
+        }
+        commands.put(parsed);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    endOfInput(commands);
+  }
+
+  /**
+   * Executes parsed commands in order until the input ends or a line asks to
+   * stop.
+   *
+   * @return true if the whole input was consumed, false if execution stopped early.
+   */
+  private boolean executeCommands(BlockingQueue<List<ParsedCommand>> commands, String mode) {
+    try {
+      while (true) {
+        List<ParsedCommand> batch = commands.take();
+        if (batch.isEmpty()) {
+          return true;
+        }
+        for (ParsedCommand command : batch) {
+          if (!dispatch(command, mode)) {
+            return false;
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static <T> void endOfInput(BlockingQueue<List<T>> queue) {
+    try {
+      queue.put(Collections.emptyList());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -1,14 +1,15 @@
 package controller;
 
 import model.Calendar;
+import model.EventFormatter;
+import model.EventPage;
 import model.ICalendarManager;
-import model.IEvent;
 import model.IEventManager;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.List;
 
 /**
  * The PrintEventsInRangeCommand class represents a command that retrieves
@@ -17,9 +18,9 @@ import java.util.List;
  * display events that fall within a given start and end date.
  * This command is typically used to generate a report or overview of events
  * occurring between two dates, helping users review events within a specific
- * timeframe.
+ * timeframe. The listing can be paged with {@code --limit} and {@code --offset}.
  */
-public class PrintEventsInRangeCommand extends ACommand {
+public class PrintEventsInRangeCommand extends APrintEventsCommand {
   private static final DateTimeFormatter TIME_FORMAT =
           DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
 
@@ -33,7 +34,27 @@ public class PrintEventsInRangeCommand extends ACommand {
     Calendar calendar = getCurrentCalendar();
     IEventManager scheduler = calendar.getEventScheduler();
     ZoneId timezone = calendar.getTimezone();
-    String[] partsAfterFrom = splitCommand(command, " from ");
+    LocalDateTime[] times = (LocalDateTime[]) arguments(command);
+    ZonedDateTime start = times[0].atZone(timezone);
+    ZonedDateTime end = times[1].atZone(timezone);
+    if (end.isBefore(start)) {
+      throw new Exception("End time '" + TIME_FORMAT.format(times[1]) + "' before start '"
+              + TIME_FORMAT.format(times[0]) + "'");
+    }
+    EventPage events = scheduler.fetchEventsInRange(start, end, getOffset(), getLimit());
+    String startStr = EventFormatter.formatDateTime(start);
+    String endStr = EventFormatter.formatDateTime(end);
+    if (events.getTotal() == 0) {
+      writeLine("No events between " + startStr + " and " + endStr);
+    } else {
+      writeEvents("Events between " + startStr + " and " + endStr + ":", events);
+    }
+  }
+
+  // Returns the start and end of the range
+  @Override
+  protected Object parseArguments(String command) throws Exception {
+    String[] partsAfterFrom = splitCommand(parsePagingOptions(command), " from ");
     if (partsAfterFrom.length < 2) {
       throw new Exception("Missing 'from' in '" + command + "'");
     }
@@ -41,34 +62,11 @@ public class PrintEventsInRangeCommand extends ACommand {
     if (partsAfterTo.length < 2) {
       throw new Exception("Missing 'to' in '" + command + "'");
     }
-
     try {
-      ZonedDateTime start = parseTime(partsAfterTo[0], timezone);
-      ZonedDateTime end = parseTime(partsAfterTo[1], timezone);
-      validateTimeRange(start, end, partsAfterTo[0], partsAfterTo[1]);
-      List<IEvent> events = scheduler.fetchEventsInRange(start, end);
-      DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm'['VV']'");
-      String startStr = start.format(formatter);
-      String endStr = end.format(formatter);
-      writeLine(events.isEmpty()
-              ? "No events between " + startStr + " and " + endStr :
-              "Events between " + startStr + " and " + endStr + ":\n"
-                      + events.stream().map(e -> " - " + e).reduce("",
-                        (a, b) -> a + b + "\n"));
+      return new LocalDateTime[] {LocalDateTime.parse(partsAfterTo[0].trim(), TIME_FORMAT),
+          LocalDateTime.parse(partsAfterTo[1].trim(), TIME_FORMAT)};
     } catch (DateTimeParseException e) {
       throw new Exception("Invalid date/time format: " + e.getParsedString());
     }
   }
-
-  private ZonedDateTime parseTime(String timeStr, ZoneId timezone) throws DateTimeParseException {
-    return java.time.LocalDateTime.parse(timeStr.trim(), TIME_FORMAT).atZone(timezone);
-  }
-
-  private void validateTimeRange(ZonedDateTime start, ZonedDateTime end,
-                                 String startStr, String endStr) throws Exception {
-    if (end.isBefore(start)) {
-      throw new Exception("End time '" + endStr.trim() + "' before start '"
-              + startStr.trim() + "'");
-    }
-  }
-}
\ No newline at end of file
+}
@@ -1,13 +1,12 @@
 package controller;
 
 import model.Calendar;
+import model.EventPage;
 import model.ICalendarManager;
-import model.IEvent;
 import model.IEventManager;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.List;
 
 /**
  * The PrintEventsOnCommand class represents a command that retrieves
@@ -16,8 +15,9 @@ import java.util.List;
  * display events that occur on a particular date.
  * This command is typically used to generate a report or overview of events
  * occurring on a specific day, helping users review the events for that day.
+ * The listing can be paged with {@code --limit} and {@code --offset}.
  */
-public class PrintEventsOnCommand extends ACommand {
+public class PrintEventsOnCommand extends APrintEventsCommand {
   private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
   public PrintEventsOnCommand(ICalendarManager calendarManager) {
@@ -29,19 +29,25 @@ public class PrintEventsOnCommand extends ACommand {
           throws Exception {
     Calendar calendar = getCurrentCalendar();
     IEventManager scheduler = calendar.getEventScheduler();
-    String[] parts = splitCommand(command, " on ");
+    LocalDate date = (LocalDate) arguments(command);
+    EventPage events = scheduler.fetchEventsOnDate(date, getOffset(), getLimit());
+    if (events.getTotal() == 0) {
+      writeLine("No events on " + date);
+    } else {
+      writeEvents("Events on " + date + ":", events);
+    }
+  }
+
+  @Override
+  protected Object parseArguments(String command) throws Exception {
+    String[] parts = splitCommand(parsePagingOptions(command), " on ");
     if (parts.length < 2) {
       throw new Exception("Missing date in '" + command + "'");
     }
     try {
-      LocalDate date = LocalDate.parse(parts[1].trim(), DATE_FORMAT);
-      List<IEvent> events = scheduler.fetchEventsOnDate(date);
-      writeLine(events.isEmpty() ? "No events on " + date :
-              "Events on " + date + ":\n"
-                      + events.stream().map(e -> " - "
-                      + e).reduce("", (a, b) -> a + b + "\n"));
+      return LocalDate.parse(parts[1].trim(), DATE_FORMAT);
     } catch (DateTimeParseException e) {
       throw new Exception("Invalid date format: " + e.getParsedString());
     }
   }
-}
\ No newline at end of file
+}
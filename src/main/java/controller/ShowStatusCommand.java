@@ -1,6 +1,7 @@
 package controller;
 
 import model.Calendar;
+import model.EventFormatter;
 import model.ICalendarManager;
 import model.IEventManager;
 import java.time.ZoneId;
@@ -36,8 +37,7 @@ public class ShowStatusCommand extends ACommand {
       ZonedDateTime time = java.time.LocalDateTime.parse(parts[1].trim(),
               TIME_FORMAT).atZone(timezone);
       boolean isBusy = scheduler.isOccupiedAt(time);
-      DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm'['VV']'");
-      String formattedTime = time.format(formatter);
+      String formattedTime = EventFormatter.formatDateTime(time);
       writeLine("Status at " + formattedTime + ": " + (isBusy ? "Busy" : "Available"));
     } catch (DateTimeParseException e) {
       throw new Exception("Invalid date/time format: " + e.getParsedString());
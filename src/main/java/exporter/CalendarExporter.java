@@ -1,11 +1,11 @@
 package exporter;
 
+import model.EventFormatter;
 import model.IEvent;
 import view.ConsoleWriter;
 
 import java.io.File;
 import java.io.PrintWriter;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
@@ -26,39 +26,24 @@ public class CalendarExporter {
    */
   public static void exportToCSV(List<IEvent> events, String fileName) {
     try (PrintWriter writer = new PrintWriter(fileName)) {
-      DateTimeFormatter dateF = DateTimeFormatter.ofPattern("MM/dd/yyyy");
-      DateTimeFormatter timeF = DateTimeFormatter.ofPattern("hh:mm a");
       writer.println("Subject,Start Date,Start Time,End Date,End Time,All Day Event,"
               + "Description,Location,Private");
+      StringBuilder line = new StringBuilder(128);
       for (IEvent event : events) {
-        String eventName = event.getEventName().replaceAll("^\"|\"$", "");
-        String[] fields = event.isFullDay()
-                ? new String[]{eventName, event.getStart().format(dateF), "",
-                event.getStart().format(dateF), "", "True",
-                event.getDescription(), event.getLocation(),
-                event.isPublic() ? "False" : "True"} :
-                new String[]{
-                    eventName,
-                        event.getStart().format(dateF),
-                        event.getStart().format(timeF),
-                        event.getEnd().format(dateF),
-                        event.getEnd().format(timeF),
-                    "False",
-                        event.getDescription(),
-                        event.getLocation(),
-                        event.isPublic() ? "False" : "True"
-                };
-        StringBuilder line = new StringBuilder();
-        for (int i = 0; i < fields.length; i++) {
-          String field = fields[i];
-          if (field.contains(",") || field.contains("\"")) {
-            field = "\"" + field.replace("\"", "\"\"") + "\"";
-          }
-          line.append(field);
-          if (i < fields.length - 1) {
-            line.append(",");
-          }
+        line.setLength(0);
+        appendField(line, stripEnclosingQuotes(event.getEventName())).append(',');
+        EventFormatter.appendCsvDate(line, event.getStart()).append(',');
+        if (event.isFullDay()) {
+          line.append(',');
+          EventFormatter.appendCsvDate(line, event.getStart()).append(",,True,");
+        } else {
+          EventFormatter.appendCsvTime(line, event.getStart()).append(',');
+          EventFormatter.appendCsvDate(line, event.getEnd()).append(',');
+          EventFormatter.appendCsvTime(line, event.getEnd()).append(",False,");
         }
+        appendField(line, event.getDescription()).append(',');
+        appendField(line, event.getLocation()).append(',');
+        line.append(event.isPublic() ? "False" : "True");
         writer.println(line);
       }
       ConsoleWriter.getInstance().writeLine("Exported to CSV: "
@@ -69,4 +54,25 @@ public class CalendarExporter {
       ConsoleWriter.getInstance().writeLine("Error exporting CSV: " + e.getMessage());
     }
   }
-}
\ No newline at end of file
+
+  private static String stripEnclosingQuotes(String value) {
+    int begin = value.startsWith("\"") ? 1 : 0;
+    int end = value.length() > begin && value.endsWith("\"") ? value.length() - 1 : value.length();
+    return value.substring(begin, end);
+  }
+
+  private static StringBuilder appendField(StringBuilder line, String field) {
+    if (field.indexOf(',') < 0 && field.indexOf('"') < 0) {
+      return line.append(field);
+    }
+    line.append('"');
+    for (int i = 0; i < field.length(); i++) {
+      char c = field.charAt(i);
+      if (c == '"') {
+        line.append('"');
+      }
+      line.append(c);
+    }
+    return line.append('"');
+  }
+}
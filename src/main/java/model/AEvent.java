@@ -1,7 +1,6 @@
 package model;
 
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 
 /**
  * The AEvent class is an abstract base class that implements the
@@ -31,6 +30,16 @@ public abstract class AEvent implements IEvent {
     this.isPublic = true;
   }
 
+  /**
+   * Replaces this event's strings with the dictionary's shared instances, used when
+   * the event is scheduled in a calendar.
+   */
+  void internStrings(StringDictionary dictionary) {
+    this.name = dictionary.intern(name);
+    this.description = dictionary.intern(description);
+    this.location = dictionary.intern(location);
+  }
+
   private void validateTimes(ZonedDateTime start, ZonedDateTime end) {
     if (end != null && end.isBefore(start)) {
       throw new IllegalArgumentException("End time cannot be before start time.");
@@ -45,16 +54,7 @@ public abstract class AEvent implements IEvent {
 
   @Override
   public String toString() {
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm'['VV']'");
-    String base = String.format("%s from %s to %s", getEventName(), getStart().format(formatter),
-            getEnd().format(formatter));
-    if (isFullDay()) {
-      base += ", Full Day";
-    }
-    base += (getDescription().isEmpty() ? "" : ", Description: " + getDescription())
-            + (getLocation().isEmpty() ? "" : ", Location: " + getLocation())
-            + ", " + (isPublic() ? "Public" : "Private");
-    return base;
+    return EventFormatter.format(this);
   }
 
   @Override
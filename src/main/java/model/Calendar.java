@@ -5,6 +5,8 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * The Calendar class represents a calendar and provides methods for
@@ -13,12 +15,17 @@ import java.util.List;
  * as the ability to view events on specific dates.
  * This class may include functionality such as event scheduling, event
  * retrieval, and managing calendar-related data.
+ * Every calendar has a read/write lock. When the calendar is shared between clients,
+ * its event manager runs each operation under this lock (unless the manager is safe to
+ * share on its own), and commands that read the events and then change them run as one
+ * {@link #update} so that no other such command changes the calendar in between.
  */
 
 public class Calendar {
-  private String name;
-  private ZoneId timezone;
+  private volatile String name;
+  private volatile ZoneId timezone;
   private final IEventManager eventManager;
+  private final ReadWriteLock lock;
 
   /**
    * Constructs a new Calendar instance with the specified name, timezone,
@@ -31,9 +38,26 @@ public class Calendar {
    */
 
   public Calendar(String name, ZoneId timezone, IEventManager eventManager) {
+    this(name, timezone, eventManager, new ReentrantReadWriteLock());
+  }
+
+  /**
+   * Constructs a calendar whose events are guarded by the given manager's lock.
+   *
+   * @param name The name of the calendar.
+   * @param timezone The timezone to associate with the calendar.
+   * @param eventManager The thread-safe event manager of the calendar.
+   */
+  public Calendar(String name, ZoneId timezone, LockingEventManager eventManager) {
+    this(name, timezone, eventManager, eventManager.getLock());
+  }
+
+  private Calendar(String name, ZoneId timezone, IEventManager eventManager,
+                   ReadWriteLock lock) {
     this.name = name;
     this.timezone = timezone;
     this.eventManager = eventManager;
+    this.lock = lock;
   }
 
   public String getName() {
@@ -57,6 +81,36 @@ public class Calendar {
     return eventManager;
   }
 
+  public ReadWriteLock getLock() {
+    return lock;
+  }
+
+  /**
+   * A step that reads and changes a calendar as one operation.
+   */
+  @FunctionalInterface
+  public interface Update {
+    void run() throws Exception;
+  }
+
+  /**
+   * Runs a step while holding this calendar's write lock, so that other clients
+   * neither see its intermediate state nor change the calendar while it runs. If the
+   * event manager is safe to share without this lock, only other updates wait; a
+   * single query or change of another client may still run alongside the step.
+   *
+   * @param update The step to run.
+   * @throws Exception If the step fails.
+   */
+  public void update(Update update) throws Exception {
+    lock.writeLock().lock();
+    try {
+      update.run();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
   private long calculateEventDuration(IEvent event) {
     return java.time.Duration.between(event.getStart(), event.getEnd()).getSeconds();
   }
@@ -106,9 +160,10 @@ public class Calendar {
       throw new Exception("Event '" + eventName + "' not found at " + sourceStart);
     }
 
-    ZonedDateTime newZonedStart = targetStart.atZone(targetCal.getTimezone());
-    long secondsDuration = calculateEventDuration(sourceEvent);
-    createAndScheduleEvent(sourceEvent, newZonedStart, secondsDuration, targetCal);
+    IEvent source = sourceEvent;
+    targetCal.update(() -> createAndScheduleEvent(source,
+            targetStart.atZone(targetCal.getTimezone()), calculateEventDuration(source),
+            targetCal));
   }
 
   /**
@@ -127,12 +182,14 @@ public class Calendar {
   public int copyEventsOnDate(LocalDate sourceDate, Calendar targetCal,
                               LocalDate targetDate) throws Exception {
     List<IEvent> sourceEvents = eventManager.fetchEventsStartingOnDate(sourceDate);
-    for (IEvent sourceEvent : sourceEvents) {
-      ZonedDateTime newZonedStart = calculateNewStartTime(sourceEvent, targetDate,
-              targetCal.getTimezone());
-      long secondsDuration = calculateEventDuration(sourceEvent);
-      createAndScheduleEvent(sourceEvent, newZonedStart, secondsDuration, targetCal);
-    }
+    targetCal.update(() -> {
+      for (IEvent sourceEvent : sourceEvents) {
+        ZonedDateTime newZonedStart = calculateNewStartTime(sourceEvent, targetDate,
+                targetCal.getTimezone());
+        long secondsDuration = calculateEventDuration(sourceEvent);
+        createAndScheduleEvent(sourceEvent, newZonedStart, secondsDuration, targetCal);
+      }
+    });
     return sourceEvents.size();
   }
 
@@ -159,14 +216,14 @@ public class Calendar {
             ZonedDateTime.of(endDate.plusDays(1).atStartOfDay(), timezone)
     );
 
-    int copiedCount = 0;
-    for (IEvent event : eventsToCopy) {
-      ZonedDateTime newZonedStart = calculateNewStartTime(event, targetDate,
-              targetCal.getTimezone());
-      long secondsDuration = calculateEventDuration(event);
-      createAndScheduleEvent(event, newZonedStart, secondsDuration, targetCal);
-      copiedCount++;
-    }
-    return copiedCount;
+    targetCal.update(() -> {
+      for (IEvent event : eventsToCopy) {
+        ZonedDateTime newZonedStart = calculateNewStartTime(event, targetDate,
+                targetCal.getTimezone());
+        long secondsDuration = calculateEventDuration(event);
+        createAndScheduleEvent(event, newZonedStart, secondsDuration, targetCal);
+      }
+    });
+    return eventsToCopy.size();
   }
 }
\ No newline at end of file
@@ -17,15 +17,28 @@ import java.util.Map;
 
 public class CalendarManager implements ICalendarManager {
   private final Map<String, Calendar> calendars = new HashMap<>();
+  private final EventStore store;
   private String currentCalendarName;
 
+  public CalendarManager() {
+    this(EventStore.LIST);
+  }
+
+  /**
+   * Creates a manager whose calendars store their events in the given kind of store.
+   *
+   * @param store The event store of new calendars.
+   */
+  public CalendarManager(EventStore store) {
+    this.store = store;
+  }
+
   @Override
   public void createCalendar(String name, ZoneId timezone) throws Exception {
     if (calendars.containsKey(name)) {
       throw new Exception("Calendar name already exists: " + name);
     }
-    IRecurringEventManager recurringEventManager = new RecurringEventManager();
-    IEventManager eventManager = new EventManager(recurringEventManager);
+    IEventManager eventManager = store.newEventManager();
     Calendar cal = new Calendar(name, timezone, eventManager);
     calendars.put(name, cal);
   }
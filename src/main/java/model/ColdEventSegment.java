@@ -0,0 +1,209 @@
+package model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ColdEventSegment class is an immutable, read-only set of events stored in a
+ * memory-mapped file instead of on the heap. Records are written in start order;
+ * the heap only keeps, per event, its start and end second, its file offset and the
+ * latest end second of all events up to it. Since those running maxima never
+ * decrease, a range query binary searches for the first event that can still be
+ * running at the range start and decodes records until they start after the range
+ * end, so only the pages holding candidate events are read from disk.
+ * Decoded events are fresh copies; changing the segment means writing a new one.
+ */
+final class ColdEventSegment {
+  static final ColdEventSegment EMPTY = new ColdEventSegment(null, null,
+          new long[0], new long[0], new long[0], new int[0], null);
+
+  private static final int FULL_DAY = 1;
+  private static final int PUBLIC = 2;
+
+  private final Path file;
+  private final ByteBuffer data;
+  private final long[] starts;
+  private final long[] ends;
+  private final long[] maxEnds;
+  private final int[] offsets;
+  private final ZoneId zoneOverride;
+
+  private ColdEventSegment(Path file, ByteBuffer data, long[] starts, long[] ends,
+                           long[] maxEnds, int[] offsets, ZoneId zoneOverride) {
+    this.file = file;
+    this.data = data;
+    this.starts = starts;
+    this.ends = ends;
+    this.maxEnds = maxEnds;
+    this.offsets = offsets;
+    this.zoneOverride = zoneOverride;
+  }
+
+  /**
+   * Writes the given events to a new file in the directory and maps it.
+   *
+   * @param directory The directory of the segment file.
+   * @param events The events, ordered by start time.
+   * @return The new segment.
+   * @throws IOException If the file cannot be written or exceeds 2 GB.
+   */
+  static ColdEventSegment write(Path directory, List<IEvent> events) throws IOException {
+    if (events.isEmpty()) {
+      return EMPTY;
+    }
+    int count = events.size();
+    long[] starts = new long[count];
+    long[] ends = new long[count];
+    long[] maxEnds = new long[count];
+    int[] offsets = new int[count];
+    Path file = Files.createTempFile(directory, "events-", ".cold");
+    try {
+      long size;
+      try (DataOutputStream out = new DataOutputStream(
+              new BufferedOutputStream(Files.newOutputStream(file)))) {
+        long maxEnd = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+          IEvent event = events.get(i);
+          offsets[i] = out.size();
+          Instant start = event.getStart().toInstant();
+          Instant end = event.getEnd().toInstant();
+          starts[i] = start.getEpochSecond();
+          ends[i] = end.getEpochSecond();
+          maxEnd = Math.max(maxEnd, ends[i]);
+          maxEnds[i] = maxEnd;
+          out.writeLong(start.getEpochSecond());
+          out.writeInt(start.getNano());
+          out.writeLong(end.getEpochSecond());
+          out.writeInt(end.getNano());
+          out.writeByte((event.isFullDay() ? FULL_DAY : 0) | (event.isPublic() ? PUBLIC : 0));
+          writeString(out, event.getStart().getZone().getId());
+          writeString(out, event.getEventName());
+          writeString(out, event.getDescription());
+          writeString(out, event.getLocation());
+          if (out.size() < 0) {
+            // DataOutputStream's counter wraps at 2 GB, the limit of one mapping
+            throw new IOException("Cold segment exceeds 2 GB");
+          }
+        }
+        out.flush();
+        size = out.size();
+      }
+      ByteBuffer data;
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      }
+      return new ColdEventSegment(file, data, starts, ends, maxEnds, offsets, null);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(file);
+      throw e;
+    }
+  }
+
+  int size() {
+    return offsets.length;
+  }
+
+  /**
+   * Returns the events that may overlap the given interval, ordered by start time:
+   * every event starting no later than {@code to} and ending no earlier than
+   * {@code from}, compared at second precision. Callers filter exactly.
+   */
+  List<IEvent> candidates(Instant from, Instant to) {
+    List<IEvent> result = new ArrayList<>();
+    long fromSecond = from.getEpochSecond();
+    long toSecond = to.getEpochSecond();
+    int low = 0;
+    int high = maxEnds.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (maxEnds[mid] < fromSecond) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    for (int i = low; i < starts.length && starts[i] <= toSecond; i++) {
+      if (ends[i] >= fromSecond) {
+        result.add(decode(offsets[i]));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Decodes every event of the segment, ordered by start time.
+   */
+  List<IEvent> events() {
+    List<IEvent> result = new ArrayList<>(offsets.length);
+    for (int offset : offsets) {
+      result.add(decode(offset));
+    }
+    return result;
+  }
+
+  /**
+   * Returns a view of this segment whose events are expressed in the given zone.
+   */
+  ColdEventSegment withZone(ZoneId zone) {
+    if (file == null) {
+      return this;
+    }
+    return new ColdEventSegment(file, data, starts, ends, maxEnds, offsets, zone);
+  }
+
+  /**
+   * Deletes the segment file. Views created with {@link #withZone(ZoneId)} share it.
+   */
+  void delete() throws IOException {
+    if (file != null) {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private IEvent decode(int offset) {
+    int position = offset;
+    Instant start = Instant.ofEpochSecond(data.getLong(position), data.getInt(position + 8));
+    Instant end = Instant.ofEpochSecond(data.getLong(position + 12), data.getInt(position + 20));
+    int flags = data.get(position + 24);
+    position += 25;
+    String zoneId = readString(position);
+    position += 4 + data.getInt(position);
+    String name = readString(position);
+    position += 4 + data.getInt(position);
+    String description = readString(position);
+    position += 4 + data.getInt(position);
+    String location = readString(position);
+    ZoneId zone = zoneOverride != null ? zoneOverride : ZoneId.of(zoneId);
+    IEvent event = new Event(name, ZonedDateTime.ofInstant(start, zone),
+            ZonedDateTime.ofInstant(end, zone), (flags & FULL_DAY) != 0);
+    event.setDescription(description);
+    event.setLocation(location);
+    event.setPublic((flags & PUBLIC) != 0);
+    return event;
+  }
+
+  // Absolute reads leave the shared buffer's position alone, so readers need no lock
+  private String readString(int position) {
+    byte[] bytes = new byte[data.getInt(position)];
+    data.get(position + 4, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+}
@@ -0,0 +1,156 @@
+package model;
+
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * The ConcurrentCalendarManager class is an ICalendarManager that can be shared by
+ * many clients in one JVM. Calendars live in a concurrent map, and each calendar's
+ * events are guarded by their own read/write lock (see {@link LockingEventManager}),
+ * so reads of one calendar run in parallel and writes to different calendars never
+ * block each other. Stores that are safe to share on their own
+ * ({@link EventStore#isThreadSafe()}) are used without that wrapper. A command that
+ * reads a calendar and then changes it holds the calendar's write lock throughout
+ * (see {@link Calendar#update}).
+ * The current calendar is per session: every client obtains its own view from
+ * {@link #openSession()}, whose selection is independent of all other sessions. The
+ * manager itself also acts as a session, for single-client callers.
+ */
+public class ConcurrentCalendarManager implements ICalendarManager {
+  private final ConcurrentMap<String, Calendar> calendars = new ConcurrentHashMap<>();
+  private final Session defaultSession = new Session();
+  private final EventStore store;
+
+  public ConcurrentCalendarManager() {
+    this(EventStore.LIST);
+  }
+
+  /**
+   * Creates a manager whose calendars store their events in the given kind of store.
+   *
+   * @param store The event store of new calendars.
+   */
+  public ConcurrentCalendarManager(EventStore store) {
+    this.store = store;
+  }
+
+  /**
+   * Opens a new session on this manager. Sessions share all calendars but keep
+   * their own current calendar, which initially is unset.
+   *
+   * @return A calendar manager view with its own current calendar.
+   */
+  public ICalendarManager openSession() {
+    return new Session();
+  }
+
+  @Override
+  public void createCalendar(String name, ZoneId timezone) throws Exception {
+    IEventManager eventManager = store.newEventManager();
+    Calendar cal = store.isThreadSafe() ? new Calendar(name, timezone, eventManager)
+            : new Calendar(name, timezone, new LockingEventManager(eventManager));
+    if (calendars.putIfAbsent(name, cal) != null) {
+      throw new Exception("Calendar name already exists: " + name);
+    }
+  }
+
+  @Override
+  public void setCurrentCalendar(String name) throws Exception {
+    defaultSession.setCurrentCalendar(name);
+  }
+
+  @Override
+  public Calendar getCurrentCalendar() throws Exception {
+    return defaultSession.getCurrentCalendar();
+  }
+
+  @Override
+  public Calendar getCalendar(String name) throws Exception {
+    Calendar cal = calendars.get(name);
+    if (cal == null) {
+      throw new Exception("Calendar not found: " + name);
+    }
+    return cal;
+  }
+
+  @Override
+  public void editCalendar(String name, String property, String newValue) throws Exception {
+    Calendar cal = getCalendar(name);
+    Lock writeLock = cal.getLock().writeLock();
+    writeLock.lock();
+    try {
+      if (calendars.get(name) != cal) {
+        throw new Exception("Calendar not found: " + name);
+      }
+      if (property.equalsIgnoreCase("name")) {
+        if (calendars.putIfAbsent(newValue, cal) != null) {
+          throw new Exception("New name already exists: " + newValue);
+        }
+        calendars.remove(name, cal);
+        cal.setName(newValue);
+      } else if (property.equalsIgnoreCase("timezone")) {
+        cal.setTimezone(ZoneId.of(newValue));
+      } else {
+        throw new Exception("Invalid property: " + property + ". Use 'name' or 'timezone'");
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public Map<String, Calendar> getCalendars() {
+    return new HashMap<>(calendars);
+  }
+
+  /**
+   * A client's view of the shared calendars. Sessions remember the selected
+   * calendar itself rather than its name, so a rename by another client does not
+   * invalidate the selection.
+   */
+  private final class Session implements ICalendarManager {
+    private volatile Calendar currentCalendar;
+
+    @Override
+    public void createCalendar(String name, ZoneId timezone) throws Exception {
+      ConcurrentCalendarManager.this.createCalendar(name, timezone);
+    }
+
+    @Override
+    public void setCurrentCalendar(String name) throws Exception {
+      Calendar cal = calendars.get(name);
+      if (cal == null) {
+        throw new Exception("Calendar not found: " + name);
+      }
+      currentCalendar = cal;
+    }
+
+    @Override
+    public Calendar getCurrentCalendar() throws Exception {
+      Calendar cal = currentCalendar;
+      if (cal == null) {
+        throw new Exception("No calendar selected");
+      }
+      return cal;
+    }
+
+    @Override
+    public Calendar getCalendar(String name) throws Exception {
+      return ConcurrentCalendarManager.this.getCalendar(name);
+    }
+
+    @Override
+    public void editCalendar(String name, String property, String newValue) throws Exception {
+      ConcurrentCalendarManager.this.editCalendar(name, property, newValue);
+    }
+
+    @Override
+    public Map<String, Calendar> getCalendars() {
+      return ConcurrentCalendarManager.this.getCalendars();
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * The EventFormatter class renders events and timestamps into a caller-supplied
+ * {@link Appendable}. It is the single place that defines how the application
+ * displays events, and it avoids allocating formatters, format strings or
+ * intermediate strings per event.
+ * Display timestamps use the fixed layout {@code yyyy-MM-dd'T'HH:mm[zone]}, which is
+ * written digit by digit; years outside 0001-9999 fall back to an equivalent
+ * precompiled {@link DateTimeFormatter}.
+ */
+public final class EventFormatter {
+  public static final DateTimeFormatter DISPLAY_FORMAT =
+          DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm'['VV']'");
+  public static final DateTimeFormatter CSV_DATE_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+  public static final DateTimeFormatter CSV_TIME_FORMAT = DateTimeFormatter.ofPattern("hh:mm a");
+
+  private EventFormatter() {}
+
+  /**
+   * Returns the display form of an event, as used by {@code IEvent.toString()}.
+   *
+   * @param event The event to format.
+   * @return The formatted event.
+   */
+  public static String format(IEvent event) {
+    return appendEvent(new StringBuilder(96), event).toString();
+  }
+
+  /**
+   * Returns the display form of a timestamp, such as "2025-03-24T09:00[UTC]".
+   *
+   * @param time The timestamp to format.
+   * @return The formatted timestamp.
+   */
+  public static String formatDateTime(ZonedDateTime time) {
+    return appendDateTime(new StringBuilder(32), time).toString();
+  }
+
+  /**
+   * Appends the display form of an event to the given builder.
+   *
+   * @param out The builder to append to.
+   * @param event The event to format.
+   * @return The builder, for chaining.
+   */
+  public static StringBuilder appendEvent(StringBuilder out, IEvent event) {
+    try {
+      appendEvent((Appendable) out, event);
+      return out;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Appends the display form of an event, for example
+   * "Meeting from 2025-03-24T09:00[UTC] to 2025-03-24T10:00[UTC], Public".
+   *
+   * @param out The destination to append to.
+   * @param event The event to format.
+   * @param <A> The type of the destination.
+   * @return The destination, for chaining.
+   * @throws IOException If the destination fails.
+   */
+  public static <A extends Appendable> A appendEvent(A out, IEvent event) throws IOException {
+    out.append(event.getEventName()).append(" from ");
+    appendDateTime(out, event.getStart());
+    out.append(" to ");
+    appendDateTime(out, event.getEnd());
+    if (event.isFullDay()) {
+      out.append(", Full Day");
+    }
+    String description = event.getDescription();
+    if (!description.isEmpty()) {
+      out.append(", Description: ").append(description);
+    }
+    String location = event.getLocation();
+    if (!location.isEmpty()) {
+      out.append(", Location: ").append(location);
+    }
+    out.append(event.isPublic() ? ", Public" : ", Private");
+    return out;
+  }
+
+  /**
+   * Appends the display form of a timestamp to the given builder.
+   *
+   * @param out The builder to append to.
+   * @param time The timestamp to format.
+   * @return The builder, for chaining.
+   */
+  public static StringBuilder appendDateTime(StringBuilder out, ZonedDateTime time) {
+    try {
+      appendDateTime((Appendable) out, time);
+      return out;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Appends a timestamp in the display layout {@code yyyy-MM-dd'T'HH:mm[zone]}.
+   *
+   * @param out The destination to append to.
+   * @param time The timestamp to format.
+   * @param <A> The type of the destination.
+   * @return The destination, for chaining.
+   * @throws IOException If the destination fails.
+   */
+  public static <A extends Appendable> A appendDateTime(A out, ZonedDateTime time)
+          throws IOException {
+    int year = time.getYear();
+    if (year < 1 || year > 9999) {
+      DISPLAY_FORMAT.formatTo(time, out);
+      return out;
+    }
+    appendDigits(out, year, 4);
+    out.append('-');
+    appendDigits(out, time.getMonthValue(), 2);
+    out.append('-');
+    appendDigits(out, time.getDayOfMonth(), 2);
+    out.append('T');
+    appendDigits(out, time.getHour(), 2);
+    out.append(':');
+    appendDigits(out, time.getMinute(), 2);
+    out.append('[').append(time.getZone().getId()).append(']');
+    return out;
+  }
+
+  /**
+   * Appends the date of a timestamp in the CSV export layout {@code MM/dd/yyyy}.
+   *
+   * @param out The builder to append to.
+   * @param time The timestamp to format.
+   * @return The builder, for chaining.
+   */
+  public static StringBuilder appendCsvDate(StringBuilder out, ZonedDateTime time) {
+    CSV_DATE_FORMAT.formatTo(time, out);
+    return out;
+  }
+
+  /**
+   * Appends the time of a timestamp in the CSV export layout {@code hh:mm a}.
+   *
+   * @param out The builder to append to.
+   * @param time The timestamp to format.
+   * @return The builder, for chaining.
+   */
+  public static StringBuilder appendCsvTime(StringBuilder out, ZonedDateTime time) {
+    CSV_TIME_FORMAT.formatTo(time, out);
+    return out;
+  }
+
+  private static void appendDigits(Appendable out, int value, int width) throws IOException {
+    int divisor = 1;
+    for (int i = 1; i < width; i++) {
+      divisor *= 10;
+    }
+    for (; divisor > 0; divisor /= 10) {
+      out.append((char) ('0' + (value / divisor) % 10));
+    }
+  }
+}
@@ -1,11 +1,21 @@
 package model;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.Period;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
 
 /**
  * The EventManager class implements the IEventManager interface
@@ -13,24 +23,155 @@ import java.util.List;
  * It provides functionality to create, edit, delete, and retrieve events.
  * This class acts as a central point for managing the collection of events,
  * ensuring that event-related operations are performed efficiently and consistently.
+ * Besides the list of all events in order of start, it keeps the events of each name in
+ * order of start, so that the edits by name only visit the events they change. The
+ * instances of a recurring event share a series id: editing them from a date onwards
+ * splits the series there, and a series kept as its rule is edited through its
+ * template without visiting any instance. The names are kept sorted, each for as long
+ * as some event has it, so the distinct names and the names starting with a prefix
+ * are read off the index rather than collected from every event.
  */
 public class EventManager implements IEventManager {
+  private static final Duration MAX_OFFSET = Duration.ofHours(18);
+
+  /**
+   * The order of event names: ignoring case, and by case between names that differ only
+   * in case. The names starting with a prefix, ignoring case, are next to each other.
+   */
+  static final Comparator<String> NAME_ORDER =
+          String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
   private final List<IEvent> events = new ArrayList<>();
+  private final TreeMap<String, List<IEvent>> eventsByName = new TreeMap<>(NAME_ORDER);
+  private final List<RecurringSeries> series = new ArrayList<>();
   private final IRecurringEventManager recurringEventCreator;
+  private final StringDictionary dictionary;
+  private final Period seriesHorizon;
 
   public EventManager(IRecurringEventManager recurringEventCreator) {
+    this(recurringEventCreator, new StringDictionary());
+  }
+
+  /**
+   * Creates a manager whose events share their strings through the given dictionary.
+   *
+   * @param recurringEventCreator Creates the instances of recurring events.
+   * @param dictionary The string dictionary of the calendar.
+   */
+  public EventManager(IRecurringEventManager recurringEventCreator,
+                      StringDictionary dictionary) {
+    this(recurringEventCreator, dictionary, RecurringSeries.DEFAULT_HORIZON);
+  }
+
+  /**
+   * Creates a manager that checks two series for conflicts no further than the given
+   * horizon past the later of their first events.
+   *
+   * @param recurringEventCreator Creates the instances of recurring events.
+   * @param dictionary The string dictionary of the calendar.
+   * @param seriesHorizon How far ahead conflicts between series are looked for.
+   */
+  public EventManager(IRecurringEventManager recurringEventCreator,
+                      StringDictionary dictionary, Period seriesHorizon) {
     this.recurringEventCreator = recurringEventCreator;
+    this.dictionary = dictionary;
+    this.seriesHorizon = seriesHorizon;
   }
 
   @Override
   public void scheduleEvent(IEvent newEvent) throws Exception {
-    for (IEvent existing : events) {
+    for (IEvent existing : overlapping(newEvent.getStart(), newEvent.getEnd())) {
       if (newEvent.overlapsWith(existing)) {
         throw new Exception("Conflict with existing event: " + existing.getEventName());
       }
     }
-    events.add(newEvent);
-    events.sort(Comparator.comparing(IEvent::getStart));
+    checkSeriesConflict(newEvent);
+    if (newEvent instanceof AEvent) {
+      ((AEvent) newEvent).internStrings(dictionary);
+    }
+    events.add(firstIndex(events, e -> e.getStart().isAfter(newEvent.getStart())), newEvent);
+    List<IEvent> named = eventsByName.computeIfAbsent(newEvent.getEventName(),
+            name -> new ArrayList<>());
+    named.add(firstIndex(named, e -> e.getStart().isAfter(newEvent.getStart())), newEvent);
+  }
+
+  /**
+   * Schedules the events together. In order of start they are checked against one
+   * another and against the stored events in a single pass, and then merged into the
+   * stored events in another, instead of being searched for and inserted one at a time.
+   * If any of them conflicts, none is scheduled.
+   *
+   * @param newEvents The events to schedule.
+   * @throws Exception If an event conflicts with another one.
+   */
+  @Override
+  public void scheduleAll(List<IEvent> newEvents) throws Exception {
+    if (newEvents.isEmpty()) {
+      return;
+    }
+    List<IEvent> sorted = new ArrayList<>(newEvents);
+    sorted.sort(Comparator.comparing(IEvent::getStart));
+    // Once neighbours do not overlap, the new events are in order of end too
+    for (int i = 1; i < sorted.size(); i++) {
+      if (sorted.get(i).overlapsWith(sorted.get(i - 1))) {
+        throw new Exception("Conflict between new events: " + sorted.get(i - 1).getEventName());
+      }
+    }
+    List<IEvent> existing = overlapping(sorted.get(0).getStart(),
+            sorted.get(sorted.size() - 1).getEnd());
+    int next = 0;
+    for (IEvent newEvent : sorted) {
+      while (next < existing.size() && existing.get(next).getEnd().isBefore(newEvent.getStart())) {
+        next++;
+      }
+      for (int i = next; i < existing.size()
+              && !existing.get(i).getStart().isAfter(newEvent.getEnd()); i++) {
+        if (newEvent.overlapsWith(existing.get(i))) {
+          throw new Exception("Conflict with existing event: " + existing.get(i).getEventName());
+        }
+      }
+      checkSeriesConflict(newEvent);
+    }
+
+    Map<String, List<IEvent>> byName = new HashMap<>();
+    for (IEvent newEvent : sorted) {
+      if (newEvent instanceof AEvent) {
+        ((AEvent) newEvent).internStrings(dictionary);
+      }
+      byName.computeIfAbsent(newEvent.getEventName(), name -> new ArrayList<>()).add(newEvent);
+    }
+    List<IEvent> merged = merge(events, sorted);
+    events.clear();
+    events.addAll(merged);
+    for (Map.Entry<String, List<IEvent>> entry : byName.entrySet()) {
+      eventsByName.put(entry.getKey(), merge(eventsByName.getOrDefault(entry.getKey(),
+              new ArrayList<>()), entry.getValue()));
+    }
+  }
+
+  private void checkSeriesConflict(IEvent newEvent) throws Exception {
+    for (RecurringSeries existing : series) {
+      IEvent instance = existing.firstConflict(newEvent);
+      if (instance != null) {
+        throw new Exception("Conflict with existing event: " + instance.getEventName());
+      }
+    }
+  }
+
+  // The index of the first event in a list in order of start that passes the check,
+  // which fails for every event before it and passes for every event after it
+  private static int firstIndex(List<IEvent> sorted, Predicate<IEvent> check) {
+    int low = 0;
+    int high = sorted.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (check.test(sorted.get(middle))) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
   }
 
   @Override
@@ -44,71 +185,247 @@ public class EventManager implements IEventManager {
       event.setStart(newStartZoned);
       event.setEnd(newEndZoned);
     }
+    series.replaceAll(s -> s.withZone(newZone));
   }
 
   @Override
   public List<IEvent> fetchEventsStartingOnDate(LocalDate date) {
     List<IEvent> result = new ArrayList<>();
-    for (IEvent event : events) {
-      if (event.getStart().toLocalDate().equals(date)) {
+    for (IEvent event : overlapping(dayStart(date), dayEnd(date))) {
+      if (startsOnDate(event, date)) {
         result.add(event);
       }
     }
-    return result;
+    return addSeriesEvents(result, dayStart(date), dayEnd(date), e -> startsOnDate(e, date));
   }
 
   @Override
   public List<IEvent> fetchEventsOnDate(LocalDate date) {
     List<IEvent> result = new ArrayList<>();
-    for (IEvent event : events) {
-      LocalDate startDate = event.getStart().toLocalDate();
-      LocalDate endDate = event.getEnd().toLocalDate();
-      if (event.isFullDay() ? startDate.equals(date) :
-              (!startDate.isAfter(date) && !endDate.isBefore(date))) {
+    for (IEvent event : overlapping(dayStart(date), dayEnd(date))) {
+      if (occursOnDate(event, date)) {
         result.add(event);
       }
     }
-    return result;
+    return addSeriesEvents(result, dayStart(date), dayEnd(date), e -> occursOnDate(e, date));
   }
 
+  // Without series the stored events are the whole answer, so only the page is collected
   @Override
-  public List<IEvent> fetchEventsInRange(ZonedDateTime start, ZonedDateTime end) {
-    List<IEvent> result = new ArrayList<>();
-    for (IEvent event : events) {
-      if (!event.getEnd().isBefore(start) && !event.getStart().isAfter(end)) {
-        result.add(event);
+  public EventPage fetchEventsOnDate(LocalDate date, int offset, int limit) {
+    if (!series.isEmpty()) {
+      return EventPage.of(fetchEventsOnDate(date), offset, limit);
+    }
+    List<IEvent> page = new ArrayList<>();
+    int total = 0;
+    for (IEvent event : overlapping(dayStart(date), dayEnd(date))) {
+      if (occursOnDate(event, date)) {
+        if (total >= offset && total - offset < limit) {
+          page.add(event);
+        }
+        total++;
       }
     }
+    return new EventPage(page, total);
+  }
+
+  static boolean startsOnDate(IEvent event, LocalDate date) {
+    return event.getStart().toLocalDate().equals(date);
+  }
+
+  static boolean occursOnDate(IEvent event, LocalDate date) {
+    LocalDate startDate = event.getStart().toLocalDate();
+    LocalDate endDate = event.getEnd().toLocalDate();
+    return event.isFullDay() ? startDate.equals(date) :
+            (!startDate.isAfter(date) && !endDate.isBefore(date));
+  }
+
+  @Override
+  public List<IEvent> fetchEventsInRange(ZonedDateTime start, ZonedDateTime end) {
+    List<IEvent> result = new ArrayList<>(overlapping(start, end));
+    return addSeriesEvents(result, start, end, e -> true);
+  }
+
+  @Override
+  public EventPage fetchEventsInRange(ZonedDateTime start, ZonedDateTime end, int offset,
+                                      int limit) {
+    if (!series.isEmpty()) {
+      return EventPage.of(fetchEventsInRange(start, end), offset, limit);
+    }
+    return EventPage.of(overlapping(start, end), offset, limit);
+  }
+
+  // The stored events that do not end before 'from' or start after 'to'. Stored events
+  // never overlap, so in order of start they are in order of end too, and the first
+  // one that does not end before 'from' is found by binary search
+  private List<IEvent> overlapping(ZonedDateTime from, ZonedDateTime to) {
+    int first = firstIndex(events, e -> !e.getEnd().isBefore(from));
+    int last = firstIndex(events, e -> e.getStart().isAfter(to));
+    return events.subList(first, Math.max(first, last));
+  }
+
+  // The stored events within the span of a series, from its first instance to the day
+  // after its last day, since each instance starts and ends on its own day. A series
+  // that repeats forever spans every event that does not end before its first instance
+  private List<IEvent> overlapping(RecurringSeries recurring) {
+    if (recurring.isUnbounded()) {
+      return events.subList(firstIndex(events, e -> !e.getEnd().isBefore(recurring.getStart())),
+              events.size());
+    }
+    return overlapping(recurring.getStart(), LocalDate.ofEpochDay(recurring.getRule().getLastDay())
+            .plusDays(2).atStartOfDay(recurring.getStart().getZone()));
+  }
+
+  // Adds the instances of the stored series in the window that pass the filter, keeping
+  // the result in order of start
+  private List<IEvent> addSeriesEvents(List<IEvent> result, ZonedDateTime from,
+                                       ZonedDateTime to, Predicate<IEvent> filter) {
+    if (series.isEmpty()) {
+      return result;
+    }
+    for (RecurringSeries recurring : series) {
+      recurring.occurrencesBetween(from, to).forEachRemaining(event -> {
+        if (filter.test(event)) {
+          result.add(event);
+        }
+      });
+    }
+    result.sort(Comparator.comparing(IEvent::getStart));
     return result;
   }
 
+  /**
+   * Returns the start of the window that holds every event on a date, whatever the
+   * event's zone. A date begins at different instants in different zones, so the
+   * window reaches the largest zone offset past the date in UTC on both sides; date
+   * queries search it and then check the date in each event's own zone.
+   *
+   * @param date The date.
+   * @return The start of the date's window.
+   */
+  public static ZonedDateTime dayStart(LocalDate date) {
+    return date.atStartOfDay(ZoneOffset.UTC).minus(MAX_OFFSET);
+  }
+
+  /**
+   * Returns the end of the window that holds every event on a date (see
+   * {@link #dayStart(LocalDate)}).
+   *
+   * @param date The date.
+   * @return The end of the date's window.
+   */
+  public static ZonedDateTime dayEnd(LocalDate date) {
+    return date.plusDays(1).atStartOfDay(ZoneOffset.UTC).plus(MAX_OFFSET);
+  }
+
   @Override
   public boolean isOccupiedAt(ZonedDateTime time) {
-    return events.stream().anyMatch(e -> !e.getStart().isAfter(time)
-            && e.getEnd().isAfter(time));
+    if (events.stream().anyMatch(e -> !e.getStart().isAfter(time)
+            && e.getEnd().isAfter(time))) {
+      return true;
+    }
+    for (RecurringSeries recurring : series) {
+      Iterator<IEvent> instances = recurring.occurrencesBetween(time, time);
+      while (instances.hasNext()) {
+        if (instances.next().getEnd().isAfter(time)) {
+          return true;
+        }
+      }
+    }
+    return false;
   }
 
   @Override
   public boolean updateSingleEvent(String property, String eventName, ZonedDateTime start,
                                    ZonedDateTime end, String newValue) throws Exception {
-    for (IEvent event : events) {
-      if (event.getEventName().equals(eventName) && event.getStart().equals(start)
-              && event.getEnd().equals(end)) {
-        return modifyProperty(event, property, newValue);
+    validateValue(property, newValue);
+    List<IEvent> named = eventsByName.getOrDefault(eventName, new ArrayList<>());
+    for (int i = firstIndex(named, e -> !e.getStart().isBefore(start)); i < named.size()
+            && !named.get(i).getStart().isAfter(start); i++) {
+      IEvent event = named.get(i);
+      if (event.getStart().equals(start) && event.getEnd().equals(end)) {
+        return modifyNamed(eventName, i, i + 1, property, newValue) > 0;
+      }
+    }
+    for (int i = 0; i < series.size(); i++) {
+      RecurringSeries recurring = series.get(i);
+      if (!recurring.getTemplate().getName().equals(eventName)) {
+        continue;
+      }
+      Iterator<IEvent> instances = recurring.occurrencesBetween(start, start);
+      while (instances.hasNext()) {
+        IEvent instance = instances.next();
+        if (instance.getStart().equals(start) && instance.getEnd().equals(end)) {
+          return detachInstance(i, instance, property, newValue);
+        }
       }
     }
     throw new Exception("Event not found: " + eventName + " from " + start + " to " + end);
   }
 
+  // Takes an instance out of the series at the given index and stores it, edited, as an
+  // event of its own
+  private boolean detachInstance(int index, IEvent instance, String property,
+                                 String newValue) throws Exception {
+    if (!modifyProperty(instance, property, newValue)) {
+      return false;
+    }
+    RecurringSeries recurring = series.get(index);
+    RecurringSeries rest = recurring.excluding(instance.getStart());
+    if (rest == null) {
+      series.remove(index);
+    } else {
+      series.set(index, rest);
+    }
+    try {
+      scheduleEvent(instance);
+    } catch (Exception e) {
+      if (rest == null) {
+        series.add(index, recurring);
+      } else {
+        series.set(index, recurring);
+      }
+      throw e;
+    }
+    return true;
+  }
+
+  /**
+   * Rejects a value that the property cannot take. Every event manager calls this
+   * before it changes anything, so an invalid edit fails the same way in every store.
+   */
+  static void validateValue(String property, String newValue) throws Exception {
+    if (property.equalsIgnoreCase("public") && !newValue.equalsIgnoreCase("true")
+            && !newValue.equalsIgnoreCase("false")) {
+      throw new Exception("Invalid value for 'public': '" + newValue
+              + "' (must be 'true' or 'false')");
+    }
+  }
+
   @Override
   public int updateEventsFromStart(String property, String eventName, ZonedDateTime start,
-                                   String newValue) {
+                                   String newValue) throws Exception {
+    validateValue(property, newValue);
     int count = 0;
-    for (IEvent event : events) {
-      if (event.getEventName().equals(eventName) && !event.getStart().isBefore(start)) {
-        if (modifyProperty(event, property, newValue)) {
-          count++;
+    List<IEvent> named = eventsByName.get(eventName);
+    if (named != null) {
+      int from = firstIndex(named, e -> !e.getStart().isBefore(start));
+      count += modifyNamed(eventName, from, named.size(), property, newValue);
+    }
+    for (int i = 0; i < series.size(); i++) {
+      RecurringSeries recurring = series.get(i);
+      EventTemplate changed = recurring.getTemplate().getName().equals(eventName)
+              ? recurring.getTemplate().with(property, newValue) : null;
+      RecurringSeries later = changed == null ? null : recurring.startingFrom(start);
+      if (later != null) {
+        RecurringSeries earlier = recurring.before(start);
+        if (earlier == null) {
+          series.set(i, later.withTemplate(changed));
+        } else {
+          series.set(i, earlier);
+          series.add(++i, later.withTemplate(changed));
         }
+        count += instanceCount(later);
       }
     }
     return count;
@@ -117,25 +434,74 @@ public class EventManager implements IEventManager {
   @Override
   public int updateEventsByName(String property, String eventName, String newValue)
           throws Exception {
+    validateValue(property, newValue);
     int count = 0;
-    for (IEvent event : events) {
-      if (event.getEventName().equals(eventName)) {
-        if (property.equalsIgnoreCase("public")
-                &&
-                !newValue.equalsIgnoreCase("true")
-                && !newValue.equalsIgnoreCase("false")) {
-          throw new Exception("Invalid value for 'public': '" + newValue
-                  + "' (must be 'true' or 'false')");
-        }
-        if (modifyProperty(event, property, newValue)) {
-          count++;
-        }
+    List<IEvent> named = eventsByName.get(eventName);
+    if (named != null) {
+      count += modifyNamed(eventName, 0, named.size(), property, newValue);
+    }
+    for (int i = 0; i < series.size(); i++) {
+      RecurringSeries recurring = series.get(i);
+      EventTemplate changed = recurring.getTemplate().getName().equals(eventName)
+              ? recurring.getTemplate().with(property, newValue) : null;
+      if (changed != null) {
+        series.set(i, recurring.withTemplate(changed));
+        count += instanceCount(recurring);
       }
     }
     return count;
   }
 
-  private boolean modifyProperty(IEvent event, String property, String newValue) {
+  // A series that repeats forever counts as one; callers report it apart through
+  // countUnboundedSeries
+  private static int instanceCount(RecurringSeries recurring) {
+    return recurring.isUnbounded() ? 1 : recurring.getRule().occurrences().length;
+  }
+
+  // Changes a property of the events of a name from index 'from' to index 'to', moving
+  // them to their new name in the index if the name is changed
+  private int modifyNamed(String eventName, int from, int to, String property,
+                          String newValue) {
+    List<IEvent> named = eventsByName.get(eventName);
+    List<IEvent> changed = named.subList(from, to);
+    String value = property.equalsIgnoreCase("public") ? newValue : dictionary.intern(newValue);
+    int count = 0;
+    for (IEvent event : changed) {
+      if (modifyProperty(event, property, value)) {
+        count++;
+      }
+    }
+    if (count == 0 || !property.equalsIgnoreCase("name") || newValue.equals(eventName)) {
+      return count;
+    }
+    List<IEvent> moved = new ArrayList<>(changed);
+    changed.clear();
+    if (named.isEmpty()) {
+      eventsByName.remove(eventName);
+    }
+    eventsByName.put(newValue, merge(eventsByName.getOrDefault(newValue, new ArrayList<>()),
+            moved));
+    return count;
+  }
+
+  // Merges two lists in order of start into a new one, the events of the first list
+  // going before those of the second that start at the same time
+  private static List<IEvent> merge(List<IEvent> first, List<IEvent> second) {
+    List<IEvent> merged = new ArrayList<>(first.size() + second.size());
+    int i = 0;
+    int j = 0;
+    while (i < first.size() || j < second.size()) {
+      if (j == second.size() || (i < first.size()
+              && !first.get(i).getStart().isAfter(second.get(j).getStart()))) {
+        merged.add(first.get(i++));
+      } else {
+        merged.add(second.get(j++));
+      }
+    }
+    return merged;
+  }
+
+  static boolean modifyProperty(IEvent event, String property, String newValue) {
     switch (property.toLowerCase()) {
       case "name":
         event.setEventName(newValue);
@@ -159,10 +525,116 @@ public class EventManager implements IEventManager {
     return new ArrayList<>(events);
   }
 
+  @Override
+  public void scheduleSeries(RecurringSeries newSeries) throws Exception {
+    for (IEvent existing : overlapping(newSeries)) {
+      if (newSeries.firstConflict(existing) != null) {
+        throw new Exception("Conflict with existing event: " + existing.getEventName());
+      }
+    }
+    for (RecurringSeries existing : series) {
+      IEvent instance = newSeries.firstConflict(existing, seriesHorizon);
+      if (instance != null) {
+        throw new Exception("Conflict with existing event: " + instance.getEventName());
+      }
+    }
+    series.add(newSeries);
+  }
+
+  @Override
+  public List<RecurringSeries> retrieveAllSeries() {
+    return new ArrayList<>(series);
+  }
+
+  @Override
+  public List<String> retrieveEventNames() {
+    if (series.isEmpty()) {
+      return new ArrayList<>(eventsByName.keySet());
+    }
+    NavigableSet<String> names = new TreeSet<>(NAME_ORDER);
+    names.addAll(eventsByName.keySet());
+    for (RecurringSeries recurring : series) {
+      names.add(recurring.getTemplate().getName());
+    }
+    return new ArrayList<>(names);
+  }
+
+  @Override
+  public List<IEvent> fetchEventsByName(String eventName) {
+    return new ArrayList<>(eventsByName.getOrDefault(eventName, new ArrayList<>()));
+  }
+
+  @Override
+  public List<String> findEventNames(String prefix, int limit) {
+    List<String> found = namesWithPrefix(eventsByName.navigableKeySet(), prefix, limit);
+    if (series.isEmpty()) {
+      return found;
+    }
+    NavigableSet<String> names = new TreeSet<>(NAME_ORDER);
+    names.addAll(found);
+    for (RecurringSeries recurring : series) {
+      names.add(recurring.getTemplate().getName());
+    }
+    return namesWithPrefix(names, prefix, limit);
+  }
+
+  /**
+   * Returns the distinct names of the given events in {@link #NAME_ORDER}, for managers
+   * that do not keep them indexed.
+   *
+   * @param events The events.
+   * @return The sorted names.
+   */
+  static NavigableSet<String> eventNames(List<IEvent> events) {
+    NavigableSet<String> names = new TreeSet<>(NAME_ORDER);
+    for (IEvent event : events) {
+      names.add(event.getEventName());
+    }
+    return names;
+  }
+
+  /**
+   * Returns the first names in a set sorted in {@link #NAME_ORDER} that start with a
+   * prefix, ignoring case. They are found by a search of the set for the prefix, so the
+   * cost depends on the number of names returned rather than on the size of the set.
+   *
+   * @param names The names.
+   * @param prefix The prefix.
+   * @param limit The most names to return.
+   * @return The names, in order.
+   */
+  static List<String> namesWithPrefix(NavigableSet<String> names, String prefix, int limit) {
+    // Names that equal the prefix ignoring case may sort just before it
+    String first = prefix;
+    for (String name : names.headSet(prefix, false).descendingSet()) {
+      if (!name.equalsIgnoreCase(prefix)) {
+        break;
+      }
+      first = name;
+    }
+    List<String> result = new ArrayList<>();
+    for (String name : names.tailSet(first, true)) {
+      if (result.size() >= limit || !name.regionMatches(true, 0, prefix, 0, prefix.length())) {
+        break;
+      }
+      result.add(name);
+    }
+    return result;
+  }
+
   @Override
   public IEvent createEvent(String eventName, ZonedDateTime start,
                             ZonedDateTime end, boolean isFullDay) {
-    return new Event(eventName, start, end, isFullDay);
+    return new Event(dictionary.intern(eventName), start, end, isFullDay);
+  }
+
+  /**
+   * Returns the dictionary through which this manager's events share their strings.
+   *
+   * @return The string dictionary.
+   */
+  public StringDictionary getStringDictionary() {
+    return dictionary;
   }
 
   @Override
@@ -0,0 +1,40 @@
+package model;
+
+import java.util.List;
+
+/**
+ * The EventPage class holds one page of the events matching a query, together
+ * with the number of events matching the whole query. It lets listings be paged
+ * without handing every matching event to the caller.
+ */
+public final class EventPage {
+  private final List<IEvent> events;
+  private final int total;
+
+  public EventPage(List<IEvent> events, int total) {
+    this.events = events;
+    this.total = total;
+  }
+
+  /**
+   * Returns the page of a complete, ordered list of matching events.
+   *
+   * @param matches All matching events, in display order.
+   * @param offset The number of events to skip.
+   * @param limit The most events in the page.
+   * @return The page.
+   */
+  public static EventPage of(List<IEvent> matches, int offset, int limit) {
+    int from = Math.min(offset, matches.size());
+    int to = (int) Math.min((long) from + limit, matches.size());
+    return new EventPage(List.copyOf(matches.subList(from, to)), matches.size());
+  }
+
+  public List<IEvent> getEvents() {
+    return events;
+  }
+
+  public int getTotal() {
+    return total;
+  }
+}
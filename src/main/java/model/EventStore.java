@@ -0,0 +1,114 @@
+package model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Period;
+
+/**
+ * The EventStore enum selects how a calendar stores its events. Every calendar
+ * created by a calendar manager gets a new event manager of the selected kind.
+ * Calendars shared between clients are wrapped in a {@link LockingEventManager}
+ * unless their store is safe to share on its own (see {@link #isThreadSafe()}).
+ */
+public enum EventStore {
+  /** Events kept as objects in a list sorted by start time ({@link EventManager}). */
+  LIST,
+  /** Immutable snapshots read without locking ({@link SnapshotEventManager}). */
+  SNAPSHOT,
+  /** Events partitioned into monthly shards ({@link ShardedEventManager}). */
+  SHARDED,
+  /**
+   * Recent events on the heap and older ones in a memory-mapped file
+   * ({@link TieredEventManager}). The files are temporary and deleted on exit.
+   */
+  TIERED,
+  /** Events as records in direct byte buffers ({@link OffHeapEventManager}). */
+  OFFHEAP;
+
+  /** How long after their end events of a tiered store stay on the heap. */
+  public static final Period TIERED_HORIZON = Period.ofMonths(3);
+
+  /**
+   * Creates an empty event manager of this kind.
+   *
+   * @return The new event manager.
+   * @throws IOException If the store needs files that cannot be created.
+   */
+  public IEventManager newEventManager() throws IOException {
+    switch (this) {
+      case SNAPSHOT:
+        return new SnapshotEventManager(new RecurringEventManager());
+      case SHARDED:
+        return new ShardedEventManager(new RecurringEventManager());
+      case TIERED:
+        return newTieredEventManager();
+      case OFFHEAP:
+        return new OffHeapEventManager(new RecurringEventManager());
+      default:
+        return new EventManager(new RecurringEventManager());
+    }
+  }
+
+  private static TieredEventManager newTieredEventManager() throws IOException {
+    Path directory = Files.createTempDirectory("calendar-cold-");
+    // Deleted after the shutdown hooks, once the manager has deleted its file
+    directory.toFile().deleteOnExit();
+    TieredEventManager manager = new TieredEventManager(new RecurringEventManager(),
+            TIERED_HORIZON, directory);
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      try {
+        manager.close();
+      } catch (IOException e) {
+        // The file is in the temporary directory
+      }
+    }, "calendar-cold-cleanup"));
+    return manager;
+  }
+
+  /**
+   * Returns whether the event managers of this store can be shared between threads
+   * without a {@link LockingEventManager}. Their queries then neither lock the calendar
+   * nor copy the events, and the calendar's lock is only taken by the commands that
+   * read and then change it (see {@link Calendar#update}).
+   *
+   * @return True if the store needs no calendar-wide lock.
+   */
+  public boolean isThreadSafe() {
+    return this == SNAPSHOT || this == SHARDED;
+  }
+
+  /**
+   * Parses a store name, ignoring case.
+   *
+   * @param name The name of a store, such as "list" or "snapshot".
+   * @return The matching store.
+   * @throws IllegalArgumentException If the name is not a store.
+   */
+  public static EventStore parse(String name) {
+    for (EventStore store : values()) {
+      if (store.name().equalsIgnoreCase(name)) {
+        return store;
+      }
+    }
+    throw new IllegalArgumentException("Unknown event store: " + name + ". Use "
+            + names());
+  }
+
+  /**
+   * Returns the names of the stores for usage messages, such as "'list' or 'snapshot'".
+   *
+   * @return The quoted store names.
+   */
+  public static String names() {
+    StringBuilder names = new StringBuilder();
+    EventStore[] stores = values();
+    for (int i = 0; i < stores.length; i++) {
+      if (i > 0) {
+        names.append(i == stores.length - 1 ? " or " : ", ");
+      }
+      names.append('\'').append(stores[i].name().toLowerCase()).append('\'');
+    }
+    return names.toString();
+  }
+}
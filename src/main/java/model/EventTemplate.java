@@ -0,0 +1,147 @@
+package model;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/**
+ * The EventTemplate class holds everything about an event except when it starts: its
+ * name, description, location, length, visibility, whether it lasts all day and the
+ * zone its times are shown in. Templates are immutable, so every instance of a
+ * recurring series can share one and only store its own start time (see
+ * {@link TemplateEvent}). Changing a property produces a new template.
+ * Templates with equal properties are equal, which lets a manager keep a single
+ * shared copy of each.
+ */
+public final class EventTemplate {
+  private final String name;
+  private final String description;
+  private final String location;
+  private final Duration duration;
+  private final boolean isFullDay;
+  private final boolean isPublic;
+  private final ZoneId zone;
+
+  /**
+   * Creates a template.
+   *
+   * @param name The event name.
+   * @param description The description.
+   * @param location The location.
+   * @param duration The time from start to end; must not be negative.
+   * @param isFullDay Whether the event lasts all day.
+   * @param isPublic Whether the event is public.
+   * @param zone The zone of the start and end times.
+   */
+  public EventTemplate(String name, String description, String location, Duration duration,
+                       boolean isFullDay, boolean isPublic, ZoneId zone) {
+    if (duration.isNegative()) {
+      throw new IllegalArgumentException("End time cannot be before start time.");
+    }
+    this.name = name;
+    this.description = description;
+    this.location = location;
+    this.duration = duration;
+    this.isFullDay = isFullDay;
+    this.isPublic = isPublic;
+    this.zone = zone;
+  }
+
+  /**
+   * Returns the template describing the given event. The event's end time is
+   * expressed in the zone of its start time.
+   *
+   * @param event The event.
+   * @return A template with the event's properties.
+   */
+  public static EventTemplate of(IEvent event) {
+    return new EventTemplate(event.getEventName(), event.getDescription(),
+            event.getLocation(), Duration.between(event.getStart(), event.getEnd()),
+            event.isFullDay(), event.isPublic(), event.getStart().getZone());
+  }
+
+  /**
+   * Returns a copy of this template with one property changed. The properties are
+   * the ones the edit commands accept: name, description, location and public.
+   *
+   * @param property The property name, ignoring case.
+   * @param newValue The new value.
+   * @return The changed template, or null if the property cannot be edited.
+   */
+  public EventTemplate with(String property, String newValue) {
+    switch (property.toLowerCase()) {
+      case "name":
+        return new EventTemplate(newValue, description, location, duration, isFullDay,
+                isPublic, zone);
+      case "description":
+        return new EventTemplate(name, newValue, location, duration, isFullDay, isPublic, zone);
+      case "location":
+        return new EventTemplate(name, description, newValue, duration, isFullDay, isPublic,
+                zone);
+      case "public":
+        return new EventTemplate(name, description, location, duration, isFullDay,
+                Boolean.parseBoolean(newValue), zone);
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Returns a copy of this template whose events are shown in the given zone.
+   *
+   * @param newZone The zone.
+   * @return The changed template.
+   */
+  public EventTemplate withZone(ZoneId newZone) {
+    return new EventTemplate(name, description, location, duration, isFullDay, isPublic,
+            newZone);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public String getLocation() {
+    return location;
+  }
+
+  public Duration getDuration() {
+    return duration;
+  }
+
+  public boolean isFullDay() {
+    return isFullDay;
+  }
+
+  public boolean isPublic() {
+    return isPublic;
+  }
+
+  public ZoneId getZone() {
+    return zone;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof EventTemplate)) {
+      return false;
+    }
+    EventTemplate that = (EventTemplate) other;
+    return isFullDay == that.isFullDay && isPublic == that.isPublic
+            && Objects.equals(name, that.name) && Objects.equals(description, that.description)
+            && Objects.equals(location, that.location) && duration.equals(that.duration)
+            && zone.equals(that.zone);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(name, description, location, duration, isFullDay, isPublic, zone);
+  }
+}
@@ -3,6 +3,8 @@ package model;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -17,24 +19,152 @@ public interface IEventManager {
 
   void scheduleEvent(IEvent newEvent) throws Exception;
 
+  /**
+   * Schedules several events, such as the instances of a recurring event. The events
+   * are scheduled one at a time unless an implementation can do better.
+   *
+   * @param newEvents The events to schedule.
+   * @throws Exception If an event conflicts with another one.
+   */
+  default void scheduleAll(List<IEvent> newEvents) throws Exception {
+    for (IEvent newEvent : newEvents) {
+      scheduleEvent(newEvent);
+    }
+  }
+
   List<IEvent> fetchEventsStartingOnDate(LocalDate date);
 
   List<IEvent> fetchEventsOnDate(LocalDate date);
 
   List<IEvent> fetchEventsInRange(ZonedDateTime start, ZonedDateTime end);
 
+  /**
+   * Returns a page of the events on a date, in the order of
+   * {@link #fetchEventsOnDate(LocalDate)}, and how many events there are on the date.
+   *
+   * @param date The date.
+   * @param offset The number of events to skip.
+   * @param limit The most events to return.
+   * @return The page of events.
+   */
+  default EventPage fetchEventsOnDate(LocalDate date, int offset, int limit) {
+    return EventPage.of(fetchEventsOnDate(date), offset, limit);
+  }
+
+  /**
+   * Returns a page of the events in a range, in the order of
+   * {@link #fetchEventsInRange(ZonedDateTime, ZonedDateTime)}, and how many events
+   * there are in the range.
+   *
+   * @param start The start of the range.
+   * @param end The end of the range.
+   * @param offset The number of events to skip.
+   * @param limit The most events to return.
+   * @return The page of events.
+   */
+  default EventPage fetchEventsInRange(ZonedDateTime start, ZonedDateTime end, int offset,
+                                       int limit) {
+    return EventPage.of(fetchEventsInRange(start, end), offset, limit);
+  }
+
   boolean isOccupiedAt(ZonedDateTime time);
 
   boolean updateSingleEvent(String property, String eventName, ZonedDateTime start,
                             ZonedDateTime end, String newValue) throws Exception;
 
+  /**
+   * Changes a property of the events of a name that start at or after a time.
+   *
+   * @param property The property to change.
+   * @param eventName The name of the events.
+   * @param start The earliest start of the events to change.
+   * @param newValue The new value.
+   * @return The number of events changed, counting each series that repeats forever as
+   *     one; see {@link #countUnboundedSeries(String)}.
+   * @throws Exception If the value is invalid or the change cannot be stored.
+   */
   int updateEventsFromStart(String property, String eventName, ZonedDateTime start,
-                            String newValue);
+                            String newValue) throws Exception;
 
+  /**
+   * Changes a property of every event of a name.
+   *
+   * @param property The property to change.
+   * @param eventName The name of the events.
+   * @param newValue The new value.
+   * @return The number of events changed, counting each series that repeats forever as
+   *     one; see {@link #countUnboundedSeries(String)}.
+   * @throws Exception If the value is invalid.
+   */
   int updateEventsByName(String property, String eventName, String newValue) throws Exception;
 
+  /**
+   * Returns the number of series of a name that repeat forever. The bulk edits count
+   * each of them as one event, so callers can report them apart.
+   *
+   * @param eventName The name of the series.
+   * @return The number of such series.
+   */
+  default int countUnboundedSeries(String eventName) {
+    int count = 0;
+    for (RecurringSeries series : retrieveAllSeries()) {
+      if (series.isUnbounded() && series.getTemplate().getName().equals(eventName)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
   List<IEvent> retrieveAllEvents();
 
+  /**
+   * Adds a recurring series that is kept as its rule rather than as events, such as
+   * one that repeats forever. Its instances are included in the results of the date
+   * and range queries and in conflict checks, but not in {@link #retrieveAllEvents()}.
+   *
+   * @param series The series.
+   * @throws Exception If an instance conflicts with an event or another series, or if
+   *     the manager cannot store series.
+   */
+  void scheduleSeries(RecurringSeries series) throws Exception;
+
+  List<RecurringSeries> retrieveAllSeries();
+
+  /**
+   * Returns the distinct names of the events and series, ordered ignoring case.
+   *
+   * @return The names.
+   */
+  List<String> retrieveEventNames();
+
+  /**
+   * Returns the distinct names of the events and series that start with a prefix,
+   * ignoring case, in the order of {@link #retrieveEventNames()}.
+   *
+   * @param prefix The prefix; an empty prefix matches every name.
+   * @param limit The most names to return.
+   * @return The first matching names.
+   */
+  List<String> findEventNames(String prefix, int limit);
+
+  /**
+   * Returns the stored events of a name in order of start. The instances of series
+   * that repeat forever are not included.
+   *
+   * @param eventName The name.
+   * @return The events.
+   */
+  default List<IEvent> fetchEventsByName(String eventName) {
+    List<IEvent> named = new ArrayList<>();
+    for (IEvent event : retrieveAllEvents()) {
+      if (event.getEventName().equals(eventName)) {
+        named.add(event);
+      }
+    }
+    named.sort(Comparator.comparing(IEvent::getStart));
+    return named;
+  }
+
   IEvent createEvent(String eventName, ZonedDateTime start, ZonedDateTime end,
                      boolean isFullDay);
 
@@ -1,6 +1,7 @@
 package model;
 
 import java.time.ZonedDateTime;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -15,4 +16,26 @@ import java.util.List;
 public interface IRecurringEventManager {
   List<IEvent> createRecurringEvents(String eventName, ZonedDateTime start, ZonedDateTime end,
                                      String repeatRule, boolean isFullDay) throws Exception;
+
+  /**
+   * Returns the events of a recurring series that overlap a window, in order, without
+   * building the rest of the series. The iterator seeks directly to the window and
+   * creates each event only when it is requested, so the cost depends on the size of
+   * the window rather than on the length of the series. As for range queries, an event
+   * overlaps the window if it does not end before {@code from} or start after
+   * {@code to}.
+   *
+   * @param eventName The name of the events.
+   * @param start The start of the first event of the series.
+   * @param end The end of the first event of the series.
+   * @param repeatRule The recurrence rule of the series.
+   * @param isFullDay Whether the events are full-day events.
+   * @param from The start of the window.
+   * @param to The end of the window.
+   * @return An iterator over the events of the series in the window.
+   * @throws Exception If the recurrence rule is invalid.
+   */
+  Iterator<IEvent> occurrencesBetween(String eventName, ZonedDateTime start, ZonedDateTime end,
+                                      String repeatRule, boolean isFullDay, ZonedDateTime from,
+                                      ZonedDateTime to) throws Exception;
 }
\ No newline at end of file
@@ -0,0 +1,265 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The LockingEventManager class makes another IEventManager safe to share between
+ * threads. Queries (day and range lookups, occupancy checks, retrieving all events)
+ * run under a shared read lock and may proceed in parallel, while operations that
+ * change the schedule run under the exclusive write lock.
+ * Queries return copies of the stored events, so callers can read them after the lock
+ * is released while another thread edits the originals.
+ * Event factory methods do not touch the stored events and are not locked.
+ */
+public class LockingEventManager implements IEventManager {
+  private final IEventManager delegate;
+  private final ReadWriteLock lock;
+
+  public LockingEventManager(IEventManager delegate) {
+    this(delegate, new ReentrantReadWriteLock());
+  }
+
+  /**
+   * Creates a manager guarded by the given lock, such as the lock of the calendar that
+   * owns the events.
+   *
+   * @param delegate The manager to make thread-safe.
+   * @param lock The lock guarding it.
+   */
+  public LockingEventManager(IEventManager delegate, ReadWriteLock lock) {
+    this.delegate = delegate;
+    this.lock = lock;
+  }
+
+  /**
+   * Returns the lock guarding the wrapped manager, so callers can group several
+   * operations into one atomic step. The lock is reentrant.
+   *
+   * @return The read/write lock of this manager.
+   */
+  public ReadWriteLock getLock() {
+    return lock;
+  }
+
+  @Override
+  public void scheduleEvent(IEvent newEvent) throws Exception {
+    lock.writeLock().lock();
+    try {
+      delegate.scheduleEvent(newEvent);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void scheduleAll(List<IEvent> newEvents) throws Exception {
+    lock.writeLock().lock();
+    try {
+      delegate.scheduleAll(newEvents);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public List<IEvent> fetchEventsStartingOnDate(LocalDate date) {
+    lock.readLock().lock();
+    try {
+      return copies(delegate.fetchEventsStartingOnDate(date));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<IEvent> fetchEventsOnDate(LocalDate date) {
+    lock.readLock().lock();
+    try {
+      return copies(delegate.fetchEventsOnDate(date));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<IEvent> fetchEventsInRange(ZonedDateTime start, ZonedDateTime end) {
+    lock.readLock().lock();
+    try {
+      return copies(delegate.fetchEventsInRange(start, end));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public EventPage fetchEventsOnDate(LocalDate date, int offset, int limit) {
+    lock.readLock().lock();
+    try {
+      EventPage page = delegate.fetchEventsOnDate(date, offset, limit);
+      return new EventPage(copies(page.getEvents()), page.getTotal());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public EventPage fetchEventsInRange(ZonedDateTime start, ZonedDateTime end, int offset,
+                                      int limit) {
+    lock.readLock().lock();
+    try {
+      EventPage page = delegate.fetchEventsInRange(start, end, offset, limit);
+      return new EventPage(copies(page.getEvents()), page.getTotal());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public boolean isOccupiedAt(ZonedDateTime time) {
+    lock.readLock().lock();
+    try {
+      return delegate.isOccupiedAt(time);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public boolean updateSingleEvent(String property, String eventName, ZonedDateTime start,
+                                   ZonedDateTime end, String newValue) throws Exception {
+    lock.writeLock().lock();
+    try {
+      return delegate.updateSingleEvent(property, eventName, start, end, newValue);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public int updateEventsFromStart(String property, String eventName, ZonedDateTime start,
+                                   String newValue) throws Exception {
+    lock.writeLock().lock();
+    try {
+      return delegate.updateEventsFromStart(property, eventName, start, newValue);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public int updateEventsByName(String property, String eventName, String newValue)
+          throws Exception {
+    lock.writeLock().lock();
+    try {
+      return delegate.updateEventsByName(property, eventName, newValue);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public List<IEvent> retrieveAllEvents() {
+    lock.readLock().lock();
+    try {
+      return copies(delegate.retrieveAllEvents());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void scheduleSeries(RecurringSeries series) throws Exception {
+    lock.writeLock().lock();
+    try {
+      delegate.scheduleSeries(series);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public List<RecurringSeries> retrieveAllSeries() {
+    lock.readLock().lock();
+    try {
+      return delegate.retrieveAllSeries();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<String> retrieveEventNames() {
+    lock.readLock().lock();
+    try {
+      return delegate.retrieveEventNames();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<IEvent> fetchEventsByName(String eventName) {
+    lock.readLock().lock();
+    try {
+      return copies(delegate.fetchEventsByName(eventName));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<String> findEventNames(String prefix, int limit) {
+    lock.readLock().lock();
+    try {
+      return delegate.findEventNames(prefix, limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public IEvent createEvent(String eventName, ZonedDateTime start, ZonedDateTime end,
+                            boolean isFullDay) {
+    return delegate.createEvent(eventName, start, end, isFullDay);
+  }
+
+  @Override
+  public List<IEvent> createRecurringEvents(String eventName, ZonedDateTime start,
+                                            ZonedDateTime end, String repeatRule,
+                                            boolean isFullDay) throws Exception {
+    return delegate.createRecurringEvents(eventName, start, end, repeatRule, isFullDay);
+  }
+
+  @Override
+  public void adjustTimezone(ZoneId oldZone, ZoneId newZone) {
+    lock.writeLock().lock();
+    try {
+      delegate.adjustTimezone(oldZone, newZone);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static List<IEvent> copies(List<IEvent> events) {
+    List<IEvent> result = new ArrayList<>(events.size());
+    for (IEvent event : events) {
+      result.add(copy(event));
+    }
+    return result;
+  }
+
+  private static IEvent copy(IEvent event) {
+    Event copy = new Event(event.getEventName(), event.getStart(), event.getEnd(),
+            event.isFullDay());
+    copy.setDescription(event.getDescription());
+    copy.setLocation(event.getLocation());
+    copy.setPublic(event.isPublic());
+    return copy;
+  }
+}
@@ -0,0 +1,70 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * The NameIndex class counts the events of each name, sorted in
+ * {@link EventManager#NAME_ORDER}, for event managers that do not keep their events by
+ * name. A name is listed for as long as some event has it, so the distinct names and
+ * the names starting with a prefix are found without visiting the events. The index
+ * may be updated and read by several threads.
+ */
+final class NameIndex {
+  private final TreeMap<String, Integer> counts = new TreeMap<>(EventManager.NAME_ORDER);
+
+  /**
+   * Records that events of a name were added.
+   *
+   * @param name The name.
+   * @param count The number of events added.
+   */
+  synchronized void add(String name, int count) {
+    if (count > 0) {
+      counts.merge(name, count, Integer::sum);
+    }
+  }
+
+  /**
+   * Records that events were renamed.
+   *
+   * @param oldName The name the events had.
+   * @param newName The name they have now.
+   * @param count The number of events renamed.
+   */
+  synchronized void rename(String oldName, String newName, int count) {
+    if (count <= 0) {
+      return;
+    }
+    Integer left = counts.get(oldName);
+    if (left != null) {
+      if (left > count) {
+        counts.put(oldName, left - count);
+      } else {
+        counts.remove(oldName);
+      }
+    }
+    add(newName, count);
+  }
+
+  /**
+   * Returns the names in {@link EventManager#NAME_ORDER}.
+   *
+   * @return The names.
+   */
+  synchronized List<String> names() {
+    return new ArrayList<>(counts.keySet());
+  }
+
+  /**
+   * Returns the first names that start with a prefix, ignoring case.
+   *
+   * @param prefix The prefix.
+   * @param limit The most names to return.
+   * @return The names, in order.
+   */
+  synchronized List<String> withPrefix(String prefix, int limit) {
+    return EventManager.namesWithPrefix(counts.navigableKeySet(), prefix, limit);
+  }
+}
@@ -0,0 +1,415 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * The OffHeapEventManager class stores events as fixed-width records in direct
+ * (off-heap) byte buffers, so a calendar with millions of events does not give the
+ * garbage collector millions of objects to trace. A record holds the start and end
+ * instants, the flags and references into a string table; since names, descriptions,
+ * locations and zones repeat across the events of a calendar, the table keeps each
+ * distinct string once. The heap only holds that table and an int array of record
+ * numbers ordered by start time.
+ * Queries binary search the ordered records and decode the matches into new
+ * {@link Event} objects, which are short-lived. Edits go through the update methods;
+ * changing a returned event does not change the stored record. The distinct names are
+ * counted in a {@link NameIndex}, so listing them does not decode the records.
+ * Like {@link EventManager}, this class is not thread-safe; wrap it in a
+ * {@link LockingEventManager} to share it.
+ */
+public class OffHeapEventManager implements IEventManager {
+  static final int RECORD_SIZE = 48;
+  static final int RECORDS_PER_CHUNK = 1 << 16;
+
+  private static final int START_SECOND = 0;
+  private static final int END_SECOND = 8;
+  private static final int START_NANO = 16;
+  private static final int END_NANO = 20;
+  private static final int ZONE = 24;
+  private static final int NAME = 28;
+  private static final int DESCRIPTION = 32;
+  private static final int LOCATION = 36;
+  private static final int FLAGS = 40;
+  private static final int FULL_DAY = 1;
+  private static final int PUBLIC = 2;
+
+  private final IRecurringEventManager recurringEventCreator;
+  private final List<ByteBuffer> chunks = new ArrayList<>();
+  private final StringTable strings = new StringTable();
+  private final Map<Integer, ZoneId> zones = new HashMap<>();
+  private final NameIndex names = new NameIndex();
+  private int[] order = new int[16];
+  private int size;
+  private long longestEventSeconds;
+
+  public OffHeapEventManager(IRecurringEventManager recurringEventCreator) {
+    this.recurringEventCreator = recurringEventCreator;
+  }
+
+  @Override
+  public void scheduleEvent(IEvent newEvent) throws Exception {
+    Instant start = newEvent.getStart().toInstant();
+    Instant end = newEvent.getEnd().toInstant();
+    for (int i = firstCandidate(start); i < size && !startsAfter(order[i], end); i++) {
+      IEvent existing = decode(order[i]);
+      if (newEvent.overlapsWith(existing)) {
+        throw new Exception("Conflict with existing event: " + existing.getEventName());
+      }
+    }
+    int record = size;
+    ByteBuffer chunk = chunkFor(record);
+    int base = offsetOf(record);
+    chunk.putLong(base + START_SECOND, start.getEpochSecond());
+    chunk.putLong(base + END_SECOND, end.getEpochSecond());
+    chunk.putInt(base + START_NANO, start.getNano());
+    chunk.putInt(base + END_NANO, end.getNano());
+    chunk.putInt(base + ZONE, strings.idOf(newEvent.getStart().getZone().getId()));
+    chunk.putInt(base + NAME, strings.idOf(newEvent.getEventName()));
+    chunk.putInt(base + DESCRIPTION, strings.idOf(newEvent.getDescription()));
+    chunk.putInt(base + LOCATION, strings.idOf(newEvent.getLocation()));
+    chunk.putInt(base + FLAGS, (newEvent.isFullDay() ? FULL_DAY : 0)
+            | (newEvent.isPublic() ? PUBLIC : 0));
+
+    // Keep records with equal starts in insertion order, as EventManager's stable sort does
+    int position = insertionPoint(newEvent.getStart());
+    if (size == order.length) {
+      order = Arrays.copyOf(order, size * 2);
+    }
+    System.arraycopy(order, position, order, position + 1, size - position);
+    order[position] = record;
+    size++;
+    longestEventSeconds = Math.max(longestEventSeconds,
+            end.getEpochSecond() - start.getEpochSecond());
+    names.add(newEvent.getEventName(), 1);
+  }
+
+  @Override
+  public void adjustTimezone(ZoneId oldZone, ZoneId newZone) {
+    int zone = strings.idOf(newZone.getId());
+    for (int record = 0; record < size; record++) {
+      chunkFor(record).putInt(offsetOf(record) + ZONE, zone);
+    }
+  }
+
+  @Override
+  public List<IEvent> fetchEventsStartingOnDate(LocalDate date) {
+    return collect(EventManager.dayStart(date).toInstant(), EventManager.dayEnd(date).toInstant(),
+        event -> EventManager.startsOnDate(event, date));
+  }
+
+  @Override
+  public List<IEvent> fetchEventsOnDate(LocalDate date) {
+    return collect(EventManager.dayStart(date).toInstant(), EventManager.dayEnd(date).toInstant(),
+        event -> EventManager.occursOnDate(event, date));
+  }
+
+  @Override
+  public List<IEvent> fetchEventsInRange(ZonedDateTime start, ZonedDateTime end) {
+    return collect(start.toInstant(), end.toInstant(),
+        event -> !event.getEnd().isBefore(start) && !event.getStart().isAfter(end));
+  }
+
+  // Only the records of the page are decoded; the others are just counted
+  @Override
+  public EventPage fetchEventsInRange(ZonedDateTime start, ZonedDateTime end, int offset,
+                                      int limit) {
+    Instant from = start.toInstant();
+    Instant to = end.toInstant();
+    List<IEvent> page = new ArrayList<>();
+    int total = 0;
+    for (int i = firstCandidate(from); i < size && !startsAfter(order[i], to); i++) {
+      if (endOf(order[i]).isBefore(from)) {
+        continue;
+      }
+      if (total >= offset && total - offset < limit) {
+        page.add(decode(order[i]));
+      }
+      total++;
+    }
+    return new EventPage(page, total);
+  }
+
+  @Override
+  public boolean isOccupiedAt(ZonedDateTime time) {
+    Instant instant = time.toInstant();
+    for (int i = firstCandidate(instant); i < size && !startsAfter(order[i], instant); i++) {
+      if (endOf(order[i]).isAfter(instant)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean updateSingleEvent(String property, String eventName, ZonedDateTime start,
+                                   ZonedDateTime end, String newValue) throws Exception {
+    EventManager.validateValue(property, newValue);
+    Instant instant = start.toInstant();
+    for (int i = firstCandidate(instant); i < size && !startsAfter(order[i], instant); i++) {
+      IEvent event = decode(order[i]);
+      if (event.getEventName().equals(eventName) && event.getStart().equals(start)
+              && event.getEnd().equals(end)) {
+        return modify(order[i], property, newValue);
+      }
+    }
+    throw new Exception("Event not found: " + eventName + " from " + start + " to " + end);
+  }
+
+  @Override
+  public int updateEventsFromStart(String property, String eventName, ZonedDateTime start,
+                                   String newValue) throws Exception {
+    EventManager.validateValue(property, newValue);
+    int name = strings.find(eventName);
+    int count = 0;
+    for (int i = 0; i < size && name >= 0; i++) {
+      int record = order[i];
+      if (nameOf(record) == name && !decodeStart(record).isBefore(start)
+              && modify(record, property, newValue)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public int updateEventsByName(String property, String eventName, String newValue)
+          throws Exception {
+    EventManager.validateValue(property, newValue);
+    int name = strings.find(eventName);
+    int count = 0;
+    for (int i = 0; i < size && name >= 0; i++) {
+      int record = order[i];
+      if (nameOf(record) == name && modify(record, property, newValue)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public List<IEvent> retrieveAllEvents() {
+    List<IEvent> result = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      result.add(decode(order[i]));
+    }
+    return result;
+  }
+
+  @Override
+  public void scheduleSeries(RecurringSeries series) throws Exception {
+    throw new Exception("Recurring events without an end are not supported by this calendar");
+  }
+
+  @Override
+  public List<RecurringSeries> retrieveAllSeries() {
+    return new ArrayList<>();
+  }
+
+  @Override
+  public List<String> retrieveEventNames() {
+    return names.names();
+  }
+
+  @Override
+  public List<String> findEventNames(String prefix, int limit) {
+    return names.withPrefix(prefix, limit);
+  }
+
+  @Override
+  public IEvent createEvent(String eventName, ZonedDateTime start,
+                            ZonedDateTime end, boolean isFullDay) {
+    return new Event(eventName, start, end, isFullDay);
+  }
+
+  @Override
+  public List<IEvent> createRecurringEvents(String eventName, ZonedDateTime start,
+                                            ZonedDateTime end, String repeatRule,
+                                            boolean isFullDay) throws Exception {
+    return recurringEventCreator.createRecurringEvents(eventName, start,
+            end, repeatRule, isFullDay);
+  }
+
+  /**
+   * Returns the number of off-heap bytes allocated for event records.
+   *
+   * @return The arena size in bytes.
+   */
+  public long getArenaBytes() {
+    return (long) chunks.size() * RECORDS_PER_CHUNK * RECORD_SIZE;
+  }
+
+  /**
+   * Returns the number of distinct strings held in the string table.
+   *
+   * @return The string table size.
+   */
+  public int getStringCount() {
+    return strings.size();
+  }
+
+  private List<IEvent> collect(Instant from, Instant to, Predicate<IEvent> filter) {
+    List<IEvent> result = new ArrayList<>();
+    for (int i = firstCandidate(from); i < size && !startsAfter(order[i], to); i++) {
+      if (endOf(order[i]).isBefore(from)) {
+        continue;
+      }
+      IEvent event = decode(order[i]);
+      if (filter.test(event)) {
+        result.add(event);
+      }
+    }
+    return result;
+  }
+
+  private boolean modify(int record, String property, String newValue) {
+    ByteBuffer chunk = chunkFor(record);
+    int base = offsetOf(record);
+    switch (property.toLowerCase()) {
+      case "name":
+        names.rename(strings.get(chunk.getInt(base + NAME)), newValue, 1);
+        chunk.putInt(base + NAME, strings.idOf(newValue));
+        return true;
+      case "description":
+        chunk.putInt(base + DESCRIPTION, strings.idOf(newValue));
+        return true;
+      case "location":
+        chunk.putInt(base + LOCATION, strings.idOf(newValue));
+        return true;
+      case "public":
+        int flags = chunk.getInt(base + FLAGS) & ~PUBLIC;
+        chunk.putInt(base + FLAGS, Boolean.parseBoolean(newValue) ? flags | PUBLIC : flags);
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  // The first position whose event may still be running at the given instant
+  private int firstCandidate(Instant instant) {
+    Instant earliest = instant.minusSeconds(longestEventSeconds + 1);
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (startOf(order[mid]).isBefore(earliest)) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private int insertionPoint(ZonedDateTime start) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (decodeStart(order[mid]).compareTo(start) <= 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private boolean startsAfter(int record, Instant instant) {
+    return startOf(record).isAfter(instant);
+  }
+
+  private Instant startOf(int record) {
+    ByteBuffer chunk = chunkFor(record);
+    int base = offsetOf(record);
+    return Instant.ofEpochSecond(chunk.getLong(base + START_SECOND),
+            chunk.getInt(base + START_NANO));
+  }
+
+  private Instant endOf(int record) {
+    ByteBuffer chunk = chunkFor(record);
+    int base = offsetOf(record);
+    return Instant.ofEpochSecond(chunk.getLong(base + END_SECOND), chunk.getInt(base + END_NANO));
+  }
+
+  private int nameOf(int record) {
+    return chunkFor(record).getInt(offsetOf(record) + NAME);
+  }
+
+  private ZonedDateTime decodeStart(int record) {
+    ZoneId zone = zoneOf(chunkFor(record).getInt(offsetOf(record) + ZONE));
+    return ZonedDateTime.ofInstant(startOf(record), zone);
+  }
+
+  private IEvent decode(int record) {
+    ByteBuffer chunk = chunkFor(record);
+    int base = offsetOf(record);
+    ZoneId zone = zoneOf(chunk.getInt(base + ZONE));
+    int flags = chunk.getInt(base + FLAGS);
+    IEvent event = new Event(strings.get(chunk.getInt(base + NAME)),
+            ZonedDateTime.ofInstant(startOf(record), zone),
+            ZonedDateTime.ofInstant(endOf(record), zone), (flags & FULL_DAY) != 0);
+    event.setDescription(strings.get(chunk.getInt(base + DESCRIPTION)));
+    event.setLocation(strings.get(chunk.getInt(base + LOCATION)));
+    event.setPublic((flags & PUBLIC) != 0);
+    return event;
+  }
+
+  private ZoneId zoneOf(int id) {
+    return zones.computeIfAbsent(id, key -> ZoneId.of(strings.get(key)));
+  }
+
+  private ByteBuffer chunkFor(int record) {
+    int index = record / RECORDS_PER_CHUNK;
+    while (chunks.size() <= index) {
+      chunks.add(ByteBuffer.allocateDirect(RECORDS_PER_CHUNK * RECORD_SIZE));
+    }
+    return chunks.get(index);
+  }
+
+  private static int offsetOf(int record) {
+    return (record % RECORDS_PER_CHUNK) * RECORD_SIZE;
+  }
+
+  /**
+   * Distinct strings with their ids. Strings are never removed, so the ids stored in
+   * records stay valid.
+   */
+  private static final class StringTable {
+    private final List<String> values = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    int idOf(String value) {
+      String key = value == null ? "" : value;
+      Integer id = ids.get(key);
+      if (id == null) {
+        id = values.size();
+        values.add(key);
+        ids.put(key, id);
+      }
+      return id;
+    }
+
+    int find(String value) {
+      Integer id = ids.get(value);
+      return id == null ? -1 : id;
+    }
+
+    String get(int id) {
+      return values.get(id);
+    }
+
+    int size() {
+      return values.size();
+    }
+  }
+}
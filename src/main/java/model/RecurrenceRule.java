@@ -0,0 +1,503 @@
+package model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+
+/**
+ * The RecurrenceRule class is a parsed repeat rule. It decides on which days a
+ * recurring event occurs, working on epoch days so that no date-time objects are
+ * built until an occurrence is needed. The supported patterns are:
+ * <ul>
+ *   <li>{@code MTWRFSU}: the listed weekdays, optionally {@code every N weeks},
+ *       counted from the week of the first event;</li>
+ *   <li>{@code monthly}: the day of the month of the first event, skipping months
+ *       that are too short;</li>
+ *   <li>{@code monthly 2nd T} or {@code monthly last F}: the n-th (1st to 5th) or last
+ *       given weekday of each month, skipping months without a 5th one;</li>
+ *   <li>{@code yearly}: the month and day of the first event, so a series starting on
+ *       February 29 only occurs in leap years.</li>
+ * </ul>
+ * Each pattern is followed by {@code for N times}, {@code until <date>} or
+ * {@code forever}, and may end with {@code except <date>,<date>,...} to leave out
+ * single days. Excluded days still count towards {@code N}. A rule that repeats
+ * forever cannot be expanded as a whole, only window by window.
+ * Finding the next occurrence takes constant time, so the occurrences in a window
+ * cost time proportional to their number, wherever the window lies in the series.
+ */
+public final class RecurrenceRule {
+  private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+  private static final DateTimeFormatter TIME_FORMAT =
+          DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+  private static final String VALID_DAY_CODES = "MTWRFSU";
+  private static final String[] ORDINALS = {"1st", "2nd", "3rd", "4th", "5th"};
+
+  private enum Pattern { WEEKLY, MONTHLY_BY_DAY, MONTHLY_BY_WEEKDAY, YEARLY }
+
+  private final Pattern pattern;
+  private final long firstDay;
+  private final int weekdays;
+  private final int interval;
+  private final long firstMonday;
+  private final int ordinal;
+  private final DayOfWeek weekday;
+  private final int dayOfMonth;
+  private final int month;
+  private final long lastDay;
+  private final long[] exceptions;
+
+  private RecurrenceRule(Pattern pattern, LocalDate first, int weekdays, int interval,
+                         int ordinal, DayOfWeek weekday, long lastDay, long[] exceptions) {
+    this.pattern = pattern;
+    this.firstDay = first.toEpochDay();
+    this.weekdays = weekdays;
+    this.interval = interval;
+    this.firstMonday = firstDay - (first.getDayOfWeek().getValue() - 1);
+    this.ordinal = ordinal;
+    this.weekday = weekday;
+    this.dayOfMonth = first.getDayOfMonth();
+    this.month = first.getMonthValue();
+    this.lastDay = lastDay;
+    this.exceptions = exceptions;
+  }
+
+  private RecurrenceRule(RecurrenceRule rule, long firstDay, long lastDay, long[] exceptions) {
+    this.pattern = rule.pattern;
+    this.firstDay = firstDay;
+    this.weekdays = rule.weekdays;
+    this.interval = rule.interval;
+    this.firstMonday = rule.firstMonday;
+    this.ordinal = rule.ordinal;
+    this.weekday = rule.weekday;
+    this.dayOfMonth = rule.dayOfMonth;
+    this.month = rule.month;
+    this.lastDay = lastDay;
+    this.exceptions = exceptions;
+  }
+
+  /**
+   * Parses a repeat rule for a series whose first event runs from {@code start} to
+   * {@code end}. An {@code until} limit ends the series before the first day on which
+   * that event would start or end after the limit.
+   *
+   * @param repeatRule The rule, for example "MW every 2 weeks for 10 times".
+   * @param start The start of the first event.
+   * @param end The end of the first event.
+   * @param isFullDay Whether the limit is a date rather than a date and time.
+   * @return The parsed rule.
+   * @throws Exception If the rule is malformed.
+   */
+  public static RecurrenceRule parse(String repeatRule, ZonedDateTime start, ZonedDateTime end,
+                                     boolean isFullDay) throws Exception {
+    String rule = repeatRule.trim();
+    long[] exceptions = new long[0];
+    int except = rule.toLowerCase().indexOf(" except ");
+    if (except >= 0) {
+      exceptions = parseExceptions(rule.substring(except + 8).trim(), repeatRule);
+      rule = rule.substring(0, except).trim();
+    }
+    String[] tokens = rule.split(" ");
+    if (tokens.length < 2) {
+      throw new IllegalArgumentException("Invalid repeat format: '" + repeatRule + "'");
+    }
+
+    LocalDate first = start.toLocalDate();
+    Pattern pattern;
+    int weekdays = 0;
+    int interval = 1;
+    int ordinal = 0;
+    DayOfWeek weekday = null;
+    int used;
+    if (tokens[0].equalsIgnoreCase("monthly")) {
+      int index = ordinalIndex(tokens[1]);
+      if (index == 0) {
+        pattern = Pattern.MONTHLY_BY_DAY;
+        used = 1;
+      } else {
+        if (tokens.length < 3 || tokens[2].length() != 1
+                || VALID_DAY_CODES.indexOf(Character.toUpperCase(tokens[2].charAt(0))) < 0) {
+          throw new Exception("Expected a day code after '" + tokens[1] + "' in repeat rule '"
+                  + repeatRule + "'");
+        }
+        pattern = Pattern.MONTHLY_BY_WEEKDAY;
+        ordinal = index;
+        weekday = DayOfWeek.of(
+                VALID_DAY_CODES.indexOf(Character.toUpperCase(tokens[2].charAt(0))) + 1);
+        used = 3;
+      }
+    } else if (tokens[0].equalsIgnoreCase("yearly")) {
+      pattern = Pattern.YEARLY;
+      used = 1;
+    } else {
+      pattern = Pattern.WEEKLY;
+      weekdays = weekdayMask(getDays(repeatRule, tokens[0]));
+      used = 1;
+      if (tokens[1].equalsIgnoreCase("every")) {
+        if (tokens.length < 4 || !tokens[3].toLowerCase().startsWith("week")) {
+          throw new Exception("Expected 'every N weeks' in repeat rule '" + repeatRule + "'");
+        }
+        interval = Integer.parseInt(tokens[2]);
+        if (interval <= 0) {
+          throw new Exception("Invalid interval: " + interval + " (must be positive)");
+        }
+        used = 4;
+      }
+    }
+
+    String[] limit = Arrays.copyOfRange(tokens, used, tokens.length);
+    if (limit.length >= 2 && limit[0].equalsIgnoreCase("for")) {
+      if (limit.length < 3 || !limit[2].equalsIgnoreCase("times")) {
+        throw new Exception("Expected 'for N times' in repeat rule '" + repeatRule + "'");
+      }
+      int count = Integer.parseInt(limit[1]);
+      if (count <= 0) {
+        throw new Exception("Invalid repeat count: " + count + " (must be positive)");
+      }
+      RecurrenceRule open = new RecurrenceRule(pattern, first, weekdays, interval, ordinal,
+              weekday, Long.MAX_VALUE, new long[0]);
+      return new RecurrenceRule(pattern, first, weekdays, interval, ordinal, weekday,
+              open.nth(count), exceptions);
+    } else if (limit.length >= 2 && limit[0].equalsIgnoreCase("until")) {
+      String untilStr = String.join(" ", Arrays.copyOfRange(limit, 1, limit.length));
+      ZonedDateTime until = isFullDay
+              ? LocalDate.parse(untilStr, DATE_FORMAT).atStartOfDay(start.getZone())
+              .plusDays(1).minusSeconds(1) :
+              LocalDateTime.parse(untilStr, TIME_FORMAT).atZone(start.getZone());
+      return new RecurrenceRule(pattern, first, weekdays, interval, ordinal, weekday,
+              lastDay(first.toEpochDay(), start, end, until), exceptions);
+    } else if (limit.length == 1 && limit[0].equalsIgnoreCase("forever")) {
+      return new RecurrenceRule(pattern, first, weekdays, interval, ordinal, weekday,
+              Long.MAX_VALUE, exceptions);
+    }
+    throw new Exception("Repeat rule must include 'for', 'until' or 'forever' in '"
+            + repeatRule + "'");
+  }
+
+  /**
+   * Returns the first occurrence on or after the given day.
+   *
+   * @param epochDay The earliest day to consider.
+   * @return The epoch day of the occurrence, or {@link Long#MAX_VALUE} if the series
+   *     has no more occurrences.
+   */
+  public long nextOccurrence(long epochDay) {
+    long day = Math.max(epochDay, firstDay);
+    while (day <= lastDay) {
+      day = nextMatch(day);
+      if (day > lastDay) {
+        break;
+      }
+      if (Arrays.binarySearch(exceptions, day) < 0) {
+        return day;
+      }
+      day++;
+    }
+    return Long.MAX_VALUE;
+  }
+
+  /**
+   * Returns the occurrences from {@code fromDay} inclusive to {@code toDay} exclusive,
+   * in order.
+   *
+   * @param fromDay The first epoch day of the window.
+   * @param toDay The epoch day after the window.
+   * @return The epoch days of the occurrences.
+   */
+  public long[] occurrencesBetween(long fromDay, long toDay) {
+    long[] days = new long[8];
+    int count = 0;
+    for (long day = nextOccurrence(fromDay); day < toDay; day = nextOccurrence(day + 1)) {
+      if (count == days.length) {
+        days = Arrays.copyOf(days, count * 2);
+      }
+      days[count++] = day;
+    }
+    return Arrays.copyOf(days, count);
+  }
+
+  /**
+   * Returns every occurrence of the series, in order.
+   *
+   * @return The epoch days of the occurrences.
+   */
+  public long[] occurrences() {
+    if (isUnbounded()) {
+      throw new IllegalStateException("A rule that repeats forever has no last occurrence");
+    }
+    return occurrencesBetween(firstDay, lastDay + 1);
+  }
+
+  /**
+   * Returns the first day from {@code fromDay} to {@code toDay} on which both rules
+   * occur. For two weekly rules the day is computed directly: the weeks both rules use
+   * repeat every least common multiple of their intervals, and only the weekdays they
+   * share count, so the answer takes constant time however far apart the matches
+   * are. Other rules step from an occurrence of one rule to the next occurrence of
+   * the other until they meet.
+   *
+   * @param other The other rule.
+   * @param fromDay The first epoch day to consider.
+   * @param toDay The last epoch day to consider.
+   * @return The epoch day, or {@link Long#MAX_VALUE} if the rules do not meet.
+   */
+  public long firstCommonDay(RecurrenceRule other, long fromDay, long toDay) {
+    long day = fromDay;
+    while (day <= toDay) {
+      if (pattern == Pattern.WEEKLY && other.pattern == Pattern.WEEKLY) {
+        day = firstCommonWeeklyDay(other, day);
+        if (day > toDay) {
+          break;
+        }
+      }
+      long mine = nextOccurrence(day);
+      long theirs = mine == Long.MAX_VALUE ? mine : other.nextOccurrence(mine);
+      if (theirs > toDay) {
+        break;
+      }
+      if (mine == theirs) {
+        return mine;
+      }
+      // No day before 'theirs' is an occurrence of both
+      day = theirs;
+    }
+    return Long.MAX_VALUE;
+  }
+
+  // The first day on or after 'fromDay' on which both weekly patterns match, ignoring
+  // the ends of the series and the exceptions
+  private long firstCommonWeeklyDay(RecurrenceRule other, long fromDay) {
+    int shared = weekdays & other.weekdays;
+    if (shared == 0) {
+      return Long.MAX_VALUE;
+    }
+    long from = Math.max(fromDay, Math.max(firstDay, other.firstDay));
+    // Weeks are counted from the first Monday of this rule
+    long otherOffset = (other.firstMonday - firstMonday) / 7;
+    long gcd = gcd(interval, other.interval);
+    long period = interval / gcd * other.interval;
+    long week = (from - firstMonday) / 7;
+    long candidate = (week + interval - 1) / interval * interval;
+    long common = -1;
+    for (long i = 0; i < other.interval / gcd; i++, candidate += interval) {
+      if (Math.floorMod(candidate - otherOffset, (long) other.interval) == 0) {
+        common = candidate;
+        break;
+      }
+    }
+    if (common < 0) {
+      return Long.MAX_VALUE;
+    }
+    long monday = firstMonday + common * 7;
+    if (monday < from) {
+      int rest = shared >>> (int) (from - monday);
+      if (rest != 0) {
+        return from + Integer.numberOfTrailingZeros(rest);
+      }
+      monday += period * 7;
+    }
+    return monday + Integer.numberOfTrailingZeros(shared);
+  }
+
+  private static long gcd(long a, long b) {
+    return b == 0 ? a : gcd(b, a % b);
+  }
+
+  /**
+   * Returns the part of this rule between two days, both included. The pattern is still
+   * counted from the first event, so the remaining occurrences fall on the same days;
+   * this is how a series is split in two at a date.
+   *
+   * @param fromDay The first epoch day of the part.
+   * @param toDay The last epoch day of the part, or {@link Long#MAX_VALUE} for no end.
+   * @return The rule for that part, which has no occurrences if the days are outside
+   *     the series.
+   */
+  public RecurrenceRule limitedTo(long fromDay, long toDay) {
+    return new RecurrenceRule(this, Math.max(firstDay, fromDay), Math.min(lastDay, toDay),
+            exceptions);
+  }
+
+  /**
+   * Returns this rule with one more day on which the series does not occur, which is
+   * how a single instance is taken out of a series to be edited on its own.
+   *
+   * @param epochDay The day to exclude.
+   * @return The rule without that day.
+   */
+  public RecurrenceRule excluding(long epochDay) {
+    int index = Arrays.binarySearch(exceptions, epochDay);
+    if (index >= 0) {
+      return this;
+    }
+    long[] days = new long[exceptions.length + 1];
+    int at = -index - 1;
+    System.arraycopy(exceptions, 0, days, 0, at);
+    days[at] = epochDay;
+    System.arraycopy(exceptions, at, days, at + 1, exceptions.length - at);
+    return new RecurrenceRule(this, firstDay, lastDay, days);
+  }
+
+  /**
+   * Returns whether the series repeats forever.
+   *
+   * @return True if the rule has no end.
+   */
+  public boolean isUnbounded() {
+    return lastDay == Long.MAX_VALUE;
+  }
+
+  /**
+   * Returns the last day the series may occur on, which is an excluded day or a day
+   * without occurrence if the series does not end on an occurrence.
+   *
+   * @return The epoch day of the end of the series, or {@link Long#MAX_VALUE} if it
+   *     repeats forever.
+   */
+  public long getLastDay() {
+    return lastDay;
+  }
+
+  /**
+   * Returns the weekdays of a day-code string as a 7-bit mask, with bit 0 for
+   * Monday through bit 6 for Sunday.
+   *
+   * @param days Day codes such as "MWF".
+   * @return The weekday mask.
+   */
+  static int weekdayMask(String days) {
+    int mask = 0;
+    for (DayOfWeek day : DayOfWeek.values()) {
+      if (RecurringEventManager.matchesDay(day, days)) {
+        mask |= 1 << (day.getValue() - 1);
+      }
+    }
+    return mask;
+  }
+
+  // The first day on or after 'day' (which is not before the first day) matching the
+  // pattern, ignoring the end of the series and the exceptions
+  private long nextMatch(long day) {
+    switch (pattern) {
+      case WEEKLY:
+        long week = (day - firstMonday) / 7;
+        if (week % interval == 0) {
+          int rest = weekdays >>> (int) (day - firstMonday - week * 7);
+          if (rest != 0) {
+            return day + Integer.numberOfTrailingZeros(rest);
+          }
+        }
+        long nextWeek = (week / interval + 1) * interval;
+        return firstMonday + nextWeek * 7 + Integer.numberOfTrailingZeros(weekdays);
+      case MONTHLY_BY_DAY:
+      case MONTHLY_BY_WEEKDAY:
+        LocalDate date = LocalDate.ofEpochDay(day);
+        for (YearMonth current = YearMonth.from(date); ; current = current.plusMonths(1)) {
+          LocalDate candidate = inMonth(current);
+          if (candidate != null && !candidate.isBefore(date)) {
+            return candidate.toEpochDay();
+          }
+        }
+      default:
+        LocalDate from = LocalDate.ofEpochDay(day);
+        for (int year = from.getYear(); ; year++) {
+          YearMonth current = YearMonth.of(year, month);
+          if (current.isValidDay(dayOfMonth) && !current.atDay(dayOfMonth).isBefore(from)) {
+            return current.atDay(dayOfMonth).toEpochDay();
+          }
+        }
+    }
+  }
+
+  private LocalDate inMonth(YearMonth current) {
+    if (pattern == Pattern.MONTHLY_BY_DAY) {
+      return current.isValidDay(dayOfMonth) ? current.atDay(dayOfMonth) : null;
+    }
+    LocalDate day = ordinal < 0
+            ? current.atEndOfMonth().with(TemporalAdjusters.lastInMonth(weekday))
+            : current.atDay(1).with(TemporalAdjusters.dayOfWeekInMonth(ordinal, weekday));
+    return YearMonth.from(day).equals(current) ? day : null;
+  }
+
+  // The n-th match of the pattern from the first day, counted from 1
+  private long nth(int n) {
+    if (pattern == Pattern.WEEKLY) {
+      int inFirstWeek = Integer.bitCount(weekdays >>> (int) (firstDay - firstMonday));
+      if (n > inFirstWeek) {
+        int perWeek = Integer.bitCount(weekdays);
+        long weeks = (n - inFirstWeek - 1) / perWeek + 1;
+        int index = (n - inFirstWeek - 1) % perWeek;
+        int bits = weekdays;
+        for (int i = 0; i < index; i++) {
+          bits &= bits - 1;
+        }
+        return firstMonday + weeks * interval * 7 + Integer.numberOfTrailingZeros(bits);
+      }
+    }
+    long day = nextMatch(firstDay);
+    for (int i = 1; i < n; i++) {
+      day = nextMatch(day + 1);
+    }
+    return day;
+  }
+
+  private static int ordinalIndex(String token) {
+    if (token.equalsIgnoreCase("last")) {
+      return -1;
+    }
+    for (int i = 0; i < ORDINALS.length; i++) {
+      if (ORDINALS[i].equalsIgnoreCase(token)) {
+        return i + 1;
+      }
+    }
+    return 0;
+  }
+
+  private static String getDays(String repeatRule, String token) throws Exception {
+    String days = token.toUpperCase();
+    if (days.equals("FOR") || days.equals("UNTIL") || days.equals("FOREVER")) {
+      throw new Exception("No day code specified in repeat rule '" + repeatRule + "'. "
+              + "Use M, T, W, R, F, S, or U before 'for', 'until' or 'forever'.");
+    }
+
+    for (char c : days.toCharArray()) {
+      if (VALID_DAY_CODES.indexOf(c) == -1) {
+        throw new Exception("Invalid day code '" + c + "' in repeat rule '" + repeatRule + "'");
+      }
+    }
+    return days;
+  }
+
+  private static long[] parseExceptions(String dates, String repeatRule) throws Exception {
+    String[] parts = dates.split(",");
+    long[] days = new long[parts.length];
+    for (int i = 0; i < parts.length; i++) {
+      try {
+        days[i] = LocalDate.parse(parts[i].trim(), DATE_FORMAT).toEpochDay();
+      } catch (DateTimeParseException e) {
+        throw new Exception("Invalid exception date '" + parts[i].trim() + "' in repeat rule '"
+                + repeatRule + "'");
+      }
+    }
+    Arrays.sort(days);
+    return days;
+  }
+
+  // A series ends before the first day whose start or end time would pass 'until'.
+  // Those times grow with the date, so that day is found by stepping back from 'until'.
+  private static long lastDay(long firstDay, ZonedDateTime start, ZonedDateTime end,
+                              ZonedDateTime until) {
+    LocalDate day = until.withZoneSameInstant(start.getZone()).toLocalDate().plusDays(1);
+    while (day.toEpochDay() >= firstDay
+            && (ZonedDateTime.of(day, start.toLocalTime(), start.getZone()).isAfter(until)
+            || ZonedDateTime.of(day, end.toLocalTime(), start.getZone()).isAfter(until))) {
+      day = day.minusDays(1);
+    }
+    return day.toEpochDay();
+  }
+}
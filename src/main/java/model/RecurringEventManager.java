@@ -2,10 +2,9 @@ package model;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -17,10 +16,6 @@ import java.util.List;
  * patterns, ensuring that recurring events are handled and stored correctly.
  */
 public class RecurringEventManager implements IRecurringEventManager {
-  private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-  private static final DateTimeFormatter TIME_FORMAT =
-          DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
-  private static final String VALID_DAY_CODES = "MTWRFSU";
 
   /**
    * Returns a character code representing the specified day of the week.
@@ -51,6 +46,7 @@ public class RecurringEventManager implements IRecurringEventManager {
    * Builds a list of recurring events based on the provided event details and repeat rule.
    * This method generates a series of events that repeat according to the specified
    * repeat rule, which could include daily, weekly, monthly, or custom recurrence patterns.
+   * The supported rules are described by {@link RecurrenceRule}.
    *
    * @param eventName The name of the event.
    * @param start The start date and time of the first occurrence of the event.
@@ -64,80 +60,29 @@ public class RecurringEventManager implements IRecurringEventManager {
   public static List<Event> buildRecurringEvents(String eventName, ZonedDateTime start,
                                                  ZonedDateTime end, String repeatRule,
                                                  boolean isFullDay) throws Exception {
-    String[] tokens = repeatRule.trim().split(" ");
-    if (tokens.length < 2) {
-      throw new IllegalArgumentException("Invalid repeat format: '" + repeatRule + "'");
+    RecurrenceRule rule = RecurrenceRule.parse(repeatRule, start, end, isFullDay);
+    if (rule.isUnbounded()) {
+      throw new Exception("Repeat rule '" + repeatRule + "' has no end; its events cannot "
+              + "all be created");
     }
-
-    String days = getDays(repeatRule, tokens);
-
-    List<Event> events = new ArrayList<>();
-    ZonedDateTime current = start.withZoneSameInstant(start.getZone());
-
-    if (repeatRule.toLowerCase().contains(" for ")) {
-      if (tokens.length < 4 || !tokens[1].equalsIgnoreCase("for")
-              || !tokens[3].equalsIgnoreCase("times")) {
-        throw new Exception("Expected 'for N times' in repeat rule '" + repeatRule + "'");
-      }
-      int count = Integer.parseInt(tokens[2]);
-      if (count <=   0) {
-        throw new Exception("Invalid repeat count: " + count + " (must be positive)");
-      }
-      while (events.size() < count) {
-        if (matchesDay(current.getDayOfWeek(), days)) {
-          appendEvent(events, eventName, current, start, end, isFullDay);
-        }
-        current = current.plusDays(1);
-      }
-    } else if (repeatRule.toLowerCase().contains(" until ")) {
-      String untilStr = repeatRule.substring(repeatRule.toLowerCase().indexOf("until") + 5).trim();
-      ZonedDateTime until = isFullDay
-              ? LocalDate.parse(untilStr, DATE_FORMAT).atStartOfDay(start.getZone())
-              .plusDays(1).minusSeconds(1) :
-              LocalDateTime.parse(untilStr, TIME_FORMAT).atZone(start.getZone());
-
-      while (true) {
-        ZonedDateTime eventStart = ZonedDateTime.of(current.toLocalDate(),
-                start.toLocalTime(), start.getZone());
-        ZonedDateTime eventEnd = ZonedDateTime.of(current.toLocalDate(),
-                end.toLocalTime(), start.getZone());
-        if (eventStart.isAfter(until) || eventEnd.isAfter(until)) {
-          break;
-        }
-        if (matchesDay(current.getDayOfWeek(), days)) {
-          appendEvent(events, eventName, current, start, end, isFullDay);
-        }
-        current = current.plusDays(1);
-      }
-    } else {
-      throw new Exception("Repeat rule must include 'for' or 'until' in '" + repeatRule + "'");
+    long[] occurrences = rule.occurrences();
+    List<Event> events = new ArrayList<>(occurrences.length);
+    for (long day : occurrences) {
+      events.add(instance(eventName, LocalDate.ofEpochDay(day), start, end, isFullDay));
     }
     return events;
   }
 
-  private static String getDays(String repeatRule, String[] tokens) throws Exception {
-    String days = tokens[0].toUpperCase();
-    if (days.equals("FOR") || days.equals("UNTIL")) {
-      throw new Exception("No day code specified in repeat rule '" + repeatRule + "'. "
-              + "Use M, T, W, R, F, S, or U before 'for' or 'until'.");
-    }
-
-    for (char c : days.toCharArray()) {
-      if (VALID_DAY_CODES.indexOf(c) == -1) {
-        throw new Exception("Invalid day code '" + c + "' in repeat rule '" + repeatRule + "'");
-      }
+  static Event instance(String eventName, LocalDate date, ZonedDateTime origStart,
+                         ZonedDateTime origEnd, boolean isFullDay) {
+    if (isFullDay) {
+      ZonedDateTime current = ZonedDateTime.of(date, origStart.toLocalTime(), origStart.getZone());
+      return new Event(eventName, current.withHour(0).withMinute(0).withSecond(0),
+              current.withHour(23).withMinute(59).withSecond(59), true);
     }
-    return days;
-  }
-
-  private static void appendEvent(List<Event> events, String eventName,
-                                  ZonedDateTime current, ZonedDateTime origStart,
-                                  ZonedDateTime origEnd, boolean isFullDay) {
-    ZonedDateTime eventStart = isFullDay ? current.withHour(0).withMinute(0).withSecond(0) :
-            ZonedDateTime.of(current.toLocalDate(), origStart.toLocalTime(), origStart.getZone());
-    ZonedDateTime eventEnd = isFullDay ? current.withHour(23).withMinute(59).withSecond(59) :
-            ZonedDateTime.of(current.toLocalDate(), origEnd.toLocalTime(), origEnd.getZone());
-    events.add(new Event(eventName, eventStart, eventEnd, isFullDay));
+    return new Event(eventName, ZonedDateTime.of(date, origStart.toLocalTime(),
+            origStart.getZone()), ZonedDateTime.of(date, origEnd.toLocalTime(),
+            origEnd.getZone()), false);
   }
 
   @Override
@@ -146,4 +91,13 @@ public class RecurringEventManager implements IRecurringEventManager {
                                             boolean isFullDay) throws Exception {
     return new ArrayList<>(buildRecurringEvents(eventName, start, end, repeatRule, isFullDay));
   }
-}
\ No newline at end of file
+
+  @Override
+  public Iterator<IEvent> occurrencesBetween(String eventName, ZonedDateTime start,
+                                             ZonedDateTime end, String repeatRule,
+                                             boolean isFullDay, ZonedDateTime from,
+                                             ZonedDateTime to) throws Exception {
+    return RecurringSeries.of(eventName, start, end, repeatRule, isFullDay)
+            .occurrencesBetween(from, to);
+  }
+}
@@ -0,0 +1,358 @@
+package model;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The RecurringSeries class is a recurring event kept as its rule instead of as a list
+ * of instances, which is how series that repeat forever are stored. The instances are
+ * built on demand for a window, so the cost of a query, an export or a conflict check
+ * depends on the window rather than on the length of the series.
+ * A series is immutable: its first event, its {@link RecurrenceRule} and an
+ * {@link EventTemplate} with the name, description, location and visibility of its
+ * instances, whose zone is the one the instances are shown in. The rule is always
+ * applied in the zone of the first event, so changing the shown zone keeps every
+ * instance at the same instant.
+ */
+public final class RecurringSeries {
+  /**
+   * How far ahead series are expanded when a bound is needed and none is given, as
+   * for conflicts between two series that repeat forever.
+   */
+  public static final Period DEFAULT_HORIZON = Period.ofYears(10);
+
+  private static final long SECONDS_PER_DAY = 24 * 3600;
+
+  private final EventTemplate template;
+  private final ZonedDateTime start;
+  private final ZonedDateTime end;
+  private final String repeatRule;
+  private final RecurrenceRule rule;
+
+  private RecurringSeries(EventTemplate template, ZonedDateTime start, ZonedDateTime end,
+                          String repeatRule, RecurrenceRule rule) {
+    this.template = template;
+    this.start = start;
+    this.end = end;
+    this.repeatRule = repeatRule;
+    this.rule = rule;
+  }
+
+  /**
+   * Creates a series whose first event runs from {@code start} to {@code end}.
+   *
+   * @param eventName The name of the events.
+   * @param start The start of the first event.
+   * @param end The end of the first event.
+   * @param repeatRule The recurrence rule, as accepted by {@link RecurrenceRule}.
+   * @param isFullDay Whether the events are full-day events.
+   * @return The series.
+   * @throws Exception If the recurrence rule is invalid.
+   */
+  public static RecurringSeries of(String eventName, ZonedDateTime start, ZonedDateTime end,
+                                   String repeatRule, boolean isFullDay) throws Exception {
+    return of(eventName, start, end, repeatRule,
+            RecurrenceRule.parse(repeatRule, start, end, isFullDay), isFullDay);
+  }
+
+  /**
+   * Creates a series from a rule that has already been parsed.
+   *
+   * @param eventName The name of the events.
+   * @param start The start of the first event.
+   * @param end The end of the first event.
+   * @param repeatRule The text of the recurrence rule.
+   * @param rule The parsed rule.
+   * @param isFullDay Whether the events are full-day events.
+   * @return The series.
+   */
+  public static RecurringSeries of(String eventName, ZonedDateTime start, ZonedDateTime end,
+                                   String repeatRule, RecurrenceRule rule, boolean isFullDay) {
+    EventTemplate template = new EventTemplate(eventName, "", "",
+            Duration.between(start, end), isFullDay, true, start.getZone());
+    return new RecurringSeries(template, start, end, repeatRule, rule);
+  }
+
+  public EventTemplate getTemplate() {
+    return template;
+  }
+
+  public ZonedDateTime getStart() {
+    return start;
+  }
+
+  public ZonedDateTime getEnd() {
+    return end;
+  }
+
+  public String getRepeatRule() {
+    return repeatRule;
+  }
+
+  public RecurrenceRule getRule() {
+    return rule;
+  }
+
+  public boolean isUnbounded() {
+    return rule.isUnbounded();
+  }
+
+  /**
+   * Returns this series with another template, keeping its rule.
+   *
+   * @param newTemplate The template of the new version.
+   * @return The new version of this series.
+   */
+  public RecurringSeries withTemplate(EventTemplate newTemplate) {
+    return new RecurringSeries(newTemplate, start, end, repeatRule, rule);
+  }
+
+  /**
+   * Returns this series with its instances shown in another zone.
+   *
+   * @param newZone The zone of the start and end times of the instances.
+   * @return The new version of this series.
+   */
+  public RecurringSeries withZone(ZoneId newZone) {
+    return withTemplate(template.withZone(newZone));
+  }
+
+  /**
+   * Returns the part of this series whose instances start before the given time.
+   *
+   * @param time The time at which the series is split.
+   * @return The earlier part, or null if no instance starts before the time.
+   */
+  public RecurringSeries before(ZonedDateTime time) {
+    RecurrenceRule head = rule.limitedTo(Long.MIN_VALUE, firstDayFrom(time) - 1);
+    return head.nextOccurrence(Long.MIN_VALUE) == Long.MAX_VALUE ? null
+            : new RecurringSeries(template, start, end, repeatRule, head);
+  }
+
+  /**
+   * Returns the part of this series whose instances start at or after the given time,
+   * as a new series. Together with {@link #before} this splits a series at a date in
+   * constant time, so that the later part can be edited on its own.
+   *
+   * @param time The time at which the series is split.
+   * @return The later part, or null if no instance starts at or after the time.
+   */
+  public RecurringSeries startingFrom(ZonedDateTime time) {
+    RecurrenceRule tail = rule.limitedTo(firstDayFrom(time), Long.MAX_VALUE);
+    return tail.nextOccurrence(Long.MIN_VALUE) == Long.MAX_VALUE ? null
+            : new RecurringSeries(template, start, end, repeatRule, tail);
+  }
+
+  /**
+   * Returns this series without the instance that starts at the given time. The
+   * instance can then be stored and edited as an event of its own.
+   *
+   * @param time The start of the instance.
+   * @return The rest of the series, or null if the instance was its only one.
+   */
+  public RecurringSeries excluding(ZonedDateTime time) {
+    long day = time.withZoneSameInstant(start.getZone()).toLocalDate().toEpochDay();
+    RecurrenceRule rest = rule.excluding(day);
+    return rest.nextOccurrence(Long.MIN_VALUE) == Long.MAX_VALUE ? null
+            : new RecurringSeries(template, start, end, repeatRule, rest);
+  }
+
+  // The first day whose instance would not start before the given time
+  private long firstDayFrom(ZonedDateTime time) {
+    LocalDate date = time.withZoneSameInstant(start.getZone()).toLocalDate();
+    return instance(date).getStart().isBefore(time) ? date.toEpochDay() + 1
+            : date.toEpochDay();
+  }
+
+  /**
+   * Returns the instances that overlap a window, in order. As for range queries, an
+   * instance overlaps the window if it does not end before {@code from} or start
+   * after {@code to}. The iterator seeks directly to the window and builds each
+   * instance only when it is requested.
+   *
+   * @param from The start of the window.
+   * @param to The end of the window.
+   * @return An iterator over the instances in the window.
+   */
+  public Iterator<IEvent> occurrencesBetween(ZonedDateTime from, ZonedDateTime to) {
+    // Every instance starts and ends on its own day, so none before the day ahead of
+    // 'from' can reach the window
+    long firstDay = from.withZoneSameInstant(start.getZone()).toLocalDate().toEpochDay() - 1;
+    return new Iterator<IEvent>() {
+      private long day = rule.nextOccurrence(firstDay);
+      private IEvent next = advance();
+
+      private IEvent advance() {
+        while (day != Long.MAX_VALUE) {
+          IEvent event = instance(LocalDate.ofEpochDay(day));
+          day = rule.nextOccurrence(day + 1);
+          if (event.getStart().isAfter(to)) {
+            day = Long.MAX_VALUE;
+          } else if (!event.getEnd().isBefore(from)) {
+            return event;
+          }
+        }
+        return null;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return next != null;
+      }
+
+      @Override
+      public IEvent next() {
+        if (next == null) {
+          throw new NoSuchElementException();
+        }
+        IEvent event = next;
+        next = advance();
+        return event;
+      }
+    };
+  }
+
+  /**
+   * Returns the first instance that overlaps the given event.
+   *
+   * @param event The event.
+   * @return The conflicting instance, or null if there is none.
+   */
+  public IEvent firstConflict(IEvent event) {
+    Iterator<IEvent> instances = occurrencesBetween(event.getStart(), event.getEnd());
+    while (instances.hasNext()) {
+      IEvent instance = instances.next();
+      if (instance.overlapsWith(event)) {
+        return instance;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the first instance of the other series that overlaps an instance of this
+   * one. When both series repeat forever, the search stops {@code horizon} past the
+   * later of their first events; otherwise it covers the shorter series.
+   * Each instance starts and ends on its own day, so two series in the same zone can
+   * only conflict on a day on which both occur. Those days come from
+   * {@link RecurrenceRule#firstCommonDay}, which is constant-time for weekly rules.
+   * If the times of day overlap, the first common day is the conflict. If they do not,
+   * only a day with a change of offset can bring the instances together, so only those
+   * days are checked. Series in different zones are compared by merging their
+   * instances in order.
+   *
+   * @param other The other series.
+   * @param horizon How far to look ahead when neither series ends.
+   * @return The conflicting instance of the other series, or null if there is none.
+   */
+  public IEvent firstConflict(RecurringSeries other, Period horizon) {
+    ZonedDateTime from = start.isAfter(other.start) ? start : other.start;
+    ZonedDateTime to = from.plus(horizon);
+    if (!rule.isUnbounded()) {
+      to = lastEnd();
+    }
+    if (!other.rule.isUnbounded() && (rule.isUnbounded() || other.lastEnd().isBefore(to))) {
+      to = other.lastEnd();
+    }
+    if (!start.getZone().equals(other.start.getZone())) {
+      return mergeConflict(other, from, to);
+    }
+    ZoneId zone = start.getZone();
+    long fromDay = from.withZoneSameInstant(zone).toLocalDate().toEpochDay();
+    long toDay = to.withZoneSameInstant(zone).toLocalDate().toEpochDay();
+    if (timesOverlap(other)) {
+      // Only a skipped hour at a change of offset can pull apart overlapping times
+      for (long day = rule.firstCommonDay(other.rule, fromDay, toDay); day <= toDay;
+           day = rule.firstCommonDay(other.rule, day + 1, toDay)) {
+        IEvent theirs = other.instance(LocalDate.ofEpochDay(day));
+        if (instance(LocalDate.ofEpochDay(day)).overlapsWith(theirs)) {
+          return theirs;
+        }
+      }
+      return null;
+    }
+    ZoneOffsetTransition transition = zone.getRules().nextTransition(from.toInstant()
+            .minusSeconds(SECONDS_PER_DAY));
+    while (transition != null && !transition.getInstant().isAfter(to.toInstant())) {
+      long day = transition.getDateTimeBefore().toLocalDate().toEpochDay();
+      if (day >= fromDay && rule.nextOccurrence(day) == day
+              && other.rule.nextOccurrence(day) == day) {
+        IEvent theirs = other.instance(LocalDate.ofEpochDay(day));
+        if (instance(LocalDate.ofEpochDay(day)).overlapsWith(theirs)) {
+          return theirs;
+        }
+      }
+      transition = zone.getRules().nextTransition(transition.getInstant());
+    }
+    return null;
+  }
+
+  // Whether the instances of both series would overlap on a day without a change of
+  // offset, comparing their times of day as IEvent.overlapsWith compares instants
+  private boolean timesOverlap(RecurringSeries other) {
+    LocalTime myStart = startTime();
+    LocalTime myEnd = endTime();
+    LocalTime theirStart = other.startTime();
+    LocalTime theirEnd = other.endTime();
+    return (myStart.isBefore(theirEnd) && theirStart.isBefore(myEnd))
+            || myStart.equals(theirStart);
+  }
+
+  private LocalTime startTime() {
+    return template.isFullDay() ? LocalTime.MIDNIGHT : start.toLocalTime();
+  }
+
+  private LocalTime endTime() {
+    return template.isFullDay() ? LocalTime.of(23, 59, 59) : end.toLocalTime();
+  }
+
+  // The end of the day of the last possible instance
+  private ZonedDateTime lastEnd() {
+    return LocalDate.ofEpochDay(rule.getLastDay()).plusDays(1).atStartOfDay(start.getZone());
+  }
+
+  // Compares the instances of both series in a single pass; they come in order of
+  // start and end
+  private IEvent mergeConflict(RecurringSeries other, ZonedDateTime from, ZonedDateTime to) {
+    Iterator<IEvent> mine = occurrencesBetween(from, to);
+    Iterator<IEvent> theirs = other.occurrencesBetween(from, to);
+    IEvent a = mine.hasNext() ? mine.next() : null;
+    IEvent b = theirs.hasNext() ? theirs.next() : null;
+    while (a != null && b != null) {
+      if (a.overlapsWith(b)) {
+        return b;
+      }
+      if (a.getEnd().isAfter(b.getEnd())) {
+        b = theirs.hasNext() ? theirs.next() : null;
+      } else {
+        a = mine.hasNext() ? mine.next() : null;
+      }
+    }
+    return null;
+  }
+
+  private IEvent instance(LocalDate date) {
+    Event event = RecurringEventManager.instance(template.getName(), date, start, end,
+            template.isFullDay());
+    if (!template.getZone().equals(start.getZone())) {
+      event.setStart(event.getStart().withZoneSameInstant(template.getZone()));
+      event.setEnd(event.getEnd().withZoneSameInstant(template.getZone()));
+    }
+    event.setDescription(template.getDescription());
+    event.setLocation(template.getLocation());
+    event.setPublic(template.isPublic());
+    return event;
+  }
+
+  @Override
+  public String toString() {
+    return template.getName() + " from " + start + " to " + end + " repeats " + repeatRule;
+  }
+}
@@ -0,0 +1,380 @@
+package model;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * The ShardedEventManager class partitions a calendar's events into one shard per
+ * period (a month by default), keyed by the UTC date on which the period starts.
+ * Each event lives in the shard of its start time. Queries only visit the shards
+ * that can overlap the requested interval: those from the period of
+ * (interval start - longest event) up to the period of the interval end, skipping
+ * any shard whose latest event ends before the interval.
+ * Every shard has its own read/write lock, so writes to different periods proceed
+ * in parallel. Scheduling an event locks, in ascending order, the shards it could
+ * conflict with. The manager is therefore shared between threads without a
+ * calendar-wide lock; the price is that bulk edits, which visit the shards one at a
+ * time, are not atomic with respect to other writers. Shards that only hold past
+ * events can be detached for archiving with {@link #detachShardsBefore(ZonedDateTime)},
+ * and empty shards can be discarded with {@link #compact()}.
+ */
+public class ShardedEventManager implements IEventManager {
+  private final IRecurringEventManager recurringEventCreator;
+  private final ChronoUnit period;
+  private final ConcurrentSkipListMap<LocalDate, Shard> shards = new ConcurrentSkipListMap<>();
+  private final AtomicLong longestEventSeconds = new AtomicLong();
+  private final StringDictionary dictionary = new StringDictionary();
+
+  public ShardedEventManager(IRecurringEventManager recurringEventCreator) {
+    this(recurringEventCreator, ChronoUnit.MONTHS);
+  }
+
+  /**
+   * Creates a manager with shards of the given length.
+   *
+   * @param recurringEventCreator Creates the instances of recurring events.
+   * @param period The shard length: DAYS, WEEKS, MONTHS or YEARS.
+   */
+  public ShardedEventManager(IRecurringEventManager recurringEventCreator, ChronoUnit period) {
+    if (period != ChronoUnit.DAYS && period != ChronoUnit.WEEKS && period != ChronoUnit.MONTHS
+            && period != ChronoUnit.YEARS) {
+      throw new IllegalArgumentException("Unsupported shard period: " + period
+              + ". Use DAYS, WEEKS, MONTHS or YEARS");
+    }
+    this.recurringEventCreator = recurringEventCreator;
+    this.period = period;
+  }
+
+  @Override
+  public void scheduleEvent(IEvent newEvent) throws Exception {
+    Instant start = newEvent.getStart().toInstant();
+    Instant end = newEvent.getEnd().toInstant();
+    LocalDate home = shardKey(start);
+    LocalDate last = shardKey(end);
+    while (true) {
+      List<Shard> span = new ArrayList<>();
+      for (LocalDate key = home; !key.isAfter(last); key = key.plus(1, period)) {
+        span.add(shards.computeIfAbsent(key, k -> new Shard(dictionary)));
+      }
+      long lookback = longestEventSeconds.get();
+      NavigableMap<LocalDate, Shard> candidates =
+              shards.subMap(shardKey(start.minusSeconds(lookback)), true, shardKey(end), true);
+      List<Shard> locked = new ArrayList<>();
+      List<Lock> held = new ArrayList<>();
+      try {
+        // Lock in key order: shards before the event's own period are only read
+        for (Map.Entry<LocalDate, Shard> entry : candidates.entrySet()) {
+          Lock lock = entry.getKey().isBefore(home)
+                  ? entry.getValue().events.getLock().readLock()
+                  : entry.getValue().events.getLock().writeLock();
+          lock.lock();
+          held.add(lock);
+          locked.add(entry.getValue());
+        }
+        if (longestEventSeconds.get() != lookback || !isCurrent(home, span)) {
+          // A longer event was added or a shard was detached meanwhile; start over
+          continue;
+        }
+        for (Shard shard : locked) {
+          if (shard.maxEnd.isBefore(start)) {
+            continue;
+          }
+          for (IEvent existing : shard.events.fetchEventsInRange(newEvent.getStart(),
+                  newEvent.getEnd())) {
+            if (newEvent.overlapsWith(existing)) {
+              throw new Exception("Conflict with existing event: " + existing.getEventName());
+            }
+          }
+        }
+        Shard target = span.get(0);
+        target.events.scheduleEvent(newEvent);
+        if (end.isAfter(target.maxEnd)) {
+          target.maxEnd = end;
+        }
+        long duration = end.getEpochSecond() - start.getEpochSecond();
+        longestEventSeconds.accumulateAndGet(duration, Math::max);
+        return;
+      } finally {
+        for (int i = held.size() - 1; i >= 0; i--) {
+          held.get(i).unlock();
+        }
+      }
+    }
+  }
+
+  @Override
+  public void adjustTimezone(ZoneId oldZone, ZoneId newZone) {
+    for (Shard shard : shards.values()) {
+      shard.events.adjustTimezone(oldZone, newZone);
+    }
+  }
+
+  @Override
+  public List<IEvent> fetchEventsStartingOnDate(LocalDate date) {
+    List<IEvent> result = new ArrayList<>();
+    for (Shard shard : shards.subMap(shardKey(EventManager.dayStart(date).toInstant()), true,
+            shardKey(EventManager.dayEnd(date).toInstant()), true).values()) {
+      result.addAll(shard.events.fetchEventsStartingOnDate(date));
+    }
+    return result;
+  }
+
+  @Override
+  public List<IEvent> fetchEventsOnDate(LocalDate date) {
+    List<IEvent> result = new ArrayList<>();
+    for (Shard shard : overlapping(EventManager.dayStart(date).toInstant(),
+            EventManager.dayEnd(date).toInstant())) {
+      result.addAll(shard.events.fetchEventsOnDate(date));
+    }
+    return result;
+  }
+
+  @Override
+  public List<IEvent> fetchEventsInRange(ZonedDateTime start, ZonedDateTime end) {
+    List<IEvent> result = new ArrayList<>();
+    for (Shard shard : overlapping(start.toInstant(), end.toInstant())) {
+      result.addAll(shard.events.fetchEventsInRange(start, end));
+    }
+    return result;
+  }
+
+  // Each shard returns the part of the page it holds and how many of its events match
+  @Override
+  public EventPage fetchEventsInRange(ZonedDateTime start, ZonedDateTime end, int offset,
+                                      int limit) {
+    List<IEvent> page = new ArrayList<>();
+    int total = 0;
+    for (Shard shard : overlapping(start.toInstant(), end.toInstant())) {
+      EventPage part = shard.events.fetchEventsInRange(start, end, Math.max(0, offset - total),
+              limit - page.size());
+      page.addAll(part.getEvents());
+      total += part.getTotal();
+    }
+    return new EventPage(page, total);
+  }
+
+  @Override
+  public boolean isOccupiedAt(ZonedDateTime time) {
+    for (Shard shard : overlapping(time.toInstant(), time.toInstant())) {
+      if (shard.events.isOccupiedAt(time)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean updateSingleEvent(String property, String eventName, ZonedDateTime start,
+                                   ZonedDateTime end, String newValue) throws Exception {
+    EventManager.validateValue(property, newValue);
+    Shard shard = shards.get(shardKey(start.toInstant()));
+    if (shard == null) {
+      throw new Exception("Event not found: " + eventName + " from " + start + " to " + end);
+    }
+    return shard.events.updateSingleEvent(property, eventName, start, end, newValue);
+  }
+
+  @Override
+  public int updateEventsFromStart(String property, String eventName, ZonedDateTime start,
+                                   String newValue) throws Exception {
+    EventManager.validateValue(property, newValue);
+    int count = 0;
+    for (Shard shard : shards.tailMap(shardKey(start.toInstant()), true).values()) {
+      count += shard.events.updateEventsFromStart(property, eventName, start, newValue);
+    }
+    return count;
+  }
+
+  @Override
+  public int updateEventsByName(String property, String eventName, String newValue)
+          throws Exception {
+    EventManager.validateValue(property, newValue);
+    int count = 0;
+    for (Shard shard : shards.values()) {
+      count += shard.events.updateEventsByName(property, eventName, newValue);
+    }
+    return count;
+  }
+
+  @Override
+  public List<IEvent> retrieveAllEvents() {
+    List<IEvent> result = new ArrayList<>();
+    for (Shard shard : shards.values()) {
+      result.addAll(shard.events.retrieveAllEvents());
+    }
+    return result;
+  }
+
+  @Override
+  public void scheduleSeries(RecurringSeries series) throws Exception {
+    throw new Exception("Recurring events without an end are not supported by this calendar");
+  }
+
+  @Override
+  public List<RecurringSeries> retrieveAllSeries() {
+    return new ArrayList<>();
+  }
+
+  @Override
+  public List<String> retrieveEventNames() {
+    NavigableSet<String> names = new TreeSet<>(EventManager.NAME_ORDER);
+    for (Shard shard : shards.values()) {
+      names.addAll(shard.events.retrieveEventNames());
+    }
+    return new ArrayList<>(names);
+  }
+
+  @Override
+  public List<String> findEventNames(String prefix, int limit) {
+    // The first matches of the calendar are among the first matches of each shard
+    NavigableSet<String> names = new TreeSet<>(EventManager.NAME_ORDER);
+    for (Shard shard : shards.values()) {
+      names.addAll(shard.events.findEventNames(prefix, limit));
+    }
+    return EventManager.namesWithPrefix(names, prefix, limit);
+  }
+
+  @Override
+  public IEvent createEvent(String eventName, ZonedDateTime start,
+                            ZonedDateTime end, boolean isFullDay) {
+    return new Event(dictionary.intern(eventName), start, end, isFullDay);
+  }
+
+  @Override
+  public List<IEvent> createRecurringEvents(String eventName, ZonedDateTime start,
+                                            ZonedDateTime end, String repeatRule,
+                                            boolean isFullDay) throws Exception {
+    return recurringEventCreator.createRecurringEvents(eventName, start,
+            end, repeatRule, isFullDay);
+  }
+
+  /**
+   * Returns the number of shards currently held.
+   *
+   * @return The shard count.
+   */
+  public int getShardCount() {
+    return shards.size();
+  }
+
+  /**
+   * Removes the shards whose events all ended before the given time and returns
+   * their events, oldest first, so they can be archived (for example exported to
+   * CSV). A shard is kept if any of its events is still running at the cutoff.
+   *
+   * @param cutoff Only events ending before this time are detached.
+   * @return The detached events.
+   */
+  public List<IEvent> detachShardsBefore(ZonedDateTime cutoff) {
+    Instant limit = cutoff.toInstant();
+    List<IEvent> detached = new ArrayList<>();
+    Iterator<Map.Entry<LocalDate, Shard>> it =
+            shards.headMap(shardKey(limit), true).entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<LocalDate, Shard> entry = it.next();
+      Shard shard = entry.getValue();
+      Lock lock = shard.events.getLock().writeLock();
+      lock.lock();
+      try {
+        Instant periodEnd = entry.getKey().plus(1, period).atStartOfDay(ZoneOffset.UTC)
+                .toInstant();
+        if (!shard.maxEnd.isBefore(limit) || periodEnd.isAfter(limit)) {
+          continue;
+        }
+        detached.addAll(shard.events.retrieveAllEvents());
+        shards.remove(entry.getKey(), shard);
+      } finally {
+        lock.unlock();
+      }
+    }
+    return detached;
+  }
+
+  /**
+   * Discards shards that hold no events. Such shards are created for the periods
+   * spanned by long events.
+   *
+   * @return The number of shards removed.
+   */
+  public int compact() {
+    int removed = 0;
+    for (Map.Entry<LocalDate, Shard> entry : shards.entrySet()) {
+      Shard shard = entry.getValue();
+      Lock lock = shard.events.getLock().writeLock();
+      lock.lock();
+      try {
+        if (shard.events.retrieveAllEvents().isEmpty() && shards.remove(entry.getKey(), shard)) {
+          removed++;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+    return removed;
+  }
+
+  private boolean isCurrent(LocalDate home, List<Shard> span) {
+    LocalDate key = home;
+    for (Shard shard : span) {
+      if (shards.get(key) != shard) {
+        return false;
+      }
+      key = key.plus(1, period);
+    }
+    return true;
+  }
+
+  private Iterable<Shard> overlapping(Instant from, Instant to) {
+    List<Shard> result = new ArrayList<>();
+    LocalDate first = shardKey(from.minusSeconds(longestEventSeconds.get()));
+    for (Shard shard : shards.subMap(first, true, shardKey(to), true).values()) {
+      if (!shard.maxEnd.isBefore(from)) {
+        result.add(shard);
+      }
+    }
+    return result;
+  }
+
+  private LocalDate shardKey(Instant instant) {
+    LocalDate date = LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    switch (period) {
+      case DAYS:
+        return date;
+      case WEEKS:
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+      case YEARS:
+        return date.withDayOfYear(1);
+      default:
+        return date.withDayOfMonth(1);
+    }
+  }
+
+  /**
+   * The events of one period, with the latest end time among them. All shards share
+   * the calendar's string dictionary.
+   */
+  private static final class Shard {
+    final LockingEventManager events;
+    volatile Instant maxEnd = Instant.MIN;
+
+    Shard(StringDictionary dictionary) {
+      events = new LockingEventManager(new EventManager(new RecurringEventManager(), dictionary));
+    }
+  }
+}
@@ -0,0 +1,438 @@
+package model;
+
+import java.lang.ref.WeakReference;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * The SnapshotEventManager class is an IEventManager for read-heavy workloads. Events
+ * are kept in an immutable balanced search tree ordered by start time. Every change
+ * builds a new version of the tree that shares all untouched nodes with the previous
+ * one, and publishes it with a single atomic compare-and-set, so readers never lock.
+ * Each node also records the latest end time below it, which lets date, range and
+ * conflict queries skip every subtree that ends before the requested interval.
+ * Scheduled events are stored as immutable {@link TemplateEvent}s. Events with the
+ * same properties and length, such as the instances of a recurring series, share one
+ * {@link EventTemplate}. Edits replace an event with a new version built from a
+ * changed template, so lists obtained earlier keep showing the events as they were.
+ * Queries return the stored events themselves; as they never change, no copy is needed
+ * to read them after another thread has edited the schedule.
+ */
+public class SnapshotEventManager implements IEventManager {
+  private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.EMPTY);
+  private final IRecurringEventManager recurringEventCreator;
+  private final Map<EventTemplate, WeakReference<EventTemplate>> templates = new WeakHashMap<>();
+
+  public SnapshotEventManager(IRecurringEventManager recurringEventCreator) {
+    this.recurringEventCreator = recurringEventCreator;
+  }
+
+  @Override
+  public void scheduleEvent(IEvent newEvent) throws Exception {
+    scheduleAll(Collections.singletonList(newEvent));
+  }
+
+  /**
+   * Schedules several events in one new version, so either all of them are added or,
+   * if one conflicts with a stored event or with another of them, none is.
+   *
+   * @param newEvents The events to schedule.
+   * @throws Exception If an event conflicts with another one.
+   */
+  @Override
+  public void scheduleAll(List<IEvent> newEvents) throws Exception {
+    List<TemplateEvent> stored = new ArrayList<>(newEvents.size());
+    for (IEvent newEvent : newEvents) {
+      stored.add(new TemplateEvent(share(EventTemplate.of(newEvent)),
+              newEvent.getStart().toInstant()));
+    }
+    while (true) {
+      Snapshot snapshot = current.get();
+      Node root = snapshot.root;
+      long seq = snapshot.nextSeq;
+      for (int i = 0; i < newEvents.size(); i++) {
+        IEvent newEvent = newEvents.get(i);
+        Node conflict = findFirst(root, newEvent.getStart().toInstant(),
+                newEvent.getEnd().toInstant(), n -> newEvent.overlapsWith(n.event));
+        if (conflict != null) {
+          throw new Exception("Conflict with existing event: " + conflict.event.getEventName());
+        }
+        root = insert(root, new Node(stored.get(i), seq++));
+      }
+      if (current.compareAndSet(snapshot,
+              new Snapshot(root, snapshot.size + newEvents.size(), seq))) {
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void adjustTimezone(ZoneId oldZone, ZoneId newZone) {
+    while (true) {
+      Snapshot snapshot = current.get();
+      Snapshot next = new Snapshot(rezone(snapshot.root, newZone, new HashMap<>()),
+              snapshot.size, snapshot.nextSeq);
+      if (current.compareAndSet(snapshot, next)) {
+        return;
+      }
+    }
+  }
+
+  @Override
+  public List<IEvent> fetchEventsStartingOnDate(LocalDate date) {
+    return collect(EventManager.dayStart(date).toInstant(), EventManager.dayEnd(date).toInstant(),
+        event -> EventManager.startsOnDate(event, date));
+  }
+
+  @Override
+  public List<IEvent> fetchEventsOnDate(LocalDate date) {
+    return collect(EventManager.dayStart(date).toInstant(), EventManager.dayEnd(date).toInstant(),
+        event -> EventManager.occursOnDate(event, date));
+  }
+
+  @Override
+  public List<IEvent> fetchEventsInRange(ZonedDateTime start, ZonedDateTime end) {
+    return collect(start.toInstant(), end.toInstant(), event -> true);
+  }
+
+  // Only the events of the page are collected; the others are just counted
+  @Override
+  public EventPage fetchEventsInRange(ZonedDateTime start, ZonedDateTime end, int offset,
+                                      int limit) {
+    List<IEvent> page = new ArrayList<>();
+    int[] total = new int[1];
+    scan(current.get().root, start.toInstant(), end.toInstant(), n -> {
+      if (total[0] >= offset && total[0] - offset < limit) {
+        page.add(n.event);
+      }
+      total[0]++;
+      return true;
+    });
+    return new EventPage(page, total[0]);
+  }
+
+  @Override
+  public boolean isOccupiedAt(ZonedDateTime time) {
+    Instant instant = time.toInstant();
+    return findFirst(current.get().root, instant, instant, n -> n.end.isAfter(instant)) != null;
+  }
+
+  @Override
+  public boolean updateSingleEvent(String property, String eventName, ZonedDateTime start,
+                                   ZonedDateTime end, String newValue) throws Exception {
+    EventManager.validateValue(property, newValue);
+    Instant instant = start.toInstant();
+    while (true) {
+      Snapshot snapshot = current.get();
+      Node target = findFirst(snapshot.root, instant, instant,
+          n -> n.event.getEventName().equals(eventName) && n.event.getStart().equals(start)
+                  && n.event.getEnd().equals(end));
+      if (target == null) {
+        throw new Exception("Event not found: " + eventName + " from " + start + " to " + end);
+      }
+      EventTemplate changed = target.event.getTemplate().with(property, newValue);
+      if (changed == null) {
+        return false;
+      }
+      Node root = replace(snapshot.root, target,
+              new Node(target.event.withTemplate(share(changed)), target.seq));
+      if (current.compareAndSet(snapshot, new Snapshot(root, snapshot.size, snapshot.nextSeq))) {
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public int updateEventsFromStart(String property, String eventName, ZonedDateTime start,
+                                   String newValue) throws Exception {
+    EventManager.validateValue(property, newValue);
+    return updateAll(property, newValue, event -> event.getEventName().equals(eventName)
+            && !event.getStart().isBefore(start));
+  }
+
+  @Override
+  public int updateEventsByName(String property, String eventName, String newValue)
+          throws Exception {
+    EventManager.validateValue(property, newValue);
+    return updateAll(property, newValue, event -> event.getEventName().equals(eventName));
+  }
+
+  @Override
+  public List<IEvent> retrieveAllEvents() {
+    return current.get().events();
+  }
+
+  @Override
+  public void scheduleSeries(RecurringSeries series) throws Exception {
+    throw new Exception("Recurring events without an end are not supported by this calendar");
+  }
+
+  @Override
+  public List<RecurringSeries> retrieveAllSeries() {
+    return new ArrayList<>();
+  }
+
+  @Override
+  public List<String> retrieveEventNames() {
+    return new ArrayList<>(EventManager.eventNames(retrieveAllEvents()));
+  }
+
+  @Override
+  public List<String> findEventNames(String prefix, int limit) {
+    return EventManager.namesWithPrefix(EventManager.eventNames(retrieveAllEvents()), prefix,
+            limit);
+  }
+
+  @Override
+  public IEvent createEvent(String eventName, ZonedDateTime start,
+                            ZonedDateTime end, boolean isFullDay) {
+    return new Event(eventName, start, end, isFullDay);
+  }
+
+  @Override
+  public List<IEvent> createRecurringEvents(String eventName, ZonedDateTime start,
+                                            ZonedDateTime end, String repeatRule,
+                                            boolean isFullDay) throws Exception {
+    return recurringEventCreator.createRecurringEvents(eventName, start,
+            end, repeatRule, isFullDay);
+  }
+
+  private List<IEvent> collect(Instant from, Instant to, Predicate<IEvent> filter) {
+    List<IEvent> result = new ArrayList<>();
+    scan(current.get().root, from, to, n -> {
+      if (filter.test(n.event)) {
+        result.add(n.event);
+      }
+      return true;
+    });
+    return result;
+  }
+
+  private int updateAll(String property, String newValue, Predicate<IEvent> filter) {
+    while (true) {
+      Snapshot snapshot = current.get();
+      List<Node> nodes = new ArrayList<>(snapshot.size);
+      scan(snapshot.root, Instant.MIN, Instant.MAX, nodes::add);
+      // The instances of a series share their template, and so will their new versions
+      Map<EventTemplate, EventTemplate> changedTemplates = new HashMap<>();
+      int count = 0;
+      for (int i = 0; i < nodes.size(); i++) {
+        Node node = nodes.get(i);
+        if (filter.test(node.event)) {
+          EventTemplate changed = changedTemplates.computeIfAbsent(node.event.getTemplate(),
+              template -> template.with(property, newValue));
+          if (changed != null) {
+            nodes.set(i, new Node(node.event.withTemplate(share(changed)), node.seq));
+            count++;
+          }
+        }
+      }
+      if (count == 0) {
+        return 0;
+      }
+      Node root = build(nodes, 0, nodes.size() - 1);
+      if (current.compareAndSet(snapshot, new Snapshot(root, snapshot.size, snapshot.nextSeq))) {
+        return count;
+      }
+    }
+  }
+
+  // Returns the manager's copy of an equal template, so equal events share one
+  private EventTemplate share(EventTemplate template) {
+    synchronized (templates) {
+      WeakReference<EventTemplate> reference = templates.get(template);
+      EventTemplate existing = reference == null ? null : reference.get();
+      if (existing != null) {
+        return existing;
+      }
+      templates.put(template, new WeakReference<>(template));
+      return template;
+    }
+  }
+
+  private Node rezone(Node node, ZoneId zone, Map<EventTemplate, EventTemplate> rezoned) {
+    if (node == null) {
+      return null;
+    }
+    EventTemplate template = rezoned.computeIfAbsent(node.event.getTemplate(),
+        old -> share(old.withZone(zone)));
+    return new Node(node.event.withTemplate(template), node.seq, node.start, node.end,
+            rezone(node.left, zone, rezoned), rezone(node.right, zone, rezoned));
+  }
+
+  /**
+   * Visits, in start order, every node whose event starts no later than {@code to}
+   * and ends no earlier than {@code from}, until the visitor returns false.
+   */
+  private static boolean scan(Node node, Instant from, Instant to, Predicate<Node> visitor) {
+    if (node == null || node.maxEnd.isBefore(from)) {
+      return true;
+    }
+    if (!scan(node.left, from, to, visitor)) {
+      return false;
+    }
+    if (node.start.isAfter(to)) {
+      return true;
+    }
+    if (!node.end.isBefore(from) && !visitor.test(node)) {
+      return false;
+    }
+    return scan(node.right, from, to, visitor);
+  }
+
+  private static Node findFirst(Node root, Instant from, Instant to, Predicate<Node> match) {
+    Node[] found = new Node[1];
+    scan(root, from, to, n -> {
+      if (match.test(n)) {
+        found[0] = n;
+        return false;
+      }
+      return true;
+    });
+    return found[0];
+  }
+
+  private static int compare(Node a, Node b) {
+    int result = a.start.compareTo(b.start);
+    return result != 0 ? result : Long.compare(a.seq, b.seq);
+  }
+
+  private static Node insert(Node node, Node added) {
+    if (node == null) {
+      return added;
+    }
+    if (compare(added, node) < 0) {
+      return balance(node.with(insert(node.left, added), node.right));
+    }
+    return balance(node.with(node.left, insert(node.right, added)));
+  }
+
+  private static Node replace(Node node, Node target, Node replacement) {
+    if (node == target) {
+      return replacement.with(node.left, node.right);
+    }
+    if (compare(target, node) < 0) {
+      return node.with(replace(node.left, target, replacement), node.right);
+    }
+    return node.with(node.left, replace(node.right, target, replacement));
+  }
+
+  private static Node build(List<Node> nodes, int from, int to) {
+    if (from > to) {
+      return null;
+    }
+    int mid = (from + to) >>> 1;
+    return nodes.get(mid).with(build(nodes, from, mid - 1), build(nodes, mid + 1, to));
+  }
+
+  private static int height(Node node) {
+    return node == null ? 0 : node.height;
+  }
+
+  private static Node balance(Node node) {
+    int skew = height(node.left) - height(node.right);
+    if (skew > 1) {
+      Node left = node.left;
+      if (height(left.left) < height(left.right)) {
+        left = rotateLeft(left);
+      }
+      return rotateRight(node.with(left, node.right));
+    }
+    if (skew < -1) {
+      Node right = node.right;
+      if (height(right.right) < height(right.left)) {
+        right = rotateRight(right);
+      }
+      return rotateLeft(node.with(node.left, right));
+    }
+    return node;
+  }
+
+  private static Node rotateRight(Node node) {
+    Node left = node.left;
+    return left.with(left.left, node.with(left.right, node.right));
+  }
+
+  private static Node rotateLeft(Node node) {
+    Node right = node.right;
+    return right.with(node.with(node.left, right.left), right.right);
+  }
+
+  /**
+   * An immutable tree node. Events are ordered by start instant, then by the order in
+   * which they were scheduled.
+   */
+  private static final class Node {
+    final TemplateEvent event;
+    final long seq;
+    final Instant start;
+    final Instant end;
+    final Node left;
+    final Node right;
+    final int height;
+    final Instant maxEnd;
+
+    Node(TemplateEvent event, long seq) {
+      this(event, seq, event.getStartInstant(),
+              event.getStartInstant().plus(event.getTemplate().getDuration()), null, null);
+    }
+
+    Node(TemplateEvent event, long seq, Instant start, Instant end, Node left, Node right) {
+      this.event = event;
+      this.seq = seq;
+      this.start = start;
+      this.end = end;
+      this.left = left;
+      this.right = right;
+      this.height = 1 + Math.max(height(left), height(right));
+      Instant latest = end;
+      if (left != null && left.maxEnd.isAfter(latest)) {
+        latest = left.maxEnd;
+      }
+      if (right != null && right.maxEnd.isAfter(latest)) {
+        latest = right.maxEnd;
+      }
+      this.maxEnd = latest;
+    }
+
+    Node with(Node left, Node right) {
+      return new Node(event, seq, start, end, left, right);
+    }
+  }
+
+  /**
+   * One published version of the events.
+   */
+  private static final class Snapshot {
+    static final Snapshot EMPTY = new Snapshot(null, 0, 0);
+
+    final Node root;
+    final int size;
+    final long nextSeq;
+
+    Snapshot(Node root, int size, long nextSeq) {
+      this.root = root;
+      this.size = size;
+      this.nextSeq = nextSeq;
+    }
+
+    List<IEvent> events() {
+      List<IEvent> list = new ArrayList<>(size);
+      scan(root, Instant.MIN, Instant.MAX, n -> {
+        list.add(n.event);
+        return true;
+      });
+      return list;
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package model;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The StringDictionary class keeps one shared instance of every distinct string it
+ * has seen. Each calendar's event manager owns one and passes the name, description
+ * and location of the events it schedules or edits through it, so the thousands of
+ * instances of a recurring series, or the rows of an imported file, refer to a single
+ * copy of each value instead of holding their own. Values are held weakly: once no
+ * event refers to a value any more, the garbage collector drops it from the
+ * dictionary, which therefore never outgrows the strings still in use. The dictionary
+ * can be shared between threads.
+ */
+public class StringDictionary {
+  private final Map<String, WeakReference<String>> values = new WeakHashMap<>();
+
+  /**
+   * Returns the dictionary's instance of the given value, adding the value if it is
+   * not present yet.
+   *
+   * @param value The value to look up; may be null.
+   * @return An equal string shared by all callers, or null if the value is null.
+   */
+  public synchronized String intern(String value) {
+    if (value == null) {
+      return null;
+    }
+    WeakReference<String> held = values.get(value);
+    String existing = held == null ? null : held.get();
+    if (existing != null) {
+      return existing;
+    }
+    values.put(value, new WeakReference<>(value));
+    return value;
+  }
+
+  /**
+   * Returns the number of distinct values held that have not been collected yet.
+   *
+   * @return The dictionary size.
+   */
+  public synchronized int size() {
+    return values.size();
+  }
+}
@@ -0,0 +1,153 @@
+package model;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+
+/**
+ * The TemplateEvent class is an immutable event made of a shared
+ * {@link EventTemplate} and a start instant. Instances of a recurring series share
+ * one template, so each instance costs a single small object. The start and end
+ * times are computed from the template when requested.
+ * The setters of {@link IEvent} are not supported; an edit is made by creating a new
+ * event from a changed template, which is what the managers storing these events do.
+ * Because they never change, these events can be read by any number of threads
+ * without locking.
+ */
+public final class TemplateEvent implements IEvent {
+  private final EventTemplate template;
+  private final long startSecond;
+  private final int startNano;
+
+  /**
+   * Creates the event of the template that starts at the given instant.
+   *
+   * @param template The shared properties of the event.
+   * @param start The start instant.
+   */
+  public TemplateEvent(EventTemplate template, Instant start) {
+    this.template = template;
+    this.startSecond = start.getEpochSecond();
+    this.startNano = start.getNano();
+  }
+
+  /**
+   * Returns an immutable copy of the given event. Immutable events are returned
+   * unchanged.
+   *
+   * @param event The event.
+   * @return An equivalent TemplateEvent.
+   */
+  public static TemplateEvent of(IEvent event) {
+    if (event instanceof TemplateEvent) {
+      return (TemplateEvent) event;
+    }
+    return new TemplateEvent(EventTemplate.of(event), event.getStart().toInstant());
+  }
+
+  public EventTemplate getTemplate() {
+    return template;
+  }
+
+  /**
+   * Returns the start instant, without building a zoned time.
+   *
+   * @return The start instant.
+   */
+  public Instant getStartInstant() {
+    return Instant.ofEpochSecond(startSecond, startNano);
+  }
+
+  /**
+   * Returns this event with another template, keeping its start.
+   *
+   * @param newTemplate The template of the new version.
+   * @return The new version of this event.
+   */
+  public TemplateEvent withTemplate(EventTemplate newTemplate) {
+    return new TemplateEvent(newTemplate, getStartInstant());
+  }
+
+  @Override
+  public String getEventName() {
+    return template.getName();
+  }
+
+  @Override
+  public ZonedDateTime getStart() {
+    return ZonedDateTime.ofInstant(getStartInstant(), template.getZone());
+  }
+
+  @Override
+  public ZonedDateTime getEnd() {
+    return ZonedDateTime.ofInstant(getStartInstant().plus(template.getDuration()),
+            template.getZone());
+  }
+
+  @Override
+  public boolean isFullDay() {
+    return template.isFullDay();
+  }
+
+  @Override
+  public String getDescription() {
+    return template.getDescription();
+  }
+
+  @Override
+  public String getLocation() {
+    return template.getLocation();
+  }
+
+  @Override
+  public boolean isPublic() {
+    return template.isPublic();
+  }
+
+  @Override
+  public boolean overlapsWith(IEvent other) {
+    ZonedDateTime start = getStart();
+    ZonedDateTime end = getEnd();
+    return (start.isBefore(other.getEnd()) && other.getStart().isBefore(end))
+            || start.equals(other.getStart());
+  }
+
+  @Override
+  public void setEventName(String eventName) {
+    throw immutable();
+  }
+
+  @Override
+  public void setStart(ZonedDateTime start) {
+    throw immutable();
+  }
+
+  @Override
+  public void setEnd(ZonedDateTime end) {
+    throw immutable();
+  }
+
+  @Override
+  public void setDescription(String description) {
+    throw immutable();
+  }
+
+  @Override
+  public void setLocation(String location) {
+    throw immutable();
+  }
+
+  @Override
+  public void setPublic(boolean isPublic) {
+    throw immutable();
+  }
+
+  @Override
+  public String toString() {
+    return EventFormatter.format(this);
+  }
+
+  private static UnsupportedOperationException immutable() {
+    return new UnsupportedOperationException(
+            "Scheduled events cannot be changed; edit them through the calendar");
+  }
+}
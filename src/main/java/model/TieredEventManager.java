@@ -0,0 +1,449 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * The TieredEventManager class keeps a calendar's recent events on the heap and moves
+ * its history to a memory-mapped file, so a calendar with years of past events does
+ * not hold them all as objects. Recent events live in a {@link ShardedEventManager}.
+ * Events that ended more than the configured horizon ago are moved, a whole shard at
+ * a time, into a {@link ColdEventSegment}; this happens in
+ * {@link #spillColdEvents()} and automatically every {@value #SPILL_CHECK_INTERVAL}
+ * scheduled events. Queries and conflict checks cover both tiers, and events from
+ * the cold tier are decoded only when they fall in the requested interval.
+ * The names of the events in both tiers are counted in a {@link NameIndex}, so listing
+ * them reads neither tier.
+ * Cold events are returned as copies, so editing one means going through the update
+ * methods, which rewrite the segment file. Those edits are expected to be rare. The
+ * new segment is written before the hot tier is changed, so an edit that fails leaves
+ * both tiers unchanged.
+ */
+public class TieredEventManager implements IEventManager, Closeable {
+  public static final int SPILL_CHECK_INTERVAL = 1024;
+
+  private static final Comparator<IEvent> BY_START = Comparator.comparing(IEvent::getStart);
+
+  private final IRecurringEventManager recurringEventCreator;
+  private final ShardedEventManager hot;
+  private final Period horizon;
+  private final Path directory;
+  private final Clock clock;
+  private final ReadWriteLock tierLock = new ReentrantReadWriteLock();
+  private final AtomicInteger scheduledSinceCheck = new AtomicInteger();
+  private final NameIndex names = new NameIndex();
+  private volatile ColdEventSegment cold = ColdEventSegment.EMPTY;
+
+  public TieredEventManager(IRecurringEventManager recurringEventCreator, Period horizon,
+                            Path directory) {
+    this(recurringEventCreator, horizon, directory, Clock.systemUTC());
+  }
+
+  /**
+   * Creates a manager that moves events to the cold tier once they are older than the
+   * horizon.
+   *
+   * @param recurringEventCreator Creates the instances of recurring events.
+   * @param horizon How long after their end events stay on the heap.
+   * @param directory The directory for the cold segment files.
+   * @param clock The clock the horizon is measured from.
+   */
+  public TieredEventManager(IRecurringEventManager recurringEventCreator, Period horizon,
+                            Path directory, Clock clock) {
+    if (horizon.isNegative()) {
+      throw new IllegalArgumentException("Horizon cannot be negative: " + horizon);
+    }
+    this.recurringEventCreator = recurringEventCreator;
+    this.hot = new ShardedEventManager(recurringEventCreator);
+    this.horizon = horizon;
+    this.directory = directory;
+    this.clock = clock;
+  }
+
+  @Override
+  public void scheduleEvent(IEvent newEvent) throws Exception {
+    Lock lock = tierLock.readLock();
+    lock.lock();
+    try {
+      IEvent conflict = firstConflict(newEvent, cold.candidates(
+              newEvent.getStart().toInstant(), newEvent.getEnd().toInstant()));
+      if (conflict != null) {
+        // Report the earliest conflicting event, as if both tiers were one list
+        IEvent hotConflict = firstConflict(newEvent,
+                hot.fetchEventsInRange(newEvent.getStart(), newEvent.getEnd()));
+        if (hotConflict != null && BY_START.compare(hotConflict, conflict) < 0) {
+          conflict = hotConflict;
+        }
+        throw new Exception("Conflict with existing event: " + conflict.getEventName());
+      }
+      hot.scheduleEvent(newEvent);
+      names.add(newEvent.getEventName(), 1);
+    } finally {
+      lock.unlock();
+    }
+    if (scheduledSinceCheck.incrementAndGet() >= SPILL_CHECK_INTERVAL) {
+      scheduledSinceCheck.set(0);
+      try {
+        spillColdEvents();
+      } catch (IOException e) {
+        // The events stay on the heap and the next check tries again
+      }
+    }
+  }
+
+  @Override
+  public void adjustTimezone(ZoneId oldZone, ZoneId newZone) {
+    Lock lock = tierLock.writeLock();
+    lock.lock();
+    try {
+      hot.adjustTimezone(oldZone, newZone);
+      cold = cold.withZone(newZone);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public List<IEvent> fetchEventsStartingOnDate(LocalDate date) {
+    return fetch(EventManager.dayStart(date).toInstant(), EventManager.dayEnd(date).toInstant(),
+        event -> EventManager.startsOnDate(event, date),
+        () -> hot.fetchEventsStartingOnDate(date));
+  }
+
+  @Override
+  public List<IEvent> fetchEventsOnDate(LocalDate date) {
+    return fetch(EventManager.dayStart(date).toInstant(), EventManager.dayEnd(date).toInstant(),
+        event -> EventManager.occursOnDate(event, date), () -> hot.fetchEventsOnDate(date));
+  }
+
+  @Override
+  public List<IEvent> fetchEventsInRange(ZonedDateTime start, ZonedDateTime end) {
+    return fetch(start.toInstant(), end.toInstant(),
+        event -> !event.getEnd().isBefore(start) && !event.getStart().isAfter(end),
+        () -> hot.fetchEventsInRange(start, end));
+  }
+
+  @Override
+  public boolean isOccupiedAt(ZonedDateTime time) {
+    Lock lock = tierLock.readLock();
+    lock.lock();
+    try {
+      if (hot.isOccupiedAt(time)) {
+        return true;
+      }
+      for (IEvent event : cold.candidates(time.toInstant(), time.toInstant())) {
+        if (!event.getStart().isAfter(time) && event.getEnd().isAfter(time)) {
+          return true;
+        }
+      }
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean updateSingleEvent(String property, String eventName, ZonedDateTime start,
+                                   ZonedDateTime end, String newValue) throws Exception {
+    EventManager.validateValue(property, newValue);
+    Lock lock = tierLock.writeLock();
+    lock.lock();
+    try {
+      List<IEvent> coldEvents = cold.candidates(start.toInstant(), start.toInstant());
+      for (IEvent event : coldEvents) {
+        if (event.getEventName().equals(eventName) && event.getStart().equals(start)
+                && event.getEnd().equals(end)) {
+          return renamed(property, eventName, newValue, commit(stageColdEdit(property,
+              newValue, e -> e.getEventName().equals(eventName) && e.getStart().equals(start)
+                      && e.getEnd().equals(end)))) > 0;
+        }
+      }
+      return renamed(property, eventName, newValue,
+              hot.updateSingleEvent(property, eventName, start, end, newValue) ? 1 : 0) > 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int updateEventsFromStart(String property, String eventName, ZonedDateTime start,
+                                   String newValue) throws Exception {
+    EventManager.validateValue(property, newValue);
+    Lock lock = tierLock.writeLock();
+    lock.lock();
+    try {
+      ColdEdit coldEdit = stageColdEdit(property, newValue,
+          event -> event.getEventName().equals(eventName) && !event.getStart().isBefore(start));
+      int count;
+      try {
+        count = hot.updateEventsFromStart(property, eventName, start, newValue);
+      } catch (Exception e) {
+        discard(coldEdit);
+        throw e;
+      }
+      return renamed(property, eventName, newValue, count + commit(coldEdit));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int updateEventsByName(String property, String eventName, String newValue)
+          throws Exception {
+    EventManager.validateValue(property, newValue);
+    Lock lock = tierLock.writeLock();
+    lock.lock();
+    try {
+      ColdEdit coldEdit = stageColdEdit(property, newValue,
+          event -> event.getEventName().equals(eventName));
+      int count;
+      try {
+        count = hot.updateEventsByName(property, eventName, newValue);
+      } catch (Exception e) {
+        discard(coldEdit);
+        throw e;
+      }
+      return renamed(property, eventName, newValue, count + commit(coldEdit));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public List<IEvent> retrieveAllEvents() {
+    Lock lock = tierLock.readLock();
+    lock.lock();
+    try {
+      return merge(cold.events(), hot.retrieveAllEvents());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void scheduleSeries(RecurringSeries series) throws Exception {
+    throw new Exception("Recurring events without an end are not supported by this calendar");
+  }
+
+  @Override
+  public List<RecurringSeries> retrieveAllSeries() {
+    return new ArrayList<>();
+  }
+
+  @Override
+  public List<String> retrieveEventNames() {
+    return names.names();
+  }
+
+  @Override
+  public List<String> findEventNames(String prefix, int limit) {
+    return names.withPrefix(prefix, limit);
+  }
+
+  // Called with the write lock held after an edit, so the name index follows renames;
+  // returns the number of events changed
+  private int renamed(String property, String eventName, String newValue, int count) {
+    if (property.equalsIgnoreCase("name")) {
+      names.rename(eventName, newValue, count);
+    }
+    return count;
+  }
+
+  @Override
+  public IEvent createEvent(String eventName, ZonedDateTime start,
+                            ZonedDateTime end, boolean isFullDay) {
+    return new Event(eventName, start, end, isFullDay);
+  }
+
+  @Override
+  public List<IEvent> createRecurringEvents(String eventName, ZonedDateTime start,
+                                            ZonedDateTime end, String repeatRule,
+                                            boolean isFullDay) throws Exception {
+    return recurringEventCreator.createRecurringEvents(eventName, start,
+            end, repeatRule, isFullDay);
+  }
+
+  /**
+   * Moves the events that ended more than the horizon ago to the cold tier. Events
+   * are moved with their whole shard, so a shard with one event still inside the
+   * horizon stays on the heap.
+   *
+   * @return The number of events moved.
+   * @throws IOException If the new cold segment cannot be written; the events then
+   *                     stay on the heap.
+   */
+  public int spillColdEvents() throws IOException {
+    ZonedDateTime cutoff = ZonedDateTime.now(clock).minus(horizon);
+    Lock lock = tierLock.writeLock();
+    lock.lock();
+    try {
+      List<IEvent> detached = hot.detachShardsBefore(cutoff);
+      if (detached.isEmpty()) {
+        return 0;
+      }
+      try {
+        replaceCold(merge(cold.events(), detached));
+      } catch (IOException | RuntimeException e) {
+        for (IEvent event : detached) {
+          try {
+            hot.scheduleEvent(event);
+          } catch (Exception conflict) {
+            // Cannot happen: the events did not conflict before they were detached
+          }
+        }
+        throw e;
+      }
+      return detached.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of events held in the cold tier.
+   *
+   * @return The cold event count.
+   */
+  public int getColdEventCount() {
+    return cold.size();
+  }
+
+  /**
+   * Deletes the cold segment file. The cold events are lost.
+   *
+   * @throws IOException If the file cannot be deleted.
+   */
+  @Override
+  public void close() throws IOException {
+    Lock lock = tierLock.writeLock();
+    lock.lock();
+    try {
+      ColdEventSegment old = cold;
+      cold = ColdEventSegment.EMPTY;
+      old.delete();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private List<IEvent> fetch(Instant from, Instant to, Predicate<IEvent> filter,
+                             Supplier<List<IEvent>> hotQuery) {
+    Lock lock = tierLock.readLock();
+    lock.lock();
+    try {
+      List<IEvent> coldEvents = new ArrayList<>();
+      for (IEvent event : cold.candidates(from, to)) {
+        if (filter.test(event)) {
+          coldEvents.add(event);
+        }
+      }
+      return merge(coldEvents, hotQuery.get());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static IEvent firstConflict(IEvent newEvent, List<IEvent> candidates) {
+    for (IEvent existing : candidates) {
+      if (newEvent.overlapsWith(existing)) {
+        return existing;
+      }
+    }
+    return null;
+  }
+
+  // Called with the write lock held. Writes the cold events, with the matching ones
+  // changed, to a new segment without installing it, so that a failed write leaves
+  // both tiers as they were; returns null if no cold event changes
+  private ColdEdit stageColdEdit(String property, String newValue, Predicate<IEvent> filter)
+          throws IOException {
+    List<IEvent> events = cold.events();
+    int count = 0;
+    for (IEvent event : events) {
+      if (filter.test(event) && EventManager.modifyProperty(event, property, newValue)) {
+        count++;
+      }
+    }
+    return count == 0 ? null : new ColdEdit(ColdEventSegment.write(directory, events), count);
+  }
+
+  // Installs a staged cold edit once the hot tier has been changed too. The edit is
+  // complete even if the old segment file cannot be deleted
+  private int commit(ColdEdit edit) {
+    if (edit == null) {
+      return 0;
+    }
+    ColdEventSegment old = cold;
+    cold = edit.segment;
+    discard(old);
+    return edit.count;
+  }
+
+  private void discard(ColdEdit edit) {
+    if (edit != null) {
+      discard(edit.segment);
+    }
+  }
+
+  private static void discard(ColdEventSegment segment) {
+    try {
+      segment.delete();
+    } catch (IOException e) {
+      // Only the file is left behind; it is in the manager's own directory
+    }
+  }
+
+  private void replaceCold(List<IEvent> events) throws IOException {
+    ColdEventSegment old = cold;
+    cold = ColdEventSegment.write(directory, events);
+    old.delete();
+  }
+
+  private static List<IEvent> merge(List<IEvent> coldEvents, List<IEvent> hotEvents) {
+    if (coldEvents.isEmpty()) {
+      return hotEvents;
+    }
+    List<IEvent> result = new ArrayList<>(coldEvents.size() + hotEvents.size());
+    int i = 0;
+    int j = 0;
+    while (i < coldEvents.size() && j < hotEvents.size()) {
+      if (BY_START.compare(hotEvents.get(j), coldEvents.get(i)) < 0) {
+        result.add(hotEvents.get(j++));
+      } else {
+        result.add(coldEvents.get(i++));
+      }
+    }
+    result.addAll(coldEvents.subList(i, coldEvents.size()));
+    result.addAll(hotEvents.subList(j, hotEvents.size()));
+    return result;
+  }
+
+  /**
+   * A new cold segment with an edit applied, written but not yet installed.
+   */
+  private static final class ColdEdit {
+    final ColdEventSegment segment;
+    final int count;
+
+    ColdEdit(ColdEventSegment segment, int count) {
+      this.segment = segment;
+      this.count = count;
+    }
+  }
+}
@@ -0,0 +1,546 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import model.Calendar;
+import model.ConcurrentCalendarManager;
+import model.EventPage;
+import model.IEvent;
+import model.IEventManager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CalendarHttpServer class exposes the calendars as a JSON API over HTTP, using
+ * the JDK's built-in HTTP server on the loopback interface. Requests are handled by
+ * a fixed pool of platform threads sized for concurrent clients, or by one virtual
+ * thread per request (see {@link ThreadMode}). Listings of the events on a date or in
+ * a range are fetched and written a page at a time, so only one page of events is held
+ * in memory; a listing of all events is fetched in full.
+ * Date-times in requests are ISO-8601, either with an offset or as local date-times
+ * in the calendar's timezone; responses always include the offset.
+ * Endpoints:
+ * <ul>
+ *   <li>{@code GET /calendars} and {@code POST /calendars} list and create calendars.</li>
+ *   <li>{@code GET /calendars/{name}} describes one calendar.</li>
+ *   <li>{@code GET /calendars/{name}/events} lists all events, the events on
+ *       {@code ?date=}, or the events between {@code ?from=} and {@code ?to=}.</li>
+ *   <li>{@code POST /calendars/{name}/events} creates one event, or many when the body
+ *       is an array.</li>
+ *   <li>{@code GET /calendars/{name}/freebusy} returns the merged busy intervals between
+ *       {@code ?from=} and {@code ?to=}, or whether the calendar is busy {@code ?at=} a
+ *       given time.</li>
+ * </ul>
+ */
+public class CalendarHttpServer implements IServer {
+  public static final int DEFAULT_THREADS =
+          Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+  private static final String CONTEXT = "/calendars";
+  private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+  private static final int PAGE_SIZE = 256;
+
+  private final ConcurrentCalendarManager calendarManager;
+  private final int requestedPort;
+  private final int threads;
+  private final ThreadMode threadMode;
+  private HttpServer server;
+  private ExecutorService executor;
+
+  /**
+   * Creates an HTTP server for the given calendars. The server does not accept
+   * requests until {@link #start()} is called.
+   *
+   * @param calendarManager The calendars served by the API.
+   * @param port The local port to listen on, or 0 for any free port.
+   * @param threads The number of threads handling requests.
+   */
+  public CalendarHttpServer(ConcurrentCalendarManager calendarManager, int port, int threads) {
+    this(calendarManager, port, threads, ThreadMode.PLATFORM);
+  }
+
+  /**
+   * Creates an HTTP server whose requests run on threads of the given kind.
+   *
+   * @param calendarManager The calendars served by the API.
+   * @param port The local port to listen on, or 0 for any free port.
+   * @param threads The number of platform threads handling requests; unused for
+   *                virtual threads.
+   * @param threadMode The kind of thread that handles each request.
+   */
+  public CalendarHttpServer(ConcurrentCalendarManager calendarManager, int port, int threads,
+                            ThreadMode threadMode) {
+    if (port < 0 || port > 65535) {
+      throw new IllegalArgumentException("Invalid port: " + port);
+    }
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Thread count must be positive: " + threads);
+    }
+    this.calendarManager = calendarManager;
+    this.requestedPort = port;
+    this.threads = threads;
+    this.threadMode = threadMode;
+  }
+
+  @Override
+  public synchronized void start() throws IOException {
+    if (server != null) {
+      throw new IllegalStateException("Server already started");
+    }
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+            requestedPort), 0);
+    executor = threadMode.newExecutor("calendar-http-", threads);
+    server.setExecutor(executor);
+    server.createContext(CONTEXT, this::handle);
+    server.start();
+  }
+
+  @Override
+  public synchronized int getPort() {
+    return server == null ? requestedPort : server.getAddress().getPort();
+  }
+
+  @Override
+  public synchronized void close() {
+    if (server == null) {
+      return;
+    }
+    server.stop(0);
+    executor.shutdown();
+    try {
+      executor.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      route(exchange);
+    } catch (HttpException e) {
+      sendError(exchange, e.status, e.getMessage());
+    } catch (Exception e) {
+      sendError(exchange, 500, e.getMessage());
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void route(HttpExchange exchange) throws Exception {
+    String method = exchange.getRequestMethod();
+    List<String> path = new ArrayList<>();
+    for (String segment : exchange.getRequestURI().getPath().substring(CONTEXT.length())
+            .split("/")) {
+      if (!segment.isEmpty()) {
+        path.add(segment);
+      }
+    }
+    Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+    if (path.isEmpty()) {
+      if (method.equals("GET")) {
+        listCalendars(exchange);
+      } else if (method.equals("POST")) {
+        createCalendar(exchange);
+      } else {
+        throw methodNotAllowed(exchange, "GET, POST");
+      }
+      return;
+    }
+    Calendar cal = findCalendar(path.get(0));
+    String resource = path.size() == 2 ? path.get(1) : null;
+    if (path.size() == 1) {
+      requireMethod(exchange, "GET");
+      sendJson(exchange, 200, json -> writeCalendar(json, cal));
+    } else if ("events".equals(resource)) {
+      if (method.equals("GET")) {
+        listEvents(exchange, cal, query);
+      } else if (method.equals("POST")) {
+        createEvents(exchange, cal);
+      } else {
+        throw methodNotAllowed(exchange, "GET, POST");
+      }
+    } else if ("freebusy".equals(resource)) {
+      requireMethod(exchange, "GET");
+      freeBusy(exchange, cal, query);
+    } else {
+      throw new HttpException(404, "Not found: " + exchange.getRequestURI().getPath());
+    }
+  }
+
+  private void listCalendars(HttpExchange exchange) throws IOException {
+    List<Calendar> calendars = new ArrayList<>(calendarManager.getCalendars().values());
+    calendars.sort((a, b) -> a.getName().compareTo(b.getName()));
+    sendJson(exchange, 200, json -> {
+      json.beginArray();
+      for (Calendar cal : calendars) {
+        writeCalendar(json, cal);
+      }
+      json.endArray();
+    });
+  }
+
+  private void createCalendar(HttpExchange exchange) throws Exception {
+    Map<String, Object> body = asObject(readBody(exchange), "Request body");
+    String name = requireString(body, "name");
+    ZoneId timezone;
+    try {
+      timezone = ZoneId.of(requireString(body, "timezone"));
+    } catch (DateTimeException e) {
+      throw new HttpException(400, "Invalid timezone: " + body.get("timezone"));
+    }
+    try {
+      calendarManager.createCalendar(name, timezone);
+    } catch (Exception e) {
+      throw new HttpException(409, e.getMessage());
+    }
+    Calendar cal = calendarManager.getCalendar(name);
+    sendJson(exchange, 201, json -> writeCalendar(json, cal));
+  }
+
+  private void listEvents(HttpExchange exchange, Calendar cal, Map<String, String> query)
+          throws Exception {
+    IEventManager events = cal.getEventScheduler();
+    EventSource source;
+    if (query.containsKey("date")) {
+      LocalDate date;
+      try {
+        date = LocalDate.parse(query.get("date"));
+      } catch (DateTimeException e) {
+        throw new HttpException(400, "Invalid date for 'date': '" + query.get("date") + "'");
+      }
+      source = (offset, limit) -> events.fetchEventsOnDate(date, offset, limit);
+    } else if (query.containsKey("from") || query.containsKey("to")) {
+      ZonedDateTime from = parseTime(query, "from", cal.getTimezone());
+      ZonedDateTime to = parseTime(query, "to", cal.getTimezone());
+      source = (offset, limit) -> events.fetchEventsInRange(from, to, offset, limit);
+    } else {
+      List<IEvent> all = events.retrieveAllEvents();
+      source = (offset, limit) -> EventPage.of(all, offset, limit);
+    }
+    sendJson(exchange, 200, json -> {
+      json.beginArray();
+      forEachEvent(source, event -> writeEvent(json, event));
+      json.endArray();
+    });
+  }
+
+  private void createEvents(HttpExchange exchange, Calendar cal) throws Exception {
+    Object body = readBody(exchange);
+    IEventManager events = cal.getEventScheduler();
+    if (!(body instanceof List)) {
+      IEvent event = parseEvent(asObject(body, "Request body"), events, cal.getTimezone());
+      try {
+        events.scheduleEvent(event);
+      } catch (Exception e) {
+        throw new HttpException(409, e.getMessage());
+      }
+      sendJson(exchange, 201, json -> writeEvent(json, event));
+      return;
+    }
+
+    List<?> items = (List<?>) body;
+    List<String> errors = new ArrayList<>(Collections.nCopies(items.size(), null));
+    int created = 0;
+    for (int i = 0; i < items.size(); i++) {
+      try {
+        IEvent event = parseEvent(asObject(items.get(i), "Item " + i), events,
+                cal.getTimezone());
+        events.scheduleEvent(event);
+        created++;
+      } catch (Exception e) {
+        errors.set(i, e.getMessage());
+      }
+    }
+    int createdCount = created;
+    sendJson(exchange, 200, json -> {
+      json.beginObject().name("created").value(createdCount).name("failed").beginArray();
+      for (int i = 0; i < errors.size(); i++) {
+        if (errors.get(i) != null) {
+          json.beginObject().name("index").value(i).name("error").value(errors.get(i))
+                  .endObject();
+        }
+      }
+      json.endArray().endObject();
+    });
+  }
+
+  private void freeBusy(HttpExchange exchange, Calendar cal, Map<String, String> query)
+          throws Exception {
+    IEventManager events = cal.getEventScheduler();
+    if (query.containsKey("at")) {
+      ZonedDateTime at = parseTime(query, "at", cal.getTimezone());
+      boolean busy = events.isOccupiedAt(at);
+      sendJson(exchange, 200, json -> json.beginObject()
+              .name("at").value(TIME_FORMAT.format(at)).name("busy").value(busy).endObject());
+      return;
+    }
+    ZonedDateTime from = parseTime(query, "from", cal.getTimezone());
+    ZonedDateTime to = parseTime(query, "to", cal.getTimezone());
+    sendJson(exchange, 200, json -> {
+      json.beginObject().name("from").value(TIME_FORMAT.format(from))
+              .name("to").value(TIME_FORMAT.format(to)).name("busy").beginArray();
+      // The busy interval being merged, as {start, end}
+      ZonedDateTime[] busy = new ZonedDateTime[2];
+      forEachEvent((offset, limit) -> events.fetchEventsInRange(from, to, offset, limit),
+          event -> {
+            ZonedDateTime start = event.getStart().isBefore(from) ? from : event.getStart();
+            ZonedDateTime end = event.getEnd().isAfter(to) ? to : event.getEnd();
+            if (!end.isAfter(start)) {
+              return;
+            }
+            if (busy[1] != null && !start.isAfter(busy[1])) {
+              if (end.isAfter(busy[1])) {
+                busy[1] = end;
+              }
+              return;
+            }
+            if (busy[1] != null) {
+              writeInterval(json, busy[0], busy[1]);
+            }
+            busy[0] = start;
+            busy[1] = end;
+          });
+      if (busy[1] != null) {
+        writeInterval(json, busy[0], busy[1]);
+      }
+      json.endArray().endObject();
+    });
+  }
+
+  private IEvent parseEvent(Map<String, Object> fields, IEventManager events, ZoneId timezone)
+          throws Exception {
+    String name = requireString(fields, "name");
+    ZonedDateTime start = parseTime(requireString(fields, "start"), "start", timezone);
+    ZonedDateTime end = parseTime(requireString(fields, "end"), "end", timezone);
+    if (end.isBefore(start)) {
+      throw new HttpException(400, "End time '" + end + "' before start '" + start + "'");
+    }
+    IEvent event = events.createEvent(name, start, end,
+            Boolean.TRUE.equals(fields.get("fullDay")));
+    if (fields.get("description") instanceof String) {
+      event.setDescription((String) fields.get("description"));
+    }
+    if (fields.get("location") instanceof String) {
+      event.setLocation((String) fields.get("location"));
+    }
+    if (fields.get("public") instanceof Boolean) {
+      event.setPublic((Boolean) fields.get("public"));
+    }
+    return event;
+  }
+
+  private Calendar findCalendar(String name) throws HttpException {
+    try {
+      return calendarManager.getCalendar(name);
+    } catch (Exception e) {
+      throw new HttpException(404, e.getMessage());
+    }
+  }
+
+  private static void writeCalendar(JsonWriter json, Calendar cal) throws IOException {
+    json.beginObject().name("name").value(cal.getName())
+            .name("timezone").value(cal.getTimezone().getId()).endObject();
+  }
+
+  private static void writeEvent(JsonWriter json, IEvent event) throws IOException {
+    json.beginObject()
+            .name("name").value(event.getEventName())
+            .name("start").value(TIME_FORMAT.format(event.getStart()))
+            .name("end").value(TIME_FORMAT.format(event.getEnd()))
+            .name("fullDay").value(event.isFullDay())
+            .name("description").value(event.getDescription())
+            .name("location").value(event.getLocation())
+            .name("public").value(event.isPublic())
+            .endObject();
+  }
+
+  private static void writeInterval(JsonWriter json, ZonedDateTime start, ZonedDateTime end)
+          throws IOException {
+    json.beginObject().name("start").value(TIME_FORMAT.format(start))
+            .name("end").value(TIME_FORMAT.format(end)).endObject();
+  }
+
+  private static ZonedDateTime parseTime(Map<String, String> query, String parameter,
+                                         ZoneId timezone) throws HttpException {
+    String value = query.get(parameter);
+    if (value == null) {
+      throw new HttpException(400, "Missing query parameter '" + parameter + "'");
+    }
+    return parseTime(value, parameter, timezone);
+  }
+
+  private static ZonedDateTime parseTime(String value, String field, ZoneId timezone)
+          throws HttpException {
+    try {
+      return LocalDateTime.parse(value).atZone(timezone);
+    } catch (DateTimeException e) {
+      // Not a local date-time; try one with an offset
+    }
+    try {
+      return OffsetDateTime.parse(value).atZoneSameInstant(timezone);
+    } catch (DateTimeException e) {
+      throw new HttpException(400, "Invalid date-time for '" + field + "': '" + value + "'");
+    }
+  }
+
+  private static Map<String, String> parseQuery(String rawQuery) {
+    Map<String, String> query = new HashMap<>();
+    if (rawQuery == null) {
+      return query;
+    }
+    for (String pair : rawQuery.split("&")) {
+      int eq = pair.indexOf('=');
+      String key = eq < 0 ? pair : pair.substring(0, eq);
+      String value = eq < 0 ? "" : pair.substring(eq + 1);
+      query.put(URLDecoder.decode(key, StandardCharsets.UTF_8),
+              URLDecoder.decode(value, StandardCharsets.UTF_8));
+    }
+    return query;
+  }
+
+  private static Object readBody(HttpExchange exchange) throws HttpException, IOException {
+    String text = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    try {
+      return JsonReader.parse(text);
+    } catch (Exception e) {
+      throw new HttpException(400, e.getMessage());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> asObject(Object value, String what) throws HttpException {
+    if (!(value instanceof Map)) {
+      throw new HttpException(400, what + " must be a JSON object");
+    }
+    return (Map<String, Object>) value;
+  }
+
+  private static String requireString(Map<String, Object> fields, String name)
+          throws HttpException {
+    Object value = fields.get(name);
+    if (!(value instanceof String) || ((String) value).isEmpty()) {
+      throw new HttpException(400, "Missing or invalid field '" + name + "'");
+    }
+    return (String) value;
+  }
+
+  private static void requireMethod(HttpExchange exchange, String method) throws HttpException {
+    if (!exchange.getRequestMethod().equals(method)) {
+      throw methodNotAllowed(exchange, method);
+    }
+  }
+
+  private static HttpException methodNotAllowed(HttpExchange exchange, String allowed) {
+    exchange.getResponseHeaders().set("Allow", allowed);
+    return new HttpException(405, "Method not allowed: " + exchange.getRequestMethod());
+  }
+
+  private static void sendError(HttpExchange exchange, int status, String message)
+          throws IOException {
+    // Once the headers are out, a failure while the body is streamed can only cut the
+    // response short; closing the exchange leaves the chunked body incomplete
+    if (exchange.getResponseCode() != -1) {
+      return;
+    }
+    sendJson(exchange, status, json -> json.beginObject().name("error")
+            .value(message == null ? "Internal error" : message).endObject());
+  }
+
+  /**
+   * Sends a JSON response with chunked transfer encoding, so the body is streamed to
+   * the client while it is written.
+   */
+  private static void sendJson(HttpExchange exchange, int status, JsonBody body)
+          throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+    exchange.sendResponseHeaders(status, 0);
+    Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(),
+            StandardCharsets.UTF_8), 16 * 1024);
+    JsonWriter json = new JsonWriter(out);
+    body.write(json);
+    json.flush();
+  }
+
+  /**
+   * Hands the events of a listing to the visitor in order of start, fetching the next
+   * page only once the previous one has been visited. An event added meanwhile before
+   * the current page shifts the later pages and repeats events already visited; stored
+   * events with the same start would conflict, so those repeats are recognised by their
+   * start and skipped.
+   */
+  private static void forEachEvent(EventSource source, EventVisitor visitor)
+          throws IOException {
+    ZonedDateTime lastStart = null;
+    int offset = 0;
+    while (true) {
+      EventPage page = source.fetch(offset, PAGE_SIZE);
+      for (IEvent event : page.getEvents()) {
+        if (lastStart == null || !(event.getStart().isBefore(lastStart)
+                || event.getStart().equals(lastStart))) {
+          visitor.visit(event);
+          lastStart = event.getStart();
+        }
+      }
+      offset += page.getEvents().size();
+      if (page.getEvents().size() < PAGE_SIZE || offset >= page.getTotal()) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Fetches one page of a listing.
+   */
+  private interface EventSource {
+    EventPage fetch(int offset, int limit);
+  }
+
+  /**
+   * Writes one event of a listing.
+   */
+  private interface EventVisitor {
+    void visit(IEvent event) throws IOException;
+  }
+
+  /**
+   * Writes the body of a JSON response.
+   */
+  private interface JsonBody {
+    void write(JsonWriter json) throws IOException;
+  }
+
+  /**
+   * An error that is reported to the client with the given HTTP status.
+   */
+  private static final class HttpException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    HttpException(int status, String message) {
+      super(message);
+      this.status = status;
+    }
+  }
+}
@@ -0,0 +1,245 @@
+package server;
+
+import controller.CalendarHandler;
+import model.ConcurrentCalendarManager;
+import view.ConsoleWriter;
+
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * The CalendarServer class serves the calendar command language to many clients
+ * over local TCP connections. Clients send the same commands as in interactive mode,
+ * one per line, and receive each command's output on the same connection; 'exit'
+ * ends the session.
+ * Every connection gets its own session on a shared ConcurrentCalendarManager, so
+ * clients select their current calendar independently, and is served by its own
+ * platform or virtual thread (see {@link ThreadMode}). Connections beyond the session
+ * limit are refused with an error.
+ * Output is flushed whenever the server is about to wait for more input, so clients
+ * that pipeline many commands receive their results in large writes.
+ */
+public class CalendarServer implements IServer {
+  public static final int DEFAULT_MAX_SESSIONS = 64;
+  static final String BUSY_MESSAGE = "Error: Server busy, try again later";
+
+  private final ConcurrentCalendarManager calendarManager;
+  private final int requestedPort;
+  private final int maxSessions;
+  private final ThreadMode threadMode;
+  private final Semaphore sessionSlots;
+  private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+  private ServerSocket serverSocket;
+  private ExecutorService sessions;
+  private Thread acceptor;
+
+  /**
+   * Creates a server for the given calendars. The server does not accept
+   * connections until {@link #start()} is called.
+   *
+   * @param calendarManager The calendars shared by all sessions.
+   * @param port The local port to listen on, or 0 for any free port.
+   * @param maxSessions The maximum number of concurrently connected clients.
+   */
+  public CalendarServer(ConcurrentCalendarManager calendarManager, int port, int maxSessions) {
+    this(calendarManager, port, maxSessions, ThreadMode.PLATFORM);
+  }
+
+  /**
+   * Creates a server whose sessions run on threads of the given kind.
+   *
+   * @param calendarManager The calendars shared by all sessions.
+   * @param port The local port to listen on, or 0 for any free port.
+   * @param maxSessions The maximum number of concurrently connected clients.
+   * @param threadMode The kind of thread that serves each session.
+   */
+  public CalendarServer(ConcurrentCalendarManager calendarManager, int port, int maxSessions,
+                        ThreadMode threadMode) {
+    if (port < 0 || port > 65535) {
+      throw new IllegalArgumentException("Invalid port: " + port);
+    }
+    if (maxSessions <= 0) {
+      throw new IllegalArgumentException("Maximum sessions must be positive: " + maxSessions);
+    }
+    this.calendarManager = calendarManager;
+    this.requestedPort = port;
+    this.maxSessions = maxSessions;
+    this.threadMode = threadMode;
+    this.sessionSlots = new Semaphore(maxSessions);
+  }
+
+  /**
+   * Binds the listening socket on the loopback interface and starts accepting
+   * clients on a background thread.
+   *
+   * @throws IOException If the port cannot be bound.
+   */
+  @Override
+  public synchronized void start() throws IOException {
+    if (serverSocket != null) {
+      throw new IllegalStateException("Server already started");
+    }
+    serverSocket = new ServerSocket(requestedPort, maxSessions, InetAddress.getLoopbackAddress());
+    sessions = threadMode.newExecutor("calendar-session-", maxSessions);
+    ServerSocket listener = serverSocket;
+    acceptor = new Thread(() -> acceptLoop(listener), "calendar-server");
+    acceptor.start();
+  }
+
+  /**
+   * Returns the port the server listens on. This is the actual port when the
+   * server was created with port 0.
+   *
+   * @return The listening port.
+   */
+  @Override
+  public synchronized int getPort() {
+    return serverSocket == null ? requestedPort : serverSocket.getLocalPort();
+  }
+
+  private void acceptLoop(ServerSocket listener) {
+    while (!listener.isClosed()) {
+      Socket client;
+      try {
+        client = listener.accept();
+      } catch (IOException e) {
+        // The listener was closed
+        return;
+      }
+      clients.add(client);
+      if (!sessionSlots.tryAcquire()) {
+        refuse(client);
+        continue;
+      }
+      try {
+        sessions.execute(() -> {
+          try {
+            serve(client);
+          } finally {
+            sessionSlots.release();
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        sessionSlots.release();
+        refuse(client);
+      }
+    }
+  }
+
+  private void refuse(Socket client) {
+    try (Socket socket = client) {
+      Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+      out.write(BUSY_MESSAGE + System.lineSeparator());
+      out.flush();
+    } catch (IOException e) {
+      // Nothing to report to a client that is already gone
+    } finally {
+      clients.remove(client);
+    }
+  }
+
+  private void serve(Socket client) {
+    ConsoleWriter console = ConsoleWriter.getInstance();
+    try (Socket socket = client) {
+      Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(),
+              StandardCharsets.UTF_8));
+      InputStream in = new FlushingInputStream(socket.getInputStream(), out);
+      console.bindCurrentThread(out);
+      try {
+        CalendarHandler handler = new CalendarHandler(calendarManager.openSession());
+        handler.setEchoEnabled(false);
+        handler.processInput(new InputStreamReader(in, StandardCharsets.UTF_8), "server");
+      } finally {
+        console.unbindCurrentThread();
+      }
+    } catch (IOException | UncheckedIOException e) {
+      // The client disconnected; its session simply ends
+    } finally {
+      clients.remove(client);
+    }
+  }
+
+  /**
+   * Stops accepting connections and disconnects all clients.
+   */
+  @Override
+  public synchronized void close() {
+    if (serverSocket == null) {
+      return;
+    }
+    try {
+      serverSocket.close();
+    } catch (IOException e) {
+      // Already closed
+    }
+    for (Socket client : clients) {
+      try {
+        client.close();
+      } catch (IOException e) {
+        // Already closed
+      }
+    }
+    sessions.shutdown();
+    try {
+      acceptor.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * An input stream that flushes the session's output before blocking for more
+   * input, so responses are sent once all pending requests have been handled.
+   * Closing a socket stream closes the socket, so output is also flushed on close.
+   */
+  private static final class FlushingInputStream extends FilterInputStream {
+    private final Writer out;
+
+    FlushingInputStream(InputStream in, Writer out) {
+      super(in);
+      this.out = out;
+    }
+
+    @Override
+    public int read() throws IOException {
+      flushIfIdle();
+      return super.read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      flushIfIdle();
+      return super.read(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        out.flush();
+      } finally {
+        super.close();
+      }
+    }
+
+    private void flushIfIdle() throws IOException {
+      if (in.available() == 0) {
+        out.flush();
+      }
+    }
+  }
+}
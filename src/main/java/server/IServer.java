@@ -0,0 +1,19 @@
+package server;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * The IServer interface defines the lifecycle shared by the network front ends of
+ * the calendar application: a server is created for a port, started once, and
+ * closed to stop accepting clients.
+ */
+public interface IServer extends Closeable {
+
+  void start() throws IOException;
+
+  int getPort();
+
+  @Override
+  void close();
+}
@@ -0,0 +1,212 @@
+package server;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The JsonReader class parses JSON request bodies into plain Java values: objects
+ * become {@code Map<String, Object>}, arrays become {@code List<Object>}, numbers
+ * become {@code Long} or {@code Double}, and strings, booleans and null map to
+ * their Java counterparts.
+ */
+final class JsonReader {
+  private final String text;
+  private int pos;
+
+  private JsonReader(String text) {
+    this.text = text;
+  }
+
+  /**
+   * Parses a complete JSON document.
+   *
+   * @param text The JSON text.
+   * @return The parsed value.
+   * @throws Exception If the text is not valid JSON.
+   */
+  static Object parse(String text) throws Exception {
+    JsonReader reader = new JsonReader(text);
+    Object value = reader.readValue();
+    reader.skipWhitespace();
+    if (reader.pos != text.length()) {
+      throw reader.error("Unexpected trailing content");
+    }
+    return value;
+  }
+
+  private Object readValue() throws Exception {
+    skipWhitespace();
+    if (pos >= text.length()) {
+      throw error("Unexpected end of input");
+    }
+    char c = text.charAt(pos);
+    switch (c) {
+      case '{':
+        return readObject();
+      case '[':
+        return readArray();
+      case '"':
+        return readString();
+      case 't':
+        return readLiteral("true", Boolean.TRUE);
+      case 'f':
+        return readLiteral("false", Boolean.FALSE);
+      case 'n':
+        return readLiteral("null", null);
+      default:
+        if (c == '-' || (c >= '0' && c <= '9')) {
+          return readNumber();
+        }
+        throw error("Unexpected character '" + c + "'");
+    }
+  }
+
+  private Map<String, Object> readObject() throws Exception {
+    Map<String, Object> object = new LinkedHashMap<>();
+    pos++;
+    skipWhitespace();
+    if (peek() == '}') {
+      pos++;
+      return object;
+    }
+    while (true) {
+      skipWhitespace();
+      if (peek() != '"') {
+        throw error("Expected a property name");
+      }
+      String name = readString();
+      skipWhitespace();
+      expect(':');
+      object.put(name, readValue());
+      skipWhitespace();
+      if (peek() == ',') {
+        pos++;
+      } else {
+        expect('}');
+        return object;
+      }
+    }
+  }
+
+  private List<Object> readArray() throws Exception {
+    List<Object> array = new ArrayList<>();
+    pos++;
+    skipWhitespace();
+    if (peek() == ']') {
+      pos++;
+      return array;
+    }
+    while (true) {
+      array.add(readValue());
+      skipWhitespace();
+      if (peek() == ',') {
+        pos++;
+      } else {
+        expect(']');
+        return array;
+      }
+    }
+  }
+
+  private String readString() throws Exception {
+    pos++;
+    StringBuilder result = new StringBuilder();
+    while (pos < text.length()) {
+      char c = text.charAt(pos++);
+      if (c == '"') {
+        return result.toString();
+      }
+      if (c != '\\') {
+        result.append(c);
+        continue;
+      }
+      if (pos >= text.length()) {
+        break;
+      }
+      char escaped = text.charAt(pos++);
+      switch (escaped) {
+        case '"':
+        case '\\':
+        case '/':
+          result.append(escaped);
+          break;
+        case 'b':
+          result.append('\b');
+          break;
+        case 'f':
+          result.append('\f');
+          break;
+        case 'n':
+          result.append('\n');
+          break;
+        case 'r':
+          result.append('\r');
+          break;
+        case 't':
+          result.append('\t');
+          break;
+        case 'u':
+          if (pos + 4 > text.length()) {
+            throw error("Invalid unicode escape");
+          }
+          try {
+            result.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+          } catch (NumberFormatException e) {
+            throw error("Invalid unicode escape");
+          }
+          pos += 4;
+          break;
+        default:
+          throw error("Invalid escape '\\" + escaped + "'");
+      }
+    }
+    throw error("Unterminated string");
+  }
+
+  private Object readNumber() throws Exception {
+    int start = pos;
+    while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+      pos++;
+    }
+    String number = text.substring(start, pos);
+    try {
+      if (number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0) {
+        return Long.parseLong(number);
+      }
+      return Double.parseDouble(number);
+    } catch (NumberFormatException e) {
+      throw error("Invalid number '" + number + "'");
+    }
+  }
+
+  private Object readLiteral(String literal, Object value) throws Exception {
+    if (!text.startsWith(literal, pos)) {
+      throw error("Unexpected token");
+    }
+    pos += literal.length();
+    return value;
+  }
+
+  private void expect(char c) throws Exception {
+    if (peek() != c) {
+      throw error("Expected '" + c + "'");
+    }
+    pos++;
+  }
+
+  private char peek() {
+    return pos < text.length() ? text.charAt(pos) : '\0';
+  }
+
+  private void skipWhitespace() {
+    while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+      pos++;
+    }
+  }
+
+  private Exception error(String message) {
+    return new Exception("Invalid JSON at position " + pos + ": " + message);
+  }
+}
@@ -0,0 +1,135 @@
+package server;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * The JsonWriter class writes JSON text directly to a character stream, one token
+ * at a time, so that large responses are sent while they are produced instead of
+ * being built in memory first. Commas between elements are inserted automatically.
+ */
+final class JsonWriter {
+  private static final int MAX_DEPTH = 64;
+
+  private final Writer out;
+  private final boolean[] hasElements = new boolean[MAX_DEPTH];
+  private int depth;
+  private boolean afterName;
+
+  JsonWriter(Writer out) {
+    this.out = out;
+  }
+
+  JsonWriter beginObject() throws IOException {
+    return open('{');
+  }
+
+  JsonWriter endObject() throws IOException {
+    return close('}');
+  }
+
+  JsonWriter beginArray() throws IOException {
+    return open('[');
+  }
+
+  JsonWriter endArray() throws IOException {
+    return close(']');
+  }
+
+  JsonWriter name(String name) throws IOException {
+    separate();
+    writeString(name);
+    out.write(':');
+    afterName = true;
+    return this;
+  }
+
+  JsonWriter value(String value) throws IOException {
+    separate();
+    if (value == null) {
+      out.write("null");
+    } else {
+      writeString(value);
+    }
+    return this;
+  }
+
+  JsonWriter value(long value) throws IOException {
+    separate();
+    out.write(Long.toString(value));
+    return this;
+  }
+
+  JsonWriter value(boolean value) throws IOException {
+    separate();
+    out.write(value ? "true" : "false");
+    return this;
+  }
+
+  void flush() throws IOException {
+    out.flush();
+  }
+
+  private JsonWriter open(char bracket) throws IOException {
+    separate();
+    if (depth == MAX_DEPTH) {
+      throw new IllegalStateException("JSON nesting too deep");
+    }
+    out.write(bracket);
+    hasElements[depth++] = false;
+    return this;
+  }
+
+  private JsonWriter close(char bracket) throws IOException {
+    depth--;
+    out.write(bracket);
+    return this;
+  }
+
+  private void separate() throws IOException {
+    if (afterName) {
+      afterName = false;
+      return;
+    }
+    if (depth > 0) {
+      if (hasElements[depth - 1]) {
+        out.write(',');
+      }
+      hasElements[depth - 1] = true;
+    }
+  }
+
+  private void writeString(String value) throws IOException {
+    out.write('"');
+    int start = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c >= 0x20 && c != '"' && c != '\\') {
+        continue;
+      }
+      out.write(value, start, i - start);
+      switch (c) {
+        case '"':
+          out.write("\\\"");
+          break;
+        case '\\':
+          out.write("\\\\");
+          break;
+        case '\n':
+          out.write("\\n");
+          break;
+        case '\r':
+          out.write("\\r");
+          break;
+        case '\t':
+          out.write("\\t");
+          break;
+        default:
+          out.write(String.format("\\u%04x", (int) c));
+      }
+      start = i + 1;
+    }
+    out.write(value, start, value.length() - start);
+    out.write('"');
+  }
+}
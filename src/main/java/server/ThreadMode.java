@@ -0,0 +1,108 @@
+package server;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The ThreadMode enum selects the kind of threads that run client sessions and
+ * requests. Platform threads come from a bounded pool; virtual threads are created
+ * per task and are cheap enough to give every blocked client its own thread.
+ * Virtual threads require a Java 21 runtime. The build targets Java 17, so they
+ * are looked up at runtime and {@link #isSupported()} reports whether they exist.
+ */
+public enum ThreadMode {
+  PLATFORM,
+  VIRTUAL;
+
+  private static final ThreadFactorySource VIRTUAL_THREADS = lookupVirtualThreads();
+
+  /**
+   * Returns whether threads of this kind can be created on the running JVM.
+   *
+   * @return true if {@link #newExecutor(String, int)} is available for this mode.
+   */
+  public boolean isSupported() {
+    return this == PLATFORM || VIRTUAL_THREADS != null;
+  }
+
+  /**
+   * Creates an executor that runs every task on a thread of this kind.
+   *
+   * @param namePrefix The prefix of the thread names.
+   * @param poolSize The number of platform threads; ignored for virtual threads,
+   *                 which are created per task.
+   * @return A new executor.
+   * @throws UnsupportedOperationException If this mode is not supported by the JVM.
+   */
+  public ExecutorService newExecutor(String namePrefix, int poolSize) {
+    if (this == VIRTUAL) {
+      if (VIRTUAL_THREADS == null) {
+        throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+      }
+      return VIRTUAL_THREADS.newExecutor(namePrefix);
+    }
+    AtomicInteger count = new AtomicInteger();
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+              Thread thread = new Thread(runnable, namePrefix + count.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    pool.allowCoreThreadTimeOut(true);
+    return pool;
+  }
+
+  /**
+   * Parses a mode name, ignoring case.
+   *
+   * @param name "platform" or "virtual".
+   * @return The matching mode.
+   * @throws IllegalArgumentException If the name is not a mode.
+   */
+  public static ThreadMode parse(String name) {
+    for (ThreadMode mode : values()) {
+      if (mode.name().equalsIgnoreCase(name)) {
+        return mode;
+      }
+    }
+    throw new IllegalArgumentException("Unknown thread mode: " + name
+            + ". Use 'platform' or 'virtual'");
+  }
+
+  private static ThreadFactorySource lookupVirtualThreads() {
+    try {
+      Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+      Method ofVirtual = Thread.class.getMethod("ofVirtual");
+      Method name = builderType.getMethod("name", String.class, long.class);
+      Method factory = builderType.getMethod("factory");
+      Method perTask = Executors.class.getMethod("newThreadPerTaskExecutor",
+              ThreadFactory.class);
+      ThreadFactorySource source = prefix -> {
+        try {
+          Object builder = name.invoke(ofVirtual.invoke(null), prefix, 1L);
+          return (ExecutorService) perTask.invoke(null, factory.invoke(builder));
+        } catch (ReflectiveOperationException e) {
+          throw new UnsupportedOperationException("Virtual threads are not available", e);
+        }
+      };
+      // Preview builds expose the methods but refuse to create virtual threads
+      source.newExecutor("probe-").shutdown();
+      return source;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Creates per-task executors for virtual threads with the given name prefix.
+   */
+  private interface ThreadFactorySource {
+    ExecutorService newExecutor(String namePrefix);
+  }
+}
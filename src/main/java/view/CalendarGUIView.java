@@ -3,6 +3,7 @@ package view;
 import model.Calendar;
 import model.ICalendarManager;
 import model.IEvent;
+import model.IEventManager;
 
 import controller.GUICalendarHandler;
 
@@ -13,16 +14,20 @@ import javax.swing.DefaultComboBoxModel;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
+import javax.swing.JDialog;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JRadioButton;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.SwingConstants;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.border.Border;
 import javax.swing.border.EmptyBorder;
 
@@ -33,6 +38,8 @@ import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.GridLayout;
+import java.awt.SecondaryLoop;
+import java.awt.Toolkit;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
@@ -47,7 +54,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 /**
  * A graphical user interface (GUI) view for the calendar application.
@@ -73,6 +83,32 @@ public class CalendarGUIView implements IView {
           DateTimeFormatter.ofPattern("HH:mm");
   private final Map<String, Color> calendarColors = new HashMap<>();
   private static final String NO_EVENTS_MESSAGE = "No events to edit";
+  // The most event names that type-ahead lists
+  private static final int MAX_NAME_SUGGESTIONS = 200;
+  private static final int GRID_CELLS = 42;
+  private static final Font HEADER_FONT = new Font("Segoe UI", Font.BOLD, 16);
+  private static final Font DAY_FONT = new Font("Segoe UI", Font.BOLD, 24);
+  private static final Border DAY_BORDER = BorderFactory.createCompoundBorder(
+          BorderFactory.createLineBorder(Color.GRAY, 1),
+          BorderFactory.createEmptyBorder(5, 5, 5, 5));
+  private static final Border TODAY_BORDER = BorderFactory.createCompoundBorder(
+          BorderFactory.createLineBorder(Color.RED, 3),
+          BorderFactory.createEmptyBorder(5, 5, 5, 5));
+  private static final Color TODAY_BACKGROUND = new Color(255, 215, 0);
+  private static final Color EVENT_FOREGROUND = new Color(0, 120, 215);
+  // The grid of six weeks is built once; showing a month only changes its cells
+  private final JButton[] dayButtons = new JButton[GRID_CELLS];
+  private final LocalDate[] cellDates = new LocalDate[GRID_CELLS];
+  private static final int MONTH_CACHE_SIZE = 24;
+  private final MonthViewCache monthViews = new MonthViewCache(MONTH_CACHE_SIZE);
+  // The months being computed; the one being waited for is monthLoader
+  private final Map<YearMonth, MonthLoader> monthLoaders = new HashMap<>();
+  private MonthLoader monthLoader;
+  // The version of each calendar's data; a calendar not in the map is at version 0
+  private final Map<String, Long> dataVersions = new HashMap<>();
+  private JProgressBar loadingBar;
+  // How long a query runs before its progress dialog is shown
+  private static final int PROGRESS_DELAY_MILLIS = 300;
 
   /**
    * Constructs a CalendarGUIView with the specified calendar manager and controller.
@@ -108,6 +144,10 @@ public class CalendarGUIView implements IView {
     calendarDropdown.setFont(new Font("Segoe UI", Font.PLAIN, 14));
     timezoneLabel = new JLabel();
     timezoneLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+    loadingBar = new JProgressBar();
+    loadingBar.setIndeterminate(true);
+    loadingBar.setPreferredSize(new Dimension(80, 14));
+    loadingBar.setVisible(false);
     JButton calendarOperationsButton = new JButton("Calendar Operations");
     calendarOperationsButton.setFont(new Font("Segoe UI", Font.PLAIN, 14));
     JButton eventOperationsButton = new JButton("Event Operations");
@@ -122,6 +162,7 @@ public class CalendarGUIView implements IView {
     topPanel.add(nextButton);
     topPanel.add(calendarDropdown);
     topPanel.add(timezoneLabel);
+    topPanel.add(loadingBar);
     topPanel.add(calendarOperationsButton);
     topPanel.add(eventOperationsButton);
     topPanel.add(exportButton);
@@ -131,6 +172,7 @@ public class CalendarGUIView implements IView {
     calendarPanel = new JPanel();
     calendarPanel.setBorder(new EmptyBorder(15, 15, 15, 15));
     calendarPanel.setBackground(new Color(245, 245, 245));
+    createMonthGrid();
     frame.add(calendarPanel, BorderLayout.CENTER);
 
     prevButton.addActionListener(e -> changeMonth(-1));
@@ -190,82 +232,266 @@ public class CalendarGUIView implements IView {
     return new Color(rgbColor.getRed(), rgbColor.getGreen(), rgbColor.getBlue(), 50);
   }
 
-  @Override
-  public void updateDisplay() {
-    calendarPanel.removeAll();
+  private void createMonthGrid() {
     calendarPanel.setLayout(new GridLayout(0, 7, 8, 8));
-    monthLabel.setText(currentMonth.getMonth() + " " + currentMonth.getYear());
-
-    calendarPanel.setBackground(calendarColors.getOrDefault(currentCalendarName,
-            new Color(245, 245, 245)));
-
     String[] dayLabels = {"Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat"};
     for (String day : dayLabels) {
       JLabel label = new JLabel(day, SwingConstants.CENTER);
-      label.setFont(new Font("Segoe UI", Font.BOLD, 16));
+      label.setFont(HEADER_FONT);
       label.setOpaque(true);
       label.setBackground(new Color(200, 200, 200));
       label.setBorder(BorderFactory.createLineBorder(Color.DARK_GRAY));
       label.setPreferredSize(new Dimension(100, 40));
       calendarPanel.add(label);
     }
+    for (int i = 0; i < GRID_CELLS; i++) {
+      JButton dayButton = new JButton();
+      dayButton.setFont(DAY_FONT);
+      dayButton.setOpaque(true);
+      dayButton.setBorderPainted(true);
+      dayButton.setBorder(DAY_BORDER);
+      dayButton.setBackground(Color.WHITE);
+      dayButton.setForeground(Color.BLACK);
+      dayButton.setPreferredSize(new Dimension(100, 80));
+      dayButton.setVisible(false);
+      int cell = i;
+      dayButton.addActionListener(e -> {
+        if (cellDates[cell] != null) {
+          showDayOptions(cellDates[cell]);
+        }
+      });
+      dayButtons[i] = dayButton;
+      calendarPanel.add(dayButton);
+    }
+  }
 
+  /**
+   * Shows the current month after a change to the calendar data. Every change made
+   * through the view or its controller ends with a call to this method, so it starts
+   * a new data version of the current calendar and its months are computed again. The
+   * cached months of the other calendars stay.
+   */
+  @Override
+  public void updateDisplay() {
+    calendarChanged(currentCalendarName);
+    showMonth();
+  }
+
+  // Starts a new data version of a calendar and drops its cached months
+  private void calendarChanged(String calendarName) {
+    dataVersions.merge(calendarName, 1L, Long::sum);
+    monthViews.removeCalendar(calendarName);
+  }
+
+  private long dataVersion(Calendar calendar) {
+    return dataVersions.getOrDefault(calendar.getName(), 0L);
+  }
+
+  // Shows the current month from the cache, or computes its view on a worker thread.
+  // The months before and after it are then loaded ahead, so that moving to them is
+  // instant. Loads that are no longer for the current or a neighbouring month of the
+  // current calendar and data are cancelled
+  private void showMonth() {
+    monthLabel.setText(currentMonth.getMonth() + " " + currentMonth.getYear());
+    calendarPanel.setBackground(calendarColors.getOrDefault(currentCalendarName,
+            new Color(245, 245, 245)));
+
+    Calendar currentCal;
     try {
-      Calendar currentCal = calendarManager.getCurrentCalendar();
-      timezoneLabel.setText("Timezone: " + currentCal.getTimezone().toString());
-      LocalDate firstDay = currentMonth.atDay(1);
-      LocalDate today = LocalDate.now();
-      int offset = firstDay.getDayOfWeek().getValue() % 7;
-      for (int i = 0; i < offset; i++) {
-        calendarPanel.add(new JLabel(""));
+      currentCal = calendarManager.getCurrentCalendar();
+    } catch (Exception e) {
+      displayMessage("Error updating : " + e.getMessage());
+      return;
+    }
+    timezoneLabel.setText("Timezone: " + currentCal.getTimezone().toString());
+    monthLoaders.values().removeIf(loader -> {
+      boolean stale = !loader.isNear(currentCal, currentMonth, dataVersion(currentCal));
+      if (stale) {
+        loader.cancel(true);
       }
+      return stale;
+    });
 
-      int daysInMonth = currentMonth.lengthOfMonth();
-      Border defaultBorder = BorderFactory.createLineBorder(Color.GRAY, 1);
-      Border todayBorder = BorderFactory.createLineBorder(Color.RED, 3);
-
-      for (int day = 1; day <= daysInMonth; day++) {
-        LocalDate date = currentMonth.atDay(day);
-        JButton dayButton = new JButton(String.valueOf(day));
-        dayButton.setFont(new Font("Segoe UI", Font.BOLD, 24));
-        dayButton.setOpaque(true);
-        dayButton.setBorderPainted(true);
-
-        if (date.equals(today)) {
-          dayButton.setBorder(todayBorder);
-          dayButton.setBackground(new Color(255, 215, 0));
-          dayButton.setForeground(Color.BLACK);
-        } else {
-          dayButton.setBorder(defaultBorder);
-          dayButton.setBackground(Color.WHITE);
-          dayButton.setForeground(Color.BLACK);
-        }
+    MonthViewModel view = monthViews.get(currentCal.getName(), currentMonth,
+            dataVersion(currentCal));
+    if (view != null) {
+      monthLoader = null;
+      loadingBar.setVisible(false);
+      applyMonthView(view, LocalDate.now());
+    } else {
+      // The cells still show the previous month; they do nothing until the new one is in
+      Arrays.fill(cellDates, null);
+      loadingBar.setVisible(true);
+      monthLoader = loadMonth(currentCal, currentMonth);
+    }
+    for (YearMonth neighbour : new YearMonth[] {currentMonth.minusMonths(1),
+        currentMonth.plusMonths(1)}) {
+      if (monthViews.get(currentCal.getName(), neighbour, dataVersion(currentCal)) == null) {
+        loadMonth(currentCal, neighbour);
+      }
+    }
+  }
+
+  private MonthLoader loadMonth(Calendar cal, YearMonth month) {
+    MonthLoader loader = monthLoaders.get(month);
+    if (loader == null) {
+      loader = new MonthLoader(cal, month, dataVersion(cal));
+      monthLoaders.put(month, loader);
+      loader.execute();
+    }
+    return loader;
+  }
+
+  /**
+   * Computes the view of one month of a calendar on a worker thread. When it is done,
+   * on the event dispatch thread, the view is added to the cache if the data has not
+   * changed since, and shown if it is the month being waited for.
+   */
+  private final class MonthLoader extends SwingWorker<MonthViewModel, Void> {
+    private final Calendar calendar;
+    private final YearMonth month;
+    private final long version;
+
+    private MonthLoader(Calendar calendar, YearMonth month, long version) {
+      this.calendar = calendar;
+      this.month = month;
+      this.version = version;
+    }
+
+    // Whether this load is still wanted when the given month is shown
+    private boolean isNear(Calendar shownCalendar, YearMonth shownMonth, long currentVersion) {
+      return calendar == shownCalendar && version == currentVersion
+              && Math.abs(ChronoUnit.MONTHS.between(shownMonth, month)) <= 1;
+    }
+
+    @Override
+    protected MonthViewModel doInBackground() {
+      return MonthViewModel.compute(calendar, month, version);
+    }
 
-        List<IEvent> events = currentCal.getEventScheduler().fetchEventsOnDate(date);
-        if (!events.isEmpty()) {
-          dayButton.setToolTipText(events.size() + " event(s)");
-          dayButton.setForeground(new Color(0, 120, 215));
+    @Override
+    protected void done() {
+      if (monthLoaders.get(month) == this) {
+        monthLoaders.remove(month);
+      }
+      if (isCancelled()) {
+        return;
+      }
+      boolean shown = monthLoader == this;
+      if (shown) {
+        monthLoader = null;
+        loadingBar.setVisible(false);
+      }
+      try {
+        MonthViewModel view = get();
+        if (version == dataVersion(calendar)) {
+          monthViews.put(view);
         }
+        if (shown) {
+          applyMonthView(view, LocalDate.now());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        if (shown) {
+          displayMessage("Error updating : " + e.getCause().getMessage());
+        }
+      }
+    }
+  }
 
-        dayButton.setBorder(BorderFactory.createCompoundBorder(
-                dayButton.getBorder(),
-                BorderFactory.createEmptyBorder(5, 5, 5, 5)
-        ));
-        dayButton.setPreferredSize(new Dimension(100, 80));
-        dayButton.addActionListener(e -> showDayOptions(date));
-        calendarPanel.add(dayButton);
+  // Runs a query on a worker thread and returns its result on the event dispatch
+  // thread, which keeps handling events while it waits. A query that runs for longer
+  // than PROGRESS_DELAY_MILLIS shows a progress dialog, whose Cancel button abandons
+  // the query; the result is then null
+  private <T> T runInBackground(String message, Callable<T> query) throws Exception {
+    JDialog progress = new JDialog(frame, "Please wait", true);
+    SecondaryLoop loop = Toolkit.getDefaultToolkit().getSystemEventQueue()
+            .createSecondaryLoop();
+    Timer showProgress = new Timer(PROGRESS_DELAY_MILLIS, e -> progress.setVisible(true));
+    showProgress.setRepeats(false);
+    SwingWorker<T, Void> worker = new SwingWorker<T, Void>() {
+      @Override
+      protected T doInBackground() throws Exception {
+        return query.call();
       }
-    } catch (Exception e) {
-      displayMessage("Error updating : " + e.getMessage());
+
+      @Override
+      protected void done() {
+        showProgress.stop();
+        progress.dispose();
+        loop.exit();
+      }
+    };
+
+    JProgressBar bar = new JProgressBar();
+    bar.setIndeterminate(true);
+    JButton cancelButton = new JButton("Cancel");
+    cancelButton.addActionListener(e -> worker.cancel(true));
+    JPanel panel = createMainPanel();
+    panel.setBorder(new EmptyBorder(10, 10, 10, 10));
+    panel.add(createSubPanel(new JLabel(message)));
+    panel.add(createSubPanel(bar));
+    panel.add(createSubPanel(cancelButton));
+    progress.setContentPane(panel);
+    progress.pack();
+    progress.setLocationRelativeTo(frame);
+
+    worker.execute();
+    showProgress.start();
+    loop.enter();
+    if (worker.isCancelled()) {
+      return null;
     }
+    try {
+      return worker.get();
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+    }
+  }
 
-    frame.revalidate();
-    frame.repaint();
+  // Updates only the cells whose date, tooltip or style differ from what they show
+  private void applyMonthView(MonthViewModel view, LocalDate today) {
+    int firstColumn = view.getFirstColumn();
+    int daysInMonth = view.getMonth().lengthOfMonth();
+    for (int cell = 0; cell < GRID_CELLS; cell++) {
+      int day = cell - firstColumn + 1;
+      boolean inMonth = day >= 1 && day <= daysInMonth;
+      JButton dayButton = dayButtons[cell];
+      cellDates[cell] = inMonth ? view.getMonth().atDay(day) : null;
+      if (dayButton.isVisible() != inMonth) {
+        dayButton.setVisible(inMonth);
+      }
+      if (!inMonth) {
+        continue;
+      }
+      String text = String.valueOf(day);
+      if (!text.equals(dayButton.getText())) {
+        dayButton.setText(text);
+      }
+      String toolTip = view.getToolTip(day);
+      if (!Objects.equals(toolTip, dayButton.getToolTipText())) {
+        dayButton.setToolTipText(toolTip);
+      }
+      boolean isToday = cellDates[cell].equals(today);
+      Border border = isToday ? TODAY_BORDER : DAY_BORDER;
+      if (dayButton.getBorder() != border) {
+        dayButton.setBorder(border);
+      }
+      Color background = isToday ? TODAY_BACKGROUND : Color.WHITE;
+      if (!background.equals(dayButton.getBackground())) {
+        dayButton.setBackground(background);
+      }
+      Color foreground = view.getEventCount(day) > 0 ? EVENT_FOREGROUND : Color.BLACK;
+      if (!foreground.equals(dayButton.getForeground())) {
+        dayButton.setForeground(foreground);
+      }
+    }
   }
 
   private void changeMonth(int offset) {
     currentMonth = currentMonth.plusMonths(offset);
-    updateDisplay();
+    showMonth();
   }
 
   private void changeCalendar() {
@@ -275,7 +501,7 @@ public class CalendarGUIView implements IView {
         try {
           calendarManager.setCurrentCalendar(selected);
           currentCalendarName = selected;
-          updateDisplay();
+          showMonth();
         } catch (Exception e) {
           displayMessage("Error switching : " + e.getMessage());
         }
@@ -329,20 +555,30 @@ public class CalendarGUIView implements IView {
   }
 
   private void configureComboBoxForSearch(JComboBox<String> comboBox, List<String> items) {
+    configureComboBoxForSearch(comboBox, input -> {
+      List<String> matches = new ArrayList<>();
+      for (String item : items) {
+        if (item.toLowerCase().contains(input.toLowerCase())) {
+          matches.add(item);
+        }
+      }
+      return matches;
+    });
+  }
+
+  // Makes the combo box editable, listing what the search finds for the typed text
+  // after every key
+  private void configureComboBoxForSearch(JComboBox<String> comboBox,
+                                          Function<String, List<String>> search) {
     comboBox.setEditable(true);
     comboBox.setPreferredSize(new Dimension(200, 25));
     JTextField editor = (JTextField) comboBox.getEditor().getEditorComponent();
     editor.addKeyListener(new java.awt.event.KeyAdapter() {
       @Override
       public void keyReleased(java.awt.event.KeyEvent e) {
-        String input = editor.getText().toLowerCase();
-        DefaultComboBoxModel<String> model = new DefaultComboBoxModel<>();
-        for (String item : items) {
-          if (item.toLowerCase().contains(input)) {
-            model.addElement(item);
-          }
-        }
-        comboBox.setModel(model);
+        String input = editor.getText();
+        comboBox.setModel(new DefaultComboBoxModel<>(search.apply(input)
+                .toArray(new String[0])));
         comboBox.showPopup();
         editor.setText(input);
       }
@@ -467,7 +703,10 @@ public class CalendarGUIView implements IView {
         }
 
         calendarManager.editCalendar(selectedName, selectedProperty, newValue);
+        // The edited calendar need not be the current one
+        calendarChanged(selectedName);
         if (selectedProperty.equals("name")) {
+          calendarChanged(newValue);
           Color color = calendarColors.remove(selectedName);
           calendarColors.put(newValue, color);
           if (currentCalendarName.equals(selectedName)) {
@@ -497,6 +736,9 @@ public class CalendarGUIView implements IView {
         break;
       case 1:
         List<String> eventNames = getUniqueEventNames();
+        if (eventNames == null) {
+          break;
+        }
         if (eventNames.isEmpty()) {
           displayMessage(NO_EVENTS_MESSAGE);
           break;
@@ -570,7 +812,11 @@ public class CalendarGUIView implements IView {
         if (singleDayRadio.isSelected()) {
           String dateStr = getDateFromPanel(datePanel);
           LocalDate date = LocalDate.parse(dateStr, DATE_FORMAT);
-          List<IEvent> events = cal.getEventScheduler().fetchEventsOnDate(date);
+          List<IEvent> events = runInBackground("Loading events...",
+                  () -> cal.getEventScheduler().fetchEventsOnDate(date));
+          if (events == null) {
+            return;
+          }
           eventList.append(formatEventList(events, "Events on "
                   + dateStr + ":", true));
         } else {
@@ -580,7 +826,11 @@ public class CalendarGUIView implements IView {
                   .atZone(cal.getTimezone());
           ZonedDateTime end = LocalDateTime.parse(endStr, TIME_FORMAT)
                   .atZone(cal.getTimezone());
-          List<IEvent> events = cal.getEventScheduler().fetchEventsInRange(start, end);
+          List<IEvent> events = runInBackground("Loading events...",
+                  () -> cal.getEventScheduler().fetchEventsInRange(start, end));
+          if (events == null) {
+            return;
+          }
           eventList.append(formatEventList(events, "Events from " + startStr + " to "
                   + endStr + ":", false));
         }
@@ -934,15 +1184,13 @@ public class CalendarGUIView implements IView {
     }
   }
 
+  // The names come from the calendar's name index; returns null if the user cancelled
+  // the query
   private List<String> getUniqueEventNames() {
     try {
-      List<IEvent> events = calendarManager.getCurrentCalendar().getEventScheduler()
-              .retrieveAllEvents();
-      return events.stream()
-              .map(IEvent::getEventName)
-              .distinct()
-              .sorted()
-              .collect(Collectors.toList());
+      Calendar cal = calendarManager.getCurrentCalendar();
+      return runInBackground("Loading event names...",
+              () -> cal.getEventScheduler().retrieveEventNames());
     } catch (Exception e) {
       displayMessage("Error : " + e.getMessage());
       return new ArrayList<>();
@@ -959,25 +1207,18 @@ public class CalendarGUIView implements IView {
       return;
     }
 
-    try {
-      Calendar cal = calendarManager.getCurrentCalendar();
-      List<IEvent> events = cal.getEventScheduler().retrieveAllEvents();
-
-      switch (choice) {
-        case 0:
-          editSingleEventDialog(events, null);
-          break;
-        case 1:
-          editMultipleFromDateDialog();
-          break;
-        case 2:
-          editAllInstancesDialog();
-          break;
-        default:
-          break;
-      }
-    } catch (Exception e) {
-      displayMessage("Error editing : " + e.getMessage());
+    switch (choice) {
+      case 0:
+        editSingleEventDialog(null);
+        break;
+      case 1:
+        editMultipleFromDateDialog();
+        break;
+      case 2:
+        editAllInstancesDialog();
+        break;
+      default:
+        break;
     }
   }
 
@@ -1006,21 +1247,41 @@ public class CalendarGUIView implements IView {
     return selected;
   }
 
-  private void editSingleEventDialog(List<IEvent> events, LocalDate selectedDate) {
-    List<String> uniqueEventNames = events.stream()
-            .map(IEvent::getEventName)
-            .distinct()
-            .sorted()
-            .collect(Collectors.toList());
-    if (uniqueEventNames.isEmpty()) {
-      displayMessage(NO_EVENTS_MESSAGE);
+  // Edits one event. From the edit menu the names come from the calendar's name index
+  // and the events of a name are fetched when it is chosen; for a day both come from
+  // the events on that day
+  private void editSingleEventDialog(LocalDate selectedDate) {
+    IEventManager scheduler;
+    Map<String, List<IEvent>> eventsByName = new HashMap<>();
+    JComboBox<String> eventNameCombo;
+    try {
+      scheduler = calendarManager.getCurrentCalendar().getEventScheduler();
+      if (selectedDate == null) {
+        eventNameCombo = getEventComboBoxForEdit();
+      } else {
+        List<IEvent> events = runInBackground("Loading events...",
+                () -> scheduler.fetchEventsOnDate(selectedDate));
+        if (events == null) {
+          return;
+        }
+        for (IEvent event : events) {
+          eventsByName.computeIfAbsent(event.getEventName(), name -> new ArrayList<>())
+                  .add(event);
+        }
+        List<String> names = new ArrayList<>(eventsByName.keySet());
+        Collections.sort(names);
+        eventNameCombo = createEventNameComboBox(names);
+      }
+    } catch (Exception e) {
+      displayMessage("Error editing : " + e.getMessage());
       return;
     }
-
-    JComboBox<String> eventNameCombo = createEventNameComboBox(uniqueEventNames);
     if (eventNameCombo == null) {
       return;
     }
+    Function<String, List<IEvent>> eventsOfName = selectedDate != null
+            ? name -> eventsByName.getOrDefault(name, new ArrayList<>())
+            : name -> fetchEventsNamed(scheduler, name, eventsByName);
 
     JPanel panel = createMainPanel();
     panel.add(createEventSelectionPanel(eventNameCombo, "Event to edit:"));
@@ -1038,28 +1299,13 @@ public class CalendarGUIView implements IView {
     eventNameCombo.addActionListener(e -> {
       String selectedName = getSelectedEventName(eventNameCombo);
       if (selectedName != null) {
-        List<IEvent> filteredEvents = events.stream()
-                .filter(event -> event.getEventName().equals(selectedName))
-                .collect(Collectors.toList());
         timeCombo.removeAllItems();
-        for (IEvent event : filteredEvents) {
-          String timeText = selectedDate != null
-                  ?
-                  String.format("%s to %s",
-                          event.getStart().toLocalDateTime().format(DISPLAY_TIME_FORMAT),
-                          event.getEnd().toLocalDateTime().format(DISPLAY_TIME_FORMAT)) :
-                  String.format("%s %s to %s",
-                          event.getStart().toLocalDate().format(DATE_FORMAT),
-                          event.getStart().toLocalDateTime().format(DISPLAY_TIME_FORMAT),
-                          event.getEnd().toLocalDateTime().format(DISPLAY_TIME_FORMAT));
-          timeCombo.addItem(timeText);
+        for (IEvent event : eventsOfName.apply(selectedName)) {
+          timeCombo.addItem(timeText(event, selectedDate != null));
         }
       }
     });
-
-    if (!uniqueEventNames.isEmpty()) {
-      eventNameCombo.setSelectedIndex(0);
-    }
+    eventNameCombo.setSelectedIndex(0);
 
     JScrollPane scrollPane = createScrollPane(panel, 250);
 
@@ -1074,17 +1320,8 @@ public class CalendarGUIView implements IView {
       }
 
       IEvent selectedEvent = null;
-      for (IEvent event : events) {
-        String timeText = selectedDate != null
-                ?
-                String.format("%s to %s",
-                        event.getStart().toLocalDateTime().format(DISPLAY_TIME_FORMAT),
-                        event.getEnd().toLocalDateTime().format(DISPLAY_TIME_FORMAT)) :
-                String.format("%s %s to %s",
-                        event.getStart().toLocalDate().format(DATE_FORMAT),
-                        event.getStart().toLocalDateTime().format(DISPLAY_TIME_FORMAT),
-                        event.getEnd().toLocalDateTime().format(DISPLAY_TIME_FORMAT));
-        if (event.getEventName().equals(selectedName) && timeText.equals(selectedTime)) {
+      for (IEvent event : eventsOfName.apply(selectedName)) {
+        if (timeText(event, selectedDate != null).equals(selectedTime)) {
           selectedEvent = event;
           break;
         }
@@ -1115,13 +1352,56 @@ public class CalendarGUIView implements IView {
     }
   }
 
+  // The events of a name, fetched once per dialog; empty if the query failed or was
+  // cancelled, in which case it is run again the next time the name is chosen
+  private List<IEvent> fetchEventsNamed(IEventManager scheduler, String name,
+                                        Map<String, List<IEvent>> fetched) {
+    List<IEvent> events = fetched.get(name);
+    if (events != null) {
+      return events;
+    }
+    try {
+      events = runInBackground("Loading events...", () -> scheduler.fetchEventsByName(name));
+    } catch (Exception e) {
+      displayMessage("Error : " + e.getMessage());
+    }
+    if (events == null) {
+      return new ArrayList<>();
+    }
+    fetched.put(name, events);
+    return events;
+  }
+
+  // How an event is listed in the single-edit dialog, without its date for a single day
+  private static String timeText(IEvent event, boolean singleDay) {
+    String times = event.getStart().toLocalDateTime().format(DISPLAY_TIME_FORMAT) + " to "
+            + event.getEnd().toLocalDateTime().format(DISPLAY_TIME_FORMAT);
+    return singleDay ? times : event.getStart().toLocalDate().format(DATE_FORMAT) + " " + times;
+  }
+
+  // Lists every event name; typing looks up the names with that prefix in the index
   private JComboBox<String> getEventComboBoxForEdit() {
     List<String> eventNames = getUniqueEventNames();
+    if (eventNames == null) {
+      return null;
+    }
     if (eventNames.isEmpty()) {
       displayMessage(NO_EVENTS_MESSAGE);
       return null;
     }
-    return createEventNameComboBox(eventNames);
+    JComboBox<String> comboBox = new JComboBox<>(eventNames.toArray(new String[0]));
+    configureComboBoxForSearch(comboBox, input -> {
+      if (input.isEmpty()) {
+        return eventNames;
+      }
+      try {
+        return calendarManager.getCurrentCalendar().getEventScheduler()
+                .findEventNames(input, MAX_NAME_SUGGESTIONS);
+      } catch (Exception e) {
+        return new ArrayList<>();
+      }
+    });
+    return comboBox;
   }
 
   private static class EditEventComponents {
@@ -1239,9 +1519,19 @@ public class CalendarGUIView implements IView {
       }
 
       try {
-        int count = calendarManager.getCurrentCalendar().getEventScheduler()
-                .updateEventsByName(validation.property, validation.eventName, validation.newValue);
-        displayMessage(count + " events '" + validation.eventName + "' updated successfully.");
+        Calendar calendar = calendarManager.getCurrentCalendar();
+        IEventManager scheduler = calendar.getEventScheduler();
+        int[] counts = new int[2];
+        calendar.update(() -> {
+          counts[1] = scheduler.countUnboundedSeries(validation.eventName);
+          counts[0] = scheduler.updateEventsByName(validation.property, validation.eventName,
+                  validation.newValue);
+        });
+        int count = counts[0];
+        int series = counts[1];
+        displayMessage((count - series) + " events "
+                + (series == 0 ? "" : "and " + series + " series repeating forever ")
+                + "'" + validation.eventName + "' updated successfully.");
         updateDisplay();
       } catch (Exception e) {
         displayMessage("Error editing : " + e.getMessage());
@@ -1249,16 +1539,6 @@ public class CalendarGUIView implements IView {
     }
   }
 
-  private void editEventsForDay(LocalDate date) {
-    try {
-      Calendar cal = calendarManager.getCurrentCalendar();
-      List<IEvent> events = cal.getEventScheduler().fetchEventsOnDate(date);
-      editSingleEventDialog(events, date);
-    } catch (Exception e) {
-      displayMessage("Error editing : " + e.getMessage());
-    }
-  }
-
   private void copyEvents() {
     String[] options = {"Copy Single Event", "Copy Events on Date", "Copy Events Between Dates"};
     int choice = JOptionPane.showOptionDialog(frame, "Select copy option:",
@@ -1333,7 +1613,13 @@ public class CalendarGUIView implements IView {
       LocalDateTime sourceStart = LocalDateTime.parse(sourceDateTime, TIME_FORMAT);
       LocalDateTime targetStart = LocalDateTime.parse(targetDateTime, TIME_FORMAT);
 
-      IEvent sourceEvent = sourceCal.getEventScheduler().retrieveAllEvents().stream()
+      List<IEvent> candidates = runInBackground("Loading events...",
+              () -> sourceCal.getEventScheduler()
+                      .fetchEventsStartingOnDate(sourceStart.toLocalDate()));
+      if (candidates == null) {
+        return;
+      }
+      IEvent sourceEvent = candidates.stream()
               .filter(e -> e.getEventName().equals(eventName)
                       && e.getStart().toLocalDateTime().equals(sourceStart))
               .findFirst()
@@ -1341,6 +1627,7 @@ public class CalendarGUIView implements IView {
 
       ZonedDateTime newStart = targetStart.atZone(targetCal.getTimezone());
       copyEventToCalendar(sourceEvent, newStart, targetCal);
+      calendarChanged(targetCalName);
       updateDisplay();
       displayMessage("Event '" + eventName + "' copied to " + targetCalName + " at "
               + targetDateTime + ".");
@@ -1374,8 +1661,11 @@ public class CalendarGUIView implements IView {
 
       Calendar sourceCal = calendarManager.getCurrentCalendar();
       Calendar targetCal = calendarManager.getCalendar(targetCalName);
-      List<IEvent> sourceEvents = sourceCal.getEventScheduler()
-              .fetchEventsStartingOnDate(sourceDate);
+      List<IEvent> sourceEvents = runInBackground("Loading events...",
+              () -> sourceCal.getEventScheduler().fetchEventsStartingOnDate(sourceDate));
+      if (sourceEvents == null) {
+        return;
+      }
 
       for (IEvent sourceEvent : sourceEvents) {
         long daysDiff = ChronoUnit.DAYS.between(sourceEvent.getStart()
@@ -1384,6 +1674,7 @@ public class CalendarGUIView implements IView {
                 targetCal.getTimezone());
         copyEventToCalendar(sourceEvent, newStart, targetCal);
       }
+      calendarChanged(targetCalName);
       updateDisplay();
       displayMessage(sourceEvents.size() + " events copied to " + targetCalName + " on "
               + targetDateStr + ".");
@@ -1425,13 +1716,18 @@ public class CalendarGUIView implements IView {
       ZonedDateTime rangeStart = startDate.atStartOfDay(sourceCal.getTimezone());
       ZonedDateTime rangeEnd = endDate.atTime(23, 59, 59)
               .atZone(sourceCal.getTimezone());
-      List<IEvent> events = sourceCal.getEventScheduler().fetchEventsInRange(rangeStart, rangeEnd);
+      List<IEvent> events = runInBackground("Loading events...",
+              () -> sourceCal.getEventScheduler().fetchEventsInRange(rangeStart, rangeEnd));
+      if (events == null) {
+        return;
+      }
 
       long daysBetween = ChronoUnit.DAYS.between(startDate, targetStartDate);
       for (IEvent event : events) {
         ZonedDateTime newStart = adjustEventStartTime(event, daysBetween, targetCal.getTimezone());
         copyEventToCalendar(event, newStart, targetCal);
       }
+      calendarChanged(targetCalName);
       updateDisplay();
       displayMessage(events.size() + " events copied to " + targetCalName + " starting "
               + targetStartDateStr + ".");
@@ -1497,7 +1793,11 @@ public class CalendarGUIView implements IView {
   private void showDayOptions(LocalDate date) {
     try {
       Calendar cal = calendarManager.getCurrentCalendar();
-      List<IEvent> events = cal.getEventScheduler().fetchEventsOnDate(date);
+      List<IEvent> events = runInBackground("Loading events...",
+              () -> cal.getEventScheduler().fetchEventsOnDate(date));
+      if (events == null) {
+        return;
+      }
       String eventListText = formatEventList(events, "Events :",
               true);
 
@@ -1510,7 +1810,7 @@ public class CalendarGUIView implements IView {
               null, options, options[0]);
 
       if (choice == 1) {
-        editEventsForDay(date);
+        editSingleEventDialog(date);
       }
     } catch (Exception e) {
       displayMessage("Error : " + e.getMessage());
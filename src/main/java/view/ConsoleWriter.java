@@ -1,20 +1,288 @@
 package view;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * The ConsoleWriter class implements the IView interface
  * and is responsible for writing output to the console in the calendar application.
+ * By default every line is printed immediately. In buffered mode lines are collected
+ * in a large buffer and written to the console in bulk, optionally by a background
+ * writer thread, which is considerably faster for long headless scripts. Buffered
+ * output is flushed on {@link #flush()}, when buffering is disabled, and when the
+ * JVM exits.
+ * The background writer is handed whole chunks of lines rather than one task per
+ * line. A caller only waits for it when it has fallen far behind, and never while
+ * holding this writer's lock, so other threads can keep writing. A failure of the
+ * background writer is reported by the next {@link #flush()}.
+ * A thread can also redirect its own output to a separate writer, which is how a
+ * server gives every connected client its own output stream.
  */
 public class ConsoleWriter implements IView {
+  public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+  private static final int HANDOFF_SIZE = 1 << 16;
+  private static final int MAX_PENDING_HANDOFFS = 16;
   private static final ConsoleWriter INSTANCE = new ConsoleWriter();
 
+  private final ThreadLocal<Writer> threadOutput = new ThreadLocal<>();
+  private final AtomicReference<IOException> writeFailure = new AtomicReference<>();
+  private PrintStream console;
+  private Writer buffer;
+  private StringBuilder pending;
+  private BlockingQueue<Handoff> handoffs;
+  private Semaphore handoffSlots;
+  private boolean shutdownHookRegistered;
+
   private ConsoleWriter() {}
 
   public static ConsoleWriter getInstance() {
     return INSTANCE;
   }
 
+  /**
+   * Writes a line of text to the console, or to the output buffer when
+   * buffering is enabled. Lines written by a thread with its own output go
+   * to that output instead.
+   *
+   * @param text The text to be written.
+   */
   public void writeLine(String text) {
-    System.out.println(text);
+    Writer out = threadOutput.get();
+    if (out != null) {
+      append(out, text);
+    } else {
+      writeShared(text);
+    }
+  }
+
+  private void writeShared(String text) {
+    Semaphore slots;
+    synchronized (this) {
+      if (pending == null) {
+        if (buffer != null) {
+          append(buffer, text);
+        } else {
+          System.out.println(text);
+        }
+        return;
+      }
+      pending.append(text).append(System.lineSeparator());
+      if (pending.length() < HANDOFF_SIZE) {
+        return;
+      }
+      handoffs.add(new Handoff(pending, true, null, false));
+      pending = new StringBuilder(HANDOFF_SIZE + 256);
+      slots = handoffSlots;
+    }
+    // Queued in order above; wait here, unlocked, if the writer is too far behind
+    slots.acquireUninterruptibly();
+  }
+
+  /**
+   * Switches to buffered output. Subsequent lines are collected in a buffer of the
+   * given size on top of the current {@code System.out} and written when the buffer
+   * fills up or is flushed.
+   *
+   * @param bufferSize The size of the output buffer in bytes.
+   * @param useBackgroundThread Whether lines are written by a background thread so that
+   *                            callers never block on console I/O.
+   */
+  public void enableBuffering(int bufferSize, boolean useBackgroundThread) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+    }
+    disableBuffering();
+    synchronized (this) {
+      console = System.out;
+      buffer = new OutputStreamWriter(new BufferedOutputStream(console, bufferSize),
+              Charset.defaultCharset());
+      if (useBackgroundThread) {
+        pending = new StringBuilder(HANDOFF_SIZE + 256);
+        handoffs = new LinkedBlockingQueue<>();
+        handoffSlots = new Semaphore(MAX_PENDING_HANDOFFS);
+        BlockingQueue<Handoff> queue = handoffs;
+        Semaphore slots = handoffSlots;
+        Writer out = buffer;
+        PrintStream target = console;
+        Thread writer = new Thread(() -> writeHandoffs(queue, slots, out, target),
+                "console-writer");
+        writer.setDaemon(true);
+        writer.start();
+      }
+      if (!shutdownHookRegistered) {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flushShared, "console-flush"));
+        shutdownHookRegistered = true;
+      }
+    }
+  }
+
+  /**
+   * Flushes any buffered output and returns to writing every line immediately.
+   */
+  public void disableBuffering() {
+    CountDownLatch stopped = null;
+    synchronized (this) {
+      if (buffer == null) {
+        return;
+      }
+      if (pending != null) {
+        stopped = handOffPending(true);
+      } else {
+        flush(buffer, console);
+      }
+      console = null;
+      buffer = null;
+      pending = null;
+      handoffs = null;
+      handoffSlots = null;
+    }
+    awaitWriter(stopped);
+  }
+
+  /**
+   * Sends all lines written by the calling thread to the given writer until
+   * {@link #unbindCurrentThread()} is called. The writer is flushed by
+   * {@link #flush()} when called from the same thread.
+   *
+   * @param out The writer that receives this thread's output.
+   */
+  public void bindCurrentThread(Writer out) {
+    threadOutput.set(out);
+  }
+
+  /**
+   * Flushes the calling thread's own output, if any, and returns the thread to
+   * writing to the console.
+   */
+  public void unbindCurrentThread() {
+    Writer out = threadOutput.get();
+    threadOutput.remove();
+    if (out != null) {
+      flush(out, null);
+    }
+  }
+
+  public synchronized boolean isBuffering() {
+    return buffer != null;
+  }
+
+  /**
+   * Writes all buffered lines to the console. Returns once the output has been
+   * handed to the underlying stream, including lines still queued for the
+   * background writer. A thread with its own output flushes only that output.
+   *
+   * @throws UncheckedIOException If the console output failed since the last flush.
+   */
+  public void flush() {
+    Writer out = threadOutput.get();
+    if (out != null) {
+      flush(out, null);
+    } else {
+      flushShared();
+    }
+  }
+
+  private void flushShared() {
+    CountDownLatch flushed;
+    synchronized (this) {
+      if (buffer == null) {
+        return;
+      }
+      if (pending == null) {
+        flush(buffer, console);
+        return;
+      }
+      flushed = handOffPending(false);
+    }
+    awaitWriter(flushed);
+  }
+
+  // Called with the lock held. Queues the pending lines and a flush of the output,
+  // then stops the writer if asked; the latch is released once that is done
+  private CountDownLatch handOffPending(boolean stop) {
+    CountDownLatch done = new CountDownLatch(1);
+    handoffs.add(new Handoff(pending, false, done, stop));
+    pending = new StringBuilder(HANDOFF_SIZE + 256);
+    return done;
+  }
+
+  private void awaitWriter(CountDownLatch done) {
+    if (done != null) {
+      try {
+        done.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+    IOException failure = writeFailure.getAndSet(null);
+    if (failure != null) {
+      throw new UncheckedIOException("Failed to write console output", failure);
+    }
+  }
+
+  // The background writer: writes the chunks in the order they were queued
+  private void writeHandoffs(BlockingQueue<Handoff> queue, Semaphore slots, Writer out,
+                             PrintStream target) {
+    while (true) {
+      Handoff handoff;
+      try {
+        handoff = queue.take();
+      } catch (InterruptedException e) {
+        return;
+      }
+      try {
+        out.append(handoff.text);
+        if (handoff.done != null) {
+          flush(out, target);
+        }
+      } catch (IOException e) {
+        writeFailure.compareAndSet(null, e);
+      } catch (UncheckedIOException e) {
+        writeFailure.compareAndSet(null, e.getCause());
+      } finally {
+        if (handoff.counted) {
+          slots.release();
+        }
+        if (handoff.done != null) {
+          handoff.done.countDown();
+        }
+      }
+      if (handoff.stop) {
+        return;
+      }
+    }
+  }
+
+  private static void append(Writer out, String text) {
+    try {
+      out.write(text);
+      out.write(System.lineSeparator());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // A PrintStream reports its failures only through checkError
+  private static void flush(Writer out, PrintStream target) {
+    try {
+      out.flush();
+      if (target != null && target.checkError()) {
+        throw new IOException("Console output stream failed");
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 
   @Override
@@ -31,4 +299,22 @@ public class ConsoleWriter implements IView {
   public void updateDisplay() {
     // This method is overridden by subclasses as needed
   }
-}
\ No newline at end of file
+
+  /**
+   * A chunk of lines for the background writer. Only the chunks handed off by
+   * {@link #writeLine} hold one of the writer's slots.
+   */
+  private static final class Handoff {
+    final CharSequence text;
+    final boolean counted;
+    final CountDownLatch done;
+    final boolean stop;
+
+    Handoff(CharSequence text, boolean counted, CountDownLatch done, boolean stop) {
+      this.text = text;
+      this.counted = counted;
+      this.done = done;
+      this.stop = stop;
+    }
+  }
+}
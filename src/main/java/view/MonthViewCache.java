@@ -0,0 +1,84 @@
+package view;
+
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The MonthViewCache class keeps the most recently used month views of the GUI, so
+ * that going back to a month, or to a neighbouring month that was loaded ahead, shows
+ * it without a query. Views are found by calendar and month, and a view computed from
+ * an older version of the data is never returned. When the cache is full, the view used
+ * least recently is dropped.
+ * The cache is used from the event dispatch thread only and is not thread-safe.
+ */
+public final class MonthViewCache {
+  private final Map<List<Object>, MonthViewModel> views;
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param capacity The number of month views to keep.
+   */
+  public MonthViewCache(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Invalid capacity: " + capacity
+              + " (must be positive)");
+    }
+    this.views = new LinkedHashMap<List<Object>, MonthViewModel>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<List<Object>, MonthViewModel> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  /**
+   * Returns the view of a month, making it the most recently used one.
+   *
+   * @param calendarName The name of the calendar.
+   * @param month The month.
+   * @param dataVersion The current version of the calendar data.
+   * @return The view, or null if none was computed from this version of the data.
+   */
+  public MonthViewModel get(String calendarName, YearMonth month, long dataVersion) {
+    List<Object> key = List.of(calendarName, month);
+    MonthViewModel view = views.get(key);
+    if (view != null && !view.isFor(calendarName, month, dataVersion)) {
+      views.remove(key);
+      return null;
+    }
+    return view;
+  }
+
+  /**
+   * Adds a month view, replacing any older view of the same calendar and month.
+   *
+   * @param view The view.
+   */
+  public void put(MonthViewModel view) {
+    views.put(List.of(view.getCalendarName(), view.getMonth()), view);
+  }
+
+  /**
+   * Drops the views of one calendar, as when its data changes or it is renamed. The
+   * views of the other calendars stay.
+   *
+   * @param calendarName The name of the calendar.
+   */
+  public void removeCalendar(String calendarName) {
+    views.keySet().removeIf(key -> key.get(0).equals(calendarName));
+  }
+
+  /**
+   * Drops every view.
+   */
+  public void clear() {
+    views.clear();
+  }
+
+  public int size() {
+    return views.size();
+  }
+}
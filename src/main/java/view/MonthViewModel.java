@@ -0,0 +1,113 @@
+package view;
+
+import model.Calendar;
+import model.EventManager;
+import model.IEvent;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+
+/**
+ * The MonthViewModel class holds what the month grid of the GUI shows for one month of
+ * one calendar: the column the month starts in and the number of events on each day.
+ * It is computed with a single range query for the whole month rather than one query
+ * per day, and it is immutable, so the view keeps it and redraws from it until the
+ * calendar, the month or the version of the data it was computed from changes.
+ */
+public final class MonthViewModel {
+  private final String calendarName;
+  private final YearMonth month;
+  private final long dataVersion;
+  private final int[] eventCounts;
+
+  private MonthViewModel(String calendarName, YearMonth month, long dataVersion,
+                         int[] eventCounts) {
+    this.calendarName = calendarName;
+    this.month = month;
+    this.dataVersion = dataVersion;
+    this.eventCounts = eventCounts;
+  }
+
+  /**
+   * Computes the view of a month. A day counts the same events as
+   * {@code fetchEventsOnDate} returns for it: a full-day event is on its start date,
+   * and any other event on every date from its start to its end.
+   *
+   * @param calendar The calendar to show.
+   * @param month The month to show.
+   * @param dataVersion The version of the calendar data, which the view increments
+   *                    whenever the data changes.
+   * @return The month view.
+   */
+  public static MonthViewModel compute(Calendar calendar, YearMonth month, long dataVersion) {
+    LocalDate first = month.atDay(1);
+    LocalDate last = month.atEndOfMonth();
+    // Every event on a day of the month overlaps this window, whatever its zone
+    ZonedDateTime from = EventManager.dayStart(first);
+    ZonedDateTime to = EventManager.dayEnd(last);
+    int[] counts = new int[month.lengthOfMonth()];
+    for (IEvent event : calendar.getEventScheduler().fetchEventsInRange(from, to)) {
+      LocalDate startDate = event.getStart().toLocalDate();
+      LocalDate endDate = event.isFullDay() ? startDate : event.getEnd().toLocalDate();
+      LocalDate stop = endDate.isAfter(last) ? last : endDate;
+      for (LocalDate day = startDate.isBefore(first) ? first : startDate; !day.isAfter(stop);
+           day = day.plusDays(1)) {
+        counts[day.getDayOfMonth() - 1]++;
+      }
+    }
+    return new MonthViewModel(calendar.getName(), month, dataVersion, counts);
+  }
+
+  /**
+   * Returns whether this view is the one to show for the given calendar, month and
+   * data version.
+   *
+   * @param calendarName The name of the calendar.
+   * @param month The month.
+   * @param dataVersion The current version of the calendar data.
+   * @return True if this view is still up to date for them.
+   */
+  public boolean isFor(String calendarName, YearMonth month, long dataVersion) {
+    return this.dataVersion == dataVersion && this.month.equals(month)
+            && this.calendarName.equals(calendarName);
+  }
+
+  public String getCalendarName() {
+    return calendarName;
+  }
+
+  public YearMonth getMonth() {
+    return month;
+  }
+
+  /**
+   * Returns the column of the first day of the month in a week that starts on Sunday.
+   *
+   * @return The column, from 0 for Sunday to 6 for Saturday.
+   */
+  public int getFirstColumn() {
+    return month.atDay(1).getDayOfWeek().getValue() % 7;
+  }
+
+  /**
+   * Returns the number of events on a day of the month.
+   *
+   * @param day The day of the month, from 1.
+   * @return The number of events.
+   */
+  public int getEventCount(int day) {
+    return eventCounts[day - 1];
+  }
+
+  /**
+   * Returns the tooltip of a day of the month.
+   *
+   * @param day The day of the month, from 1.
+   * @return The tooltip, or null if the day has no events.
+   */
+  public String getToolTip(int day) {
+    int count = eventCounts[day - 1];
+    return count == 0 ? null : count + " event(s)";
+  }
+}
@@ -0,0 +1,101 @@
+package benchmark;
+
+import controller.LineReader;
+
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Scanner;
+
+/**
+ * Compares the throughput of {@link java.util.Scanner}, which CalendarHandler used
+ * previously, with {@link LineReader} when reading a large command script.
+ * This is a standalone program rather than a unit test. Run it after
+ * {@code mvn test-compile} with:
+ * <pre>
+ * java -cp target/classes:target/test-classes benchmark.LineReaderBenchmark [sizeMb] [file]
+ * </pre>
+ * The script is generated on first use; pass a size of a few thousand megabytes
+ * to measure multi-GB inputs.
+ */
+public class LineReaderBenchmark {
+  private static final int ROUNDS = 3;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args Optional script size in megabytes (default 256) and script path.
+   * @throws IOException If the script cannot be written or read.
+   */
+  public static void main(String[] args) throws IOException {
+    long sizeMb = args.length > 0 ? Long.parseLong(args[0]) : 256;
+    Path script = args.length > 1 ? Paths.get(args[1])
+            : Paths.get(System.getProperty("java.io.tmpdir"), "calendar-bench-" + sizeMb + ".txt");
+    if (!Files.exists(script)) {
+      generateScript(script, sizeMb * 1024 * 1024);
+    }
+    long bytes = Files.size(script);
+    System.out.printf("Script: %s (%d MB)%n", script, bytes / (1024 * 1024));
+
+    for (int round = 1; round <= ROUNDS; round++) {
+      long start = System.nanoTime();
+      long scannerLines = readWithScanner(script);
+      report("Scanner", round, scannerLines, bytes, System.nanoTime() - start);
+
+      start = System.nanoTime();
+      long lineReaderLines = readWithLineReader(script);
+      report("LineReader", round, lineReaderLines, bytes, System.nanoTime() - start);
+    }
+  }
+
+  private static void generateScript(Path script, long targetBytes) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(script, Charset.defaultCharset())) {
+      writer.write("create calendar --name Bench --timezone UTC\n");
+      writer.write("use calendar --name Bench\n");
+      long written = 0;
+      for (long i = 0; written < targetBytes; i++) {
+        String line = (i % 2 == 0)
+                ? "create event Meeting" + i + " from 2025-03-24T09:00 to 2025-03-24T10:00\n"
+                : "print events from 2025-03-24T08:00 to 2025-03-24T11:00\n";
+        writer.write(line);
+        written += line.length();
+      }
+    }
+  }
+
+  private static long readWithScanner(Path script) throws IOException {
+    long count = 0;
+    long checksum = 0;
+    try (Scanner scanner = new Scanner(new FileReader(script.toFile()))) {
+      while (scanner.hasNextLine()) {
+        checksum += scanner.nextLine().trim().length();
+        count++;
+      }
+    }
+    return checksum >= 0 ? count : -1;
+  }
+
+  private static long readWithLineReader(Path script) throws IOException {
+    long count = 0;
+    long checksum = 0;
+    try (LineReader reader = new LineReader(FileChannel.open(script), Charset.defaultCharset())) {
+      CharSequence line;
+      while ((line = reader.readLine()) != null) {
+        checksum += line.toString().trim().length();
+        count++;
+      }
+    }
+    return checksum >= 0 ? count : -1;
+  }
+
+  private static void report(String name, int round, long lines, long bytes, long nanos) {
+    double seconds = nanos / 1e9;
+    System.out.printf("round %d  %-10s %,12d lines  %8.2f s  %8.1f MB/s%n", round, name, lines,
+            seconds, bytes / (1024.0 * 1024.0) / seconds);
+  }
+}
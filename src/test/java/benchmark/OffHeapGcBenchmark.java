@@ -0,0 +1,117 @@
+package benchmark;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import model.IEventManager;
+import model.OffHeapEventManager;
+import model.RecurringEventManager;
+import model.ShardedEventManager;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Measures garbage collection pauses while a large calendar answers queries, with the
+ * events either on the heap (a {@link ShardedEventManager} of daily shards) or in an
+ * {@link OffHeapEventManager}. The calendar is loaded first; then a stream of day and
+ * range queries runs while the program records every collection reported by the
+ * JVM's GC notifications and prints their count, total and longest pause.
+ * Run each mode in its own JVM so the two heaps do not mix, after
+ * {@code mvn test-compile}, and add a GC log to see the individual pauses:
+ * <pre>
+ * java -Xmx2g -Xlog:gc:file=gc-heap.log -cp target/classes:target/test-classes \
+ *     benchmark.OffHeapGcBenchmark heap [events] [queries]
+ * java -Xmx2g -Xlog:gc:file=gc-offheap.log -XX:MaxDirectMemorySize=1g \
+ *     -cp target/classes:target/test-classes benchmark.OffHeapGcBenchmark offheap
+ * </pre>
+ */
+public class OffHeapGcBenchmark {
+  private static final ZoneId ZONE = ZoneId.of("America/New_York");
+  private static final String[] NAMES = {"Standup", "Review", "Planning", "Lunch", "Sync",
+      "Retro", "Interview", "Focus time"};
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args The mode, "heap" or "offheap"; optionally the number of events
+   *             (default 2,000,000) and of queries (default 200,000).
+   * @throws Exception If scheduling fails.
+   */
+  public static void main(String[] args) throws Exception {
+    String mode = args.length > 0 ? args[0] : "offheap";
+    int events = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+    int queries = args.length > 2 ? Integer.parseInt(args[2]) : 200_000;
+    IEventManager manager = mode.equalsIgnoreCase("heap")
+            ? new ShardedEventManager(new RecurringEventManager(), ChronoUnit.DAYS)
+            : new OffHeapEventManager(new RecurringEventManager());
+
+    long start = System.nanoTime();
+    ZonedDateTime first = ZonedDateTime.of(2015, 1, 1, 0, 0, 0, 0, ZONE);
+    for (int i = 0; i < events; i++) {
+      // Back-to-back 30 minute slots, so the calendar spans about a century
+      ZonedDateTime slot = first.plusMinutes(30L * i);
+      manager.scheduleEvent(manager.createEvent(NAMES[i % NAMES.length], slot,
+              slot.plusMinutes(25), false));
+    }
+    System.out.printf("%s: loaded %,d events in %d ms%n", mode, events,
+            (System.nanoTime() - start) / 1_000_000);
+    System.gc();
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    System.out.printf("heap used after load: %,d MB%n",
+            memory.getHeapMemoryUsage().getUsed() / (1024 * 1024));
+
+    List<Long> pauses = new ArrayList<>();
+    AtomicLong collecting = new AtomicLong(1);
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      ((NotificationEmitter) gc).addNotificationListener((notification, handback) -> {
+        if (collecting.get() == 1 && notification.getType().equals(
+                GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+          GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from(
+                  (CompositeData) notification.getUserData());
+          synchronized (pauses) {
+            pauses.add(info.getGcInfo().getDuration());
+          }
+        }
+      }, null, null);
+    }
+
+    Random random = new Random(1);
+    long days = ChronoUnit.DAYS.between(first, first.plusMinutes(30L * events));
+    long found = 0;
+    start = System.nanoTime();
+    for (int i = 0; i < queries; i++) {
+      LocalDate date = first.toLocalDate().plusDays(random.nextInt((int) Math.max(1, days)));
+      if (i % 2 == 0) {
+        found += manager.fetchEventsOnDate(date).size();
+      } else {
+        ZonedDateTime from = date.atStartOfDay(ZONE);
+        found += manager.fetchEventsInRange(from, from.plusDays(7)).size();
+      }
+    }
+    long elapsed = (System.nanoTime() - start) / 1_000_000;
+    collecting.set(0);
+
+    long total = 0;
+    long longest = 0;
+    synchronized (pauses) {
+      for (long pause : pauses) {
+        total += pause;
+        longest = Math.max(longest, pause);
+      }
+      System.out.printf("%,d queries (%,d events returned) in %d ms%n", queries, found,
+              elapsed);
+      System.out.printf("collections: %d, total %d ms, longest %d ms%n", pauses.size(),
+              total, longest);
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package benchmark;
+
+import model.Event;
+import model.RecurringEventManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the expansion of long recurring rules by
+ * {@link RecurringEventManager#buildRecurringEvents} with the day-by-day loop it
+ * replaced, which visited and built a date-time for every day of the series. Sparse
+ * rules such as "U until 2040-01-01" show the largest difference.
+ * This is a standalone program rather than a unit test. Run it after
+ * {@code mvn test-compile} with:
+ * <pre>
+ * java -cp target/classes:target/test-classes benchmark.RecurrenceExpansionBenchmark
+ *     [iterations]
+ * </pre>
+ */
+public class RecurrenceExpansionBenchmark {
+  private static final ZoneId ZONE = ZoneId.of("America/New_York");
+  private static final String[] RULES = {"U until 2040-01-01T00:00", "MW until 2040-01-01T00:00",
+      "MTWRF until 2040-01-01T00:00", "S for 2000 times"};
+  private static final int ROUNDS = 5;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args Optional number of expansions per rule and round (default 200).
+   * @throws Exception If a rule is invalid.
+   */
+  public static void main(String[] args) throws Exception {
+    int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+    ZonedDateTime start = ZonedDateTime.of(2025, 1, 6, 9, 0, 0, 0, ZONE);
+    ZonedDateTime end = start.plusHours(1);
+    for (int round = 1; round <= ROUNDS; round++) {
+      for (String rule : RULES) {
+        long sink = 0;
+        long before = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+          sink += dayByDay(start, end, rule).size();
+        }
+        long dayByDay = System.nanoTime() - before;
+        before = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+          sink -= RecurringEventManager.buildRecurringEvents("Sync", start, end, rule, false)
+                  .size();
+        }
+        long arithmetic = System.nanoTime() - before;
+        System.out.printf("round %d %-30s day-by-day %8.1f us  arithmetic %8.1f us%s%n",
+                round, rule, dayByDay / 1000.0 / iterations, arithmetic / 1000.0 / iterations,
+                sink == 0 ? "" : "  (results differ)");
+      }
+    }
+  }
+
+  // The previous expansion loop, for timed events
+  private static List<Event> dayByDay(ZonedDateTime start, ZonedDateTime end, String rule) {
+    String[] tokens = rule.split(" ");
+    String days = tokens[0];
+    List<Event> events = new ArrayList<>();
+    ZonedDateTime current = start;
+    if (tokens[1].equals("for")) {
+      int count = Integer.parseInt(tokens[2]);
+      while (events.size() < count) {
+        if (RecurringEventManager.matchesDay(current.getDayOfWeek(), days)) {
+          events.add(instance(current.toLocalDate(), start, end));
+        }
+        current = current.plusDays(1);
+      }
+      return events;
+    }
+    ZonedDateTime until = LocalDateTime.parse(tokens[2]).atZone(start.getZone());
+    while (true) {
+      Event event = instance(current.toLocalDate(), start, end);
+      if (event.getStart().isAfter(until) || event.getEnd().isAfter(until)) {
+        return events;
+      }
+      if (RecurringEventManager.matchesDay(current.getDayOfWeek(), days)) {
+        events.add(instance(current.toLocalDate(), start, end));
+      }
+      current = current.plusDays(1);
+    }
+  }
+
+  private static Event instance(LocalDate date, ZonedDateTime start, ZonedDateTime end) {
+    return new Event("Sync", ZonedDateTime.of(date, start.toLocalTime(), start.getZone()),
+            ZonedDateTime.of(date, end.toLocalTime(), end.getZone()), false);
+  }
+}
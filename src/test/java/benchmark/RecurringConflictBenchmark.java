@@ -0,0 +1,146 @@
+package benchmark;
+
+import controller.CreateEventCommand;
+import model.CalendarManager;
+import model.Event;
+import model.IEvent;
+import model.RecurringEventManager;
+import model.RecurringSeries;
+
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Compares conflict checks between recurring events with the approaches they replaced.
+ * The first part creates a weekday series in a calendar of single events: checking
+ * every instance against every event, as the create command used to, against running
+ * {@link CreateEventCommand#execute} itself, which checks the instances in one merge
+ * pass and schedules them together. The second part checks two weekly series that repeat
+ * forever: by merging their instances up to the horizon, and by
+ * {@link RecurringSeries#firstConflict(RecurringSeries, Period)}, which finds the days
+ * both series occur on directly.
+ * This is a standalone program rather than a unit test. Run it after
+ * {@code mvn test-compile} with:
+ * <pre>
+ * java -cp target/classes:target/test-classes benchmark.RecurringConflictBenchmark
+ *     [events] [horizon years]
+ * </pre>
+ */
+public class RecurringConflictBenchmark {
+  private static final ZoneId ZONE = ZoneId.of("America/New_York");
+  private static final int ROUNDS = 5;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args Optional number of existing events (default 20,000) and horizon in
+   *             years for the series that repeat forever (default 100).
+   * @throws Exception If a rule is invalid.
+   */
+  public static void main(String[] args) throws Exception {
+    int count = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+    int years = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+    ZonedDateTime start = ZonedDateTime.of(2025, 1, 6, 9, 0, 0, 0, ZONE);
+
+    // Existing evening events, and a new morning series over ten years
+    List<IEvent> existing = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      ZonedDateTime slot = start.plusDays(i % 3650).withHour(18).plusMinutes(i / 3650 * 10L);
+      existing.add(new Event("Existing", slot, slot.plusMinutes(5), false));
+    }
+    existing.sort((a, b) -> a.getStart().compareTo(b.getStart()));
+    List<Event> instances = RecurringEventManager.buildRecurringEvents("New", start,
+            start.plusHours(1), "MTWRF until 2034-12-31T12:00", false);
+    String create = "create event New from 2025-01-06T09:00 to 2025-01-06T10:00"
+            + " repeats MTWRF until 2034-12-31T12:00";
+
+    RecurringSeries standup = RecurringSeries.of("Standup", start, start.plusMinutes(30),
+            "MTWRF forever", false);
+    ZonedDateTime sunday = start.minusDays(1);
+    RecurringSeries weekend = RecurringSeries.of("Weekend", sunday, sunday.plusHours(2),
+            "SU every 2 weeks forever", false);
+    Period horizon = Period.ofYears(years);
+
+    for (int round = 1; round <= ROUNDS; round++) {
+      long before = System.nanoTime();
+      boolean nestedFound = nested(instances, existing);
+      long nested = System.nanoTime() - before;
+      CalendarManager manager = calendarOf(existing);
+      before = System.nanoTime();
+      boolean commandFound = rejected(manager, create);
+      long command = System.nanoTime() - before;
+      System.out.printf("round %d  %,d x %,d events: nested %8.1f ms  command %8.3f ms%s%n",
+              round, instances.size(), existing.size(), nested / 1e6, command / 1e6,
+              nestedFound == commandFound ? "" : "  (results differ)");
+
+      before = System.nanoTime();
+      boolean streamFound = streamConflict(standup, weekend, horizon);
+      long stream = System.nanoTime() - before;
+      before = System.nanoTime();
+      boolean directFound = standup.firstConflict(weekend, horizon) != null;
+      long direct = System.nanoTime() - before;
+      System.out.printf("round %d  two series over %d years: stream %8.1f ms  direct %8.3f ms%s%n",
+              round, years, stream / 1e6, direct / 1e6,
+              streamFound == directFound ? "" : "  (results differ)");
+    }
+  }
+
+  private static boolean nested(List<Event> instances, List<IEvent> existing) {
+    for (IEvent instance : instances) {
+      for (IEvent event : existing) {
+        if (instance.overlapsWith(event)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  // A calendar holding copies of the existing events, so that every round starts afresh
+  private static CalendarManager calendarOf(List<IEvent> existing) throws Exception {
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("Benchmark", ZONE);
+    manager.setCurrentCalendar("Benchmark");
+    List<IEvent> copies = new ArrayList<>(existing.size());
+    for (IEvent event : existing) {
+      copies.add(new Event(event.getEventName(), event.getStart(), event.getEnd(), false));
+    }
+    manager.getCurrentCalendar().getEventScheduler().scheduleAll(copies);
+    return manager;
+  }
+
+  // Whether the create command rejects the series for a conflict
+  private static boolean rejected(CalendarManager manager, String command) {
+    try {
+      new CreateEventCommand(manager).execute(command, manager, "headless");
+      return false;
+    } catch (Exception e) {
+      return true;
+    }
+  }
+
+  private static boolean streamConflict(RecurringSeries first, RecurringSeries second,
+                                        Period horizon) {
+    ZonedDateTime from = first.getStart().isAfter(second.getStart())
+            ? first.getStart() : second.getStart();
+    Iterator<IEvent> mine = first.occurrencesBetween(from, from.plus(horizon));
+    Iterator<IEvent> theirs = second.occurrencesBetween(from, from.plus(horizon));
+    IEvent a = mine.hasNext() ? mine.next() : null;
+    IEvent b = theirs.hasNext() ? theirs.next() : null;
+    while (a != null && b != null) {
+      if (a.overlapsWith(b)) {
+        return true;
+      }
+      if (a.getEnd().isAfter(b.getEnd())) {
+        b = theirs.hasNext() ? theirs.next() : null;
+      } else {
+        a = mine.hasNext() ? mine.next() : null;
+      }
+    }
+    return false;
+  }
+}
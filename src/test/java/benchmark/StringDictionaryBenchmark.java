@@ -0,0 +1,86 @@
+package benchmark;
+
+import model.Event;
+import model.IEvent;
+import model.StringDictionary;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the heap held by a calendar of recurring events read from CSV rows, as the
+ * importer does, with and without a {@link StringDictionary}. Every row is split into
+ * fresh strings, so without the dictionary each instance keeps its own copy of the
+ * series' name, description and location.
+ * This is a standalone program rather than a unit test. Run it after
+ * {@code mvn test-compile} with:
+ * <pre>
+ * java -Xmx2g -cp target/classes:target/test-classes benchmark.StringDictionaryBenchmark
+ *     [instances] [series]
+ * </pre>
+ */
+public class StringDictionaryBenchmark {
+  private static final ZoneId ZONE = ZoneId.of("America/New_York");
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args Optional number of event instances (default 1,000,000) and of
+   *             recurring series they belong to (default 50).
+   */
+  public static void main(String[] args) {
+    int instances = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    int series = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+    System.out.printf("%,d instances of %d recurring series%n", instances, series);
+    long baseline = usedHeap();
+    List<IEvent> plain = load(instances, series, null);
+    long plainBytes = usedHeap() - baseline;
+    System.out.printf("without dictionary: %,d MB (%d events kept)%n",
+            plainBytes / (1024 * 1024), plain.size());
+    plain = null;
+
+    baseline = usedHeap();
+    StringDictionary dictionary = new StringDictionary();
+    List<IEvent> shared = load(instances, series, dictionary);
+    long sharedBytes = usedHeap() - baseline;
+    System.out.printf("with dictionary:    %,d MB (%d events kept, %d distinct strings)%n",
+            sharedBytes / (1024 * 1024), shared.size(), dictionary.size());
+    System.out.printf("saved %.0f%%%n", 100.0 * (plainBytes - sharedBytes) / plainBytes);
+  }
+
+  private static List<IEvent> load(int instances, int series, StringDictionary dictionary) {
+    List<IEvent> events = new ArrayList<>(instances);
+    LocalDateTime first = LocalDateTime.of(2020, 1, 1, 9, 0);
+    for (int i = 0; i < instances; i++) {
+      int seriesIndex = i % series;
+      // The fields of a CSV row as the importer reads them: new strings per row
+      String row = "Series " + seriesIndex + ",Weekly sync of team " + seriesIndex
+              + " about the roadmap,Building " + (seriesIndex % 7) + " room " + seriesIndex;
+      String[] fields = row.split(",", -1);
+      ZonedDateTime start = first.plusMinutes(30L * (i / series)).atZone(ZONE);
+      IEvent event = new Event(intern(dictionary, fields[0]), start, start.plusMinutes(25),
+              false);
+      event.setDescription(intern(dictionary, fields[1]));
+      event.setLocation(intern(dictionary, fields[2]));
+      events.add(event);
+    }
+    return events;
+  }
+
+  private static String intern(StringDictionary dictionary, String value) {
+    return dictionary == null ? value : dictionary.intern(value);
+  }
+
+  private static long usedHeap() {
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+}
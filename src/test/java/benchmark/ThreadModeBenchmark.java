@@ -0,0 +1,144 @@
+package benchmark;
+
+import controller.CommandParser;
+import model.ConcurrentCalendarManager;
+import model.ICalendarManager;
+import server.ThreadMode;
+import view.ConsoleWriter;
+
+import java.io.Writer;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compares the command throughput of platform and virtual threads for many
+ * concurrent clients running a read-mostly command mix (95% print and status
+ * queries, 5% event creation) against shared calendars. Each command is followed
+ * by a short simulated network round trip, as a server session would wait for its
+ * client's next request.
+ * This is a standalone program rather than a unit test. Run it after
+ * {@code mvn test-compile} on Java 21 or later with:
+ * <pre>
+ * java -cp target/classes:target/test-classes benchmark.ThreadModeBenchmark
+ *     [clients] [commandsPerClient] [latencyMillis] [platformThreads]
+ * </pre>
+ */
+public class ThreadModeBenchmark {
+  private static final int ROUNDS = 3;
+  private static final int CALENDARS = 8;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args Optional client count (default 2000), commands per client (default 50),
+   *             simulated round trip in milliseconds (default 2) and platform pool size
+   *             (default 200).
+   * @throws Exception If a command fails.
+   */
+  public static void main(String[] args) throws Exception {
+    int clients = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+    int commands = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+    long latency = args.length > 2 ? Long.parseLong(args[2]) : 2;
+    int poolSize = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+    System.out.printf("%d clients x %d commands, %d ms round trip, %d platform threads%n",
+            clients, commands, latency, poolSize);
+
+    for (int round = 1; round <= ROUNDS; round++) {
+      for (ThreadMode mode : ThreadMode.values()) {
+        if (!mode.isSupported()) {
+          System.out.println(mode + ": not supported on Java " + Runtime.version().feature());
+          continue;
+        }
+        ConcurrentCalendarManager calendars = createCalendars();
+        long start = System.nanoTime();
+        run(mode, calendars, clients, commands, latency, poolSize);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("round %d %-8s %8.0f commands/s (%d ms)%n", round, mode,
+                clients * (double) commands * 1e9 / elapsed, elapsed / 1_000_000);
+      }
+    }
+  }
+
+  private static ConcurrentCalendarManager createCalendars() throws Exception {
+    ConcurrentCalendarManager calendars = new ConcurrentCalendarManager();
+    ConsoleWriter.getInstance().bindCurrentThread(Writer.nullWriter());
+    try {
+      seed(calendars);
+    } finally {
+      ConsoleWriter.getInstance().unbindCurrentThread();
+    }
+    return calendars;
+  }
+
+  private static void seed(ConcurrentCalendarManager calendars) throws Exception {
+    for (int c = 0; c < CALENDARS; c++) {
+      calendars.createCalendar("Cal" + c, ZoneId.of("UTC"));
+      ICalendarManager session = calendars.openSession();
+      session.setCurrentCalendar("Cal" + c);
+      for (int day = 1; day <= 28; day++) {
+        CommandParser.executeCommand(String.format("create event Seed%d from 2025-02-%02dT09:00"
+                + " to 2025-02-%02dT10:00", day, day, day), session, "headless");
+      }
+    }
+  }
+
+  private static void run(ThreadMode mode, ConcurrentCalendarManager calendars, int clients,
+                          int commands, long latency, int poolSize) throws Exception {
+    ExecutorService executor = mode.newExecutor("bench-" + mode + "-", poolSize);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int c = 0; c < clients; c++) {
+        int client = c;
+        results.add(executor.submit(() -> {
+          runClient(calendars, client, commands, latency);
+          return null;
+        }));
+      }
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static void runClient(ConcurrentCalendarManager calendars, int client, int commands,
+                                long latency) throws Exception {
+    ConsoleWriter.getInstance().bindCurrentThread(Writer.nullWriter());
+    try {
+      ICalendarManager session = calendars.openSession();
+      session.setCurrentCalendar("Cal" + client % CALENDARS);
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      for (int i = 0; i < commands; i++) {
+        int day = random.nextInt(1, 29);
+        String command;
+        int kind = random.nextInt(100);
+        if (kind < 5) {
+          command = String.format("create event C%d-%d from 2025-03-%02dT%02d:%02d to"
+                  + " 2025-03-%02dT%02d:%02d", client, i, day, 8 + i % 10, client % 60, day,
+                  8 + i % 10, client % 60);
+        } else if (kind < 50) {
+          command = String.format("print events on 2025-02-%02d", day);
+        } else if (kind < 75) {
+          command = "print events from 2025-02-01T00:00 to 2025-02-28T23:59";
+        } else {
+          command = String.format("show status on 2025-02-%02dT09:30", day);
+        }
+        try {
+          CommandParser.executeCommand(command, session, "interactive");
+        } catch (Exception e) {
+          // Conflicting creations are part of the mix
+        }
+        if (latency > 0) {
+          Thread.sleep(latency);
+        }
+      }
+    } finally {
+      ConsoleWriter.getInstance().unbindCurrentThread();
+    }
+  }
+}
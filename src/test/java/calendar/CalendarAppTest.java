@@ -2,6 +2,7 @@ package calendar;
 
 import controller.GUICalendarHandler;
 import view.CalendarGUIView;
+import view.ConsoleWriter;
 
 import org.junit.After;
 import org.junit.Before;
@@ -109,6 +110,98 @@ public class CalendarAppTest {
     assertTrue(output.contains("Calendar 'Test' created"));
   }
 
+  @Test
+  public void testMainHeadlessWithStore() throws Exception {
+    java.io.File tempFile = java.io.File.createTempFile("test", ".txt");
+    try (java.io.PrintWriter writer = new java.io.PrintWriter(tempFile)) {
+      writer.write("create calendar --name Test --timezone UTC\nuse calendar --name Test\n"
+              + "create event Review from 2025-03-24T09:00 to 2025-03-24T10:00\n"
+              + "edit event location Review from 2025-03-24T09:00 to 2025-03-24T10:00"
+              + " with Room 1\nprint events on 2025-03-24\nexit\n");
+    }
+    for (String store : new String[] {"snapshot", "sharded", "tiered", "offheap"}) {
+      outContent.reset();
+      String[] args = {"--store", store, "--mode", "headless", tempFile.getAbsolutePath()};
+      CalendarApp.main(args);
+      String output = outContent.toString();
+      assertTrue(output.contains("Room 1"));
+      assertTrue(output.contains("Exiting."));
+    }
+  }
+
+  @Test
+  public void testMainInvalidStore() {
+    String[] args = {"--mode", "interactive", "--store", "tape"};
+    CalendarApp.main(args);
+    assertTrue(outContent.toString().contains("Invalid value for --store: 'tape'. Use 'list'"));
+  }
+
+  @Test
+  public void testMainHeadlessPipelined() throws Exception {
+    java.io.File tempFile = java.io.File.createTempFile("test", ".txt");
+    try (java.io.PrintWriter writer = new java.io.PrintWriter(tempFile)) {
+      writer.write("create calendar --name Test --timezone UTC\nexit\n");
+    }
+    String[] args = {"--mode", "headless", tempFile.getAbsolutePath(), "--pipelined"};
+    CalendarApp.main(args);
+    String output = outContent.toString();
+    assertTrue(output.contains("Processing headless input."));
+    assertTrue(output.contains("Calendar 'Test' created"));
+    assertTrue(output.contains("Exiting."));
+  }
+
+  @Test
+  public void testMainHeadlessPipelinedFileNotFound() {
+    String[] args = {"--mode", "headless", "nonexistent.txt", "--pipelined"};
+    try {
+      CalendarApp.main(args);
+      fail("Expected SecurityException due to System.exit");
+    } catch (SecurityException e) {
+      assertTrue(outContent.toString().contains("Error: File not found: nonexistent.txt"));
+    }
+  }
+
+  @Test
+  public void testMainHeadlessBufferedQuietEcho() throws Exception {
+    java.io.File tempFile = java.io.File.createTempFile("test", ".txt");
+    try (java.io.PrintWriter writer = new java.io.PrintWriter(tempFile)) {
+      writer.write("create calendar --name Test --timezone UTC\nexit\n");
+    }
+    String[] args = {"--mode", "headless", tempFile.getAbsolutePath(), "--async-output",
+        "--quiet-echo"};
+    CalendarApp.main(args);
+    String output = outContent.toString();
+    assertTrue(output.contains("Calendar 'Test' created"));
+    assertTrue(output.contains("Exiting."));
+    assertFalse(output.contains("> create calendar"));
+    assertFalse(ConsoleWriter.getInstance().isBuffering());
+  }
+
+  @Test
+  public void testMainHeadlessBufferedOutputFlushedOnError() throws Exception {
+    java.io.File tempFile = java.io.File.createTempFile("test", ".txt");
+    try (java.io.PrintWriter writer = new java.io.PrintWriter(tempFile)) {
+      writer.write("create calendar --name Test --timezone UTC\nbogus\n");
+    }
+    String[] args = {"--mode", "headless", tempFile.getAbsolutePath(), "--buffered-output"};
+    try {
+      CalendarApp.main(args);
+      fail("Expected SecurityException due to System.exit");
+    } catch (SecurityException e) {
+      String output = outContent.toString();
+      assertTrue(output.contains("Calendar 'Test' created"));
+      assertTrue(output.contains("Error: Unknown command 'bogus'"));
+      assertFalse(ConsoleWriter.getInstance().isBuffering());
+    }
+  }
+
+  @Test
+  public void testMainHeadlessUnknownOption() {
+    String[] args = {"--mode", "headless", "commands.txt", "--turbo"};
+    CalendarApp.main(args);
+    assertTrue(outContent.toString().contains("Unknown headless option: --turbo"));
+  }
+
   @Test
   public void testMainHeadlessModeFileNotFound() {
     String[] args = {"--mode", "headless", "nonexistent.txt"};
@@ -127,7 +220,8 @@ public class CalendarAppTest {
     String[] args = {"--mode", "invalid"};
     CalendarApp.main(args);
     String output = outContent.toString();
-    assertTrue(output.contains("Use '--mode interactive' or '--mode headless <file>' only."));
+    assertTrue(output.contains("Use '--mode interactive', '--mode headless <file>',"
+            + " '--mode server --port <port>' or '--mode http --port <port>' only."));
   }
 
   @Test
@@ -135,8 +229,9 @@ public class CalendarAppTest {
     String[] args = {"--mode"};
     CalendarApp.main(args);
     String output = outContent.toString();
-    assertTrue(output.contains("Try: java calendar.CalendarApp --mode interactive or "
-            + "--mode headless <commandFile.txt>"));
+    assertTrue(output.contains("Try: java calendar.CalendarApp --mode interactive,"
+            + " --mode headless <commandFile.txt>, --mode server --port <port> or"
+            + " --mode http --port <port>"));
   }
 
   @Test
@@ -144,8 +239,9 @@ public class CalendarAppTest {
     String[] args = {"random"};
     CalendarApp.main(args);
     String output = outContent.toString();
-    assertTrue(output.contains("Try: java calendar.CalendarApp --mode interactive or"
-            + " --mode headless <commandFile.txt>"));
+    assertTrue(output.contains("Try: java calendar.CalendarApp --mode interactive,"
+            + " --mode headless <commandFile.txt>, --mode server --port <port> or"
+            + " --mode http --port <port>"));
   }
 
   @Test
@@ -153,6 +249,49 @@ public class CalendarAppTest {
     String[] args = {"--mode", "headless"};
     CalendarApp.main(args);
     String output = outContent.toString();
-    assertTrue(output.contains("Use '--mode interactive' or '--mode headless <file>' only."));
+    assertTrue(output.contains("Use '--mode interactive', '--mode headless <file>',"
+            + " '--mode server --port <port>' or '--mode http --port <port>' only."));
+  }
+
+  @Test
+  public void testMainServerMissingPort() {
+    String[] args = {"--mode", "server"};
+    CalendarApp.main(args);
+    String output = outContent.toString();
+    assertTrue(output.contains("Use '--mode server --port <port> [--max-sessions <count>]"
+            + " [--thread-mode platform|virtual]'."));
+  }
+
+  @Test
+  public void testMainServerInvalidPort() {
+    String[] args = {"--mode", "server", "--port", "abc"};
+    CalendarApp.main(args);
+    String output = outContent.toString();
+    assertTrue(output.contains("Invalid value for --port: 'abc'."));
+  }
+
+  @Test
+  public void testMainServerUnknownOption() {
+    String[] args = {"--mode", "server", "--port", "0", "--verbose", "yes"};
+    CalendarApp.main(args);
+    String output = outContent.toString();
+    assertTrue(output.contains("Unknown server option: --verbose."));
+  }
+
+  @Test
+  public void testMainHttpMissingPort() {
+    String[] args = {"--mode", "http", "--threads", "4"};
+    CalendarApp.main(args);
+    String output = outContent.toString();
+    assertTrue(output.contains("Use '--mode http --port <port> [--threads <count>]"
+            + " [--thread-mode platform|virtual]'."));
+  }
+
+  @Test
+  public void testMainServerInvalidThreadMode() {
+    String[] args = {"--mode", "server", "--port", "0", "--thread-mode", "green"};
+    CalendarApp.main(args);
+    String output = outContent.toString();
+    assertTrue(output.contains("Invalid value for --thread-mode: 'green'."));
   }
 }
@@ -10,6 +10,7 @@ import org.junit.Test;
 import java.io.StringReader;
 import java.security.Permission;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.Assert.assertEquals;
@@ -121,6 +122,31 @@ public class CalendarHandlerTest {
             .retrieveAllEvents().size());
   }
 
+  @Test
+  public void testProcessInputFromChannel() throws Exception {
+    String script = "create calendar --name Work --timezone UTC\r\n"
+            + "use calendar --name Work\r\n"
+            + "create event Meeting from 2025-03-24T09:00 to 2025-03-24T10:00\r\n";
+    handler.processInput(java.nio.channels.Channels.newChannel(
+            new java.io.ByteArrayInputStream(script.getBytes())), "headless");
+    String output = outContent.toString();
+    assertTrue(output.contains("> use calendar --name Work" + System.lineSeparator()));
+    assertTrue(output.contains("Event created"));
+    assertEquals(1, cm.getCurrentCalendar().getEventScheduler()
+            .retrieveAllEvents().size());
+  }
+
+  @Test
+  public void testProcessInputQuietEcho() {
+    handler.setEchoEnabled(false);
+    handler.processInput(new StringReader("create calendar --name Work --timezone UTC\nexit\n"),
+            "headless");
+    String output = outContent.toString();
+    assertTrue(output.contains("Calendar 'Work' created"));
+    assertTrue(output.contains("Exiting"));
+    assertFalse(output.contains("> "));
+  }
+
   @Test
   public void testCreateCalendar() throws Exception {
     handler.createCalendar("Home", "UTC");
@@ -11,6 +11,7 @@ import org.junit.Test;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
@@ -321,4 +322,70 @@ public class CreateEventCommandTest {
       System.setOut(originalOut);
     }
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testExecuteRecurringForever() throws Exception {
+    ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+    PrintStream originalOut = System.out;
+    System.setOut(new PrintStream(outContent));
+    try {
+      command.execute("create event Standup from 2025-03-24T09:00 to 2025-03-24T09:15 "
+              + "repeats MTWRF forever", cm, "interactive");
+      Calendar cal = cm.getCurrentCalendar();
+      assertEquals(0, cal.getEventScheduler().retrieveAllEvents().size());
+      assertEquals(1, cal.getEventScheduler().retrieveAllSeries().size());
+      assertEquals(1, cal.getEventScheduler().fetchEventsOnDate(
+              LocalDate.of(2125, 3, 26)).size());
+      assertEquals("Recurring event created: repeats forever", outContent.toString().trim());
+    } finally {
+      System.setOut(originalOut);
+    }
+    try {
+      command.execute("create event Weekly from 2030-01-01T09:10 to 2030-01-01T10:00 "
+              + "repeats T for 3 times", cm, "interactive");
+      fail("Expected conflict exception");
+    } catch (Exception e) {
+      assertEquals("Recurring event 'Weekly' conflicts with 'Standup' at"
+              + " 2030-01-01T09:00+05:30[Asia/Kolkata]", e.getMessage());
+    }
+    try {
+      command.execute("create event Daily on 2025-03-29 repeats SU forever", cm, "interactive");
+      command.execute("create event Sync from 2025-03-28T09:00 to 2025-03-28T09:30 "
+              + "repeats F forever", cm, "interactive");
+      fail("Expected conflict exception");
+    } catch (Exception e) {
+      assertTrue(e.getMessage().contains("Standup"));
+    }
+    assertEquals(2, cm.getCurrentCalendar().getEventScheduler().retrieveAllSeries().size());
+  }
+
+  @Test
+  public void testPreparedArguments() throws Exception {
+    // Arguments are parsed ahead, but applied in the zone the calendar has when executed
+    command.prepare("create event Meeting from 2025-03-24T09:00 to 2025-03-24T10:00");
+    cm.editCalendar("Work", "timezone", "UTC");
+    command.execute("create event Meeting from 2025-03-24T09:00 to 2025-03-24T10:00",
+            cm, "interactive");
+    IEvent event = cm.getCurrentCalendar().getEventScheduler().retrieveAllEvents().get(0);
+    assertEquals(ZonedDateTime.of(2025, 3, 24, 9, 0, 0, 0, ZoneId.of("UTC")), event.getStart());
+
+    // A malformed line fails when it is executed, after the calendar checks
+    CreateEventCommand malformed = new CreateEventCommand(new CalendarManager());
+    malformed.prepare("create event Meeting from 2025-03-24T9 to 2025-03-24T10:00");
+    try {
+      malformed.execute("create event Meeting from 2025-03-24T9 to 2025-03-24T10:00",
+              cm, "interactive");
+      fail("Expected exception");
+    } catch (Exception e) {
+      assertEquals("No calendar selected", e.getMessage());
+    }
+    command.prepare("create event Meeting from 2025-03-24T9 to 2025-03-24T10:00");
+    try {
+      command.execute("create event Meeting from 2025-03-24T9 to 2025-03-24T10:00",
+              cm, "interactive");
+      fail("Expected exception");
+    } catch (Exception e) {
+      assertEquals("Invalid date/time format: 2025-03-24T9", e.getMessage());
+    }
+  }
+}
@@ -84,6 +84,15 @@ public class EditMultipleEventsCommandTest {
             output.contains("2 event(s) property \"description\" updated with \"Karthik\""));
   }
 
+  @Test
+  public void testExecuteCountsSeriesRepeatingForever() throws Exception {
+    new CreateEventCommand(cm).execute("create event meet from 2025-03-21T11:00 "
+            + "to 2025-03-21T12:00 repeats F forever", cm, "interactive");
+    command.execute("edit events location meet Room 1", cm, "interactive");
+    assertTrue(outContent.toString().contains("2 event(s) and 1 series repeating forever "
+            + "property \"location\" updated with \"Room 1\""));
+  }
+
   @Test
   public void testExecuteNoEventsHeadless() {
     try {
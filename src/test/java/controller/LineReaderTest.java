@@ -0,0 +1,121 @@
+package controller;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class contains unit tests for the LineReader class.
+ */
+public class LineReaderTest {
+
+  private static List<String> readAll(LineReader reader) throws IOException {
+    List<String> lines = new ArrayList<>();
+    CharSequence line;
+    while ((line = reader.readLine()) != null) {
+      lines.add(line.toString());
+    }
+    return lines;
+  }
+
+  private static ReadableByteChannel channelOf(String text) {
+    return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void testLineTerminators() throws IOException {
+    LineReader reader = new LineReader(channelOf("a\nb\r\nc\rd"), StandardCharsets.UTF_8);
+    assertEquals(Arrays.asList("a", "b", "c", "d"), readAll(reader));
+  }
+
+  @Test
+  public void testEmptyLinesPreserved() throws IOException {
+    LineReader reader = new LineReader(channelOf("\n\nexit\n"), StandardCharsets.UTF_8);
+    assertEquals(Arrays.asList("", "", "exit"), readAll(reader));
+  }
+
+  @Test
+  public void testEmptyInput() throws IOException {
+    LineReader reader = new LineReader(channelOf(""), StandardCharsets.UTF_8);
+    assertNull(reader.readLine());
+  }
+
+  @Test
+  public void testReaderSource() throws IOException {
+    LineReader reader = new LineReader(new StringReader("create calendar\r\nexit"));
+    assertEquals(Arrays.asList("create calendar", "exit"), readAll(reader));
+  }
+
+  @Test
+  public void testLineLongerThanBuffer() throws IOException {
+    String longLine = String.join("", Collections.nCopies(200000, "x"));
+    LineReader reader = new LineReader(channelOf("first\n" + longLine + "\nlast"),
+            StandardCharsets.UTF_8);
+    assertEquals(Arrays.asList("first", longLine, "last"), readAll(reader));
+  }
+
+  @Test
+  public void testMultiByteCharactersSplitAcrossReads() throws IOException {
+    byte[] data = "café 日本\r\nnext\n".getBytes(StandardCharsets.UTF_8);
+    ReadableByteChannel oneByteAtATime = new ReadableByteChannel() {
+      private int position;
+
+      @Override
+      public int read(ByteBuffer dst) {
+        if (position == data.length) {
+          return -1;
+        }
+        dst.put(data[position++]);
+        return 1;
+      }
+
+      @Override
+      public boolean isOpen() {
+        return true;
+      }
+
+      @Override
+      public void close() {
+        // Nothing to release
+      }
+    };
+    LineReader reader = new LineReader(oneByteAtATime, StandardCharsets.UTF_8);
+    assertEquals(Arrays.asList("café 日本", "next"), readAll(reader));
+  }
+
+  @Test
+  public void testCharSequenceView() throws IOException {
+    LineReader reader = new LineReader(new StringReader("hello\n"));
+    CharSequence line = reader.readLine();
+    assertEquals(5, line.length());
+    assertEquals('e', line.charAt(1));
+    assertEquals("ell", line.subSequence(1, 4).toString());
+    assertNull(reader.readLine());
+  }
+
+  @Test
+  public void testCharAtOutOfBounds() throws IOException {
+    CharSequence line = new LineReader(new StringReader("ab")).readLine();
+    try {
+      line.charAt(2);
+      fail("Expected IndexOutOfBoundsException");
+    } catch (IndexOutOfBoundsException e) {
+      assertTrue(e.getMessage().contains("Index 2"));
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package controller;
+
+import model.CalendarManager;
+import model.ICalendarManager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.security.Permission;
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class contains unit tests for the PipelinedCalendarHandler class.
+ */
+public class PipelinedCalendarHandlerTest {
+  private PipelinedCalendarHandler handler;
+  private ICalendarManager cm;
+  private ByteArrayOutputStream outContent;
+  private PrintStream originalOut;
+  private SecurityManager originalSecurityManager;
+
+  private static class NoExitSecurityManager extends SecurityManager {
+    @Override
+    public void checkPermission(Permission perm) {
+      // Allow all permissions except exit
+    }
+
+    @Override
+    public void checkExit(int status) {
+      throw new SecurityException("System.exit(" + status + ") attempted");
+    }
+  }
+
+  @Before
+  public void setUp() {
+    cm = new CalendarManager();
+    handler = new PipelinedCalendarHandler(cm, 2);
+    outContent = new ByteArrayOutputStream();
+    originalOut = System.out;
+    System.setOut(new PrintStream(outContent));
+    originalSecurityManager = System.getSecurityManager();
+    System.setSecurityManager(new NoExitSecurityManager());
+  }
+
+  @After
+  public void tearDown() {
+    System.setOut(originalOut);
+    System.setSecurityManager(originalSecurityManager);
+  }
+
+  @Test
+  public void testProcessScript() throws Exception {
+    String script = "create calendar --name Work --timezone Asia/Kolkata\n"
+            + "use calendar --name Work\n"
+            + "create event Meeting from 2025-03-24T09:00 to 2025-03-24T10:00";
+    handler.processInput(new StringReader(script), "headless");
+    String output = outContent.toString();
+    assertTrue(output.contains("Processing headless input."));
+    assertTrue(output.contains("Calendar 'Work' created"));
+    assertTrue(output.contains("Event created"));
+    assertEquals(1, cm.getCurrentCalendar().getEventScheduler()
+            .retrieveAllEvents().size());
+  }
+
+  @Test
+  public void testOutputOrderPreservedAcrossBatches() throws Exception {
+    StringBuilder script = new StringBuilder(
+            "create calendar --name Work --timezone UTC\nuse calendar --name Work\n");
+    int days = 1500;
+    for (int i = 0; i < days; i++) {
+      script.append("create event E").append(i).append(" on ")
+              .append(LocalDate.of(2025, 1, 1).plusDays(i)).append("\n");
+    }
+    handler.processInput(new StringReader(script.toString()), "headless");
+
+    String[] lines = outContent.toString().split(System.lineSeparator());
+    int expectedEvent = 0;
+    String previous = null;
+    for (String line : lines) {
+      if (line.startsWith("> create event ")) {
+        assertEquals("> create event E" + expectedEvent + " on "
+                + LocalDate.of(2025, 1, 1).plusDays(expectedEvent), line);
+      } else if (line.startsWith("Event created: ")) {
+        assertEquals("> create event E" + expectedEvent + " on "
+                + LocalDate.of(2025, 1, 1).plusDays(expectedEvent), previous);
+        assertTrue(line.startsWith("Event created: E" + expectedEvent + " from "));
+        expectedEvent++;
+      }
+      previous = line;
+    }
+    assertEquals(days, expectedEvent);
+    assertEquals(days, cm.getCurrentCalendar().getEventScheduler().retrieveAllEvents().size());
+  }
+
+  @Test
+  public void testStopsAtExit() throws Exception {
+    String script = "create calendar --name Work --timezone UTC\n"
+            + "exit\n"
+            + "create calendar --name Home --timezone UTC\n";
+    handler.processInput(new StringReader(script), "headless");
+    String output = outContent.toString();
+    assertTrue(output.contains("Exiting."));
+    assertFalse(output.contains("Calendar 'Home' created"));
+    assertFalse(cm.getCalendars().containsKey("Home"));
+  }
+
+  @Test
+  public void testEmptyLineReported() {
+    handler.processInput(new StringReader("\nexit\n"), "interactive");
+    String output = outContent.toString();
+    assertTrue(output.contains("Error: Empty Line, ignored"));
+    assertTrue(output.contains("Exiting."));
+  }
+
+  @Test
+  public void testHeadlessExitsOnParseError() {
+    String script = "create calendar --name Test --timezone America/New_York\n"
+            + "invalid command\n"
+            + "create calendar --name Other --timezone UTC\n";
+    try {
+      handler.processInput(new StringReader(script), "headless");
+      fail("Expected SecurityException due to headless mode exiting on error");
+    } catch (SecurityException e) {
+      String output = outContent.toString();
+      assertTrue(output.contains("Calendar 'Test' created"));
+      assertTrue(output.contains("Error: Unknown command 'invalid command'"));
+      assertFalse(output.contains("Calendar 'Other' created"));
+      assertEquals("System.exit(1) attempted", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testInteractiveContinuesAfterError() {
+    String script = "invalid command\n"
+            + "create calendar --name Work --timezone Asia/Kolkata\n";
+    handler.processInput(new StringReader(script), "interactive");
+    String output = outContent.toString();
+    assertTrue(output.contains("Error: Unknown command 'invalid command'"));
+    assertTrue(output.contains("Calendar 'Work' created"));
+  }
+
+  @Test
+  public void testReadFailureReported() {
+    Reader failing = new Reader() {
+      @Override
+      public int read(char[] cbuf, int off, int len) throws IOException {
+        throw new IOException("disk error");
+      }
+
+      @Override
+      public void close() {
+        // Nothing to release
+      }
+    };
+    handler.processInput(failing, "interactive");
+    assertTrue(outContent.toString().contains("Error: disk error"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidQueueCapacity() {
+    new PipelinedCalendarHandler(cm, 0);
+  }
+}
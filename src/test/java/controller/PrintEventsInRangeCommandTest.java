@@ -68,4 +68,28 @@ public class PrintEventsInRangeCommandTest {
               e.getMessage());
     }
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testExecuteWithLimit() throws Exception {
+    new CreateEventCommand(cm).execute("create event Review from 2025-03-24T10:30 "
+            + "to 2025-03-24T11:00", cm, "interactive");
+    outContent.reset();
+    command.execute("print events from 2025-03-24T08:00 to 2025-03-24T12:00 --limit 1",
+            cm, "interactive");
+    String output = outContent.toString();
+    assertTrue(output.contains("Meeting from 2025-03-24T09:00[Asia/Kolkata]"));
+    assertTrue(!output.contains("Review from"));
+    assertTrue(output.contains("Showing events 1-1 of 2"));
+  }
+
+  @Test
+  public void testExecuteMissingOptionValue() {
+    try {
+      command.execute("print events from 2025-03-24T08:00 to 2025-03-24T12:00 --offset",
+              cm, "interactive");
+      fail("Expected exception for missing offset value");
+    } catch (Exception e) {
+      assertTrue(e.getMessage().startsWith("Missing value for --offset"));
+    }
+  }
+}
@@ -111,4 +111,51 @@ public class PrintEventsOnCommandTest {
       assertTrue(e.getMessage().contains("Invalid date format"));
     }
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testPagedOutput() throws Exception {
+    for (int hour = 10; hour < 15; hour++) {
+      new CreateEventCommand(cm).execute("create event E" + hour + " from 2025-03-27T"
+              + hour + ":00 to 2025-03-27T" + hour + ":30", cm, "interactive");
+    }
+    outContent.reset();
+    command.execute("print events on 2025-03-27 --limit 2 --offset 1", cm, "interactive");
+    String[] lines = outContent.toString().trim().split(System.lineSeparator());
+    assertEquals(4, lines.length);
+    assertEquals("Events on 2025-03-27:", lines[0]);
+    assertTrue(lines[1].startsWith(" - E11 from"));
+    assertTrue(lines[2].startsWith(" - E12 from"));
+    assertEquals("Showing events 2-3 of 5", lines[3]);
+  }
+
+  @Test
+  public void testOffsetBeyondEnd() throws Exception {
+    new CreateEventCommand(cm).execute("create event Vacation on 2025-03-27",
+            cm, "interactive");
+    outContent.reset();
+    command.execute("print events on 2025-03-27 --offset 3", cm, "interactive");
+    String output = outContent.toString().trim();
+    assertEquals("Events on 2025-03-27:" + System.lineSeparator()
+            + "No events at offset 3 of 1", output);
+  }
+
+  @Test
+  public void testInvalidLimit() {
+    try {
+      command.execute("print events on 2025-03-27 --limit 0", cm, "interactive");
+      fail("Expected exception for invalid limit");
+    } catch (Exception e) {
+      assertEquals("Invalid value for --limit: '0' (must be an integer >= 1)", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testUnknownOption() {
+    try {
+      command.execute("print events on 2025-03-27 --page 2", cm, "interactive");
+      fail("Expected exception for unknown option");
+    } catch (Exception e) {
+      assertTrue(e.getMessage().startsWith("Unknown option '--page'"));
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package model;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class contains the tests that every IEventManager must pass. Each store's test
+ * class extends it and supplies the manager under test; the results are compared with
+ * those of the list store, {@link EventManager}.
+ */
+public abstract class AEventManagerTest {
+  private static final ZoneId[] ZONES = {ZoneId.of("America/New_York"), ZoneId.of("UTC"),
+      ZoneId.of("Pacific/Auckland")};
+
+  /**
+   * Returns an empty manager of the store under test.
+   *
+   * @return The manager.
+   * @throws Exception If the manager cannot be created.
+   */
+  protected abstract IEventManager newManager() throws Exception;
+
+  /**
+   * Called halfway through and after scheduling, so a store can move its events the
+   * way it would while running, as the tiered store does when it spills old events.
+   *
+   * @param manager The manager under test.
+   * @throws Exception If the events cannot be moved.
+   */
+  protected void reorganize(IEventManager manager) throws Exception {
+    // Most stores never move their events
+  }
+
+  @Test
+  public void testMatchesEventManager() throws Exception {
+    IEventManager manager = newManager();
+    EventManager reference = new EventManager(new RecurringEventManager());
+    Random random = new Random(7);
+    for (int i = 0; i < 1500; i++) {
+      ZonedDateTime start = ZonedDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZONES[random.nextInt(3)])
+              .plusMinutes(random.nextInt(60 * 24 * 180) / 15 * 15);
+      ZonedDateTime end = start.plusMinutes(random.nextInt(10) == 0
+              ? random.nextInt(60 * 24 * 40) : random.nextInt(240));
+      boolean fullDay = random.nextInt(10) == 0;
+      String name = "E" + random.nextInt(40);
+      assertEquals(scheduleQuietly(reference, name, start, end, fullDay),
+              scheduleQuietly(manager, name, start, end, fullDay));
+      if (i == 750) {
+        reorganize(manager);
+      }
+    }
+    reorganize(manager);
+    assertEquals(reference.retrieveAllEvents().toString(), manager.retrieveAllEvents().toString());
+    assertEquals(reference.retrieveEventNames(), manager.retrieveEventNames());
+    assertEquals(reference.findEventNames("e1", 5), manager.findEventNames("e1", 5));
+    for (int i = 0; i < 300; i++) {
+      LocalDate date = LocalDate.of(2024, 12, 30).plusDays(random.nextInt(200));
+      assertEquals(reference.fetchEventsOnDate(date).toString(),
+              manager.fetchEventsOnDate(date).toString());
+      assertEquals(reference.fetchEventsStartingOnDate(date).toString(),
+              manager.fetchEventsStartingOnDate(date).toString());
+      ZonedDateTime from = date.atStartOfDay(ZONES[i % 3]).plusHours(random.nextInt(48));
+      ZonedDateTime to = from.plusHours(random.nextInt(24 * 45));
+      assertEquals(reference.fetchEventsInRange(from, to).toString(),
+              manager.fetchEventsInRange(from, to).toString());
+      int offset = random.nextInt(20);
+      EventPage expected = reference.fetchEventsInRange(from, to, offset, 5);
+      EventPage page = manager.fetchEventsInRange(from, to, offset, 5);
+      assertEquals(expected.getTotal(), page.getTotal());
+      assertEquals(expected.getEvents().toString(), page.getEvents().toString());
+      assertEquals(reference.isOccupiedAt(from), manager.isOccupiedAt(from));
+    }
+    assertEquals(reference.updateEventsByName("location", "E7", "Hall"),
+            manager.updateEventsByName("location", "E7", "Hall"));
+    assertEquals(reference.retrieveAllEvents().toString(), manager.retrieveAllEvents().toString());
+    assertEquals(reference.updateEventsByName("name", "E12", "e1"),
+            manager.updateEventsByName("name", "E12", "e1"));
+    assertEquals(reference.retrieveEventNames(), manager.retrieveEventNames());
+    assertEquals(reference.findEventNames("E1", 4), manager.findEventNames("E1", 4));
+  }
+
+  private static String scheduleQuietly(IEventManager target, String name,
+                                        ZonedDateTime start, ZonedDateTime end,
+                                        boolean isFullDay) {
+    try {
+      target.scheduleEvent(target.createEvent(name, start, end, isFullDay));
+      return null;
+    } catch (Exception e) {
+      return e.getMessage();
+    }
+  }
+}
@@ -0,0 +1,201 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class contains unit tests for the ConcurrentCalendarManager class.
+ */
+public class ConcurrentCalendarManagerTest {
+  private final ZoneId tz = ZoneId.of("America/New_York");
+  private ConcurrentCalendarManager cm;
+
+  @Before
+  public void setUp() {
+    cm = new ConcurrentCalendarManager();
+  }
+
+  @Test
+  public void testCreateAndSelectCalendar() throws Exception {
+    cm.createCalendar("Work", tz);
+    cm.setCurrentCalendar("Work");
+    assertEquals("Work", cm.getCurrentCalendar().getName());
+    assertTrue(cm.getCurrentCalendar().getEventScheduler() instanceof LockingEventManager);
+  }
+
+  @Test
+  public void testThreadSafeStoreIsNotWrapped() throws Exception {
+    ConcurrentCalendarManager snapshots = new ConcurrentCalendarManager(EventStore.SNAPSHOT);
+    snapshots.createCalendar("Work", tz);
+    assertTrue(snapshots.getCalendar("Work").getEventScheduler()
+            instanceof SnapshotEventManager);
+    ConcurrentCalendarManager sharded = new ConcurrentCalendarManager(EventStore.SHARDED);
+    sharded.createCalendar("Work", tz);
+    assertTrue(sharded.getCalendar("Work").getEventScheduler() instanceof ShardedEventManager);
+  }
+
+  @Test
+  public void testDuplicateCalendarName() throws Exception {
+    cm.createCalendar("Work", tz);
+    try {
+      cm.createCalendar("Work", tz);
+      fail("Expected exception for duplicate calendar name");
+    } catch (Exception e) {
+      assertEquals("Calendar name already exists: Work", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testNoCalendarSelected() {
+    try {
+      cm.getCurrentCalendar();
+      fail("Expected exception when no calendar is selected");
+    } catch (Exception e) {
+      assertEquals("No calendar selected", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testSessionsHaveIndependentCurrentCalendar() throws Exception {
+    cm.createCalendar("Work", tz);
+    cm.createCalendar("Home", tz);
+    ICalendarManager first = cm.openSession();
+    ICalendarManager second = cm.openSession();
+    first.setCurrentCalendar("Work");
+    second.setCurrentCalendar("Home");
+    assertEquals("Work", first.getCurrentCalendar().getName());
+    assertEquals("Home", second.getCurrentCalendar().getName());
+    try {
+      cm.getCurrentCalendar();
+      fail("Sessions must not change the manager's own selection");
+    } catch (Exception e) {
+      assertEquals("No calendar selected", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testSessionsShareCalendars() throws Exception {
+    ICalendarManager session = cm.openSession();
+    session.createCalendar("Work", tz);
+    assertTrue(cm.getCalendars().containsKey("Work"));
+    assertSame(cm.getCalendar("Work"), session.getCalendar("Work"));
+  }
+
+  @Test
+  public void testRenameKeepsSessionSelection() throws Exception {
+    cm.createCalendar("Work", tz);
+    ICalendarManager session = cm.openSession();
+    session.setCurrentCalendar("Work");
+    cm.editCalendar("Work", "name", "Office");
+    assertEquals("Office", session.getCurrentCalendar().getName());
+    assertFalse(cm.getCalendars().containsKey("Work"));
+    assertSame(session.getCurrentCalendar(), cm.getCalendar("Office"));
+  }
+
+  @Test
+  public void testRenameToExistingName() throws Exception {
+    cm.createCalendar("Work", tz);
+    cm.createCalendar("Home", tz);
+    try {
+      cm.editCalendar("Work", "name", "Home");
+      fail("Expected exception for existing name");
+    } catch (Exception e) {
+      assertEquals("New name already exists: Home", e.getMessage());
+    }
+    assertEquals("Work", cm.getCalendar("Work").getName());
+  }
+
+  @Test
+  public void testEditTimezoneAndInvalidProperty() throws Exception {
+    cm.createCalendar("Work", tz);
+    cm.editCalendar("Work", "timezone", "Asia/Tokyo");
+    assertEquals(ZoneId.of("Asia/Tokyo"), cm.getCalendar("Work").getTimezone());
+    try {
+      cm.editCalendar("Work", "color", "red");
+      fail("Expected exception for invalid property");
+    } catch (Exception e) {
+      assertEquals("Invalid property: color. Use 'name' or 'timezone'", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testGetCalendarsReturnsCopy() throws Exception {
+    cm.createCalendar("Work", tz);
+    assertNotSame(cm.getCalendars(), cm.getCalendars());
+    cm.getCalendars().clear();
+    assertTrue(cm.getCalendars().containsKey("Work"));
+  }
+
+  @Test
+  public void testUpdateExcludesOtherClients() throws Exception {
+    cm.createCalendar("Shared", tz);
+    Calendar cal = cm.getCalendar("Shared");
+    IEventManager events = cal.getEventScheduler();
+    ZonedDateTime start = ZonedDateTime.of(2025, 1, 6, 9, 0, 0, 0, tz);
+    ExecutorService other = Executors.newSingleThreadExecutor();
+    try {
+      cal.update(() -> {
+        Future<?> write = other.submit(() -> {
+          events.scheduleEvent(events.createEvent("Other", start, start.plusHours(1), false));
+          return null;
+        });
+        Thread.sleep(100);
+        assertFalse(write.isDone());
+        assertTrue(events.retrieveAllEvents().isEmpty());
+      });
+      other.shutdown();
+      assertTrue(other.awaitTermination(5, TimeUnit.SECONDS));
+      assertEquals(1, events.retrieveAllEvents().size());
+    } finally {
+      other.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testConcurrentSchedulingAcrossSessions() throws Exception {
+    cm.createCalendar("Shared", tz);
+    int threads = 8;
+    int eventsPerThread = 200;
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    List<Future<?>> results = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      int id = t;
+      results.add(pool.submit(() -> {
+        ICalendarManager session = cm.openSession();
+        session.setCurrentCalendar("Shared");
+        IEventManager events = session.getCurrentCalendar().getEventScheduler();
+        ZonedDateTime base = ZonedDateTime.of(2025, 1, 1, 0, 0, 0, 0, tz).plusDays(id * 1000L);
+        for (int i = 0; i < eventsPerThread; i++) {
+          ZonedDateTime start = base.plusDays(i);
+          events.scheduleEvent(events.createEvent("E" + id + "-" + i, start,
+                  start.plusHours(1), false));
+          events.fetchEventsOnDate(start.toLocalDate());
+        }
+        return null;
+      }));
+    }
+    pool.shutdown();
+    assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+    for (Future<?> result : results) {
+      result.get();
+    }
+    assertEquals(threads * eventsPerThread,
+            cm.getCalendar("Shared").getEventScheduler().retrieveAllEvents().size());
+  }
+}
@@ -0,0 +1,73 @@
+package model;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class contains unit tests for the EventFormatter class.
+ */
+public class EventFormatterTest {
+  private final ZoneId tz = ZoneId.of("Asia/Kolkata");
+
+  @Test
+  public void testFormatDateTimeMatchesPattern() {
+    ZonedDateTime[] samples = {
+        ZonedDateTime.of(2025, 3, 4, 9, 5, 0, 0, tz),
+        ZonedDateTime.of(999, 12, 31, 23, 59, 59, 0, ZoneId.of("UTC")),
+        ZonedDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.ofHoursMinutes(5, 30)),
+        ZonedDateTime.of(12025, 6, 1, 12, 0, 0, 0, ZoneId.of("America/New_York")),
+        ZonedDateTime.of(-5, 6, 1, 12, 0, 0, 0, ZoneId.of("UTC"))
+    };
+    for (ZonedDateTime sample : samples) {
+      assertEquals(sample.format(EventFormatter.DISPLAY_FORMAT),
+              EventFormatter.formatDateTime(sample));
+    }
+  }
+
+  @Test
+  public void testFormatEvent() {
+    Event event = new Event("Meeting", ZonedDateTime.of(2025, 3, 24, 9, 0, 0, 0, tz),
+            ZonedDateTime.of(2025, 3, 24, 10, 0, 0, 0, tz), false);
+    assertEquals("Meeting from 2025-03-24T09:00[Asia/Kolkata] to "
+            + "2025-03-24T10:00[Asia/Kolkata], Public", EventFormatter.format(event));
+  }
+
+  @Test
+  public void testFormatEventWithDetails() {
+    Event event = new Event("Holiday", ZonedDateTime.of(2025, 3, 24, 0, 0, 0, 0, tz),
+            ZonedDateTime.of(2025, 3, 25, 0, 0, 0, 0, tz), true);
+    event.setDescription("Day off");
+    event.setLocation("Home");
+    event.setPublic(false);
+    assertEquals("Holiday from 2025-03-24T00:00[Asia/Kolkata] to "
+            + "2025-03-25T00:00[Asia/Kolkata], Full Day, Description: Day off, "
+            + "Location: Home, Private", EventFormatter.format(event));
+    assertEquals(EventFormatter.format(event), event.toString());
+  }
+
+  @Test
+  public void testAppendToWriter() throws IOException {
+    Event event = new Event("Call", ZonedDateTime.of(2025, 3, 24, 9, 0, 0, 0, tz),
+            ZonedDateTime.of(2025, 3, 24, 9, 30, 0, 0, tz), false);
+    StringWriter writer = new StringWriter();
+    EventFormatter.appendEvent(writer.append(" - "), event);
+    assertEquals(" - " + event, writer.toString());
+  }
+
+  @Test
+  public void testCsvFormats() {
+    ZonedDateTime time = ZonedDateTime.of(2025, 3, 4, 15, 7, 0, 0, tz);
+    StringBuilder out = new StringBuilder();
+    EventFormatter.appendCsvDate(out, time).append(',');
+    EventFormatter.appendCsvTime(out, time);
+    assertEquals(time.format(EventFormatter.CSV_DATE_FORMAT) + ","
+            + time.format(EventFormatter.CSV_TIME_FORMAT), out.toString());
+  }
+}
@@ -6,10 +6,12 @@ import org.junit.Test;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -92,6 +94,26 @@ public class EventManagerTest {
     assertEquals("Vacation", events.get(0).getEventName());
   }
 
+  @Test
+  public void testFetchEventPages() throws Exception {
+    for (int hour = 8; hour < 13; hour++) {
+      em.scheduleEvent(new Event("Slot" + hour,
+              ZonedDateTime.of(2025, 3, 24, hour, 0, 0, 0, tz),
+              ZonedDateTime.of(2025, 3, 24, hour, 30, 0, 0, tz), false));
+    }
+    EventPage page = em.fetchEventsOnDate(LocalDate.of(2025, 3, 24), 1, 2);
+    assertEquals(5, page.getTotal());
+    assertEquals(2, page.getEvents().size());
+    assertEquals("Slot9", page.getEvents().get(0).getEventName());
+    assertEquals("Slot10", page.getEvents().get(1).getEventName());
+
+    page = em.fetchEventsInRange(ZonedDateTime.of(2025, 3, 24, 10, 0, 0, 0, tz),
+            ZonedDateTime.of(2025, 3, 24, 23, 0, 0, 0, tz), 2, 10);
+    assertEquals(3, page.getTotal());
+    assertEquals("Slot12", page.getEvents().get(0).getEventName());
+    assertEquals(0, em.fetchEventsOnDate(LocalDate.of(2025, 3, 24), 9, 1).getEvents().size());
+  }
+
   @Test
   public void testFetchEventsInRange() throws Exception {
     Event event = new Event("Test",
@@ -281,4 +303,332 @@ public class EventManagerTest {
     assertEquals(ZonedDateTime.of(2025, 3, 31, 9, 0, 0, 0, tz), recurringEvents.get(1).getStart());
     assertEquals(ZonedDateTime.of(2025, 4, 7, 9, 0, 0, 0, tz), recurringEvents.get(2).getStart());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testScheduledEventsShareStrings() throws Exception {
+    List<IEvent> instances = em.createRecurringEvents("Weekly",
+            ZonedDateTime.of(2025, 3, 24, 9, 0, 0, 0, tz),
+            ZonedDateTime.of(2025, 3, 24, 10, 0, 0, 0, tz),
+            "M for 3 times", false);
+    for (IEvent instance : instances) {
+      instance.setLocation(new String("Room 1"));
+      em.scheduleEvent(instance);
+    }
+    IEvent imported = em.createEvent(new String("Weekly"),
+            ZonedDateTime.of(2025, 4, 15, 9, 0, 0, 0, tz),
+            ZonedDateTime.of(2025, 4, 15, 10, 0, 0, 0, tz), false);
+    imported.setLocation(new String("Room 1"));
+    em.scheduleEvent(imported);
+    List<IEvent> all = em.retrieveAllEvents();
+    for (IEvent event : all) {
+      assertSame(all.get(0).getEventName(), event.getEventName());
+      assertSame(all.get(0).getLocation(), event.getLocation());
+    }
+    String oldLocation = all.get(0).getLocation();
+    assertEquals(4, em.updateEventsByName("location", "Weekly", new String("Room 2")));
+    assertSame(all.get(0).getLocation(), all.get(3).getLocation());
+    // "Weekly", "", and both locations while the old one is still referenced here
+    assertEquals(4, em.getStringDictionary().size());
+    assertEquals("Room 1", oldLocation);
+  }
+
+  @Test
+  public void testSeriesInQueries() throws Exception {
+    em.scheduleEvent(new Event("Lunch", ZonedDateTime.of(2025, 3, 24, 12, 0, 0, 0, tz),
+            ZonedDateTime.of(2025, 3, 24, 13, 0, 0, 0, tz), false));
+    em.scheduleSeries(RecurringSeries.of("Standup", ZonedDateTime.of(2025, 3, 24, 9, 0, 0, 0,
+            tz), ZonedDateTime.of(2025, 3, 24, 9, 15, 0, 0, tz), "MTWRF forever", false));
+    assertEquals(1, em.retrieveAllEvents().size());
+    assertEquals(1, em.retrieveAllSeries().size());
+
+    List<IEvent> monday = em.fetchEventsOnDate(LocalDate.of(2025, 3, 24));
+    assertEquals(2, monday.size());
+    assertEquals("Standup", monday.get(0).getEventName());
+    assertEquals("Lunch", monday.get(1).getEventName());
+    assertEquals(1, em.fetchEventsStartingOnDate(LocalDate.of(2080, 1, 1)).size());
+    assertEquals(0, em.fetchEventsOnDate(LocalDate.of(2080, 1, 6)).size());
+    assertEquals(5, em.fetchEventsInRange(ZonedDateTime.of(2090, 1, 1, 0, 0, 0, 0, tz),
+            ZonedDateTime.of(2090, 1, 7, 23, 59, 0, 0, tz)).size());
+    assertTrue(em.isOccupiedAt(ZonedDateTime.of(2090, 1, 2, 9, 10, 0, 0, tz)));
+    assertFalse(em.isOccupiedAt(ZonedDateTime.of(2090, 1, 2, 9, 15, 0, 0, tz)));
+  }
+
+  @Test
+  public void testSeriesConflicts() throws Exception {
+    em.scheduleSeries(RecurringSeries.of("Standup", ZonedDateTime.of(2025, 3, 24, 9, 0, 0, 0,
+            tz), ZonedDateTime.of(2025, 3, 24, 9, 15, 0, 0, tz), "MW forever", false));
+    try {
+      em.scheduleEvent(new Event("Call", ZonedDateTime.of(2040, 1, 4, 9, 5, 0, 0, tz),
+              ZonedDateTime.of(2040, 1, 4, 10, 0, 0, 0, tz), false));
+      fail("Expected conflict exception");
+    } catch (Exception e) {
+      assertEquals("Conflict with existing event: Standup", e.getMessage());
+    }
+    try {
+      em.scheduleSeries(RecurringSeries.of("Review", ZonedDateTime.of(2025, 3, 28, 9, 0, 0, 0,
+              tz), ZonedDateTime.of(2025, 3, 28, 10, 0, 0, 0, tz), "monthly last W forever",
+              false));
+      fail("Expected conflict exception");
+    } catch (Exception e) {
+      assertEquals("Conflict with existing event: Standup", e.getMessage());
+    }
+    em.scheduleSeries(RecurringSeries.of("Review", ZonedDateTime.of(2025, 3, 28, 9, 15, 0, 0,
+            tz), ZonedDateTime.of(2025, 3, 28, 10, 0, 0, 0, tz), "monthly last W forever",
+            false));
+    assertEquals(2, em.retrieveAllSeries().size());
+  }
+
+  @Test
+  public void testSeriesConflictsWithinItsSpan() throws Exception {
+    em.scheduleEvent(new Event("Before", ZonedDateTime.of(2025, 3, 20, 9, 0, 0, 0, tz),
+            ZonedDateTime.of(2025, 3, 20, 10, 0, 0, 0, tz), false));
+    em.scheduleEvent(new Event("After", ZonedDateTime.of(2025, 4, 10, 9, 0, 0, 0, tz),
+            ZonedDateTime.of(2025, 4, 10, 10, 0, 0, 0, tz), false));
+    em.scheduleEvent(new Event("Last", ZonedDateTime.of(2025, 4, 3, 9, 30, 0, 0, tz),
+            ZonedDateTime.of(2025, 4, 3, 10, 30, 0, 0, tz), false));
+    try {
+      em.scheduleSeries(RecurringSeries.of("Sync", ZonedDateTime.of(2025, 3, 20, 9, 0, 0, 0,
+              tz), ZonedDateTime.of(2025, 3, 20, 10, 0, 0, 0, tz),
+              "R for 3 times", false));
+      fail("Expected conflict exception");
+    } catch (Exception e) {
+      assertEquals("Conflict with existing event: Before", e.getMessage());
+    }
+    try {
+      em.scheduleSeries(RecurringSeries.of("Sync", ZonedDateTime.of(2025, 3, 27, 9, 0, 0, 0,
+              tz), ZonedDateTime.of(2025, 3, 27, 10, 0, 0, 0, tz),
+              "R for 2 times", false));
+      fail("Expected conflict exception");
+    } catch (Exception e) {
+      assertEquals("Conflict with existing event: Last", e.getMessage());
+    }
+    em.scheduleSeries(RecurringSeries.of("Sync", ZonedDateTime.of(2025, 3, 27, 9, 0, 0, 0,
+            tz), ZonedDateTime.of(2025, 3, 27, 9, 30, 0, 0, tz), "R for 2 times", false));
+    assertEquals(1, em.retrieveAllSeries().size());
+  }
+
+  @Test
+  public void testSeriesEditsAndTimezone() throws Exception {
+    em.scheduleSeries(RecurringSeries.of("Standup", ZonedDateTime.of(2025, 3, 24, 9, 0, 0, 0,
+            tz), ZonedDateTime.of(2025, 3, 24, 9, 15, 0, 0, tz), "M forever", false));
+    assertEquals(1, em.updateEventsByName("location", "Standup", "Room 4"));
+    assertEquals("Room 4", em.fetchEventsOnDate(LocalDate.of(2030, 3, 25)).get(0).getLocation());
+
+    ZoneId newYork = ZoneId.of("America/New_York");
+    em.adjustTimezone(tz, newYork);
+    IEvent shifted = em.fetchEventsOnDate(LocalDate.of(2030, 3, 24)).get(0);
+    assertEquals(newYork, shifted.getStart().getZone());
+    assertEquals(ZonedDateTime.of(2030, 3, 25, 9, 0, 0, 0, tz).toInstant(),
+            shifted.getStart().toInstant());
+  }
+
+  @Test
+  public void testEditSeriesFromStart() throws Exception {
+    ZonedDateTime start = ZonedDateTime.of(2025, 3, 24, 9, 0, 0, 0, tz);
+    for (IEvent instance : em.createRecurringEvents("Standup", start, start.plusMinutes(15),
+            "MTWRF for 10 times", false)) {
+      em.scheduleEvent(instance);
+    }
+    em.scheduleEvent(new Event("Standup", ZonedDateTime.of(2025, 3, 29, 10, 0, 0, 0, tz),
+            ZonedDateTime.of(2025, 3, 29, 11, 0, 0, 0, tz), false));
+
+    assertEquals(5, em.updateEventsFromStart("name", "Standup", start.plusDays(7), "Sync"));
+    List<IEvent> all = em.retrieveAllEvents();
+    for (int i = 0; i < all.size(); i++) {
+      assertEquals(i < 6 ? "Standup" : "Sync", all.get(i).getEventName());
+    }
+
+    assertEquals(5, em.updateEventsByName("location", "Sync", "Room 2"));
+    assertTrue(em.updateSingleEvent("description", "Sync", start.plusDays(8),
+            start.plusDays(8).plusMinutes(15), "Moved"));
+    IEvent tuesday = em.fetchEventsOnDate(LocalDate.of(2025, 4, 1)).get(0);
+    assertEquals("Room 2", tuesday.getLocation());
+    assertEquals("Moved", tuesday.getDescription());
+
+    // Renaming back merges the events into the ones that kept the name
+    assertEquals(2, em.updateEventsFromStart("name", "Sync", start.plusDays(10), "Standup"));
+    assertEquals(8, em.updateEventsByName("location", "Standup", "Room 3"));
+    assertEquals(3, em.updateEventsByName("location", "Sync", "Room 4"));
+    assertEquals(0, em.updateEventsFromStart("color", "Standup", start, "Red"));
+  }
+
+  @Test
+  public void testEditUnboundedSeriesFromStart() throws Exception {
+    em.scheduleSeries(RecurringSeries.of("Standup", ZonedDateTime.of(2025, 3, 24, 9, 0, 0, 0,
+            tz), ZonedDateTime.of(2025, 3, 24, 9, 15, 0, 0, tz), "M forever", false));
+    assertEquals(1, em.updateEventsFromStart("location", "Standup",
+            ZonedDateTime.of(2030, 1, 1, 0, 0, 0, 0, tz), "Room 9"));
+    List<RecurringSeries> parts = em.retrieveAllSeries();
+    assertEquals(2, parts.size());
+    assertEquals("", em.fetchEventsOnDate(LocalDate.of(2029, 12, 31)).get(0).getLocation());
+    IEvent later = em.fetchEventsOnDate(LocalDate.of(2030, 1, 7)).get(0);
+    assertEquals("Room 9", later.getLocation());
+
+    // An edit from before the first instance changes both parts without splitting them;
+    // the 250 Mondays of the earlier part count one by one, the endless part as one
+    assertEquals(251, em.updateEventsFromStart("name", "Standup",
+            ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, tz), "Sync"));
+    assertEquals(2, em.retrieveAllSeries().size());
+    assertEquals("Sync", em.fetchEventsOnDate(LocalDate.of(2025, 3, 24)).get(0)
+            .getEventName());
+  }
+
+  @Test
+  public void testEditSingleInstanceOfUnboundedSeries() throws Exception {
+    RecurringSeries standup = RecurringSeries.of("Standup", ZonedDateTime.of(2025, 3, 24, 9,
+            0, 0, 0, tz), ZonedDateTime.of(2025, 3, 24, 9, 15, 0, 0, tz), "M forever", false);
+    em.scheduleSeries(standup);
+    em.scheduleSeries(RecurringSeries.of("Retro", ZonedDateTime.of(2025, 3, 28, 9, 0, 0, 0,
+            tz), ZonedDateTime.of(2025, 3, 28, 9, 15, 0, 0, tz), "F forever", false));
+    ZonedDateTime start = ZonedDateTime.of(2030, 1, 7, 9, 0, 0, 0, tz);
+    assertTrue(em.updateSingleEvent("location", "Standup", start, start.plusMinutes(15),
+            "Room 5"));
+
+    // The instance leaves the series and is stored as an event of its own
+    List<IEvent> stored = em.retrieveAllEvents();
+    assertEquals(1, stored.size());
+    assertEquals("Room 5", stored.get(0).getLocation());
+    assertEquals(2, em.retrieveAllSeries().size());
+    assertEquals("Standup", em.retrieveAllSeries().get(0).getTemplate().getName());
+    assertEquals(1, em.fetchEventsOnDate(LocalDate.of(2030, 1, 7)).size());
+    assertEquals("", em.fetchEventsOnDate(LocalDate.of(2030, 1, 14)).get(0).getLocation());
+
+    try {
+      em.updateSingleEvent("location", "Standup", start.plusHours(1),
+              start.plusHours(1).plusMinutes(15), "Room 6");
+      fail("Expected exception");
+    } catch (Exception e) {
+      assertTrue(e.getMessage().startsWith("Event not found: Standup"));
+    }
+  }
+
+  @Test
+  public void testInvalidPublicValueRejectedForSeries() throws Exception {
+    em.scheduleSeries(RecurringSeries.of("Standup", ZonedDateTime.of(2025, 3, 24, 9, 0, 0, 0,
+            tz), ZonedDateTime.of(2025, 3, 24, 9, 15, 0, 0, tz), "M forever", false));
+    try {
+      em.updateEventsByName("public", "Standup", "maybe");
+      fail("Expected exception");
+    } catch (Exception e) {
+      assertEquals("Invalid value for 'public': 'maybe' (must be 'true' or 'false')",
+              e.getMessage());
+    }
+    try {
+      em.updateEventsFromStart("public", "Standup", ZonedDateTime.of(2030, 1, 1, 0, 0, 0, 0,
+              tz), "maybe");
+      fail("Expected exception");
+    } catch (Exception e) {
+      assertTrue(e.getMessage().startsWith("Invalid value for 'public'"));
+    }
+    assertTrue(em.fetchEventsOnDate(LocalDate.of(2030, 1, 7)).get(0).isPublic());
+    assertEquals(1, em.retrieveAllSeries().size());
+  }
+
+  @Test
+  public void testScheduleAll() throws Exception {
+    em.scheduleEvent(new Event("Lunch", ZonedDateTime.of(2025, 3, 25, 12, 0, 0, 0, tz),
+            ZonedDateTime.of(2025, 3, 25, 13, 0, 0, 0, tz), false));
+    List<IEvent> batch = new ArrayList<>();
+    for (int day : new int[] {26, 24, 25}) {
+      batch.add(new Event("Sync", ZonedDateTime.of(2025, 3, day, 9, 0, 0, 0, tz),
+              ZonedDateTime.of(2025, 3, day, 10, 0, 0, 0, tz), false));
+    }
+    em.scheduleAll(batch);
+    List<IEvent> all = em.retrieveAllEvents();
+    assertEquals(4, all.size());
+    for (int i = 1; i < all.size(); i++) {
+      assertTrue(all.get(i - 1).getStart().isBefore(all.get(i).getStart()));
+    }
+    assertEquals(3, em.updateEventsByName("location", "Sync", "Room 1"));
+
+    // A conflict with a stored event or within the batch schedules none of them
+    List<IEvent> clashing = List.of(
+            new Event("Review", ZonedDateTime.of(2025, 3, 27, 9, 0, 0, 0, tz),
+                    ZonedDateTime.of(2025, 3, 27, 10, 0, 0, 0, tz), false),
+            new Event("Review", ZonedDateTime.of(2025, 3, 25, 12, 30, 0, 0, tz),
+                    ZonedDateTime.of(2025, 3, 25, 14, 0, 0, 0, tz), false));
+    try {
+      em.scheduleAll(clashing);
+      fail("Expected conflict exception");
+    } catch (Exception e) {
+      assertEquals("Conflict with existing event: Lunch", e.getMessage());
+    }
+    List<IEvent> overlapping = List.of(
+            new Event("Review", ZonedDateTime.of(2025, 3, 27, 9, 0, 0, 0, tz),
+                    ZonedDateTime.of(2025, 3, 27, 10, 0, 0, 0, tz), false),
+            new Event("Review", ZonedDateTime.of(2025, 3, 27, 9, 30, 0, 0, tz),
+                    ZonedDateTime.of(2025, 3, 27, 11, 0, 0, 0, tz), false));
+    try {
+      em.scheduleAll(overlapping);
+      fail("Expected conflict exception");
+    } catch (Exception e) {
+      assertEquals("Conflict between new events: Review", e.getMessage());
+    }
+    assertEquals(4, em.retrieveAllEvents().size());
+    assertEquals(List.of("Lunch", "Sync"), em.retrieveEventNames());
+  }
+
+  @Test
+  public void testEventNamesFollowEdits() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      em.scheduleEvent(new Event(i == 2 ? "lunch" : "Lunch",
+              ZonedDateTime.of(2025, 3, 24 + i, 12, 0, 0, 0, tz),
+              ZonedDateTime.of(2025, 3, 24 + i, 13, 0, 0, 0, tz), false));
+    }
+    em.scheduleEvent(new Event("Gym", ZonedDateTime.of(2025, 3, 24, 18, 0, 0, 0, tz),
+            ZonedDateTime.of(2025, 3, 24, 19, 0, 0, 0, tz), false));
+    assertEquals(List.of("Gym", "Lunch", "lunch"), em.retrieveEventNames());
+
+    // A name stays while any event has it
+    assertTrue(em.updateSingleEvent("name", "Lunch", ZonedDateTime.of(2025, 3, 24, 12, 0, 0,
+            0, tz), ZonedDateTime.of(2025, 3, 24, 13, 0, 0, 0, tz), "Brunch"));
+    assertEquals(List.of("Brunch", "Gym", "Lunch", "lunch"), em.retrieveEventNames());
+    assertEquals(1, em.updateEventsByName("name", "Lunch", "Brunch"));
+    assertEquals(List.of("Brunch", "Gym", "lunch"), em.retrieveEventNames());
+
+    em.scheduleSeries(RecurringSeries.of("Standup", ZonedDateTime.of(2025, 3, 31, 9, 0, 0, 0,
+            tz), ZonedDateTime.of(2025, 3, 31, 9, 15, 0, 0, tz), "M forever", false));
+    assertEquals(List.of("Brunch", "Gym", "lunch", "Standup"), em.retrieveEventNames());
+  }
+
+  @Test
+  public void testFetchEventsByName() throws Exception {
+    for (int day : new int[] {26, 24, 25}) {
+      em.scheduleEvent(new Event(day == 25 ? "Lunch" : "Sync",
+              ZonedDateTime.of(2025, 3, day, 9, 0, 0, 0, tz),
+              ZonedDateTime.of(2025, 3, day, 10, 0, 0, 0, tz), false));
+    }
+    List<IEvent> sync = em.fetchEventsByName("Sync");
+    assertEquals(2, sync.size());
+    assertEquals(24, sync.get(0).getStart().getDayOfMonth());
+    assertEquals(26, sync.get(1).getStart().getDayOfMonth());
+    assertTrue(em.fetchEventsByName("sync").isEmpty());
+
+    // The default query of the interface gives the same answer
+    IEventManager snapshot = new SnapshotEventManager(new RecurringEventManager());
+    for (IEvent event : em.retrieveAllEvents()) {
+      snapshot.scheduleEvent(event);
+    }
+    assertEquals(2, snapshot.fetchEventsByName("Sync").size());
+    assertEquals(sync.get(0).getStart(), snapshot.fetchEventsByName("Sync").get(0).getStart());
+  }
+
+  @Test
+  public void testFindEventNamesByPrefix() throws Exception {
+    String[] names = {"Review", "retro", "Retro", "RETRO notes", "Rent", "Standup"};
+    for (int i = 0; i < names.length; i++) {
+      em.scheduleEvent(new Event(names[i], ZonedDateTime.of(2025, 3, 24 + i, 9, 0, 0, 0, tz),
+              ZonedDateTime.of(2025, 3, 24 + i, 10, 0, 0, 0, tz), false));
+    }
+    assertEquals(List.of("Retro", "retro", "RETRO notes"), em.findEventNames("retro", 10));
+    assertEquals(List.of("Retro", "retro", "RETRO notes"), em.findEventNames("RETRO", 10));
+    assertEquals(List.of("Rent", "Retro"), em.findEventNames("re", 2));
+    assertEquals(List.of("Standup"), em.findEventNames("s", 10));
+    assertTrue(em.findEventNames("x", 10).isEmpty());
+    assertTrue(em.findEventNames("re", 0).isEmpty());
+
+    em.scheduleSeries(RecurringSeries.of("Sync", ZonedDateTime.of(2025, 4, 7, 9, 0, 0, 0, tz),
+            ZonedDateTime.of(2025, 4, 7, 9, 15, 0, 0, tz), "M forever", false));
+    assertEquals(List.of("Standup", "Sync"), em.findEventNames("S", 10));
+  }
+}
@@ -0,0 +1,66 @@
+package model;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * This class contains unit tests for the EventTemplate class.
+ */
+public class EventTemplateTest {
+  private final ZoneId tz = ZoneId.of("America/New_York");
+
+  @Test
+  public void testOfCopiesEventProperties() {
+    ZonedDateTime start = ZonedDateTime.of(2025, 3, 24, 9, 0, 0, 0, tz);
+    Event event = new Event("Review", start, start.plusMinutes(90), false);
+    event.setDescription("Quarterly");
+    event.setLocation("Room 1");
+    event.setPublic(false);
+    EventTemplate template = EventTemplate.of(event);
+    assertEquals("Review", template.getName());
+    assertEquals("Quarterly", template.getDescription());
+    assertEquals("Room 1", template.getLocation());
+    assertEquals(Duration.ofMinutes(90), template.getDuration());
+    assertFalse(template.isFullDay());
+    assertFalse(template.isPublic());
+    assertEquals(tz, template.getZone());
+  }
+
+  @Test
+  public void testWithProducesNewVersions() {
+    EventTemplate template = new EventTemplate("Standup", "", "", Duration.ofMinutes(15),
+            false, true, tz);
+    EventTemplate renamed = template.with("NAME", "Daily");
+    assertEquals("Standup", template.getName());
+    assertEquals("Daily", renamed.getName());
+    assertEquals("Room 2", template.with("location", "Room 2").getLocation());
+    assertEquals("Notes", template.with("description", "Notes").getDescription());
+    assertFalse(template.with("public", "false").isPublic());
+    assertEquals(ZoneId.of("UTC"), template.withZone(ZoneId.of("UTC")).getZone());
+    assertNull(template.with("start", "10:00"));
+  }
+
+  @Test
+  public void testEqualTemplates() {
+    EventTemplate first = new EventTemplate("Standup", "", "", Duration.ofMinutes(15),
+            false, true, tz);
+    EventTemplate second = new EventTemplate("Standup", "", "", Duration.ofMinutes(15),
+            false, true, tz);
+    assertEquals(first, second);
+    assertEquals(first.hashCode(), second.hashCode());
+    assertNotEquals(first, first.with("location", "Room 1"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeDuration() {
+    new EventTemplate("Standup", "", "", Duration.ofMinutes(-15), false, true, tz);
+  }
+}
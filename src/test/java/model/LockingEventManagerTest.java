@@ -0,0 +1,92 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class contains unit tests for the LockingEventManager class.
+ */
+public class LockingEventManagerTest {
+  private final ZoneId tz = ZoneId.of("UTC");
+  private LockingEventManager manager;
+
+  @Before
+  public void setUp() {
+    manager = new LockingEventManager(new EventManager(new RecurringEventManager()));
+  }
+
+  @Test
+  public void testDelegatesOperations() throws Exception {
+    ZonedDateTime start = ZonedDateTime.of(2025, 3, 24, 9, 0, 0, 0, tz);
+    manager.scheduleEvent(manager.createEvent("Meeting", start, start.plusHours(1), false));
+    assertEquals(1, manager.fetchEventsOnDate(LocalDate.of(2025, 3, 24)).size());
+    assertTrue(manager.isOccupiedAt(start.plusMinutes(30)));
+    assertEquals(1, manager.updateEventsByName("location", "Meeting", "Room 1"));
+    assertEquals("Room 1", manager.retrieveAllEvents().get(0).getLocation());
+  }
+
+  @Test
+  public void testQueriesReturnCopies() throws Exception {
+    ZonedDateTime start = ZonedDateTime.of(2025, 3, 24, 9, 0, 0, 0, tz);
+    manager.scheduleEvent(manager.createEvent("Meeting", start, start.plusHours(1), false));
+    manager.retrieveAllEvents().get(0).setLocation("Elsewhere");
+    manager.fetchEventsOnDate(LocalDate.of(2025, 3, 24)).get(0).setDescription("Changed");
+    IEvent stored = manager.retrieveAllEvents().get(0);
+    assertEquals("", stored.getLocation());
+    assertEquals("", stored.getDescription());
+    assertEquals("Meeting", stored.getEventName());
+    assertEquals(start, stored.getStart());
+  }
+
+  @Test
+  public void testReadsRunWhileAnotherReaderHoldsLock() throws Exception {
+    manager.getLock().readLock().lock();
+    try {
+      AtomicBoolean done = new AtomicBoolean();
+      Thread reader = new Thread(() -> {
+        manager.fetchEventsOnDate(LocalDate.of(2025, 3, 24));
+        done.set(true);
+      });
+      reader.start();
+      reader.join(5000);
+      assertTrue(done.get());
+    } finally {
+      manager.getLock().readLock().unlock();
+    }
+  }
+
+  @Test
+  public void testWritesWaitForReaders() throws Exception {
+    ZonedDateTime start = ZonedDateTime.of(2025, 3, 24, 9, 0, 0, 0, tz);
+    CountDownLatch written = new CountDownLatch(1);
+    manager.getLock().readLock().lock();
+    Thread writer = new Thread(() -> {
+      try {
+        manager.scheduleEvent(manager.createEvent("Meeting", start, start.plusHours(1), false));
+      } catch (Exception e) {
+        // Counted as not written
+        return;
+      }
+      written.countDown();
+    });
+    try {
+      writer.start();
+      assertFalse(written.await(200, TimeUnit.MILLISECONDS));
+    } finally {
+      manager.getLock().readLock().unlock();
+    }
+    assertTrue(written.await(5, TimeUnit.SECONDS));
+    assertEquals(1, manager.retrieveAllEvents().size());
+  }
+}
@@ -0,0 +1,40 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class contains unit tests for the NameIndex class.
+ */
+public class NameIndexTest {
+
+  @Test
+  public void testNamesAreSortedIgnoringCase() {
+    NameIndex index = new NameIndex();
+    index.add("standup", 1);
+    index.add("Retro", 2);
+    index.add("Standup", 1);
+    index.add("Review", 1);
+    assertEquals(Arrays.asList("Retro", "Review", "Standup", "standup"), index.names());
+    assertEquals(Arrays.asList("Retro", "Review"), index.withPrefix("re", 5));
+    assertEquals(Collections.singletonList("Retro"), index.withPrefix("RE", 1));
+  }
+
+  @Test
+  public void testRenameKeepsNamesInUse() {
+    NameIndex index = new NameIndex();
+    index.add("Standup", 3);
+    index.rename("Standup", "Sync", 2);
+    assertEquals(Arrays.asList("Standup", "Sync"), index.names());
+    index.rename("Standup", "Sync", 1);
+    assertEquals(Collections.singletonList("Sync"), index.names());
+    index.rename("Sync", "Sync", 3);
+    assertEquals(Collections.singletonList("Sync"), index.names());
+    index.rename("Sync", "Daily", 0);
+    assertEquals(Collections.singletonList("Sync"), index.names());
+  }
+}
@@ -0,0 +1,156 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class contains unit tests for the OffHeapEventManager class.
+ */
+public class OffHeapEventManagerTest extends AEventManagerTest {
+  private final ZoneId tz = ZoneId.of("America/New_York");
+  private OffHeapEventManager manager;
+
+  @Before
+  public void setUp() {
+    manager = new OffHeapEventManager(new RecurringEventManager());
+  }
+
+  @Override
+  protected IEventManager newManager() {
+    return new OffHeapEventManager(new RecurringEventManager());
+  }
+
+  private ZonedDateTime at(int month, int day, int hour) {
+    return ZonedDateTime.of(2025, month, day, hour, 0, 0, 0, tz);
+  }
+
+  private void schedule(String name, ZonedDateTime start, ZonedDateTime end) throws Exception {
+    manager.scheduleEvent(manager.createEvent(name, start, end, false));
+  }
+
+  @Test
+  public void testEventsAreStoredAsRecords() throws Exception {
+    IEvent event = manager.createEvent("Review", at(3, 10, 9), at(3, 10, 10), false);
+    event.setDescription("Quarterly");
+    event.setLocation("Room 1");
+    event.setPublic(false);
+    manager.scheduleEvent(event);
+    schedule("Kickoff", at(1, 10, 9), at(1, 10, 10));
+
+    List<IEvent> all = manager.retrieveAllEvents();
+    assertEquals(2, all.size());
+    assertEquals("Kickoff", all.get(0).getEventName());
+    IEvent stored = all.get(1);
+    assertEquals("Review", stored.getEventName());
+    assertEquals(at(3, 10, 9), stored.getStart());
+    assertEquals(at(3, 10, 10), stored.getEnd());
+    assertEquals("Quarterly", stored.getDescription());
+    assertEquals("Room 1", stored.getLocation());
+    assertFalse(stored.isPublic());
+    assertEquals((long) OffHeapEventManager.RECORDS_PER_CHUNK
+            * OffHeapEventManager.RECORD_SIZE, manager.getArenaBytes());
+  }
+
+  @Test
+  public void testStringsAreShared() throws Exception {
+    for (int day = 1; day <= 28; day++) {
+      schedule("Standup", at(2, day, 9), at(2, day, 10));
+    }
+    // The zone, the name and the empty description/location
+    assertEquals(3, manager.getStringCount());
+    assertEquals(28, manager.updateEventsByName("location", "Standup", "Room 2"));
+    assertEquals(4, manager.getStringCount());
+  }
+
+  @Test
+  public void testConflictAndOccupancy() throws Exception {
+    schedule("Retreat", at(1, 30, 9), at(2, 2, 17));
+    try {
+      schedule("Standup", at(2, 1, 9), at(2, 1, 10));
+      fail("Expected conflict");
+    } catch (Exception e) {
+      assertEquals("Conflict with existing event: Retreat", e.getMessage());
+    }
+    assertTrue(manager.isOccupiedAt(at(2, 1, 12)));
+    assertFalse(manager.isOccupiedAt(at(2, 2, 17)));
+    assertEquals(1, manager.fetchEventsOnDate(LocalDate.of(2025, 2, 1)).size());
+    assertEquals(0, manager.fetchEventsStartingOnDate(LocalDate.of(2025, 2, 1)).size());
+  }
+
+  @Test
+  public void testUpdates() throws Exception {
+    schedule("Standup", at(1, 6, 9), at(1, 6, 10));
+    schedule("Standup", at(2, 6, 9), at(2, 6, 10));
+    schedule("Standup", at(3, 6, 9), at(3, 6, 10));
+    assertTrue(manager.updateSingleEvent("location", "Standup", at(2, 6, 9), at(2, 6, 10),
+            "Room 2"));
+    assertFalse(manager.updateSingleEvent("start", "Standup", at(2, 6, 9), at(2, 6, 10),
+            "x"));
+    assertEquals(2, manager.updateEventsFromStart("description", "Standup", at(2, 6, 9),
+            "Daily"));
+    try {
+      manager.updateSingleEvent("public", "Standup", at(1, 6, 9), at(1, 6, 10), "maybe");
+      fail("Expected invalid value");
+    } catch (Exception e) {
+      assertTrue(e.getMessage().startsWith("Invalid value for 'public'"));
+    }
+    try {
+      manager.updateEventsFromStart("public", "Standup", at(1, 6, 9), "maybe");
+      fail("Expected invalid value");
+    } catch (Exception e) {
+      assertTrue(e.getMessage().startsWith("Invalid value for 'public'"));
+    }
+    assertTrue(manager.retrieveAllEvents().get(0).isPublic());
+    assertEquals(3, manager.updateEventsByName("public", "Standup", "false"));
+    try {
+      manager.updateEventsByName("public", "Standup", "maybe");
+      fail("Expected invalid value");
+    } catch (Exception e) {
+      assertTrue(e.getMessage().startsWith("Invalid value for 'public'"));
+    }
+    try {
+      manager.updateSingleEvent("location", "Standup", at(4, 6, 9), at(4, 6, 10), "Room 4");
+      fail("Expected missing event");
+    } catch (Exception e) {
+      assertTrue(e.getMessage().startsWith("Event not found: Standup"));
+    }
+    List<IEvent> all = manager.retrieveAllEvents();
+    assertEquals("", all.get(0).getDescription());
+    assertEquals("Room 2", all.get(1).getLocation());
+    assertEquals("Daily", all.get(2).getDescription());
+    assertFalse(all.get(0).isPublic());
+  }
+
+  @Test
+  public void testAdjustTimezone() throws Exception {
+    schedule("Jan", at(1, 10, 9), at(1, 10, 10));
+    ZoneId tokyo = ZoneId.of("Asia/Tokyo");
+    manager.adjustTimezone(tz, tokyo);
+    assertEquals(at(1, 10, 9).withZoneSameInstant(tokyo),
+            manager.retrieveAllEvents().get(0).getStart());
+    assertEquals(1, manager.fetchEventsStartingOnDate(LocalDate.of(2025, 1, 10)).size());
+  }
+
+  @Test
+  public void testSpansSeveralChunks() throws Exception {
+    int count = OffHeapEventManager.RECORDS_PER_CHUNK + 10;
+    ZonedDateTime start = at(1, 1, 0);
+    for (int i = 0; i < count; i++) {
+      schedule("Slot", start.plusMinutes(10L * i), start.plusMinutes(10L * i + 5));
+    }
+    assertEquals(count, manager.retrieveAllEvents().size());
+    ZonedDateTime last = start.plusMinutes(10L * (count - 1));
+    assertTrue(manager.isOccupiedAt(last.plusMinutes(1)));
+    assertEquals(2, manager.fetchEventsInRange(last.minusMinutes(10), last).size());
+  }
+}
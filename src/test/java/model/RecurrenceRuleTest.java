@@ -0,0 +1,258 @@
+package model;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class contains unit tests for the RecurrenceRule class.
+ */
+public class RecurrenceRuleTest {
+  private static final ZoneId ZONE = ZoneId.of("America/New_York");
+  // Monday
+  private static final ZonedDateTime START = ZonedDateTime.of(2025, 3, 24, 9, 0, 0, 0, ZONE);
+  private static final ZonedDateTime END = START.plusHours(1);
+
+  private static RecurrenceRule parse(String rule) throws Exception {
+    return RecurrenceRule.parse(rule, START, END, false);
+  }
+
+  private static long[] days(LocalDate... dates) {
+    long[] days = new long[dates.length];
+    for (int i = 0; i < dates.length; i++) {
+      days[i] = dates[i].toEpochDay();
+    }
+    return days;
+  }
+
+  @Test
+  public void testWeekdayMask() {
+    assertEquals(0b1111111, RecurrenceRule.weekdayMask("MTWRFSU"));
+    assertEquals(0b1000101, RecurrenceRule.weekdayMask("MWU"));
+  }
+
+  @Test
+  public void testWeekly() throws Exception {
+    assertArrayEquals(days(LocalDate.of(2025, 3, 24), LocalDate.of(2025, 3, 26),
+            LocalDate.of(2025, 3, 30), LocalDate.of(2025, 3, 31)),
+            parse("MWU for 4 times").occurrences());
+    assertArrayEquals(days(LocalDate.of(2025, 3, 24), LocalDate.of(2025, 3, 26)),
+            parse("MWU until 2025-03-29T23:00").occurrences());
+  }
+
+  @Test
+  public void testEveryNWeeks() throws Exception {
+    assertArrayEquals(days(LocalDate.of(2025, 3, 25), LocalDate.of(2025, 4, 8),
+            LocalDate.of(2025, 4, 22)), parse("T every 2 weeks for 3 times").occurrences());
+    assertArrayEquals(days(LocalDate.of(2025, 3, 24), LocalDate.of(2025, 3, 28),
+            LocalDate.of(2025, 4, 14), LocalDate.of(2025, 4, 18)),
+            parse("MF every 3 weeks until 2025-04-20T00:00").occurrences());
+  }
+
+  @Test
+  public void testMonthlyByDay() throws Exception {
+    ZonedDateTime start = ZonedDateTime.of(2025, 1, 31, 9, 0, 0, 0, ZONE);
+    long[] days = RecurrenceRule.parse("monthly for 4 times", start, start.plusHours(1), false)
+            .occurrences();
+    // February and April have no 31st
+    assertArrayEquals(days(LocalDate.of(2025, 1, 31), LocalDate.of(2025, 3, 31),
+            LocalDate.of(2025, 5, 31), LocalDate.of(2025, 7, 31)), days);
+  }
+
+  @Test
+  public void testMonthlyByWeekday() throws Exception {
+    assertArrayEquals(days(LocalDate.of(2025, 4, 8), LocalDate.of(2025, 5, 13),
+            LocalDate.of(2025, 6, 10)), parse("monthly 2nd T for 3 times").occurrences());
+    assertArrayEquals(days(LocalDate.of(2025, 3, 28), LocalDate.of(2025, 4, 25),
+            LocalDate.of(2025, 5, 30)), parse("monthly last F for 3 times").occurrences());
+    // Only some months have a 5th Saturday
+    assertArrayEquals(days(LocalDate.of(2025, 3, 29), LocalDate.of(2025, 5, 31),
+            LocalDate.of(2025, 8, 30)), parse("monthly 5th S until 2025-09-01T00:00")
+            .occurrences());
+  }
+
+  @Test
+  public void testYearly() throws Exception {
+    ZonedDateTime leapDay = ZonedDateTime.of(2024, 2, 29, 9, 0, 0, 0, ZONE);
+    assertArrayEquals(days(LocalDate.of(2024, 2, 29), LocalDate.of(2028, 2, 29),
+            LocalDate.of(2032, 2, 29)), RecurrenceRule.parse("yearly for 3 times", leapDay,
+            leapDay.plusHours(1), false).occurrences());
+    assertEquals(11, parse("yearly until 2035-03-24T10:00").occurrences().length);
+  }
+
+  @Test
+  public void testExceptions() throws Exception {
+    // Excluded days still count towards the number of times
+    assertArrayEquals(days(LocalDate.of(2025, 3, 24), LocalDate.of(2025, 4, 7)),
+            parse("M for 3 times except 2025-03-31").occurrences());
+    assertArrayEquals(days(LocalDate.of(2025, 3, 26)),
+            parse("MW until 2025-03-31T00:00 except 2025-03-24,2025-01-01").occurrences());
+  }
+
+  @Test
+  public void testOccurrencesBetween() throws Exception {
+    RecurrenceRule rule = parse("MWF until 2400-01-01T00:00");
+    long from = LocalDate.of(2300, 6, 1).toEpochDay();
+    long[] days = rule.occurrencesBetween(from, from + 14);
+    assertEquals(6, days.length);
+    for (long day : days) {
+      assertTrue(day >= from && day < from + 14);
+    }
+    assertEquals(days[0], rule.nextOccurrence(from));
+    assertEquals(Long.MAX_VALUE, rule.nextOccurrence(LocalDate.of(2400, 1, 2).toEpochDay()));
+  }
+
+  @Test
+  public void testForever() throws Exception {
+    RecurrenceRule rule = parse("monthly last F forever except 2025-04-25");
+    assertTrue(rule.isUnbounded());
+    assertEquals(Long.MAX_VALUE, rule.getLastDay());
+    assertEquals(LocalDate.of(2025, 5, 30).toEpochDay(),
+            rule.nextOccurrence(LocalDate.of(2025, 3, 29).toEpochDay()));
+    assertEquals(LocalDate.of(3000, 1, 31).toEpochDay(),
+            rule.nextOccurrence(LocalDate.of(3000, 1, 1).toEpochDay()));
+    try {
+      rule.occurrences();
+      fail("Expected an exception");
+    } catch (IllegalStateException e) {
+      assertTrue(e.getMessage().contains("forever"));
+    }
+  }
+
+  @Test
+  public void testFirstCommonDay() throws Exception {
+    RecurrenceRule mondays = parse("MW every 2 weeks forever");
+    RecurrenceRule fridays = parse("F forever");
+    long from = START.toLocalDate().toEpochDay();
+    assertEquals(Long.MAX_VALUE, mondays.firstCommonDay(fridays, from, Long.MAX_VALUE - 1));
+    RecurrenceRule wednesdays = parse("W every 3 weeks forever");
+    // Weeks 0, 6, 12, ... of the first rule are weeks 0, 2, 4, ... of the second
+    assertEquals(from + 2, mondays.firstCommonDay(wednesdays, from, from + 100));
+    assertEquals(from + 44, mondays.firstCommonDay(wednesdays, from + 3, from + 100));
+    assertEquals(Long.MAX_VALUE, mondays.firstCommonDay(wednesdays, from + 3, from + 40));
+  }
+
+  @Test
+  public void testFirstCommonDayMatchesScan() throws Exception {
+    Random random = new Random(13);
+    String[] patterns = {"MWF", "TR every 2 weeks", "W every 3 weeks", "SU every 4 weeks",
+        "MTWRF", "monthly", "monthly 2nd W", "monthly last F", "yearly"};
+    for (int i = 0; i < 300; i++) {
+      RecurrenceRule[] rules = new RecurrenceRule[2];
+      for (int r = 0; r < 2; r++) {
+        ZonedDateTime start = START.plusDays(random.nextInt(60));
+        String rule = patterns[random.nextInt(patterns.length)]
+                + (random.nextBoolean() ? " forever" : " for " + (1 + random.nextInt(40))
+                + " times") + (random.nextInt(4) == 0 ? " except "
+                + start.toLocalDate().plusDays(random.nextInt(30)) : "");
+        rules[r] = RecurrenceRule.parse(rule, start, start.plusHours(1), false);
+      }
+      long from = START.toLocalDate().toEpochDay() + random.nextInt(90);
+      long to = from + random.nextInt(700);
+      long expected = Long.MAX_VALUE;
+      for (long day = from; day <= to; day++) {
+        if (rules[0].nextOccurrence(day) == day && rules[1].nextOccurrence(day) == day) {
+          expected = day;
+          break;
+        }
+      }
+      assertEquals(expected, rules[0].firstCommonDay(rules[1], from, to));
+    }
+  }
+
+  @Test
+  public void testInvalidRules() {
+    String[] rules = {"monthly", "monthly 2nd for 3 times", "yearly 3 times",
+        "M every 0 weeks for 3 times", "M every 2 for 3 times", "M for 3 times except 2025-13-01"};
+    for (String rule : rules) {
+      try {
+        parse(rule);
+        fail("Expected an exception for '" + rule + "'");
+      } catch (Exception e) {
+        assertTrue(rule, e.getMessage().contains(rule) || e.getMessage().contains("Invalid"));
+      }
+    }
+  }
+
+  @Test
+  public void testMatchesNaiveExpansion() throws Exception {
+    Random random = new Random(7);
+    String[] patterns = {"MWF", "TR every 2 weeks", "SU every 3 weeks", "monthly",
+        "monthly 1st M", "monthly 3rd W", "monthly 5th F", "monthly last U", "yearly"};
+    for (int i = 0; i < 300; i++) {
+      ZonedDateTime start = ZonedDateTime.of(2024, 1, 1, 10, 0, 0, 0, ZONE)
+              .plusDays(random.nextInt(800));
+      String pattern = patterns[random.nextInt(patterns.length)];
+      int count = 1 + random.nextInt(30);
+      boolean counted = random.nextBoolean();
+      String rule = pattern + (counted ? " for " + count + " times"
+              : " until " + start.toLocalDate().plusDays(random.nextInt(3000)) + "T12:00");
+      RecurrenceRule parsed = RecurrenceRule.parse(rule, start, start.plusHours(1), false);
+      long[] expected = naive(pattern, start.toLocalDate(), parsed.getLastDay());
+      assertArrayEquals(rule + " from " + start, expected, parsed.occurrences());
+      if (counted) {
+        assertEquals(rule + " from " + start, count, expected.length);
+      }
+    }
+  }
+
+  // Tests every day up to the last day of the series
+  private static long[] naive(String pattern, LocalDate first, long lastDay) {
+    String[] tokens = pattern.split(" ");
+    int interval = tokens.length > 2 && tokens[1].equals("every") ? Integer.parseInt(tokens[2])
+            : 1;
+    LocalDate firstMonday = first.minusDays(first.getDayOfWeek().getValue() - 1);
+    List<Long> days = new ArrayList<>();
+    for (LocalDate day = first; day.toEpochDay() <= lastDay; day = day.plusDays(1)) {
+      boolean matches;
+      if (tokens[0].equals("yearly")) {
+        matches = day.getMonth() == first.getMonth()
+                && day.getDayOfMonth() == first.getDayOfMonth();
+      } else if (tokens[0].equals("monthly") && tokens.length == 1) {
+        matches = day.getDayOfMonth() == first.getDayOfMonth();
+      } else if (tokens[0].equals("monthly")) {
+        boolean weekday = RecurringEventManager.matchesDay(day.getDayOfWeek(), tokens[2]);
+        int nth = (day.getDayOfMonth() - 1) / 7 + 1;
+        matches = weekday && (tokens[1].equals("last")
+                ? day.plusDays(7).getMonth() != day.getMonth()
+                : nth == tokens[1].charAt(0) - '0');
+      } else {
+        long week = (day.toEpochDay() - firstMonday.toEpochDay()) / 7;
+        matches = RecurringEventManager.matchesDay(day.getDayOfWeek(), tokens[0])
+                && week % interval == 0;
+      }
+      if (matches) {
+        days.add(day.toEpochDay());
+      }
+    }
+    long[] result = new long[days.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = days.get(i);
+    }
+    return result;
+  }
+
+  @Test
+  public void testLimitedTo() throws Exception {
+    RecurrenceRule rule = parse("TR every 2 weeks forever except 2025-04-10");
+    long from = LocalDate.of(2025, 4, 1).toEpochDay();
+    long to = LocalDate.of(2025, 5, 1).toEpochDay();
+    RecurrenceRule part = rule.limitedTo(from, to);
+    assertArrayEquals(rule.occurrencesBetween(from, to + 1), part.occurrences());
+    assertArrayEquals(days(LocalDate.of(2025, 4, 8), LocalDate.of(2025, 4, 22),
+            LocalDate.of(2025, 4, 24)), part.occurrences());
+    assertTrue(rule.limitedTo(from, Long.MAX_VALUE).isUnbounded());
+    assertEquals(0, rule.limitedTo(Long.MIN_VALUE, START.toLocalDate().toEpochDay() - 1)
+            .occurrences().length);
+  }
+}
@@ -4,9 +4,13 @@ import org.junit.Test;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -150,7 +154,7 @@ public class RecurringEventManagerTest {
       fail("Expected exception");
     } catch (Exception e) {
       boolean validMessage = e.getMessage().contains("Expected 'for N times'")
-              || e.getMessage().contains("Repeat rule must include 'for' or 'until'")
+              || e.getMessage().contains("Repeat rule must include 'for', 'until' or 'forever'")
               || e instanceof IndexOutOfBoundsException;
       assertTrue("Unexpected exception message: " + e.getMessage(), validMessage);
     }
@@ -167,7 +171,7 @@ public class RecurringEventManagerTest {
     } catch (Exception e) {
       boolean validMessage = e.getMessage().contains("Invalid repeat format")
               || e.getMessage().contains("Expected 'for N times'")
-              || e.getMessage().contains("Repeat rule must include 'for' or 'until'");
+              || e.getMessage().contains("Repeat rule must include 'for', 'until' or 'forever'");
       assertTrue("Unexpected exception message: " + e.getMessage(), validMessage);
     }
   }
@@ -181,8 +185,10 @@ public class RecurringEventManagerTest {
               "M for", false);
       fail("Expected exception");
     } catch (Exception e) {
-      boolean validMessage = e.getMessage().contains("Repeat rule must include 'for' or 'until'");
-      assertTrue("Expected 'for' or 'until' error, got: " + e.getMessage(), validMessage);
+      boolean validMessage = e.getMessage()
+              .contains("Repeat rule must include 'for', 'until' or 'forever'");
+      assertTrue("Expected 'for', 'until' or 'forever' error, got: " + e.getMessage(),
+              validMessage);
       assertFalse("Should not be 'Invalid repeat format' for 2 tokens",
               e.getMessage().contains("Invalid repeat format"));
     }
@@ -304,4 +310,126 @@ public class RecurringEventManagerTest {
             "M for 10 times", false);
     assertEquals(10, events.size());
   }
-}
\ No newline at end of file
+
+  @Test(timeout = 5000)
+  public void testLongUntilRule() throws Exception {
+    List<IEvent> events = rm.createRecurringEvents("Weekly",
+            ZonedDateTime.of(2025, 3, 24, 14, 0, 0, 0, ZoneId.of("Asia/Kolkata")),
+            ZonedDateTime.of(2025, 3, 24, 15, 0, 0, 0, ZoneId.of("Asia/Kolkata")),
+            "U until 2400-01-01T00:00", false);
+    assertEquals(LocalDate.of(2025, 3, 30), events.get(0).getStart().toLocalDate());
+    assertEquals(LocalDate.of(2399, 12, 26),
+            events.get(events.size() - 1).getStart().toLocalDate());
+  }
+
+  @Test
+  public void testMatchesDayByDayExpansion() throws Exception {
+    Random random = new Random(5);
+    ZoneId[] zones = {ZoneId.of("America/New_York"), ZoneId.of("Asia/Kolkata"),
+        ZoneId.of("Europe/London")};
+    String codes = "MTWRFSU";
+    for (int i = 0; i < 400; i++) {
+      StringBuilder days = new StringBuilder();
+      for (char code : codes.toCharArray()) {
+        if (random.nextInt(3) == 0) {
+          days.append(code);
+        }
+      }
+      if (days.length() == 0) {
+        days.append(codes.charAt(random.nextInt(7)));
+      }
+      ZonedDateTime start = ZonedDateTime.of(2025, 1, 1, 0, 0, 0, 0, zones[i % 3])
+              .plusDays(random.nextInt(365)).plusMinutes(random.nextInt(24 * 4) * 15);
+      ZonedDateTime end = start.plusMinutes(random.nextInt(8) * 15);
+      if (!end.toLocalDate().equals(start.toLocalDate())) {
+        end = start;
+      }
+      boolean isFullDay = random.nextInt(4) == 0;
+      String rule = random.nextBoolean()
+              ? days + " for " + (1 + random.nextInt(60)) + " times"
+              : days + " until " + (isFullDay
+                      ? start.toLocalDate().plusDays(random.nextInt(200)).toString()
+                      : start.toLocalDateTime().plusMinutes(random.nextInt(200 * 24 * 4) * 15)
+                      .withSecond(0).toString().substring(0, 16));
+      assertEquals(rule, dayByDay(start, end, rule, isFullDay).toString(),
+              RecurringEventManager.buildRecurringEvents("E", start, end, rule, isFullDay)
+                      .toString());
+    }
+  }
+
+  @Test
+  public void testOccurrencesBetweenMatchesFullExpansion() throws Exception {
+    Random random = new Random(11);
+    String[] rules = {"MWF for 40 times", "TR every 2 weeks for 25 times",
+        "monthly last F for 12 times", "U for 30 times except 2025-04-06,2025-04-13"};
+    ZoneId zone = ZoneId.of("America/New_York");
+    for (int i = 0; i < 200; i++) {
+      String rule = rules[i % rules.length];
+      boolean isFullDay = random.nextBoolean();
+      ZonedDateTime start = ZonedDateTime.of(2025, 3, 24, 22, 30, 0, 0, zone);
+      ZonedDateTime end = start.plusMinutes(75);
+      ZonedDateTime from = start.plusHours(random.nextInt(24 * 300));
+      ZonedDateTime to = from.plusHours(random.nextInt(24 * 40))
+              .withZoneSameInstant(ZoneId.of("Asia/Kolkata"));
+      List<IEvent> expected = new ArrayList<>();
+      for (IEvent event : rm.createRecurringEvents("E", start, end, rule, isFullDay)) {
+        if (!event.getEnd().isBefore(from) && !event.getStart().isAfter(to)) {
+          expected.add(event);
+        }
+      }
+      List<IEvent> actual = new ArrayList<>();
+      rm.occurrencesBetween("E", start, end, rule, isFullDay, from, to)
+              .forEachRemaining(actual::add);
+      assertEquals(rule + " " + from + " " + to, expected.toString(), actual.toString());
+    }
+  }
+
+  @Test(timeout = 1000)
+  public void testOccurrencesBetweenSeeksToWindow() throws Exception {
+    ZonedDateTime start = ZonedDateTime.of(2025, 3, 24, 14, 0, 0, 0, ZoneId.of("Asia/Kolkata"));
+    ZonedDateTime from = ZonedDateTime.of(2350, 1, 1, 0, 0, 0, 0, ZoneId.of("Asia/Kolkata"));
+    Iterator<IEvent> events = rm.occurrencesBetween("Daily", start, start.plusHours(1),
+            "MTWRFSU until 2400-01-01T00:00", false, from, from.plusDays(7));
+    int count = 0;
+    while (events.hasNext()) {
+      assertEquals(2350, events.next().getStart().getYear());
+      count++;
+    }
+    assertEquals(7, count);
+  }
+
+  // The original expansion, which visits every day between the first and last event
+  private static List<Event> dayByDay(ZonedDateTime start, ZonedDateTime end, String rule,
+                                      boolean isFullDay) {
+    String[] tokens = rule.split(" ");
+    String days = tokens[0];
+    List<Event> events = new ArrayList<>();
+    ZonedDateTime current = start;
+    ZonedDateTime until = null;
+    int count = Integer.MAX_VALUE;
+    if (tokens[1].equals("for")) {
+      count = Integer.parseInt(tokens[2]);
+    } else {
+      until = isFullDay
+              ? LocalDate.parse(tokens[2]).atStartOfDay(start.getZone()).plusDays(1).minusSeconds(1)
+              : LocalDateTime.parse(tokens[2]).atZone(start.getZone());
+    }
+    while (events.size() < count) {
+      if (until != null && (ZonedDateTime.of(current.toLocalDate(), start.toLocalTime(),
+              start.getZone()).isAfter(until) || ZonedDateTime.of(current.toLocalDate(),
+              end.toLocalTime(), start.getZone()).isAfter(until))) {
+        break;
+      }
+      if (RecurringEventManager.matchesDay(current.getDayOfWeek(), days)) {
+        events.add(isFullDay
+                ? new Event("E", current.withHour(0).withMinute(0).withSecond(0),
+                        current.withHour(23).withMinute(59).withSecond(59), true)
+                : new Event("E", ZonedDateTime.of(current.toLocalDate(), start.toLocalTime(),
+                        start.getZone()), ZonedDateTime.of(current.toLocalDate(),
+                        end.toLocalTime(), end.getZone()), false));
+      }
+      current = current.plusDays(1);
+    }
+    return events;
+  }
+}
@@ -0,0 +1,203 @@
+package model;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class contains unit tests for the RecurringSeries class.
+ */
+public class RecurringSeriesTest {
+  private static final ZoneId ZONE = ZoneId.of("America/New_York");
+  // Monday
+  private static final ZonedDateTime START = ZonedDateTime.of(2025, 3, 24, 9, 0, 0, 0, ZONE);
+
+  private static List<IEvent> collect(Iterator<IEvent> events) {
+    List<IEvent> result = new ArrayList<>();
+    events.forEachRemaining(result::add);
+    return result;
+  }
+
+  @Test
+  public void testForeverSeriesWindow() throws Exception {
+    RecurringSeries series = RecurringSeries.of("Standup", START, START.plusMinutes(15),
+            "MTWRF forever", false);
+    assertTrue(series.isUnbounded());
+    ZonedDateTime from = ZonedDateTime.of(2525, 6, 1, 0, 0, 0, 0, ZONE);
+    List<IEvent> events = collect(series.occurrencesBetween(from, from.plusDays(7)));
+    assertEquals(5, events.size());
+    for (IEvent event : events) {
+      assertEquals("Standup", event.getEventName());
+      assertEquals(9, event.getStart().getHour());
+      assertEquals(15, event.getEnd().getMinute());
+    }
+  }
+
+  @Test
+  public void testTemplateAndZone() throws Exception {
+    RecurringSeries series = RecurringSeries.of("Standup", START, START.plusMinutes(15),
+            "M forever", false);
+    RecurringSeries renamed = series.withTemplate(series.getTemplate().with("name", "Sync")
+            .with("location", "Room 1"));
+    ZonedDateTime from = START.plusWeeks(10);
+    IEvent event = renamed.occurrencesBetween(from, from.plusDays(1)).next();
+    assertEquals("Sync", event.getEventName());
+    assertEquals("Room 1", event.getLocation());
+
+    RecurringSeries shifted = series.withZone(ZoneId.of("Asia/Kolkata"));
+    IEvent local = series.occurrencesBetween(from, from.plusDays(1)).next();
+    IEvent shown = shifted.occurrencesBetween(from, from.plusDays(1)).next();
+    assertEquals(ZoneId.of("Asia/Kolkata"), shown.getStart().getZone());
+    assertEquals(local.getStart().toInstant(), shown.getStart().toInstant());
+  }
+
+  @Test
+  public void testConflictWithEvent() throws Exception {
+    RecurringSeries series = RecurringSeries.of("Standup", START, START.plusMinutes(15),
+            "MW forever", false);
+    ZonedDateTime wednesday = START.plusYears(3).with(DayOfWeek.WEDNESDAY);
+    Event overlapping = new Event("Call", wednesday.plusMinutes(10), wednesday.plusHours(1),
+            false);
+    Event later = new Event("Call", wednesday.plusMinutes(15), wednesday.plusHours(1), false);
+    assertNotNull(series.firstConflict(overlapping));
+    assertNull(series.firstConflict(later));
+  }
+
+  @Test
+  public void testConflictBetweenSeries() throws Exception {
+    RecurringSeries standup = RecurringSeries.of("Standup", START, START.plusMinutes(30),
+            "MTWRF forever", false);
+    ZonedDateTime afternoon = START.withHour(14);
+    RecurringSeries review = RecurringSeries.of("Review", afternoon, afternoon.plusHours(1),
+            "F forever", false);
+    assertNull(standup.firstConflict(review, Period.ofYears(50)));
+
+    // Every other Thursday at 09:15, from a year on
+    ZonedDateTime thursday = ZonedDateTime.of(2026, 3, 26, 9, 15, 0, 0, ZONE);
+    RecurringSeries planning = RecurringSeries.of("Planning", thursday, thursday.plusHours(1),
+            "R every 2 weeks for 3 times", false);
+    IEvent conflict = standup.firstConflict(planning, Period.ofYears(1));
+    assertNotNull(conflict);
+    assertEquals("Planning", conflict.getEventName());
+    assertEquals(LocalDate.of(2026, 3, 26), conflict.getStart().toLocalDate());
+
+    // March 25 is next a Monday in 2030
+    ZonedDateTime tuesday = START.plusDays(1).withHour(9).withMinute(10);
+    RecurringSeries yearly = RecurringSeries.of("Anniversary", tuesday, tuesday.plusHours(1),
+            "yearly forever", false);
+    RecurringSeries weekly = RecurringSeries.of("Weekly", START, START.plusMinutes(30),
+            "M forever", false);
+    assertNull(weekly.firstConflict(yearly, Period.ofYears(1)));
+    assertEquals(2030, weekly.firstConflict(yearly, Period.ofYears(10)).getStart().getYear());
+  }
+
+  @Test
+  public void testConflictOnChangeOfOffset() throws Exception {
+    // On March 9, 2025 New York skips from 02:00 to 03:00, moving 02:30 to 03:30
+    ZonedDateTime early = ZonedDateTime.of(2025, 3, 2, 2, 30, 0, 0, ZONE);
+    ZonedDateTime late = early.withHour(3);
+    RecurringSeries first = RecurringSeries.of("Backup", early, late.withMinute(30),
+            "U forever", false);
+    RecurringSeries second = RecurringSeries.of("Report", late.withMinute(30),
+            late.withHour(4), "U forever", false);
+    IEvent conflict = first.firstConflict(second, Period.ofYears(1));
+    assertNotNull(conflict);
+    assertEquals(LocalDate.of(2025, 3, 9), conflict.getStart().toLocalDate());
+    assertNull(first.firstConflict(second, Period.ofDays(5)));
+  }
+
+  @Test
+  public void testFullDaySeries() throws Exception {
+    ZonedDateTime day = START.toLocalDate().atStartOfDay(ZONE);
+    RecurringSeries series = RecurringSeries.of("Gym", day, day.plusDays(1), "U forever",
+            true);
+    List<IEvent> events = collect(series.occurrencesBetween(day, day.plusDays(14)));
+    assertEquals(2, events.size());
+    assertTrue(events.get(0).isFullDay());
+    assertFalse(events.get(0).getStart().isAfter(events.get(1).getStart()));
+  }
+
+  @Test
+  public void testConflictMatchesPairwiseCheck() throws Exception {
+    Random random = new Random(17);
+    String[] patterns = {"MWF", "TR every 2 weeks", "W every 3 weeks", "SU", "monthly",
+        "monthly 1st U", "yearly"};
+    ZoneId[] zones = {ZONE, ZONE, ZoneId.of("Europe/London")};
+    for (int i = 0; i < 300; i++) {
+      RecurringSeries[] series = new RecurringSeries[2];
+      for (int s = 0; s < 2; s++) {
+        // From 03:00, so no instance starts in an hour skipped at a change of offset
+        ZonedDateTime start = ZonedDateTime.of(2025, 1, 1, 3, 0, 0, 0, zones[random.nextInt(3)])
+                .plusDays(random.nextInt(100)).plusMinutes(random.nextInt(40) * 30);
+        ZonedDateTime end = start.plusMinutes(30 * random.nextInt(6));
+        if (!end.toLocalDate().equals(start.toLocalDate())) {
+          end = start;
+        }
+        String rule = patterns[random.nextInt(patterns.length)]
+                + (random.nextBoolean() ? " forever" : " for " + (1 + random.nextInt(60))
+                + " times");
+        series[s] = RecurringSeries.of("S" + s, start, end, rule, random.nextInt(5) == 0);
+      }
+      Period horizon = Period.ofYears(2);
+      IEvent conflict = series[0].firstConflict(series[1], horizon);
+      List<IEvent> mine = collect(series[0].occurrencesBetween(series[0].getStart(),
+              series[0].getStart().plusYears(4)));
+      List<IEvent> theirs = collect(series[1].occurrencesBetween(series[1].getStart(),
+              series[1].getStart().plusYears(4)));
+      ZonedDateTime from = series[0].getStart().isAfter(series[1].getStart())
+              ? series[0].getStart() : series[1].getStart();
+      boolean expected = false;
+      for (IEvent a : mine) {
+        for (IEvent b : theirs) {
+          if (a.overlapsWith(b) && !b.getStart().isAfter(from.plus(horizon))) {
+            expected = true;
+          }
+        }
+      }
+      String message = series[0] + " / " + series[1];
+      if (series[0].isUnbounded() && series[1].isUnbounded()) {
+        assertEquals(message, expected, conflict != null);
+      } else if (expected) {
+        assertNotNull(message, conflict);
+      }
+      if (conflict != null) {
+        assertNotNull(message, series[0].firstConflict(conflict));
+      }
+    }
+  }
+
+  @Test
+  public void testSplitAtTime() throws Exception {
+    RecurringSeries series = RecurringSeries.of("Standup", START, START.plusMinutes(15),
+            "MWF for 12 times", false);
+    ZonedDateTime wednesday = START.plusDays(9);
+    RecurringSeries earlier = series.before(wednesday);
+    RecurringSeries later = series.startingFrom(wednesday);
+    ZonedDateTime end = START.plusMonths(1);
+    assertEquals(4, collect(earlier.occurrencesBetween(START, end)).size());
+    List<IEvent> rest = collect(later.occurrencesBetween(START, end));
+    assertEquals(8, rest.size());
+    assertEquals(wednesday, rest.get(0).getStart());
+
+    assertEquals(5, collect(series.before(wednesday.plusMinutes(1))
+            .occurrencesBetween(START, end)).size());
+    assertNull(series.before(START));
+    assertNull(series.startingFrom(end));
+    assertEquals(series.getRule().getLastDay(),
+            series.startingFrom(START.minusYears(1)).getRule().getLastDay());
+  }
+}
@@ -0,0 +1,160 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class contains unit tests for the ShardedEventManager class.
+ */
+public class ShardedEventManagerTest extends AEventManagerTest {
+  private final ZoneId tz = ZoneId.of("America/New_York");
+  private ShardedEventManager manager;
+
+  @Before
+  public void setUp() {
+    manager = new ShardedEventManager(new RecurringEventManager());
+  }
+
+  @Override
+  protected IEventManager newManager() {
+    return new ShardedEventManager(new RecurringEventManager());
+  }
+
+  private ZonedDateTime at(int month, int day, int hour) {
+    return ZonedDateTime.of(2025, month, day, hour, 0, 0, 0, tz);
+  }
+
+  private void schedule(String name, ZonedDateTime start, ZonedDateTime end) throws Exception {
+    manager.scheduleEvent(manager.createEvent(name, start, end, false));
+  }
+
+  @Test
+  public void testEventsAreShardedByMonth() throws Exception {
+    schedule("Jan", at(1, 10, 9), at(1, 10, 10));
+    schedule("Mar", at(3, 10, 9), at(3, 10, 10));
+    schedule("Feb", at(2, 10, 9), at(2, 10, 10));
+    assertEquals(3, manager.getShardCount());
+    List<IEvent> all = manager.retrieveAllEvents();
+    assertEquals("Jan", all.get(0).getEventName());
+    assertEquals("Feb", all.get(1).getEventName());
+    assertEquals("Mar", all.get(2).getEventName());
+    assertEquals(1, manager.fetchEventsInRange(at(2, 1, 0), at(2, 28, 0)).size());
+  }
+
+  @Test
+  public void testConflictAcrossShards() throws Exception {
+    schedule("Retreat", at(1, 30, 9), at(2, 2, 17));
+    assertEquals(2, manager.getShardCount());
+    try {
+      schedule("Standup", at(2, 1, 9), at(2, 1, 10));
+      fail("Expected conflict with an event from the previous month");
+    } catch (Exception e) {
+      assertEquals("Conflict with existing event: Retreat", e.getMessage());
+    }
+    assertTrue(manager.isOccupiedAt(at(2, 1, 12)));
+    assertEquals(1, manager.fetchEventsOnDate(LocalDate.of(2025, 2, 1)).size());
+    assertEquals(0, manager.fetchEventsStartingOnDate(LocalDate.of(2025, 2, 1)).size());
+  }
+
+  @Test
+  public void testUpdates() throws Exception {
+    schedule("Standup", at(1, 6, 9), at(1, 6, 10));
+    schedule("Standup", at(2, 6, 9), at(2, 6, 10));
+    schedule("Standup", at(3, 6, 9), at(3, 6, 10));
+    assertTrue(manager.updateSingleEvent("location", "Standup", at(2, 6, 9), at(2, 6, 10),
+            "Room 2"));
+    assertEquals(2, manager.updateEventsFromStart("description", "Standup", at(2, 6, 9),
+            "Daily"));
+    assertEquals(3, manager.updateEventsByName("public", "Standup", "false"));
+    List<IEvent> all = manager.retrieveAllEvents();
+    assertEquals("Room 2", all.get(1).getLocation());
+    assertEquals("", all.get(0).getDescription());
+    assertEquals("Daily", all.get(2).getDescription());
+    assertFalse(all.get(0).isPublic());
+    try {
+      manager.updateSingleEvent("name", "Standup", at(5, 6, 9), at(5, 6, 10), "X");
+      fail("Expected missing event");
+    } catch (Exception e) {
+      assertTrue(e.getMessage().startsWith("Event not found: Standup"));
+    }
+  }
+
+  @Test
+  public void testDetachAndCompact() throws Exception {
+    schedule("Jan", at(1, 10, 9), at(1, 10, 10));
+    schedule("Long", at(2, 27, 9), at(4, 2, 9));
+    schedule("Apr", at(4, 10, 9), at(4, 10, 10));
+    assertEquals(4, manager.getShardCount());
+
+    List<IEvent> detached = manager.detachShardsBefore(at(3, 15, 0));
+    assertEquals(1, detached.size());
+    assertEquals("Jan", detached.get(0).getEventName());
+    assertEquals(3, manager.getShardCount());
+
+    assertEquals(1, manager.compact());
+    assertEquals(2, manager.getShardCount());
+    assertEquals(2, manager.retrieveAllEvents().size());
+    assertTrue(manager.isOccupiedAt(at(3, 20, 0)));
+  }
+
+  @Test
+  public void testOtherPeriods() throws Exception {
+    ShardedEventManager weekly = new ShardedEventManager(new RecurringEventManager(),
+            ChronoUnit.WEEKS);
+    weekly.scheduleEvent(weekly.createEvent("A", at(3, 3, 9), at(3, 3, 10), false));
+    weekly.scheduleEvent(weekly.createEvent("B", at(3, 9, 9), at(3, 9, 10), false));
+    assertEquals(1, weekly.getShardCount());
+    weekly.scheduleEvent(weekly.createEvent("C", at(3, 10, 9), at(3, 10, 10), false));
+    assertEquals(2, weekly.getShardCount());
+    try {
+      new ShardedEventManager(new RecurringEventManager(), ChronoUnit.HOURS);
+      fail("Expected unsupported period");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Unsupported shard period: Hours. Use DAYS, WEEKS, MONTHS or YEARS",
+              e.getMessage());
+    }
+  }
+
+  @Test
+  public void testConcurrentWritesKeepConflictsExclusive() throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    List<Future<Boolean>> results = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      int id = t;
+      results.add(pool.submit(() -> {
+        // Every thread tries the same cross-month slots; exactly one may win each
+        boolean any = false;
+        for (int i = 0; i < 12; i++) {
+          ZonedDateTime start = ZonedDateTime.of(2025, i + 1, 28, 0, 0, 0, 0, tz);
+          try {
+            schedule("T" + id, start, start.plusDays(5));
+            any = true;
+          } catch (Exception e) {
+            // Lost the race for this slot
+          }
+        }
+        return any;
+      }));
+    }
+    pool.shutdown();
+    for (Future<Boolean> result : results) {
+      result.get();
+    }
+    assertEquals(12, manager.retrieveAllEvents().size());
+  }
+}
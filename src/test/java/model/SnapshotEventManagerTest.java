@@ -0,0 +1,219 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class contains unit tests for the SnapshotEventManager class.
+ */
+public class SnapshotEventManagerTest extends AEventManagerTest {
+  private final ZoneId tz = ZoneId.of("America/New_York");
+  private SnapshotEventManager manager;
+
+  @Before
+  public void setUp() {
+    manager = new SnapshotEventManager(new RecurringEventManager());
+  }
+
+  @Override
+  protected IEventManager newManager() {
+    return new SnapshotEventManager(new RecurringEventManager());
+  }
+
+  private ZonedDateTime at(int day, int hour) {
+    return ZonedDateTime.of(2025, 3, day, hour, 0, 0, 0, tz);
+  }
+
+  private void schedule(String name, ZonedDateTime start, ZonedDateTime end) throws Exception {
+    manager.scheduleEvent(manager.createEvent(name, start, end, false));
+  }
+
+  @Test
+  public void testEventsAreOrderedByStart() throws Exception {
+    schedule("C", at(24, 15), at(24, 16));
+    schedule("A", at(24, 9), at(24, 10));
+    schedule("B", at(24, 11), at(24, 12));
+    List<IEvent> events = manager.retrieveAllEvents();
+    assertEquals(3, events.size());
+    assertEquals("A", events.get(0).getEventName());
+    assertEquals("B", events.get(1).getEventName());
+    assertEquals("C", events.get(2).getEventName());
+  }
+
+  @Test
+  public void testConflict() throws Exception {
+    schedule("Meeting", at(24, 9), at(24, 11));
+    try {
+      schedule("Call", at(24, 10), at(24, 12));
+      fail("Expected conflict");
+    } catch (Exception e) {
+      assertEquals("Conflict with existing event: Meeting", e.getMessage());
+    }
+    schedule("Lunch", at(24, 11), at(24, 12));
+    assertEquals(2, manager.retrieveAllEvents().size());
+  }
+
+  @Test
+  public void testReturnedEventsAreTheStoredEvents() throws Exception {
+    schedule("Meeting", at(24, 9), at(24, 10));
+    IEvent returned = manager.retrieveAllEvents().get(0);
+    assertSame(returned, manager.fetchEventsOnDate(LocalDate.of(2025, 3, 24)).get(0));
+    try {
+      returned.setLocation("Room 9");
+      fail("Expected stored events to be immutable");
+    } catch (UnsupportedOperationException e) {
+      assertEquals("", manager.retrieveAllEvents().get(0).getLocation());
+    }
+  }
+
+  @Test
+  public void testSnapshotsAreNotAffectedByLaterChanges() throws Exception {
+    schedule("Meeting", at(24, 9), at(24, 10));
+    List<IEvent> before = manager.retrieveAllEvents();
+    IEvent original = before.get(0);
+    assertTrue(manager.updateSingleEvent("location", "Meeting", at(24, 9), at(24, 10), "Room 1"));
+    schedule("Review", at(25, 9), at(25, 10));
+
+    assertEquals(1, before.size());
+    assertEquals("", original.getLocation());
+    List<IEvent> after = manager.retrieveAllEvents();
+    assertEquals(2, after.size());
+    assertEquals("Room 1", after.get(0).getLocation());
+  }
+
+  @Test
+  public void testSeriesInstancesShareTemplate() throws Exception {
+    for (IEvent instance : manager.createRecurringEvents("Standup", at(24, 9), at(24, 10),
+            "MTWRF for 5 times", false)) {
+      manager.scheduleEvent(instance);
+    }
+    List<IEvent> events = manager.retrieveAllEvents();
+    EventTemplate template = ((TemplateEvent) events.get(0)).getTemplate();
+    for (IEvent event : events) {
+      assertSame(template, ((TemplateEvent) event).getTemplate());
+    }
+    assertEquals(5, manager.updateEventsByName("location", "Standup", "Room 1"));
+    events = manager.retrieveAllEvents();
+    EventTemplate changed = ((TemplateEvent) events.get(0)).getTemplate();
+    assertEquals("Room 1", changed.getLocation());
+    for (IEvent event : events) {
+      assertSame(changed, ((TemplateEvent) event).getTemplate());
+    }
+  }
+
+  @Test
+  public void testScheduleAllIsAllOrNothing() throws Exception {
+    schedule("Meeting", at(26, 9), at(26, 10));
+    List<IEvent> batch = manager.createRecurringEvents("Standup", at(24, 9), at(24, 10),
+            "MTWRF for 5 times", false);
+    try {
+      manager.scheduleAll(batch);
+      fail("Expected conflict");
+    } catch (Exception e) {
+      assertEquals("Conflict with existing event: Meeting", e.getMessage());
+    }
+    assertEquals(1, manager.retrieveAllEvents().size());
+    batch.remove(2);
+    manager.scheduleAll(batch);
+    assertEquals(5, manager.retrieveAllEvents().size());
+  }
+
+  @Test
+  public void testUpdates() throws Exception {
+    schedule("Standup", at(24, 9), at(24, 10));
+    schedule("Standup", at(25, 9), at(25, 10));
+    schedule("Standup", at(26, 9), at(26, 10));
+    assertEquals(2, manager.updateEventsFromStart("description", "Standup", at(25, 9), "Daily"));
+    assertEquals(3, manager.updateEventsByName("public", "Standup", "false"));
+    assertEquals(0, manager.updateEventsByName("color", "Standup", "red"));
+    List<IEvent> events = manager.retrieveAllEvents();
+    assertEquals("", events.get(0).getDescription());
+    assertEquals("Daily", events.get(2).getDescription());
+    assertFalse(events.get(1).isPublic());
+    try {
+      manager.updateEventsByName("public", "Standup", "maybe");
+      fail("Expected invalid value");
+    } catch (Exception e) {
+      assertEquals("Invalid value for 'public': 'maybe' (must be 'true' or 'false')",
+              e.getMessage());
+    }
+    try {
+      manager.updateSingleEvent("name", "Missing", at(24, 9), at(24, 10), "X");
+      fail("Expected missing event");
+    } catch (Exception e) {
+      assertTrue(e.getMessage().startsWith("Event not found: Missing"));
+    }
+  }
+
+  @Test
+  public void testAdjustTimezone() throws Exception {
+    schedule("Meeting", at(24, 9), at(24, 10));
+    manager.adjustTimezone(tz, ZoneId.of("UTC"));
+    IEvent event = manager.retrieveAllEvents().get(0);
+    assertEquals(ZoneId.of("UTC"), event.getStart().getZone());
+    assertEquals(13, event.getStart().getHour());
+    assertTrue(manager.isOccupiedAt(ZonedDateTime.of(2025, 3, 24, 13, 30, 0, 0,
+            ZoneId.of("UTC"))));
+  }
+
+  @Test
+  public void testReadersSeeConsistentSnapshotsDuringWrites() throws Exception {
+    AtomicBoolean writing = new AtomicBoolean(true);
+    AtomicReference<String> failure = new AtomicReference<>();
+    List<Thread> readers = new ArrayList<>();
+    for (int r = 0; r < 4; r++) {
+      Thread reader = new Thread(() -> {
+        while (writing.get()) {
+          List<IEvent> events = manager.retrieveAllEvents();
+          for (int i = 1; i < events.size(); i++) {
+            if (events.get(i).getStart().isBefore(events.get(i - 1).getStart())) {
+              failure.set("Snapshot out of order");
+            }
+          }
+        }
+      });
+      readers.add(reader);
+      reader.start();
+    }
+    List<Thread> writers = new ArrayList<>();
+    for (int w = 0; w < 4; w++) {
+      int id = w;
+      Thread writer = new Thread(() -> {
+        for (int i = 0; i < 500; i++) {
+          ZonedDateTime start = at(1, 0).plusHours(i * 4L + id);
+          try {
+            schedule("W" + id, start, start.plusMinutes(30));
+          } catch (Exception e) {
+            failure.set(e.getMessage());
+          }
+        }
+      });
+      writers.add(writer);
+      writer.start();
+    }
+    for (Thread writer : writers) {
+      writer.join();
+    }
+    writing.set(false);
+    for (Thread reader : readers) {
+      reader.join();
+    }
+    assertNull(failure.get());
+    assertEquals(2000, manager.retrieveAllEvents().size());
+  }
+}
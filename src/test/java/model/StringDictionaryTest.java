@@ -0,0 +1,59 @@
+package model;
+
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * This class contains unit tests for the StringDictionary class.
+ */
+public class StringDictionaryTest {
+  @Test
+  public void testEqualValuesShareOneInstance() {
+    StringDictionary dictionary = new StringDictionary();
+    String first = new String("Standup");
+    String second = new String("Standup");
+    assertSame(first, dictionary.intern(first));
+    assertSame(first, dictionary.intern(second));
+    assertEquals("Retro", dictionary.intern("Retro"));
+    assertEquals(2, dictionary.size());
+    assertNull(dictionary.intern(null));
+    assertEquals(2, dictionary.size());
+  }
+
+  @Test
+  public void testScheduledEventsShareStrings() throws Exception {
+    StringDictionary dictionary = new StringDictionary();
+    EventManager manager = new EventManager(new RecurringEventManager(), dictionary);
+    ZonedDateTime start = ZonedDateTime.of(2025, 3, 24, 9, 0, 0, 0, ZoneId.of("UTC"));
+    Event first = new Event(new String("Sync"), start, start.plusHours(1), false);
+    Event second = new Event(new String("Sync"), start.plusDays(1),
+            start.plusDays(1).plusHours(1), false);
+    first.setLocation(new String("Room 1"));
+    second.setLocation(new String("Room 1"));
+    manager.scheduleEvent(first);
+    manager.scheduleEvent(second);
+    assertSame(first.getEventName(), second.getEventName());
+    assertSame(first.getLocation(), second.getLocation());
+    assertSame(first.getDescription(), second.getDescription());
+  }
+
+  @Test
+  public void testUnusedValuesAreDropped() throws Exception {
+    StringDictionary dictionary = new StringDictionary();
+    String value = new String("Temporary");
+    assertSame(value, dictionary.intern(value));
+    assertEquals(1, dictionary.size());
+    value = null;
+    for (int i = 0; i < 50 && dictionary.size() > 0; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertEquals(0, dictionary.size());
+  }
+}
@@ -0,0 +1,81 @@
+package model;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class contains unit tests for the TemplateEvent class.
+ */
+public class TemplateEventTest {
+  private final ZoneId tz = ZoneId.of("America/New_York");
+  private final EventTemplate standup = new EventTemplate("Standup", "Daily", "Room 1",
+          Duration.ofMinutes(15), false, true, tz);
+
+  private ZonedDateTime at(int day, int hour) {
+    return ZonedDateTime.of(2025, 3, day, hour, 0, 0, 0, tz);
+  }
+
+  @Test
+  public void testTimesComeFromTemplate() {
+    TemplateEvent event = new TemplateEvent(standup, at(24, 9).toInstant());
+    assertEquals(at(24, 9), event.getStart());
+    assertEquals(at(24, 9).plusMinutes(15), event.getEnd());
+    assertEquals("Standup", event.getEventName());
+    assertEquals("Daily", event.getDescription());
+    assertEquals("Room 1", event.getLocation());
+    assertTrue(event.isPublic());
+    Event mutable = new Event("Standup", at(24, 9), at(24, 9).plusMinutes(15), false);
+    mutable.setDescription("Daily");
+    mutable.setLocation("Room 1");
+    assertEquals(mutable.toString(), event.toString());
+  }
+
+  @Test
+  public void testInstancesShareTemplate() {
+    TemplateEvent monday = new TemplateEvent(standup, at(24, 9).toInstant());
+    TemplateEvent tuesday = new TemplateEvent(standup, at(25, 9).toInstant());
+    assertSame(monday.getTemplate(), tuesday.getTemplate());
+    TemplateEvent moved = monday.withTemplate(standup.with("location", "Room 2"));
+    assertEquals("Room 2", moved.getLocation());
+    assertEquals("Room 1", monday.getLocation());
+    assertEquals(monday.getStart(), moved.getStart());
+  }
+
+  @Test
+  public void testOverlaps() {
+    TemplateEvent event = new TemplateEvent(standup, at(24, 9).toInstant());
+    assertTrue(event.overlapsWith(new Event("Call", at(24, 9).plusMinutes(10),
+            at(24, 10), false)));
+    assertFalse(event.overlapsWith(new Event("Call", at(24, 9).plusMinutes(15),
+            at(24, 10), false)));
+  }
+
+  @Test
+  public void testOfKeepsImmutableEvents() {
+    TemplateEvent event = new TemplateEvent(standup, at(24, 9).toInstant());
+    assertSame(event, TemplateEvent.of(event));
+    TemplateEvent copy = TemplateEvent.of(new Event("Call", at(24, 9), at(24, 10), true));
+    assertEquals(at(24, 10), copy.getEnd());
+    assertTrue(copy.isFullDay());
+  }
+
+  @Test
+  public void testSettersAreUnsupported() {
+    TemplateEvent event = new TemplateEvent(standup, at(24, 9).toInstant());
+    try {
+      event.setLocation("Room 2");
+      fail("Expected immutable event");
+    } catch (UnsupportedOperationException e) {
+      assertEquals("Room 1", event.getLocation());
+    }
+  }
+}
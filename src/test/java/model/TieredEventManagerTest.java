@@ -0,0 +1,169 @@
+package model;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class contains unit tests for the TieredEventManager class.
+ */
+public class TieredEventManagerTest extends AEventManagerTest {
+  private final ZoneId tz = ZoneId.of("America/New_York");
+  private final Clock clock = Clock.fixed(
+          ZonedDateTime.of(2025, 7, 1, 0, 0, 0, 0, ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private TieredEventManager manager;
+
+  @Before
+  public void setUp() {
+    manager = new TieredEventManager(new RecurringEventManager(), Period.ofMonths(1),
+            folder.getRoot().toPath(), clock);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    manager.close();
+  }
+
+  // The manager of setUp, so that tearDown closes it
+  @Override
+  protected IEventManager newManager() {
+    return manager;
+  }
+
+  @Override
+  protected void reorganize(IEventManager target) throws Exception {
+    ((TieredEventManager) target).spillColdEvents();
+  }
+
+  private ZonedDateTime at(int month, int day, int hour) {
+    return ZonedDateTime.of(2025, month, day, hour, 0, 0, 0, tz);
+  }
+
+  private void schedule(String name, ZonedDateTime start, ZonedDateTime end) throws Exception {
+    manager.scheduleEvent(manager.createEvent(name, start, end, false));
+  }
+
+  @Test
+  public void testOldEventsMoveToColdTier() throws Exception {
+    schedule("Jan", at(1, 10, 9), at(1, 10, 10));
+    schedule("Mar", at(3, 10, 9), at(3, 10, 10));
+    schedule("Jun", at(6, 10, 9), at(6, 10, 10));
+    manager.updateEventsByName("description", "Mar", "Quarterly");
+    assertEquals(2, manager.spillColdEvents());
+    assertEquals(2, manager.getColdEventCount());
+    assertEquals(1, folder.getRoot().listFiles().length);
+    assertEquals(0, manager.spillColdEvents());
+
+    List<IEvent> all = manager.retrieveAllEvents();
+    assertEquals(3, all.size());
+    assertEquals("Jan", all.get(0).getEventName());
+    assertEquals("Quarterly", all.get(1).getDescription());
+    assertEquals(at(3, 10, 9), all.get(1).getStart());
+    assertEquals("Jun", all.get(2).getEventName());
+    assertEquals(1, manager.fetchEventsOnDate(LocalDate.of(2025, 3, 10)).size());
+    assertEquals(2, manager.fetchEventsInRange(at(3, 1, 0), at(6, 30, 0)).size());
+    assertTrue(manager.isOccupiedAt(at(1, 10, 9)));
+    assertFalse(manager.isOccupiedAt(at(1, 10, 10)));
+  }
+
+  @Test
+  public void testConflictWithColdEvent() throws Exception {
+    schedule("Retreat", at(1, 30, 9), at(2, 2, 17));
+    manager.spillColdEvents();
+    assertEquals(1, manager.getColdEventCount());
+    try {
+      schedule("Standup", at(2, 1, 9), at(2, 1, 10));
+      fail("Expected conflict with an archived event");
+    } catch (Exception e) {
+      assertEquals("Conflict with existing event: Retreat", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testUpdatesRewriteColdTier() throws Exception {
+    schedule("Standup", at(1, 6, 9), at(1, 6, 10));
+    schedule("Standup", at(2, 6, 9), at(2, 6, 10));
+    schedule("Standup", at(6, 6, 9), at(6, 6, 10));
+    manager.spillColdEvents();
+    assertTrue(manager.updateSingleEvent("location", "Standup", at(1, 6, 9), at(1, 6, 10),
+            "Room 1"));
+    assertEquals(2, manager.updateEventsFromStart("description", "Standup", at(2, 6, 9),
+            "Daily"));
+    try {
+      manager.updateSingleEvent("public", "Standup", at(1, 6, 9), at(1, 6, 10), "maybe");
+      fail("Expected invalid value");
+    } catch (Exception e) {
+      assertTrue(e.getMessage().startsWith("Invalid value for 'public'"));
+    }
+    assertTrue(manager.retrieveAllEvents().get(0).isPublic());
+    assertEquals(3, manager.updateEventsByName("public", "Standup", "false"));
+    try {
+      manager.updateEventsByName("public", "Standup", "maybe");
+      fail("Expected invalid value");
+    } catch (Exception e) {
+      assertTrue(e.getMessage().startsWith("Invalid value for 'public'"));
+    }
+    List<IEvent> all = manager.retrieveAllEvents();
+    assertEquals("Room 1", all.get(0).getLocation());
+    assertEquals("", all.get(0).getDescription());
+    assertEquals("Daily", all.get(1).getDescription());
+    assertEquals("Daily", all.get(2).getDescription());
+    for (IEvent event : all) {
+      assertFalse(event.isPublic());
+    }
+    assertEquals(2, manager.getColdEventCount());
+    File[] files = folder.getRoot().listFiles();
+    assertEquals(1, files.length);
+  }
+
+  @Test
+  public void testFailedColdRewriteLeavesBothTiers() throws Exception {
+    schedule("Standup", at(1, 6, 9), at(1, 6, 10));
+    schedule("Standup", at(6, 6, 9), at(6, 6, 10));
+    manager.spillColdEvents();
+    for (File file : folder.getRoot().listFiles()) {
+      assertTrue(file.delete());
+    }
+    assertTrue(folder.getRoot().delete());
+    try {
+      manager.updateEventsFromStart("location", "Standup", at(1, 1, 0), "Room 1");
+      fail("Expected the cold rewrite to fail");
+    } catch (IOException e) {
+      for (IEvent event : manager.retrieveAllEvents()) {
+        assertEquals("", event.getLocation());
+      }
+    }
+  }
+
+  @Test
+  public void testTimezoneChangeAppliesToColdTier() throws Exception {
+    schedule("Jan", at(1, 10, 9), at(1, 10, 10));
+    manager.spillColdEvents();
+    ZoneId tokyo = ZoneId.of("Asia/Tokyo");
+    manager.adjustTimezone(tz, tokyo);
+    IEvent event = manager.retrieveAllEvents().get(0);
+    assertEquals(at(1, 10, 9).withZoneSameInstant(tokyo), event.getStart());
+    assertEquals(1, manager.fetchEventsStartingOnDate(LocalDate.of(2025, 1, 10)).size());
+  }
+}
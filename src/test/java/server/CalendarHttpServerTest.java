@@ -0,0 +1,185 @@
+package server;
+
+import model.ConcurrentCalendarManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class contains unit tests for the CalendarHttpServer class.
+ */
+public class CalendarHttpServerTest {
+  private ConcurrentCalendarManager calendarManager;
+  private CalendarHttpServer server;
+
+  @Before
+  public void setUp() throws Exception {
+    calendarManager = new ConcurrentCalendarManager();
+    calendarManager.createCalendar("Work", ZoneId.of("America/New_York"));
+    server = new CalendarHttpServer(calendarManager, 0, 4);
+    server.start();
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  /**
+   * A response status and its parsed JSON body.
+   */
+  private static final class Response {
+    final int status;
+    final Object body;
+
+    Response(int status, Object body) {
+      this.status = status;
+      this.body = body;
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<String, Object> object() {
+      return (Map<String, Object>) body;
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Map<String, Object>> array() {
+      return (List<Map<String, Object>>) body;
+    }
+  }
+
+  private Response request(String method, String path, String body) throws Exception {
+    URL url = new URL("http://localhost:" + server.getPort() + path);
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    connection.setRequestMethod(method);
+    if (body != null) {
+      connection.setDoOutput(true);
+      try (OutputStream out = connection.getOutputStream()) {
+        out.write(body.getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    int status = connection.getResponseCode();
+    try (InputStream in = status < 400 ? connection.getInputStream()
+            : connection.getErrorStream()) {
+      return new Response(status, JsonReader.parse(readAll(in)));
+    }
+  }
+
+  private static String readAll(InputStream in) throws IOException {
+    return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testListAndCreateCalendars() throws Exception {
+    Response created = request("POST", "/calendars", "{\"name\":\"Home\",\"timezone\":\"UTC\"}");
+    assertEquals(201, created.status);
+    assertEquals("Home", created.object().get("name"));
+
+    Response list = request("GET", "/calendars", null);
+    assertEquals(200, list.status);
+    assertEquals(2, list.array().size());
+    assertEquals("Home", list.array().get(0).get("name"));
+    assertEquals("America/New_York", list.array().get(1).get("timezone"));
+
+    Response duplicate = request("POST", "/calendars", "{\"name\":\"Home\",\"timezone\":\"UTC\"}");
+    assertEquals(409, duplicate.status);
+    assertEquals("Calendar name already exists: Home", duplicate.object().get("error"));
+  }
+
+  @Test
+  public void testCreateAndQueryEvents() throws Exception {
+    Response created = request("POST", "/calendars/Work/events", "{\"name\":\"Meeting\","
+            + "\"start\":\"2025-03-24T09:00\",\"end\":\"2025-03-24T10:00\","
+            + "\"location\":\"Room \\\"A\\\"\"}");
+    assertEquals(201, created.status);
+    assertEquals("2025-03-24T09:00:00-04:00", created.object().get("start"));
+    assertEquals("Room \"A\"", created.object().get("location"));
+
+    Response onDate = request("GET", "/calendars/Work/events?date=2025-03-24", null);
+    assertEquals(1, onDate.array().size());
+    Response inRange = request("GET", "/calendars/Work/events?from=2025-03-25T00:00"
+            + "&to=2025-03-26T00:00", null);
+    assertEquals(0, inRange.array().size());
+
+    Response conflict = request("POST", "/calendars/Work/events", "{\"name\":\"Call\","
+            + "\"start\":\"2025-03-24T13:30Z\",\"end\":\"2025-03-24T14:30Z\"}");
+    assertEquals(409, conflict.status);
+    assertEquals("Conflict with existing event: Meeting", conflict.object().get("error"));
+  }
+
+  @Test
+  public void testBulkCreateAndFreeBusy() throws Exception {
+    Response bulk = request("POST", "/calendars/Work/events", "["
+            + "{\"name\":\"A\",\"start\":\"2025-03-24T09:00\",\"end\":\"2025-03-24T10:00\"},"
+            + "{\"name\":\"B\",\"start\":\"2025-03-24T10:00\",\"end\":\"2025-03-24T11:00\"},"
+            + "{\"name\":\"C\",\"start\":\"2025-03-24T10:30\",\"end\":\"2025-03-24T11:30\"},"
+            + "{\"name\":\"D\",\"start\":\"2025-03-24T14:00\",\"end\":\"2025-03-24T15:00\"},"
+            + "{\"name\":\"E\"}]");
+    assertEquals(200, bulk.status);
+    assertEquals(3L, bulk.object().get("created"));
+    List<?> failed = (List<?>) bulk.object().get("failed");
+    assertEquals(2, failed.size());
+    assertEquals(2L, ((Map<?, ?>) failed.get(0)).get("index"));
+    assertEquals("Missing or invalid field 'start'", ((Map<?, ?>) failed.get(1)).get("error"));
+
+    Response freeBusy = request("GET", "/calendars/Work/freebusy?from=2025-03-24T09:30"
+            + "&to=2025-03-24T18:00", null);
+    List<?> busy = (List<?>) freeBusy.object().get("busy");
+    assertEquals(2, busy.size());
+    assertEquals("2025-03-24T09:30:00-04:00", ((Map<?, ?>) busy.get(0)).get("start"));
+    assertEquals("2025-03-24T11:00:00-04:00", ((Map<?, ?>) busy.get(0)).get("end"));
+    assertEquals("2025-03-24T14:00:00-04:00", ((Map<?, ?>) busy.get(1)).get("start"));
+
+    Response at = request("GET", "/calendars/Work/freebusy?at=2025-03-24T14%3A30", null);
+    assertEquals(true, at.object().get("busy"));
+  }
+
+  @Test
+  public void testErrors() throws Exception {
+    assertEquals(404, request("GET", "/calendars/Missing/events", null).status);
+    assertEquals(404, request("GET", "/calendars/Work/unknown", null).status);
+    assertEquals(405, request("DELETE", "/calendars/Work/events", null).status);
+    Response badJson = request("POST", "/calendars/Work/events", "{\"name\":");
+    assertEquals(400, badJson.status);
+    assertTrue(((String) badJson.object().get("error")).startsWith("Invalid JSON"));
+    Response badTime = request("GET", "/calendars/Work/events?from=yesterday&to=today", null);
+    assertEquals(400, badTime.status);
+    assertEquals("Invalid date-time for 'from': 'yesterday'", badTime.object().get("error"));
+  }
+
+  @Test
+  public void testLargeRangeIsStreamed() throws Exception {
+    StringBuilder body = new StringBuilder("[");
+    for (int i = 0; i < 2000; i++) {
+      String day = java.time.LocalDate.of(2025, 1, 1).plusDays(i / 8).toString();
+      int hour = 8 + i % 8;
+      body.append(i == 0 ? "" : ",").append("{\"name\":\"E").append(i)
+              .append("\",\"start\":\"").append(day).append(String.format("T%02d:00", hour))
+              .append("\",\"end\":\"").append(day).append(String.format("T%02d:30", hour))
+              .append("\"}");
+    }
+    assertEquals(2000L, request("POST", "/calendars/Work/events", body.append("]").toString())
+            .object().get("created"));
+    Response all = request("GET", "/calendars/Work/events?from=2025-01-01T00:00"
+            + "&to=2026-01-01T00:00", null);
+    assertEquals(2000, all.array().size());
+    assertEquals("E0", all.array().get(0).get("name"));
+    assertEquals("E1999", all.array().get(1999).get("name"));
+    Response freeBusy = request("GET", "/calendars/Work/freebusy?from=2025-01-01T00:00"
+            + "&to=2026-01-01T00:00", null);
+    assertEquals(2000, ((List<?>) freeBusy.object().get("busy")).size());
+  }
+}
@@ -0,0 +1,174 @@
+package server;
+
+import model.ConcurrentCalendarManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class contains unit tests for the CalendarServer class.
+ */
+public class CalendarServerTest {
+  private ConcurrentCalendarManager calendarManager;
+  private CalendarServer server;
+
+  @Before
+  public void setUp() throws IOException {
+    calendarManager = new ConcurrentCalendarManager();
+    server = new CalendarServer(calendarManager, 0, 4);
+    server.start();
+  }
+
+  @After
+  public void tearDown() {
+    server.close();
+  }
+
+  /**
+   * A test client that reads the server's greeting on connect.
+   */
+  private final class Client implements AutoCloseable {
+    private final Socket socket;
+    private final PrintWriter out;
+    private final BufferedReader in;
+
+    Client() throws IOException {
+      socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+      socket.setSoTimeout(10000);
+      out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(),
+              StandardCharsets.UTF_8), true);
+      in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+              StandardCharsets.UTF_8));
+    }
+
+    String greeting() throws IOException {
+      return in.readLine();
+    }
+
+    String send(String command) throws IOException {
+      out.println(command);
+      return in.readLine();
+    }
+
+    @Override
+    public void close() throws IOException {
+      socket.close();
+    }
+  }
+
+  @Test
+  public void testGreetingAndCommand() throws Exception {
+    try (Client client = new Client()) {
+      assertEquals("Connected to calendar server. Type 'exit' to close the session.",
+              client.greeting());
+      assertEquals("Calendar 'Work' created with timezone UTC",
+              client.send("create calendar --name Work --timezone UTC"));
+      assertEquals("Error: No calendar selected",
+              client.send("create event Meeting from 2025-03-24T10:00 to 2025-03-24T11:00"));
+    }
+  }
+
+  @Test
+  public void testSessionsHaveOwnCurrentCalendar() throws Exception {
+    try (Client first = new Client(); Client second = new Client()) {
+      first.greeting();
+      second.greeting();
+      first.send("create calendar --name Work --timezone UTC");
+      first.send("create calendar --name Home --timezone UTC");
+      first.send("use calendar --name Work");
+      second.send("use calendar --name Home");
+      assertTrue(first.send("create event Standup from 2025-03-24T10:00 to 2025-03-24T11:00")
+              .startsWith("Event created: Standup"));
+      assertTrue(second.send("create event Standup from 2025-03-24T10:00 to 2025-03-24T11:00")
+              .startsWith("Event created: Standup"));
+    }
+    assertEquals(1, calendarManager.getCalendar("Work").getEventScheduler()
+            .retrieveAllEvents().size());
+    assertEquals(1, calendarManager.getCalendar("Home").getEventScheduler()
+            .retrieveAllEvents().size());
+  }
+
+  @Test
+  public void testExitClosesSession() throws Exception {
+    try (Client client = new Client()) {
+      client.greeting();
+      assertEquals("Exiting.", client.send("exit"));
+      assertNull(client.in.readLine());
+    }
+  }
+
+  @Test
+  public void testRefusesClientsBeyondCapacity() throws Exception {
+    List<Client> connected = new ArrayList<>();
+    try {
+      for (int i = 0; i < 4; i++) {
+        Client client = new Client();
+        client.greeting();
+        connected.add(client);
+      }
+      try (Client extra = new Client()) {
+        assertEquals(CalendarServer.BUSY_MESSAGE, extra.greeting());
+      }
+    } finally {
+      for (Client client : connected) {
+        client.close();
+      }
+    }
+  }
+
+  @Test
+  public void testConcurrentClients() throws Exception {
+    calendarManager.createCalendar("Shared", java.time.ZoneId.of("UTC"));
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    List<Future<?>> results = new ArrayList<>();
+    for (int c = 0; c < 4; c++) {
+      int id = c;
+      results.add(pool.submit(() -> {
+        try (Client client = new Client()) {
+          client.greeting();
+          client.send("use calendar --name Shared");
+          for (int i = 0; i < 50; i++) {
+            String day = String.format("2025-%02d-%02d", id + 1, i % 28 + 1);
+            int hour = 10 + i / 28;
+            String reply = client.send("create event C" + id + " from " + day + "T" + hour
+                    + ":00 to " + day + "T" + hour + ":30");
+            if (!reply.startsWith("Event created")) {
+              fail(reply);
+            }
+          }
+        }
+        return null;
+      }));
+    }
+    pool.shutdown();
+    for (Future<?> result : results) {
+      result.get();
+    }
+    assertEquals(200, calendarManager.getCalendar("Shared").getEventScheduler()
+            .retrieveAllEvents().size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidMaxSessions() {
+    new CalendarServer(calendarManager, 0, 0);
+  }
+}
@@ -0,0 +1,42 @@
+package server;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class contains unit tests for the JsonReader class.
+ */
+public class JsonReaderTest {
+
+  @Test
+  public void testParseValues() throws Exception {
+    Map<?, ?> object = (Map<?, ?>) JsonReader.parse(
+            " {\"a\": [1, -2.5, true, false, null], \"b\": \"x\\\"y\\u0041\\n\", \"c\": {}} ");
+    assertEquals(Arrays.asList(1L, -2.5, true, false, null), object.get("a"));
+    assertEquals("x\"yA\n", object.get("b"));
+    assertTrue(((Map<?, ?>) object.get("c")).isEmpty());
+    assertEquals(0, ((List<?>) JsonReader.parse("[]")).size());
+    assertNull(JsonReader.parse("null"));
+  }
+
+  @Test
+  public void testInvalidJson() {
+    String[] invalid = {"", "{", "{\"a\" 1}", "[1,]", "\"open", "tru", "{} x", "{1:2}"};
+    for (String text : invalid) {
+      try {
+        JsonReader.parse(text);
+        fail("Expected invalid JSON: " + text);
+      } catch (Exception e) {
+        assertTrue(e.getMessage().startsWith("Invalid JSON at position"));
+      }
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package server;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class contains unit tests for the JsonWriter class.
+ */
+public class JsonWriterTest {
+
+  @Test
+  public void testNestedValues() throws Exception {
+    StringWriter out = new StringWriter();
+    new JsonWriter(out).beginObject()
+            .name("name").value("Meeting")
+            .name("count").value(3)
+            .name("items").beginArray().value(true).beginObject().endObject().value((String) null)
+            .endArray()
+            .name("empty").beginArray().endArray()
+            .endObject().flush();
+    assertEquals("{\"name\":\"Meeting\",\"count\":3,\"items\":[true,{},null],\"empty\":[]}",
+            out.toString());
+  }
+
+  @Test
+  public void testEscaping() throws Exception {
+    StringWriter out = new StringWriter();
+    new JsonWriter(out).value("a\"b\\c\nd\u0001").flush();
+    assertEquals("\"a\\\"b\\\\c\\nd\\u0001\"", out.toString());
+  }
+}
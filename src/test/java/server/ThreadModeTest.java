@@ -0,0 +1,56 @@
+package server;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class contains unit tests for the ThreadMode enum.
+ */
+public class ThreadModeTest {
+
+  @Test
+  public void testParse() {
+    assertEquals(ThreadMode.PLATFORM, ThreadMode.parse("platform"));
+    assertEquals(ThreadMode.VIRTUAL, ThreadMode.parse("Virtual"));
+    try {
+      ThreadMode.parse("green");
+      fail("Expected exception for unknown mode");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Unknown thread mode: green. Use 'platform' or 'virtual'", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testVirtualSupportMatchesRuntime() {
+    assertTrue(ThreadMode.PLATFORM.isSupported());
+    assertEquals(Runtime.version().feature() >= 21, ThreadMode.VIRTUAL.isSupported());
+  }
+
+  @Test
+  public void testExecutorsRunTasks() throws Exception {
+    for (ThreadMode mode : ThreadMode.values()) {
+      if (!mode.isSupported()) {
+        try {
+          mode.newExecutor("test-", 1);
+          fail("Expected unsupported mode to be rejected");
+        } catch (UnsupportedOperationException e) {
+          continue;
+        }
+      }
+      ExecutorService executor = mode.newExecutor("test-" + mode + "-", 2);
+      try {
+        String name = executor.submit(() -> Thread.currentThread().getName()).get();
+        assertTrue(name, name.startsWith("test-" + mode + "-"));
+      } finally {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+      }
+    }
+  }
+}
@@ -5,10 +5,17 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * This class contains unit tests for the ConsoleWriter class.
@@ -26,6 +33,7 @@ public class ConsoleWriterTest {
 
   @After
   public void tearDown() {
+    ConsoleWriter.getInstance().disableBuffering();
     System.setOut(originalOut);
   }
 
@@ -54,4 +62,103 @@ public class ConsoleWriterTest {
     ConsoleWriter instance = ConsoleWriter.getInstance();
     assertSame(instance, ConsoleWriter.getInstance());
   }
+
+  @Test
+  public void testBufferedOutputHeldUntilFlush() {
+    ConsoleWriter writer = ConsoleWriter.getInstance();
+    writer.enableBuffering(ConsoleWriter.DEFAULT_BUFFER_SIZE, false);
+    assertTrue(writer.isBuffering());
+    writer.writeLine("Line1");
+    writer.writeLine("Line2");
+    assertEquals("", outContent.toString());
+    writer.flush();
+    assertEquals("Line1" + System.lineSeparator() + "Line2"
+            + System.lineSeparator(), outContent.toString());
+  }
+
+  @Test
+  public void testBufferedOutputWrittenWhenBufferFills() {
+    ConsoleWriter writer = ConsoleWriter.getInstance();
+    writer.enableBuffering(16, false);
+    for (int i = 0; i < 5000; i++) {
+      writer.writeLine("Line" + i);
+    }
+    assertFalse(outContent.toString().isEmpty());
+  }
+
+  @Test
+  public void testBackgroundWriterPreservesOrder() {
+    ConsoleWriter writer = ConsoleWriter.getInstance();
+    writer.enableBuffering(1024, true);
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 20000; i++) {
+      writer.writeLine("Line" + i);
+      expected.append("Line").append(i).append(System.lineSeparator());
+    }
+    writer.flush();
+    assertEquals(expected.toString(), outContent.toString());
+  }
+
+  @Test
+  public void testDisableBufferingFlushesAndWritesThrough() {
+    ConsoleWriter writer = ConsoleWriter.getInstance();
+    writer.enableBuffering(ConsoleWriter.DEFAULT_BUFFER_SIZE, true);
+    writer.writeLine("Buffered");
+    writer.disableBuffering();
+    assertFalse(writer.isBuffering());
+    assertEquals("Buffered" + System.lineSeparator(), outContent.toString());
+    writer.writeLine("Direct");
+    assertEquals("Buffered" + System.lineSeparator() + "Direct"
+            + System.lineSeparator(), outContent.toString());
+  }
+
+  @Test
+  public void testBackgroundWriteFailureSurfacesOnFlush() {
+    System.setOut(new PrintStream(new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        throw new IOException("disk full");
+      }
+    }));
+    ConsoleWriter writer = ConsoleWriter.getInstance();
+    writer.enableBuffering(1024, true);
+    writer.writeLine("lost");
+    try {
+      writer.flush();
+      fail("Expected the write failure to be reported");
+    } catch (UncheckedIOException e) {
+      assertTrue(writer.isBuffering());
+    }
+    try {
+      writer.disableBuffering();
+    } catch (UncheckedIOException e) {
+      // The stream stays failed
+    }
+    assertFalse(writer.isBuffering());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidBufferSize() {
+    ConsoleWriter.getInstance().enableBuffering(0, false);
+  }
+
+  @Test
+  public void testThreadBoundOutput() throws Exception {
+    StringWriter threadOut = new StringWriter();
+    Thread worker = new Thread(() -> {
+      ConsoleWriter.getInstance().bindCurrentThread(threadOut);
+      try {
+        ConsoleWriter.getInstance().writeLine("Session line");
+      } finally {
+        ConsoleWriter.getInstance().unbindCurrentThread();
+      }
+      ConsoleWriter.getInstance().writeLine("After unbind");
+    });
+    ConsoleWriter.getInstance().writeLine("Main line");
+    worker.start();
+    worker.join();
+    assertEquals("Session line" + System.lineSeparator(), threadOut.toString());
+    assertEquals("Main line" + System.lineSeparator() + "After unbind"
+            + System.lineSeparator(), outContent.toString());
+  }
 }
@@ -0,0 +1,91 @@
+package view;
+
+import model.Calendar;
+import model.EventManager;
+import model.RecurringEventManager;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.YearMonth;
+import java.time.ZoneId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * This class contains unit tests for the MonthViewCache class.
+ */
+public class MonthViewCacheTest {
+  private static final YearMonth MARCH = YearMonth.of(2025, 3);
+
+  private Calendar work;
+  private Calendar home;
+
+  @Before
+  public void setUp() {
+    ZoneId zone = ZoneId.of("America/New_York");
+    work = new Calendar("Work", zone, new EventManager(new RecurringEventManager()));
+    home = new Calendar("Home", zone, new EventManager(new RecurringEventManager()));
+  }
+
+  @Test
+  public void testKeyedByCalendarAndMonth() {
+    MonthViewCache cache = new MonthViewCache(4);
+    MonthViewModel workMarch = MonthViewModel.compute(work, MARCH, 1);
+    MonthViewModel homeMarch = MonthViewModel.compute(home, MARCH, 1);
+    cache.put(workMarch);
+    cache.put(homeMarch);
+    assertSame(workMarch, cache.get("Work", MARCH, 1));
+    assertSame(homeMarch, cache.get("Home", MARCH, 1));
+    assertNull(cache.get("Work", MARCH.plusMonths(1), 1));
+
+    MonthViewModel newer = MonthViewModel.compute(work, MARCH, 2);
+    cache.put(newer);
+    assertEquals(2, cache.size());
+    assertSame(newer, cache.get("Work", MARCH, 2));
+  }
+
+  @Test
+  public void testOlderDataVersionIsDropped() {
+    MonthViewCache cache = new MonthViewCache(4);
+    cache.put(MonthViewModel.compute(work, MARCH, 1));
+    assertNull(cache.get("Work", MARCH, 2));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedIsEvicted() {
+    MonthViewCache cache = new MonthViewCache(3);
+    for (int i = 0; i < 3; i++) {
+      cache.put(MonthViewModel.compute(work, MARCH.plusMonths(i), 1));
+    }
+    // March is used again, so April is now the least recently used
+    cache.get("Work", MARCH, 1);
+    cache.put(MonthViewModel.compute(work, MARCH.plusMonths(3), 1));
+    assertEquals(3, cache.size());
+    assertNull(cache.get("Work", MARCH.plusMonths(1), 1));
+    assertEquals(MARCH, cache.get("Work", MARCH, 1).getMonth());
+
+    cache.clear();
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testRemoveCalendarKeepsOthers() {
+    MonthViewCache cache = new MonthViewCache(4);
+    MonthViewModel homeMarch = MonthViewModel.compute(home, MARCH, 1);
+    cache.put(MonthViewModel.compute(work, MARCH, 1));
+    cache.put(MonthViewModel.compute(work, MARCH.plusMonths(1), 1));
+    cache.put(homeMarch);
+    cache.removeCalendar("Work");
+    assertEquals(1, cache.size());
+    assertNull(cache.get("Work", MARCH, 1));
+    assertSame(homeMarch, cache.get("Home", MARCH, 1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCapacity() {
+    new MonthViewCache(0);
+  }
+}
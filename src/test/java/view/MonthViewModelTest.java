@@ -0,0 +1,90 @@
+package view;
+
+import model.Calendar;
+import model.Event;
+import model.EventManager;
+import model.IEventManager;
+import model.RecurringEventManager;
+import model.RecurringSeries;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class contains unit tests for the MonthViewModel class.
+ */
+public class MonthViewModelTest {
+  private static final ZoneId ZONE = ZoneId.of("America/New_York");
+  private static final YearMonth MARCH = YearMonth.of(2025, 3);
+
+  private Calendar calendar;
+  private IEventManager scheduler;
+
+  @Before
+  public void setUp() throws Exception {
+    scheduler = new EventManager(new RecurringEventManager());
+    calendar = new Calendar("Work", ZONE, scheduler);
+    scheduler.scheduleEvent(new Event("Call", ZonedDateTime.of(2025, 3, 3, 10, 0, 0, 0, ZONE),
+            ZonedDateTime.of(2025, 3, 3, 11, 0, 0, 0, ZONE), false));
+    scheduler.scheduleEvent(new Event("Trip", ZonedDateTime.of(2025, 3, 30, 22, 0, 0, 0, ZONE),
+            ZonedDateTime.of(2025, 3, 31, 8, 0, 0, 0, ZONE), false));
+    scheduler.scheduleEvent(new Event("Holiday",
+            ZonedDateTime.of(2025, 3, 15, 0, 0, 0, 0, ZONE),
+            ZonedDateTime.of(2025, 3, 16, 0, 0, 0, 0, ZONE), true));
+    // February 28 in New York, but March 1 in its own zone
+    ZoneId kolkata = ZoneId.of("Asia/Kolkata");
+    scheduler.scheduleEvent(new Event("Remote",
+            ZonedDateTime.of(2025, 3, 1, 2, 0, 0, 0, kolkata),
+            ZonedDateTime.of(2025, 3, 1, 3, 0, 0, 0, kolkata), false));
+    scheduler.scheduleEvent(new Event("Late",
+            ZonedDateTime.of(2025, 2, 28, 23, 30, 0, 0, ZONE),
+            ZonedDateTime.of(2025, 3, 1, 8, 0, 0, 0, ZONE), false));
+    scheduler.scheduleSeries(RecurringSeries.of("Standup",
+            ZonedDateTime.of(2025, 1, 6, 9, 0, 0, 0, ZONE),
+            ZonedDateTime.of(2025, 1, 6, 9, 15, 0, 0, ZONE), "MWF forever", false));
+  }
+
+  @Test
+  public void testCountsMatchDateQueries() {
+    MonthViewModel view = MonthViewModel.compute(calendar, MARCH, 1);
+    for (int day = 1; day <= MARCH.lengthOfMonth(); day++) {
+      LocalDate date = MARCH.atDay(day);
+      assertEquals(date.toString(), scheduler.fetchEventsOnDate(date).size(),
+              view.getEventCount(day));
+    }
+    assertEquals(2, view.getEventCount(3));
+    assertEquals(1, view.getEventCount(15));
+    assertEquals(1, view.getEventCount(30));
+    assertEquals(2, view.getEventCount(31));
+  }
+
+  @Test
+  public void testLayoutAndToolTips() {
+    MonthViewModel view = MonthViewModel.compute(calendar, MARCH, 1);
+    assertEquals(MARCH, view.getMonth());
+    // March 1, 2025 is a Saturday
+    assertEquals(6, view.getFirstColumn());
+    assertEquals(0, MonthViewModel.compute(calendar, YearMonth.of(2025, 6), 1)
+            .getFirstColumn());
+    assertEquals("2 event(s)", view.getToolTip(3));
+    assertNull(view.getToolTip(16));
+  }
+
+  @Test
+  public void testIsFor() {
+    MonthViewModel view = MonthViewModel.compute(calendar, MARCH, 4);
+    assertTrue(view.isFor("Work", MARCH, 4));
+    assertFalse(view.isFor("Work", MARCH, 5));
+    assertFalse(view.isFor("Home", MARCH, 4));
+    assertFalse(view.isFor("Work", MARCH.plusMonths(1), 4));
+  }
+}